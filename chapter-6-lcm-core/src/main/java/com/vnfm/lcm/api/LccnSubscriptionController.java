@@ -0,0 +1,62 @@
+package com.vnfm.lcm.api;
+
+import com.vnfm.lcm.api.dto.LccnSubscription;
+import com.vnfm.lcm.api.dto.LccnSubscriptionRequest;
+import com.vnfm.lcm.application.LccnSubscriptionService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * ETSI SOL003 LCCN subscriptions: NFVO registers a callback instead of polling operation occurrences.
+ * Base path: /vnflcm/v1
+ * - POST /subscriptions -> 201 Created with Location (400 if callbackUri is not an absolute http(s) URI)
+ * - GET /subscriptions -> List of LccnSubscription
+ * - GET /subscriptions/{subscriptionId} -> LccnSubscription
+ * - DELETE /subscriptions/{subscriptionId} -> 204
+ */
+@RestController
+@RequestMapping("/vnflcm/v1/subscriptions")
+public class LccnSubscriptionController {
+
+    private final LccnSubscriptionService subscriptionService;
+
+    public LccnSubscriptionController(LccnSubscriptionService subscriptionService) {
+        this.subscriptionService = subscriptionService;
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<LccnSubscription> createSubscription(@RequestBody LccnSubscriptionRequest request) {
+        LccnSubscription created;
+        try {
+            created = subscriptionService.createSubscription(request);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity
+                .status(201)
+                .location(java.net.URI.create("/vnflcm/v1/subscriptions/" + created.getId()))
+                .body(created);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<LccnSubscription>> listSubscriptions() {
+        return ResponseEntity.ok(subscriptionService.listSubscriptions());
+    }
+
+    @GetMapping(value = "/{subscriptionId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<LccnSubscription> getSubscription(@PathVariable String subscriptionId) {
+        return subscriptionService.getSubscription(subscriptionId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{subscriptionId}")
+    public ResponseEntity<Void> deleteSubscription(@PathVariable String subscriptionId) {
+        return subscriptionService.deleteSubscription(subscriptionId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
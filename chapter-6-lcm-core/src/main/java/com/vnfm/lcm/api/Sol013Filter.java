@@ -0,0 +1,89 @@
+package com.vnfm.lcm.api;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parser for the attribute-based filter of ETSI GS NFV-SOL 013 (5.2):
+ * {@code filter=(op,attr,value[,value...])[;(op,attr,value...)]...}, expressions joined by ';' are ANDed.
+ * Values containing ',', ')' or ''' are single-quoted, with '' standing for one quote.
+ * Only the syntax is checked here; which attributes and operators an endpoint supports is up to the caller.
+ */
+final class Sol013Filter {
+
+    /** One simple filter expression, e.g. (eq,instantiationState,INSTANTIATED). */
+    record Term(String op, String attribute, List<String> values) {
+    }
+
+    private Sol013Filter() {
+    }
+
+    /**
+     * @return the terms in request order; empty for a null or blank filter
+     * @throws IllegalArgumentException if the expression is not valid SOL013 filter syntax
+     */
+    static List<Term> parse(String filter) {
+        List<Term> terms = new ArrayList<>();
+        if (filter == null || filter.isBlank()) {
+            return terms;
+        }
+        int pos = 0;
+        while (true) {
+            if (pos >= filter.length() || filter.charAt(pos) != '(') {
+                throw invalid(filter);
+            }
+            List<String> parts = new ArrayList<>();
+            pos = readParts(filter, pos + 1, parts);
+            if (parts.size() < 3 || parts.get(0).isEmpty() || parts.get(1).isEmpty()) {
+                throw invalid(filter);
+            }
+            terms.add(new Term(parts.get(0), parts.get(1), List.copyOf(parts.subList(2, parts.size()))));
+            if (pos == filter.length()) {
+                return terms;
+            }
+            if (filter.charAt(pos) != ';') {
+                throw invalid(filter);
+            }
+            pos++;
+        }
+    }
+
+    /** Reads comma-separated parts up to the closing ')' and returns the index after it. */
+    private static int readParts(String filter, int pos, List<String> parts) {
+        StringBuilder part = new StringBuilder();
+        boolean quoted = false;
+        while (pos < filter.length()) {
+            char c = filter.charAt(pos);
+            if (quoted) {
+                if (c == '\'') {
+                    if (pos + 1 < filter.length() && filter.charAt(pos + 1) == '\'') {
+                        part.append('\'');
+                        pos += 2;
+                        continue;
+                    }
+                    quoted = false;
+                } else {
+                    part.append(c);
+                }
+            } else if (c == '\'' && part.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                parts.add(part.toString());
+                part.setLength(0);
+            } else if (c == ')') {
+                parts.add(part.toString());
+                return pos + 1;
+            } else if (c == '(' || c == '\'') {
+                throw invalid(filter);
+            } else {
+                part.append(c);
+            }
+            pos++;
+        }
+        throw invalid(filter);
+    }
+
+    private static IllegalArgumentException invalid(String filter) {
+        return new IllegalArgumentException("Invalid filter expression: " + filter);
+    }
+}
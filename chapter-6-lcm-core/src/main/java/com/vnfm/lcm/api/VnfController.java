@@ -1,17 +1,22 @@
 package com.vnfm.lcm.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vnfm.lcm.api.dto.InstantiateVnfRequest;
 import com.vnfm.lcm.api.dto.InstantiateVnfResponse;
 import com.vnfm.lcm.api.dto.VnfStateResponse;
 import com.vnfm.lcm.api.dto.VnfSummary;
+import com.vnfm.lcm.application.VnfListQuery;
+import com.vnfm.lcm.application.VnfPage;
 import com.vnfm.lcm.application.VnfQueryService;
 import com.vnfm.lcm.infrastructure.readside.VnfIndex;
 import com.vnfm.lcm.infrastructure.readside.VnfIndexRepository;
 import com.vnfm.lcm.infrastructure.saga.SagaOrchestrator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
@@ -29,13 +34,22 @@ public class VnfController {
     private final SagaOrchestrator sagaOrchestrator;
     private final VnfIndexRepository vnfIndexRepository;
     private final VnfQueryService vnfQueryService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${lcm.list.default-page-size:100}")
+    private int defaultPageSize;
+
+    @Value("${lcm.list.max-page-size:1000}")
+    private int maxPageSize;
 
     public VnfController(SagaOrchestrator sagaOrchestrator,
                          VnfIndexRepository vnfIndexRepository,
-                         VnfQueryService vnfQueryService) {
+                         VnfQueryService vnfQueryService,
+                         ObjectMapper objectMapper) {
         this.sagaOrchestrator = sagaOrchestrator;
         this.vnfIndexRepository = vnfIndexRepository;
         this.vnfQueryService = vnfQueryService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -106,11 +120,46 @@ public class VnfController {
     }
 
     /**
-     * List all VNFs (from read-side index; state projected from event store).
+     * List VNFs, newest first, one keyset page per call (read-side index; state projected from event store).
+     * Optional filters: state (e.g. ACTIVE) and namePrefix; fields=a,b limits the returned attributes.
+     * The next page is linked in the Link header (rel="next") as ?cursor=; the applied limit is echoed in X-Page-Size.
      */
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<VnfSummary>> listVnfs() {
-        List<VnfSummary> list = vnfQueryService.listVnfs();
-        return ResponseEntity.ok(list);
+    public ResponseEntity<List<Object>> listVnfs(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "state", required = false) String state,
+            @RequestParam(value = "namePrefix", required = false) String namePrefix,
+            @RequestParam(value = "fields", required = false) String fields) {
+        VnfListQuery query;
+        try {
+            query = VnfListSupport.query(cursor, limit, state, namePrefix, defaultPageSize, maxPageSize);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        VnfPage<VnfSummary> page = vnfQueryService.listVnfs(query);
+        return VnfListSupport.page(
+                VnfListSupport.select(objectMapper, page.items(), VnfListSupport.fields(fields, "vnfId")),
+                page.nextCursor(), "cursor", "limit", query.limit());
+    }
+
+    /**
+     * Same list as NDJSON (Accept: application/x-ndjson): every matching VNF, written while the index is read
+     * page by page; limit is the read chunk size.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamVnfs(
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "state", required = false) String state,
+            @RequestParam(value = "namePrefix", required = false) String namePrefix,
+            @RequestParam(value = "fields", required = false) String fields) {
+        VnfListQuery query;
+        try {
+            query = VnfListSupport.query(null, limit, state, namePrefix, defaultPageSize, maxPageSize);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return VnfListSupport.<VnfSummary>ndjson(objectMapper, VnfListSupport.fields(fields, "vnfId"),
+                sink -> vnfQueryService.forEachVnf(query, sink));
     }
 }
@@ -0,0 +1,66 @@
+package com.vnfm.lcm.api;
+
+import com.vnfm.lcm.api.dto.BulkCreateVnfInstancesRequest;
+import com.vnfm.lcm.api.dto.BulkInstantiateVnfRequest;
+import com.vnfm.lcm.api.dto.BulkOperationResult;
+import com.vnfm.lcm.application.VnfLcmApplicationService;
+import com.vnfm.lcm.infrastructure.eventstore.OptimisticLockingException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Bulk VNF lifecycle API for fleet rollouts: one HTTP call and one transaction for many VNFs.
+ * Base path: /vnflcm/v1/bulk
+ * - POST /vnf_instances -> 201 with one VNF instance id per item
+ * - POST /vnf_instances/instantiate -> 202 with one operation occurrence id per item
+ * Partial failure: 207 Multi-Status; each item carries its own status (404, 409, 400) and error.
+ * Empty or oversized lists (lcm.bulk.max-items) -> 400. A concurrent change to an accepted VNF -> 409, nothing applied.
+ * Send X-Request-Id: the idempotency filter replays the cached result for a retried bulk call.
+ */
+@RestController
+@RequestMapping("/vnflcm/v1/bulk")
+public class VnfLcmBulkController {
+
+    private final VnfLcmApplicationService applicationService;
+
+    @Value("${lcm.bulk.max-items:1000}")
+    private int maxItems;
+
+    public VnfLcmBulkController(VnfLcmApplicationService applicationService) {
+        this.applicationService = applicationService;
+    }
+
+    @PostMapping(value = "/vnf_instances", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkOperationResult> createVnfInstances(@RequestBody BulkCreateVnfInstancesRequest request) {
+        if (!validSize(request != null ? request.getItems() : null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return respond(applicationService.createVnfInstances(request.getItems()), HttpStatus.CREATED);
+    }
+
+    @PostMapping(value = "/vnf_instances/instantiate", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkOperationResult> instantiateVnfInstances(@RequestBody BulkInstantiateVnfRequest request) {
+        if (!validSize(request != null ? request.getItems() : null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return respond(applicationService.startInstantiations(request.getItems()), HttpStatus.ACCEPTED);
+        } catch (OptimisticLockingException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    private boolean validSize(List<?> items) {
+        return items != null && !items.isEmpty() && items.size() <= maxItems;
+    }
+
+    private static ResponseEntity<BulkOperationResult> respond(BulkOperationResult result, HttpStatus allSucceeded) {
+        HttpStatus status = result.getFailed() == 0 ? allSucceeded : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(result);
+    }
+}
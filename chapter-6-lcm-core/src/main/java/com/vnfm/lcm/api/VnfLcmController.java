@@ -1,16 +1,27 @@
 package com.vnfm.lcm.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vnfm.lcm.api.dto.CreateVnfInstanceRequest;
 import com.vnfm.lcm.api.dto.InstantiateVnfRequestLcm;
 import com.vnfm.lcm.api.dto.VnfInstance;
 import com.vnfm.lcm.api.dto.VnfLcmOpOcc;
 import com.vnfm.lcm.application.VnfLcmApplicationService;
+import com.vnfm.lcm.application.VnfListQuery;
+import com.vnfm.lcm.application.VnfPage;
 import com.vnfm.lcm.application.VnfQueryService;
+import com.vnfm.lcm.domain.model.OpOccState;
+import com.vnfm.lcm.infrastructure.notification.OpOccCompletionNotifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * ETSI SOL002/003 compliant northbound API for VNF LCM.
@@ -18,8 +29,10 @@ import java.util.List;
  * - POST /vnf_instances -> 201 Created with Location
  * - POST /vnf_instances/{vnfId}/instantiate -> 202 Accepted with Location to operation occurrence
  * - GET /vnf_instances/{vnfId} -> VnfInstance
- * - GET /vnf_instances -> List of VnfInstance
+ * - GET /vnf_instances -> one keyset page of VnfInstance (Link rel="next"), or all as NDJSON
  * - GET /vnf_lcm_op_occs/{opId} -> VnfLcmOpOcc
+ * - GET /vnf_lcm_op_occs/{opId}/wait -> VnfLcmOpOcc once COMPLETED/FAILED, or current state after timeout (long-poll)
+ * - GET /vnf_lcm_op_occs/{opId}/events -> text/event-stream: current state, then terminal state (SSE)
  */
 @RestController
 @RequestMapping("/vnflcm/v1")
@@ -29,10 +42,29 @@ public class VnfLcmController {
 
     private final VnfLcmApplicationService applicationService;
     private final VnfQueryService queryService;
+    private final OpOccCompletionNotifier completionNotifier;
+    private final ObjectMapper objectMapper;
 
-    public VnfLcmController(VnfLcmApplicationService applicationService, VnfQueryService queryService) {
+    @Value("${lcm.op-occ.wait.default-timeout-seconds:30}")
+    private long defaultWaitSeconds;
+
+    @Value("${lcm.op-occ.wait.max-timeout-seconds:120}")
+    private long maxWaitSeconds;
+
+    @Value("${lcm.list.default-page-size:100}")
+    private int defaultPageSize;
+
+    @Value("${lcm.list.max-page-size:1000}")
+    private int maxPageSize;
+
+    public VnfLcmController(VnfLcmApplicationService applicationService,
+                            VnfQueryService queryService,
+                            OpOccCompletionNotifier completionNotifier,
+                            ObjectMapper objectMapper) {
         this.applicationService = applicationService;
         this.queryService = queryService;
+        this.completionNotifier = completionNotifier;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping(value = "/vnf_instances", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -66,9 +98,47 @@ public class VnfLcmController {
         return ResponseEntity.ok(instance);
     }
 
+    /**
+     * One page of VNF instances, newest first. SOL013 attribute filter, e.g.
+     * filter=(eq,instantiationState,INSTANTIATED);(cont,vnfInstanceName,edge); unsupported expressions are 400.
+     * fields=a,b selects attributes (id is always included). The next page is linked in the Link header
+     * (rel="next") through nextpage_opaque_marker, as in SOL013 paging; the applied size is echoed in X-Page-Size.
+     */
     @GetMapping(value = "/vnf_instances", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<VnfInstance>> listVnfInstances() {
-        return ResponseEntity.ok(queryService.listVnfInstances());
+    public ResponseEntity<List<Object>> listVnfInstances(
+            @RequestParam(value = "nextpage_opaque_marker", required = false) String marker,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "filter", required = false) String filter,
+            @RequestParam(value = "fields", required = false) String fields) {
+        VnfListQuery query;
+        try {
+            query = VnfListSupport.sol013Query(marker, size, filter, defaultPageSize, maxPageSize);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        VnfPage<VnfInstance> page = queryService.listVnfInstances(query);
+        return VnfListSupport.page(
+                VnfListSupport.select(objectMapper, page.items(), VnfListSupport.fields(fields, "id")),
+                page.nextCursor(), "nextpage_opaque_marker", "size", query.limit());
+    }
+
+    /**
+     * All matching VNF instances as NDJSON (Accept: application/x-ndjson), written while the index is read
+     * page by page; size is the read chunk size.
+     */
+    @GetMapping(value = "/vnf_instances", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamVnfInstances(
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "filter", required = false) String filter,
+            @RequestParam(value = "fields", required = false) String fields) {
+        VnfListQuery query;
+        try {
+            query = VnfListSupport.sol013Query(null, size, filter, defaultPageSize, maxPageSize);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return VnfListSupport.<VnfInstance>ndjson(objectMapper, VnfListSupport.fields(fields, "id"),
+                sink -> queryService.forEachVnfInstance(query, sink));
     }
 
     @GetMapping(value = "/vnf_lcm_op_occs/{opId}", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -79,4 +149,97 @@ public class VnfLcmController {
         }
         return ResponseEntity.ok(opOcc);
     }
+
+    /**
+     * Long-poll: hold the request until the operation occurrence is COMPLETED/FAILED or timeoutSeconds pass.
+     * Returns immediately if already terminal; on timeout returns the current (non-terminal) state so the
+     * client can simply re-issue the call. The waiting request holds no thread.
+     */
+    @GetMapping(value = "/vnf_lcm_op_occs/{opId}/wait", produces = MediaType.APPLICATION_JSON_VALUE)
+    public DeferredResult<ResponseEntity<VnfLcmOpOcc>> waitForOperationOccurrence(
+            @PathVariable String opId,
+            @RequestParam(value = "timeoutSeconds", required = false) Long timeoutSeconds) {
+        DeferredResult<ResponseEntity<VnfLcmOpOcc>> result =
+                new DeferredResult<>(TimeUnit.SECONDS.toMillis(resolveWaitSeconds(timeoutSeconds)));
+        // Register before reading, so a completion committed in between is not missed.
+        Runnable deregister = completionNotifier.register(opId,
+                opOcc -> result.setResult(ResponseEntity.ok(VnfQueryService.toOpOcc(opOcc))));
+        result.onCompletion(deregister);
+        result.onTimeout(() -> result.setResult(currentState(opId)));
+
+        VnfLcmOpOcc current;
+        try {
+            current = queryService.getOperationOccurrence(opId);
+        } catch (RuntimeException e) {
+            deregister.run();
+            throw e;
+        }
+        if (current == null) {
+            result.setResult(ResponseEntity.notFound().build());
+        } else if (isTerminal(current)) {
+            result.setResult(ResponseEntity.ok(current));
+        }
+        return result;
+    }
+
+    /**
+     * Server-sent events: one "opOcc" event with the current state, then one with the terminal state,
+     * then the stream is closed. If the timeout passes first the stream is closed without a terminal
+     * event and the client reconnects.
+     */
+    @GetMapping(value = "/vnf_lcm_op_occs/{opId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamOperationOccurrence(
+            @PathVariable String opId,
+            @RequestParam(value = "timeoutSeconds", required = false) Long timeoutSeconds) {
+        SseEmitter emitter = new SseEmitter(TimeUnit.SECONDS.toMillis(resolveWaitSeconds(timeoutSeconds)));
+        Runnable deregister = completionNotifier.register(opId, opOcc -> {
+            sendOpOcc(emitter, VnfQueryService.toOpOcc(opOcc));
+            emitter.complete();
+        });
+        emitter.onCompletion(deregister);
+        emitter.onTimeout(emitter::complete);
+
+        VnfLcmOpOcc current;
+        try {
+            current = queryService.getOperationOccurrence(opId);
+        } catch (RuntimeException e) {
+            deregister.run();
+            throw e;
+        }
+        if (current == null) {
+            deregister.run();
+            return ResponseEntity.notFound().build();
+        }
+        sendOpOcc(emitter, current);
+        if (isTerminal(current)) {
+            emitter.complete();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    private ResponseEntity<VnfLcmOpOcc> currentState(String opId) {
+        VnfLcmOpOcc opOcc = queryService.getOperationOccurrence(opId);
+        return opOcc != null ? ResponseEntity.ok(opOcc) : ResponseEntity.notFound().build();
+    }
+
+    private long resolveWaitSeconds(Long requested) {
+        if (requested == null || requested <= 0) {
+            return defaultWaitSeconds;
+        }
+        return Math.min(requested, maxWaitSeconds);
+    }
+
+    private static boolean isTerminal(VnfLcmOpOcc opOcc) {
+        return OpOccState.valueOf(opOcc.getState()).isTerminal();
+    }
+
+    private static void sendOpOcc(SseEmitter emitter, VnfLcmOpOcc opOcc) {
+        try {
+            emitter.send(SseEmitter.event().name("opOcc").id(opOcc.getId() + ":" + opOcc.getState()).data(opOcc));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        } catch (IllegalStateException e) {
+            // Stream already completed (timeout or client gone); nothing left to deliver.
+        }
+    }
 }
@@ -0,0 +1,155 @@
+package com.vnfm.lcm.api;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vnfm.lcm.application.VnfListQuery;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Shared request/response handling of the paged VNF list endpoints: cursor and size parameters,
+ * SOL013 filter expressions, the Link rel="next" header, field selection and NDJSON streaming.
+ */
+final class VnfListSupport {
+
+    /** Response header carrying the page size actually applied (the default when the client sent none). */
+    static final String PAGE_SIZE_HEADER = "X-Page-Size";
+
+    private static final TypeReference<LinkedHashMap<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private VnfListSupport() {
+    }
+
+    /**
+     * Query of GET /api/vnfs: plain state and namePrefix parameters.
+     *
+     * @throws IllegalArgumentException for a malformed cursor or a size outside 1..maxSize
+     */
+    static VnfListQuery query(String cursor, Integer size, String state, String namePrefix,
+                              int defaultSize, int maxSize) {
+        String prefix = blankToNull(namePrefix);
+        return new VnfListQuery(after(cursor), limit(size, defaultSize, maxSize),
+                prefix != null ? VnfListQuery.prefixPattern(prefix) : null, blankToNull(state));
+    }
+
+    /**
+     * Query of GET /vnflcm/v1/vnf_instances with a SOL013 filter. Supported expressions:
+     * (eq,instantiationState,v), (eq,vnfInstanceName,v) and (cont,vnfInstanceName,v), each with one value
+     * and at most once per attribute.
+     *
+     * @throws IllegalArgumentException for a malformed cursor or filter, an unsupported filter expression,
+     *                                  or a size outside 1..maxSize
+     */
+    static VnfListQuery sol013Query(String marker, Integer size, String filter, int defaultSize, int maxSize) {
+        String state = null;
+        String namePattern = null;
+        for (Sol013Filter.Term term : Sol013Filter.parse(filter)) {
+            if (term.values().size() != 1) {
+                throw new IllegalArgumentException("Only one value per filter expression is supported");
+            }
+            String value = term.values().get(0);
+            if (term.attribute().equals("instantiationState") && term.op().equals("eq") && state == null) {
+                state = value;
+            } else if (term.attribute().equals("vnfInstanceName") && namePattern == null
+                    && (term.op().equals("eq") || term.op().equals("cont"))) {
+                namePattern = term.op().equals("eq") ? VnfListQuery.equalsPattern(value) : VnfListQuery.containsPattern(value);
+            } else {
+                throw new IllegalArgumentException("Unsupported filter expression (" + term.op() + "," + term.attribute() + ")");
+            }
+        }
+        return new VnfListQuery(after(marker), limit(size, defaultSize, maxSize), namePattern, state);
+    }
+
+    private static int limit(Integer size, int defaultSize, int maxSize) {
+        int limit = size != null ? size : defaultSize;
+        if (limit < 1 || limit > maxSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxSize);
+        }
+        return limit;
+    }
+
+    private static VnfListQuery.Cursor after(String cursor) {
+        return cursor != null && !cursor.isBlank() ? VnfListQuery.Cursor.decode(cursor) : null;
+    }
+
+    /** Parses ?fields=a,b; null means all fields. */
+    static Set<String> fields(String fields, String idField) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> selected = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(f -> !f.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        selected.add(idField);
+        return selected;
+    }
+
+    /** The item itself, or a map with only the selected attributes (unknown names are ignored). */
+    static Object select(ObjectMapper objectMapper, Object item, Set<String> fields) {
+        if (fields == null) {
+            return item;
+        }
+        Map<String, Object> map = objectMapper.convertValue(item, MAP_TYPE);
+        map.keySet().retainAll(fields);
+        return map;
+    }
+
+    static List<Object> select(ObjectMapper objectMapper, List<?> items, Set<String> fields) {
+        return items.stream().map(i -> select(objectMapper, i, fields)).toList();
+    }
+
+    /**
+     * 200 with the applied page size in {@link #PAGE_SIZE_HEADER} and, when there is a next page, a Link header
+     * to it (same query; cursor and size parameters set explicitly).
+     */
+    static ResponseEntity<List<Object>> page(List<Object> items, String nextCursor, String cursorParam,
+                                             String sizeParam, int limit) {
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok().header(PAGE_SIZE_HEADER, String.valueOf(limit));
+        if (nextCursor != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam(cursorParam, nextCursor)
+                    .replaceQueryParam(sizeParam, limit)
+                    .build()
+                    .toUriString();
+            ok.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return ok.body(items);
+    }
+
+    /**
+     * Streams items as NDJSON (one JSON object per line) while the producer reads them page by page,
+     * so neither side holds the whole list.
+     */
+    static <T> ResponseEntity<StreamingResponseBody> ndjson(ObjectMapper objectMapper, Set<String> fields,
+                                                            Consumer<Consumer<T>> producer) {
+        StreamingResponseBody body = out -> producer.accept(item -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(select(objectMapper, item, fields)));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,19 @@
+package com.vnfm.lcm.api.dto;
+
+import java.util.List;
+
+/**
+ * Request body for POST /vnflcm/v1/bulk/vnf_instances: one CreateVnfInstanceRequest per VNF to create.
+ */
+public class BulkCreateVnfInstancesRequest {
+
+    private List<CreateVnfInstanceRequest> items;
+
+    public List<CreateVnfInstanceRequest> getItems() {
+        return items;
+    }
+
+    public void setItems(List<CreateVnfInstanceRequest> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,49 @@
+package com.vnfm.lcm.api.dto;
+
+import java.util.List;
+
+/**
+ * Request body for POST /vnflcm/v1/bulk/vnf_instances/instantiate: VNF instance id plus the
+ * usual InstantiateVnfRequestLcm for each VNF to instantiate.
+ */
+public class BulkInstantiateVnfRequest {
+
+    private List<Item> items;
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    public static class Item {
+        private String vnfInstanceId;
+        private InstantiateVnfRequestLcm instantiateVnfRequest;
+
+        public Item() {
+        }
+
+        public Item(String vnfInstanceId, InstantiateVnfRequestLcm instantiateVnfRequest) {
+            this.vnfInstanceId = vnfInstanceId;
+            this.instantiateVnfRequest = instantiateVnfRequest;
+        }
+
+        public String getVnfInstanceId() {
+            return vnfInstanceId;
+        }
+
+        public void setVnfInstanceId(String vnfInstanceId) {
+            this.vnfInstanceId = vnfInstanceId;
+        }
+
+        public InstantiateVnfRequestLcm getInstantiateVnfRequest() {
+            return instantiateVnfRequest;
+        }
+
+        public void setInstantiateVnfRequest(InstantiateVnfRequestLcm instantiateVnfRequest) {
+            this.instantiateVnfRequest = instantiateVnfRequest;
+        }
+    }
+}
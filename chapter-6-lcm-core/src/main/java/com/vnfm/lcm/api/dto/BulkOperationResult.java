@@ -0,0 +1,128 @@
+package com.vnfm.lcm.api.dto;
+
+import java.util.List;
+
+/**
+ * Response of the bulk endpoints: one result per request item, in request order.
+ * Each item carries the HTTP status the single-item endpoint would have returned (201/202, 404, 409, 400).
+ */
+public class BulkOperationResult {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<Item> results;
+
+    public BulkOperationResult() {
+    }
+
+    public BulkOperationResult(List<Item> results) {
+        this.results = results;
+        this.total = results.size();
+        this.succeeded = (int) results.stream().filter(Item::isSuccess).count();
+        this.failed = total - succeeded;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<Item> getResults() {
+        return results;
+    }
+
+    public void setResults(List<Item> results) {
+        this.results = results;
+    }
+
+    public static class Item {
+        private int index;
+        private int status;
+        private String vnfInstanceId;
+        private String vnfLcmOpOccId;
+        private String error;
+
+        public Item() {
+        }
+
+        public Item(int index, int status, String vnfInstanceId, String vnfLcmOpOccId, String error) {
+            this.index = index;
+            this.status = status;
+            this.vnfInstanceId = vnfInstanceId;
+            this.vnfLcmOpOccId = vnfLcmOpOccId;
+            this.error = error;
+        }
+
+        public static Item success(int index, int status, String vnfInstanceId, String vnfLcmOpOccId) {
+            return new Item(index, status, vnfInstanceId, vnfLcmOpOccId, null);
+        }
+
+        public static Item failure(int index, int status, String vnfInstanceId, String error) {
+            return new Item(index, status, vnfInstanceId, null, error);
+        }
+
+        public boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public void setStatus(int status) {
+            this.status = status;
+        }
+
+        public String getVnfInstanceId() {
+            return vnfInstanceId;
+        }
+
+        public void setVnfInstanceId(String vnfInstanceId) {
+            this.vnfInstanceId = vnfInstanceId;
+        }
+
+        public String getVnfLcmOpOccId() {
+            return vnfLcmOpOccId;
+        }
+
+        public void setVnfLcmOpOccId(String vnfLcmOpOccId) {
+            this.vnfLcmOpOccId = vnfLcmOpOccId;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+}
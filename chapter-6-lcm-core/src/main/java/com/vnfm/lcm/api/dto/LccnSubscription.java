@@ -0,0 +1,56 @@
+package com.vnfm.lcm.api.dto;
+
+import java.time.Instant;
+
+/**
+ * ETSI SOL003 LccnSubscription returned by /vnflcm/v1/subscriptions.
+ */
+public class LccnSubscription {
+
+    private String id;
+    private String callbackUri;
+    private LccnSubscriptionRequest.Filter filter;
+    private Instant createdAt;
+
+    public LccnSubscription() {
+    }
+
+    public LccnSubscription(String id, String callbackUri, LccnSubscriptionRequest.Filter filter, Instant createdAt) {
+        this.id = id;
+        this.callbackUri = callbackUri;
+        this.filter = filter;
+        this.createdAt = createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getCallbackUri() {
+        return callbackUri;
+    }
+
+    public void setCallbackUri(String callbackUri) {
+        this.callbackUri = callbackUri;
+    }
+
+    public LccnSubscriptionRequest.Filter getFilter() {
+        return filter;
+    }
+
+    public void setFilter(LccnSubscriptionRequest.Filter filter) {
+        this.filter = filter;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
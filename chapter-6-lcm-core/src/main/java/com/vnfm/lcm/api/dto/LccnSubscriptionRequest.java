@@ -0,0 +1,69 @@
+package com.vnfm.lcm.api.dto;
+
+import java.util.List;
+
+/**
+ * Request body for POST /vnflcm/v1/subscriptions (ETSI SOL003 LccnSubscriptionRequest, reduced).
+ * Only operation occurrence result notifications are sent; an empty filter matches every VNF and operation.
+ */
+public class LccnSubscriptionRequest {
+
+    private String callbackUri;
+    private Filter filter;
+
+    public String getCallbackUri() {
+        return callbackUri;
+    }
+
+    public void setCallbackUri(String callbackUri) {
+        this.callbackUri = callbackUri;
+    }
+
+    public Filter getFilter() {
+        return filter;
+    }
+
+    public void setFilter(Filter filter) {
+        this.filter = filter;
+    }
+
+    /** LifecycleChangeNotificationsFilter: each list restricts, null/empty matches all. */
+    public static class Filter {
+        private List<String> vnfInstanceIds;
+        private List<String> operationTypes;   // INSTANTIATE, TERMINATE
+        private List<String> operationStates;  // COMPLETED, FAILED
+
+        public Filter() {
+        }
+
+        public Filter(List<String> vnfInstanceIds, List<String> operationTypes, List<String> operationStates) {
+            this.vnfInstanceIds = vnfInstanceIds;
+            this.operationTypes = operationTypes;
+            this.operationStates = operationStates;
+        }
+
+        public List<String> getVnfInstanceIds() {
+            return vnfInstanceIds;
+        }
+
+        public void setVnfInstanceIds(List<String> vnfInstanceIds) {
+            this.vnfInstanceIds = vnfInstanceIds;
+        }
+
+        public List<String> getOperationTypes() {
+            return operationTypes;
+        }
+
+        public void setOperationTypes(List<String> operationTypes) {
+            this.operationTypes = operationTypes;
+        }
+
+        public List<String> getOperationStates() {
+            return operationStates;
+        }
+
+        public void setOperationStates(List<String> operationStates) {
+            this.operationStates = operationStates;
+        }
+    }
+}
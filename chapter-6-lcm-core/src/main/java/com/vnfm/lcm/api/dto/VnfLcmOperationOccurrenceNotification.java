@@ -0,0 +1,117 @@
+package com.vnfm.lcm.api.dto;
+
+import java.time.Instant;
+
+/**
+ * ETSI SOL003 VnfLcmOperationOccurrenceNotification POSTed to a subscription's callbackUri
+ * when an operation occurrence reaches COMPLETED or FAILED (notificationStatus = RESULT).
+ */
+public class VnfLcmOperationOccurrenceNotification {
+
+    public static final String NOTIFICATION_TYPE = "VnfLcmOperationOccurrenceNotification";
+
+    private String id;
+    private String notificationType = NOTIFICATION_TYPE;
+    private String subscriptionId;
+    private Instant timeStamp;
+    private String notificationStatus = "RESULT";
+    private String operationState;
+    private String vnfInstanceId;
+    private String operation;
+    private String vnfLcmOpOccId;
+    private VnfLcmOpOcc.ProblemDetails error;
+
+    public VnfLcmOperationOccurrenceNotification() {
+    }
+
+    public VnfLcmOperationOccurrenceNotification(String id, String subscriptionId, Instant timeStamp, VnfLcmOpOcc opOcc) {
+        this.id = id;
+        this.subscriptionId = subscriptionId;
+        this.timeStamp = timeStamp;
+        this.operationState = opOcc.getState();
+        this.vnfInstanceId = opOcc.getVnfInstanceId();
+        this.operation = opOcc.getOperation();
+        this.vnfLcmOpOccId = opOcc.getId();
+        this.error = opOcc.getError();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getNotificationType() {
+        return notificationType;
+    }
+
+    public void setNotificationType(String notificationType) {
+        this.notificationType = notificationType;
+    }
+
+    public String getSubscriptionId() {
+        return subscriptionId;
+    }
+
+    public void setSubscriptionId(String subscriptionId) {
+        this.subscriptionId = subscriptionId;
+    }
+
+    public Instant getTimeStamp() {
+        return timeStamp;
+    }
+
+    public void setTimeStamp(Instant timeStamp) {
+        this.timeStamp = timeStamp;
+    }
+
+    public String getNotificationStatus() {
+        return notificationStatus;
+    }
+
+    public void setNotificationStatus(String notificationStatus) {
+        this.notificationStatus = notificationStatus;
+    }
+
+    public String getOperationState() {
+        return operationState;
+    }
+
+    public void setOperationState(String operationState) {
+        this.operationState = operationState;
+    }
+
+    public String getVnfInstanceId() {
+        return vnfInstanceId;
+    }
+
+    public void setVnfInstanceId(String vnfInstanceId) {
+        this.vnfInstanceId = vnfInstanceId;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public String getVnfLcmOpOccId() {
+        return vnfLcmOpOccId;
+    }
+
+    public void setVnfLcmOpOccId(String vnfLcmOpOccId) {
+        this.vnfLcmOpOccId = vnfLcmOpOccId;
+    }
+
+    public VnfLcmOpOcc.ProblemDetails getError() {
+        return error;
+    }
+
+    public void setError(VnfLcmOpOcc.ProblemDetails error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,97 @@
+package com.vnfm.lcm.application;
+
+import com.vnfm.lcm.api.dto.LccnSubscription;
+import com.vnfm.lcm.api.dto.LccnSubscriptionRequest;
+import com.vnfm.lcm.infrastructure.subscription.LccnSubscriptionEntity;
+import com.vnfm.lcm.infrastructure.subscription.LccnSubscriptionRepository;
+import com.vnfm.lcm.infrastructure.subscription.LccnSubscriptionsChanged;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Manages LCCN subscriptions for /vnflcm/v1/subscriptions. Delivery is done by LccnNotificationSender.
+ */
+@Service
+public class LccnSubscriptionService {
+
+    private final LccnSubscriptionRepository subscriptionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public LccnSubscriptionService(LccnSubscriptionRepository subscriptionRepository,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Create a subscription. callbackUri must be an absolute http(s) URI.
+     */
+    @Transactional
+    public LccnSubscription createSubscription(LccnSubscriptionRequest request) {
+        String callbackUri = request != null ? request.getCallbackUri() : null;
+        if (!isHttpUri(callbackUri)) {
+            throw new IllegalArgumentException("callbackUri must be an absolute http(s) URI");
+        }
+        LccnSubscriptionRequest.Filter filter = request.getFilter() != null ? request.getFilter() : new LccnSubscriptionRequest.Filter();
+        LccnSubscriptionEntity entity = new LccnSubscriptionEntity(
+                UUID.randomUUID().toString(),
+                callbackUri,
+                LccnSubscriptionEntity.join(filter.getVnfInstanceIds()),
+                LccnSubscriptionEntity.join(filter.getOperationTypes()),
+                LccnSubscriptionEntity.join(filter.getOperationStates()),
+                Instant.now()
+        );
+        LccnSubscription created = toDto(subscriptionRepository.save(entity));
+        eventPublisher.publishEvent(new LccnSubscriptionsChanged());
+        return created;
+    }
+
+    public List<LccnSubscription> listSubscriptions() {
+        return subscriptionRepository.findAllByOrderByCreatedAtAsc().stream().map(LccnSubscriptionService::toDto).toList();
+    }
+
+    public Optional<LccnSubscription> getSubscription(String subscriptionId) {
+        return subscriptionRepository.findById(subscriptionId).map(LccnSubscriptionService::toDto);
+    }
+
+    /**
+     * @return false if no such subscription exists
+     */
+    @Transactional
+    public boolean deleteSubscription(String subscriptionId) {
+        if (!subscriptionRepository.existsById(subscriptionId)) {
+            return false;
+        }
+        subscriptionRepository.deleteById(subscriptionId);
+        eventPublisher.publishEvent(new LccnSubscriptionsChanged());
+        return true;
+    }
+
+    private static boolean isHttpUri(String value) {
+        if (value == null || value.isBlank()) {
+            return false;
+        }
+        try {
+            URI uri = URI.create(value);
+            return uri.isAbsolute() && uri.getHost() != null
+                    && ("http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme()));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static LccnSubscription toDto(LccnSubscriptionEntity entity) {
+        LccnSubscriptionRequest.Filter filter = new LccnSubscriptionRequest.Filter(
+                LccnSubscriptionEntity.split(entity.getVnfInstanceIds()),
+                LccnSubscriptionEntity.split(entity.getOperationTypes()),
+                LccnSubscriptionEntity.split(entity.getOperationStates()));
+        return new LccnSubscription(entity.getId(), entity.getCallbackUri(), filter, entity.getCreatedAt());
+    }
+}
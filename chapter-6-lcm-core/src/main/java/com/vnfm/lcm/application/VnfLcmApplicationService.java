@@ -1,5 +1,7 @@
 package com.vnfm.lcm.application;
 
+import com.vnfm.lcm.api.dto.BulkInstantiateVnfRequest;
+import com.vnfm.lcm.api.dto.BulkOperationResult;
 import com.vnfm.lcm.api.dto.CreateVnfInstanceRequest;
 import com.vnfm.lcm.api.dto.InstantiateVnfRequestLcm;
 import com.vnfm.lcm.api.dto.VnfInstance;
@@ -12,15 +14,14 @@ import com.vnfm.lcm.domain.model.VnfLcmOpOccAggregate;
 import com.vnfm.lcm.domain.model.VnfState;
 import com.vnfm.lcm.infrastructure.eventstore.EventStore;
 import com.vnfm.lcm.infrastructure.readside.VnfIndex;
+import com.vnfm.lcm.infrastructure.readside.VnfIndexBatchWriter;
 import com.vnfm.lcm.infrastructure.readside.VnfIndexRepository;
 import com.vnfm.lcm.infrastructure.saga.SagaOrchestrator;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
 
 import static com.vnfm.lcm.infrastructure.eventstore.EventStore.AGGREGATE_TYPE_OP_OCC;
 import static com.vnfm.lcm.infrastructure.eventstore.EventStore.AGGREGATE_TYPE_VNF;
@@ -28,6 +29,7 @@ import static com.vnfm.lcm.infrastructure.eventstore.EventStore.AGGREGATE_TYPE_V
 /**
  * Application service for ETSI-compliant VNF LCM operations:
  * create VNF instance, start instantiation (creates operation occurrence and starts saga).
+ * Bulk variants apply a whole list in one transaction with batched event, saga and outbox inserts.
  */
 @Service
 public class VnfLcmApplicationService {
@@ -35,13 +37,16 @@ public class VnfLcmApplicationService {
     private final EventStore eventStore;
     private final VnfIndexRepository vnfIndexRepository;
     private final SagaOrchestrator sagaOrchestrator;
+    private final VnfIndexBatchWriter vnfIndexBatchWriter;
 
     public VnfLcmApplicationService(EventStore eventStore,
                                     VnfIndexRepository vnfIndexRepository,
-                                    SagaOrchestrator sagaOrchestrator) {
+                                    SagaOrchestrator sagaOrchestrator,
+                                    VnfIndexBatchWriter vnfIndexBatchWriter) {
         this.eventStore = eventStore;
         this.vnfIndexRepository = vnfIndexRepository;
         this.sagaOrchestrator = sagaOrchestrator;
+        this.vnfIndexBatchWriter = vnfIndexBatchWriter;
     }
 
     /**
@@ -57,7 +62,7 @@ public class VnfLcmApplicationService {
                 vnfId.toString(), name, description, 1, Instant.now());
         eventStore.saveEvents(vnfId, AGGREGATE_TYPE_VNF, List.of(event), 0);
 
-        vnfIndexRepository.save(new VnfIndex(vnfId.toString()));
+        vnfIndexRepository.save(new VnfIndex(vnfId.toString(), name));
 
         return buildVnfInstanceFromEvents(vnfId.toString(), List.of(event));
     }
@@ -78,13 +83,7 @@ public class VnfLcmApplicationService {
             throw new IllegalStateException("VNF instance must be in NOT_INSTANTIATED state to instantiate; current: " + vnfAggregate.getState());
         }
 
-        InstantiateVnfCommand command = new InstantiateVnfCommand(
-                vnfId,
-                request != null && request.getFlavourId() != null ? request.getFlavourId() : "default",
-                2,
-                4,
-                request != null ? request.getRequestId() : null);
-        List<DomainEvent> startedEvents = vnfAggregate.process(command);
+        List<DomainEvent> startedEvents = vnfAggregate.process(instantiateCommand(vnfId, request));
         eventStore.saveEvents(vnfUuid, AGGREGATE_TYPE_VNF, startedEvents, vnfAggregate.getVersion());
 
         UUID opId = UUID.randomUUID();
@@ -98,6 +97,108 @@ public class VnfLcmApplicationService {
         return opId;
     }
 
+    /**
+     * Bulk create (POST /vnflcm/v1/bulk/vnf_instances): all VnfInstanceCreated events in one batch append
+     * and all vnf_index rows in one batch insert. Creation has no per-item failure; results are all 201.
+     */
+    @Transactional
+    public BulkOperationResult createVnfInstances(List<CreateVnfInstanceRequest> requests) {
+        List<EventStore.Append> appends = new ArrayList<>(requests.size());
+        List<VnfIndex> indexEntries = new ArrayList<>(requests.size());
+        List<BulkOperationResult.Item> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            CreateVnfInstanceRequest request = requests.get(i);
+            UUID vnfId = UUID.randomUUID();
+            String name = request != null ? request.getVnfInstanceName() : null;
+            VnfInstanceCreated event = new VnfInstanceCreated(
+                    vnfId.toString(),
+                    name,
+                    request != null ? request.getVnfInstanceDescription() : null,
+                    1,
+                    Instant.now());
+            appends.add(new EventStore.Append(vnfId, AGGREGATE_TYPE_VNF, List.of(event), 0));
+            indexEntries.add(new VnfIndex(vnfId.toString(), name));
+            results.add(BulkOperationResult.Item.success(i, 201, vnfId.toString(), null));
+        }
+        eventStore.saveEventsBatch(appends);
+        vnfIndexBatchWriter.insertAll(indexEntries);
+        return new BulkOperationResult(results);
+    }
+
+    /**
+     * Bulk instantiate (POST /vnflcm/v1/bulk/vnf_instances/instantiate). VNF streams are loaded with one query;
+     * items that fail validation are reported individually (400 bad id, 404 unknown VNF, 409 wrong state or
+     * duplicate in the batch) and the rest are started together: VnfInstantiationStarted + OpOccCreated in one
+     * batch append, sagas/outbox/timeouts in one batch each.
+     * A concurrent change to any accepted VNF fails the whole batch with OptimisticLockingException.
+     */
+    @Transactional
+    public BulkOperationResult startInstantiations(List<BulkInstantiateVnfRequest.Item> items) {
+        BulkOperationResult.Item[] results = new BulkOperationResult.Item[items.size()];
+        Map<Integer, UUID> candidates = new LinkedHashMap<>();
+        Set<UUID> seen = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            BulkInstantiateVnfRequest.Item item = items.get(i);
+            String vnfId = item != null ? item.getVnfInstanceId() : null;
+            UUID vnfUuid;
+            try {
+                vnfUuid = UUID.fromString(vnfId);
+            } catch (IllegalArgumentException | NullPointerException e) {
+                results[i] = BulkOperationResult.Item.failure(i, 400, vnfId, "vnfInstanceId is not a valid UUID");
+                continue;
+            }
+            if (!seen.add(vnfUuid)) {
+                results[i] = BulkOperationResult.Item.failure(i, 409, vnfId, "VNF instance appears more than once in this request");
+                continue;
+            }
+            candidates.put(i, vnfUuid);
+        }
+
+        Map<UUID, List<DomainEvent>> vnfEvents = eventStore.loadEventsBatch(candidates.values(), AGGREGATE_TYPE_VNF);
+        List<EventStore.Append> appends = new ArrayList<>();
+        List<SagaOrchestrator.InstantiateSagaStart> sagaStarts = new ArrayList<>();
+        for (Map.Entry<Integer, UUID> candidate : candidates.entrySet()) {
+            int index = candidate.getKey();
+            UUID vnfUuid = candidate.getValue();
+            String vnfId = vnfUuid.toString();
+            List<DomainEvent> events = vnfEvents.get(vnfUuid);
+            if (events.isEmpty()) {
+                results[index] = BulkOperationResult.Item.failure(index, 404, vnfId, "VNF instance not found");
+                continue;
+            }
+            VnfAggregate vnfAggregate = VnfAggregate.from(events);
+            if (vnfAggregate.getState() != VnfState.INITIAL) {
+                results[index] = BulkOperationResult.Item.failure(index, 409, vnfId,
+                        "VNF instance must be in NOT_INSTANTIATED state to instantiate; current: " + vnfAggregate.getState());
+                continue;
+            }
+            InstantiateVnfRequestLcm request = items.get(index).getInstantiateVnfRequest();
+            appends.add(new EventStore.Append(vnfUuid, AGGREGATE_TYPE_VNF,
+                    vnfAggregate.process(instantiateCommand(vnfId, request)), vnfAggregate.getVersion()));
+
+            UUID opId = UUID.randomUUID();
+            appends.add(new EventStore.Append(opId, AGGREGATE_TYPE_OP_OCC,
+                    VnfLcmOpOccAggregate.processCreate(opId, vnfId, LcmOperationType.INSTANTIATE), 0));
+            sagaStarts.add(new SagaOrchestrator.InstantiateSagaStart(vnfId, opId, buildResourcesFromRequest(request)));
+            results[index] = BulkOperationResult.Item.success(index, 202, vnfId, opId.toString());
+        }
+
+        eventStore.saveEventsBatch(appends);
+        if (!sagaStarts.isEmpty()) {
+            sagaOrchestrator.startInstantiateSagas(sagaStarts);
+        }
+        return new BulkOperationResult(Arrays.asList(results));
+    }
+
+    private static InstantiateVnfCommand instantiateCommand(String vnfId, InstantiateVnfRequestLcm request) {
+        return new InstantiateVnfCommand(
+                vnfId,
+                request != null && request.getFlavourId() != null ? request.getFlavourId() : "default",
+                2,
+                4,
+                request != null ? request.getRequestId() : null);
+    }
+
     private Map<String, Object> buildResourcesFromRequest(InstantiateVnfRequestLcm request) {
         if (request == null) {
             return Map.of();
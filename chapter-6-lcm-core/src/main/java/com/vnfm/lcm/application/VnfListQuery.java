@@ -0,0 +1,63 @@
+package com.vnfm.lcm.application;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * One keyset-paged VNF list call: position, page size and filters.
+ *
+ * @param after       continue after this row; null for the first page
+ * @param limit       maximum rows per page (also the chunk size when streaming)
+ * @param namePattern vnfInstanceName LIKE pattern (escape character '!'), evaluated in SQL on vnf_index; null for all
+ * @param state       state filter, evaluated on the projected state (meaning depends on the endpoint); null for all
+ */
+public record VnfListQuery(Cursor after, int limit, String namePattern, String state) {
+
+    /** LIKE pattern for "starts with prefix". */
+    public static String prefixPattern(String prefix) {
+        return escapeLike(prefix) + "%";
+    }
+
+    /** LIKE pattern for "contains value". */
+    public static String containsPattern(String value) {
+        return "%" + escapeLike(value) + "%";
+    }
+
+    /** LIKE pattern for "equals value". */
+    public static String equalsPattern(String value) {
+        return escapeLike(value);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    /**
+     * Position in (created_at DESC, vnf_id DESC) order, passed to clients as an opaque base64url token.
+     */
+    public record Cursor(Instant createdAt, String vnfId) {
+
+        public String encode() {
+            String raw = createdAt + "|" + vnfId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+         */
+        public static Cursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int sep = raw.indexOf('|');
+                if (sep <= 0 || sep == raw.length() - 1) {
+                    throw new IllegalArgumentException("Malformed cursor");
+                }
+                return new Cursor(Instant.parse(raw.substring(0, sep)), raw.substring(sep + 1));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Malformed cursor", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.vnfm.lcm.application;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paged list.
+ *
+ * @param items      rows of this page (may be shorter than the limit when a state filter skips rows)
+ * @param nextCursor token for the next page, or null when the end of the list was reached
+ */
+public record VnfPage<T>(List<T> items, String nextCursor) {
+}
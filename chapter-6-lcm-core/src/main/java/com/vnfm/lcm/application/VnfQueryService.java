@@ -5,7 +5,6 @@ import com.vnfm.lcm.api.dto.VnfLcmOpOcc;
 import com.vnfm.lcm.api.dto.VnfStateResponse;
 import com.vnfm.lcm.api.dto.VnfSummary;
 import com.vnfm.lcm.domain.DomainEvent;
-import com.vnfm.lcm.domain.event.VnfInstanceCreated;
 import com.vnfm.lcm.domain.model.VnfAggregate;
 import com.vnfm.lcm.domain.model.VnfLcmOpOccAggregate;
 import com.vnfm.lcm.domain.model.VnfState;
@@ -13,18 +12,28 @@ import com.vnfm.lcm.infrastructure.eventstore.EventStore;
 import static com.vnfm.lcm.infrastructure.eventstore.EventStore.AGGREGATE_TYPE_VNF;
 import com.vnfm.lcm.infrastructure.readside.VnfIndex;
 import com.vnfm.lcm.infrastructure.readside.VnfIndexRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * Projects VNF state from the event store and read-side index for REST API.
+ * Lists are keyset-paged over vnf_index; the events of a page are loaded with one batched query.
  */
 @Service
 public class VnfQueryService {
 
+    /** Upper bound on index rows scanned per page, as a multiple of the page size. */
+    static final int MAX_SCAN_FACTOR = 10;
+
     private final EventStore eventStore;
     private final VnfIndexRepository vnfIndexRepository;
 
@@ -53,16 +62,6 @@ public class VnfQueryService {
         );
     }
 
-    public List<VnfSummary> listVnfs() {
-        List<VnfIndex> index = vnfIndexRepository.findAllByOrderByCreatedAtDesc();
-        return index.stream()
-                .map(v -> {
-                    VnfStateResponse state = getVnfState(v.getVnfId());
-                    return new VnfSummary(v.getVnfId(), state.getState());
-                })
-                .collect(Collectors.toList());
-    }
-
     /**
      * Get ETSI VnfInstance DTO for GET /vnflcm/v1/vnf_instances/{vnfId}.
      */
@@ -73,13 +72,91 @@ public class VnfQueryService {
     }
 
     /**
-     * List all VNF instances for GET /vnflcm/v1/vnf_instances.
+     * One page of VnfSummary for GET /api/vnfs; query.state() filters on VnfState (e.g. ACTIVE).
+     */
+    public VnfPage<VnfSummary> listVnfs(VnfListQuery query) {
+        return page(query, VnfQueryService::toSummary, v -> query.state() == null || query.state().equals(v.getState()));
+    }
+
+    /**
+     * One page of VnfInstance for GET /vnflcm/v1/vnf_instances; query.state() filters on instantiationState.
      */
-    public List<VnfInstance> listVnfInstances() {
-        List<VnfIndex> index = vnfIndexRepository.findAllByOrderByCreatedAtDesc();
-        return index.stream()
-                .map(v -> getVnfInstance(v.getVnfId()))
-                .collect(Collectors.toList());
+    public VnfPage<VnfInstance> listVnfInstances(VnfListQuery query) {
+        return page(query, VnfLcmApplicationService::buildVnfInstanceFromEvents,
+                v -> query.state() == null || query.state().equals(v.getInstantiationState()));
+    }
+
+    /**
+     * Streams every matching VnfSummary to sink, reading query.limit() index rows at a time.
+     */
+    public void forEachVnf(VnfListQuery query, Consumer<VnfSummary> sink) {
+        forEach(query, this::listVnfs, sink);
+    }
+
+    /**
+     * Streams every matching VnfInstance to sink, reading query.limit() index rows at a time.
+     */
+    public void forEachVnfInstance(VnfListQuery query, Consumer<VnfInstance> sink) {
+        forEach(query, this::listVnfInstances, sink);
+    }
+
+    private <T> void forEach(VnfListQuery query, Function<VnfListQuery, VnfPage<T>> pager, Consumer<T> sink) {
+        VnfListQuery next = query;
+        while (next != null) {
+            VnfPage<T> page = pager.apply(next);
+            page.items().forEach(sink);
+            next = page.nextCursor() != null
+                    ? new VnfListQuery(VnfListQuery.Cursor.decode(page.nextCursor()), query.limit(), query.namePattern(), query.state())
+                    : null;
+        }
+    }
+
+    /**
+     * Reads index rows after the cursor until limit rows pass the filter, the index is exhausted, or
+     * MAX_SCAN_FACTOR * limit rows were scanned (a selective state filter then returns a short page
+     * with a next cursor instead of scanning the whole fleet in one request).
+     * Each read asks for one row more than it projects, so a page that ends exactly at the last row
+     * carries no next cursor.
+     */
+    private <T> VnfPage<T> page(VnfListQuery query, BiFunction<String, List<DomainEvent>, T> mapper, Predicate<T> filter) {
+        int limit = query.limit();
+        String namePattern = query.namePattern();
+        List<T> items = new ArrayList<>(limit);
+        VnfListQuery.Cursor cursor = query.after();
+        int scanned = 0;
+        boolean exhausted = false;
+        while (items.size() < limit && scanned < limit * MAX_SCAN_FACTOR) {
+            List<VnfIndex> rows = cursor == null
+                    ? vnfIndexRepository.findFirstPage(namePattern, PageRequest.of(0, limit + 1))
+                    : vnfIndexRepository.findPageAfter(cursor.createdAt(), cursor.vnfId(), namePattern, PageRequest.of(0, limit + 1));
+            boolean more = rows.size() > limit;
+            List<VnfIndex> batch = more ? rows.subList(0, limit) : rows;
+            Map<UUID, List<DomainEvent>> events = eventStore.loadEventsBatch(
+                    batch.stream().map(r -> UUID.fromString(r.getVnfId())).toList(), AGGREGATE_TYPE_VNF);
+            int consumed = 0;
+            for (VnfIndex row : batch) {
+                consumed++;
+                scanned++;
+                cursor = new VnfListQuery.Cursor(row.getCreatedAt(), row.getVnfId());
+                T item = mapper.apply(row.getVnfId(), events.getOrDefault(UUID.fromString(row.getVnfId()), List.of()));
+                if (filter.test(item)) {
+                    items.add(item);
+                    if (items.size() == limit) {
+                        break;
+                    }
+                }
+            }
+            if (!more && consumed == batch.size()) {
+                exhausted = true;
+                break;
+            }
+        }
+        return new VnfPage<>(items, exhausted || cursor == null ? null : cursor.encode());
+    }
+
+    private static VnfSummary toSummary(String vnfId, List<DomainEvent> events) {
+        VnfState state = events.isEmpty() ? VnfState.INITIAL : VnfAggregate.from(events).getState();
+        return new VnfSummary(vnfId, state.name());
     }
 
     /**
@@ -91,7 +168,14 @@ public class VnfQueryService {
         if (events.isEmpty()) {
             return null;
         }
-        VnfLcmOpOccAggregate agg = VnfLcmOpOccAggregate.from(events);
+        return toOpOcc(VnfLcmOpOccAggregate.from(events));
+    }
+
+    /**
+     * Map an operation occurrence aggregate to the ETSI VnfLcmOpOcc DTO.
+     * Shared by the GET endpoint and the completion notifications, which already hold the aggregate.
+     */
+    public static VnfLcmOpOcc toOpOcc(VnfLcmOpOccAggregate agg) {
         VnfLcmOpOcc dto = new VnfLcmOpOcc();
         dto.setId(agg.getOpId().toString());
         dto.setOperation(agg.getOperationType().name());
@@ -8,5 +8,10 @@ public enum OpOccState {
     PROCESSING,
     COMPLETED,
     FAILED,
-    ROLLING_BACK
+    ROLLING_BACK;
+
+    /** COMPLETED and FAILED are final; no further state change follows. */
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED;
+    }
 }
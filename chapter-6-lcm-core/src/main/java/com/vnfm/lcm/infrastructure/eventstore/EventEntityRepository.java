@@ -4,6 +4,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -27,4 +28,10 @@ public interface EventEntityRepository extends JpaRepository<EventEntity, Long>
 
     @Query("SELECT COALESCE(MAX(e.version), 0) FROM EventEntity e WHERE e.aggregateId = :aggregateId AND e.aggregateType = :aggregateType")
     int findMaxVersionByAggregateIdAndAggregateType(@Param("aggregateId") String aggregateId, @Param("aggregateType") String aggregateType);
+
+    /** Bulk variant of the above: [aggregateId, maxVersion] rows; aggregates without events are absent. */
+    @Query("SELECT e.aggregateId, MAX(e.version) FROM EventEntity e WHERE e.aggregateType = :aggregateType AND e.aggregateId IN :aggregateIds GROUP BY e.aggregateId")
+    List<Object[]> findMaxVersionsByAggregateIds(@Param("aggregateIds") Collection<String> aggregateIds, @Param("aggregateType") String aggregateType);
+
+    List<EventEntity> findByAggregateTypeAndAggregateIdInOrderByAggregateIdAscVersionAsc(String aggregateType, Collection<String> aggregateIds);
 }
@@ -2,7 +2,9 @@ package com.vnfm.lcm.infrastructure.eventstore;
 
 import com.vnfm.lcm.domain.DomainEvent;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -27,13 +29,34 @@ public interface EventStore {
      */
     void saveEvents(UUID aggregateId, String aggregateType, List<DomainEvent> events, int expectedVersion);
 
+    /**
+     * Appends events for many aggregates at once (bulk API): one version check query per aggregate type
+     * and one JDBC batch insert instead of a query and an insert per event.
+     * Same optimistic-lock semantics as {@link #saveEvents}; a conflict on any aggregate fails the whole batch.
+     *
+     * @throws OptimisticLockingException if any aggregate is not at its expected version
+     */
+    void saveEventsBatch(List<Append> appends);
+
     /**
      * Loads all events for the aggregate in version order (ascending).
      */
     List<DomainEvent> loadEvents(UUID aggregateId, String aggregateType);
 
+    /**
+     * Loads the events of many aggregates of one type with one query per chunk of ids.
+     * Every requested id is present in the result; unknown aggregates map to an empty list.
+     */
+    Map<UUID, List<DomainEvent>> loadEventsBatch(Collection<UUID> aggregateIds, String aggregateType);
+
     /**
      * Returns the latest snapshot for the aggregate, if any (used to speed up rebuild).
      */
     Optional<Snapshot> getLatestSnapshot(UUID aggregateId, String aggregateType);
+
+    /**
+     * New events for one aggregate, as passed to {@link #saveEvents}.
+     */
+    record Append(UUID aggregateId, String aggregateType, List<DomainEvent> events, int expectedVersion) {
+    }
 }
@@ -20,7 +20,7 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
  *   (Spring Boot often enables this by default, but here we make it explicit.)
  */
 @Configuration
-@EnableJpaRepositories(basePackages = {"com.vnfm.lcm.infrastructure.eventstore", "com.vnfm.lcm.infrastructure.outbox", "com.vnfm.lcm.infrastructure.idempotency", "com.vnfm.lcm.infrastructure.saga", "com.vnfm.lcm.infrastructure.readside"})
+@EnableJpaRepositories(basePackages = {"com.vnfm.lcm.infrastructure.eventstore", "com.vnfm.lcm.infrastructure.outbox", "com.vnfm.lcm.infrastructure.idempotency", "com.vnfm.lcm.infrastructure.saga", "com.vnfm.lcm.infrastructure.readside", "com.vnfm.lcm.infrastructure.subscription"})
 @EnableTransactionManagement
 public class EventStoreConfig {
 }
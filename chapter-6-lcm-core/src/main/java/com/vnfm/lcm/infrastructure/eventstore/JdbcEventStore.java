@@ -1,12 +1,12 @@
 package com.vnfm.lcm.infrastructure.eventstore;
 
 import com.vnfm.lcm.domain.DomainEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.sql.Timestamp;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -22,6 +22,9 @@ import java.util.stream.Collectors;
  *                 the transaction commits (changes are persisted). If an exception is thrown,
  *                 the transaction rolls back. readOnly = true hints that we only read (no
  *                 writes), which can allow optimizations (e.g. no flush before the query).
+ *
+ * Bulk appends (saveEventsBatch) bypass JPA: EventEntity uses IDENTITY ids, which disables Hibernate
+ * insert batching, so the rows are written with one JdbcTemplate.batchUpdate in the same transaction.
  */
 @Repository
 public class JdbcEventStore implements EventStore {
@@ -29,13 +32,23 @@ public class JdbcEventStore implements EventStore {
     private final EventEntityRepository eventRepository;
     private final SnapshotEntityRepository snapshotRepository;
     private final DomainEventSerializer serializer;
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Upper bound for ids in one IN (...) clause. */
+    static final int IN_CLAUSE_CHUNK = 1000;
+
+    private static final String INSERT_EVENT_SQL =
+            "INSERT INTO events (event_id, aggregate_id, aggregate_type, version, event_type, payload, event_timestamp) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
 
     public JdbcEventStore(EventEntityRepository eventRepository,
                           SnapshotEntityRepository snapshotRepository,
-                          DomainEventSerializer serializer) {
+                          DomainEventSerializer serializer,
+                          JdbcTemplate jdbcTemplate) {
         this.eventRepository = eventRepository;
         this.snapshotRepository = snapshotRepository;
         this.serializer = serializer;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
@@ -70,6 +83,61 @@ public class JdbcEventStore implements EventStore {
         }
     }
 
+    @Override
+    @Transactional
+    public void saveEventsBatch(List<Append> appends) {
+        if (appends == null || appends.isEmpty()) {
+            return;
+        }
+        Map<String, List<Append>> byType = appends.stream()
+                .collect(Collectors.groupingBy(a -> a.aggregateType() != null ? a.aggregateType() : EventStore.AGGREGATE_TYPE_VNF,
+                        LinkedHashMap::new, Collectors.toList()));
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<String, List<Append>> entry : byType.entrySet()) {
+            String type = entry.getKey();
+            Map<String, Integer> maxVersions = findMaxVersions(
+                    entry.getValue().stream().map(a -> a.aggregateId().toString()).toList(), type);
+            for (Append append : entry.getValue()) {
+                String aggregateIdStr = append.aggregateId().toString();
+                int maxVersion = maxVersions.getOrDefault(aggregateIdStr, 0);
+                if (maxVersion != append.expectedVersion()) {
+                    throw new OptimisticLockingException(aggregateIdStr, append.expectedVersion(), maxVersion);
+                }
+                int nextVersion = append.expectedVersion() + 1;
+                for (DomainEvent event : append.events()) {
+                    if (event.getVersion() != nextVersion) {
+                        throw new IllegalArgumentException(
+                                "Event version " + event.getVersion() + " must be " + nextVersion);
+                    }
+                    rows.add(new Object[]{
+                            event.getEventId(),
+                            aggregateIdStr,
+                            type,
+                            event.getVersion(),
+                            event.getClass().getSimpleName(),
+                            serializer.serialize(event),
+                            Timestamp.from(event.getTimestamp())
+                    });
+                    nextVersion++;
+                }
+                // Two appends for the same aggregate in one batch must chain their versions.
+                maxVersions.put(aggregateIdStr, nextVersion - 1);
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, rows);
+    }
+
+    private Map<String, Integer> findMaxVersions(List<String> aggregateIds, String type) {
+        Map<String, Integer> maxVersions = new HashMap<>();
+        for (int from = 0; from < aggregateIds.size(); from += IN_CLAUSE_CHUNK) {
+            List<String> chunk = aggregateIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK, aggregateIds.size()));
+            for (Object[] row : eventRepository.findMaxVersionsByAggregateIds(chunk, type)) {
+                maxVersions.put((String) row[0], ((Number) row[1]).intValue());
+            }
+        }
+        return maxVersions;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<DomainEvent> loadEvents(UUID aggregateId, String aggregateType) {
@@ -80,6 +148,22 @@ public class JdbcEventStore implements EventStore {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, List<DomainEvent>> loadEventsBatch(Collection<UUID> aggregateIds, String aggregateType) {
+        String type = aggregateType != null ? aggregateType : EventStore.AGGREGATE_TYPE_VNF;
+        Map<UUID, List<DomainEvent>> result = new LinkedHashMap<>();
+        aggregateIds.forEach(id -> result.put(id, new ArrayList<>()));
+        List<String> ids = aggregateIds.stream().map(UUID::toString).distinct().toList();
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK) {
+            List<String> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK, ids.size()));
+            for (EventEntity e : eventRepository.findByAggregateTypeAndAggregateIdInOrderByAggregateIdAscVersionAsc(type, chunk)) {
+                result.get(UUID.fromString(e.getAggregateId())).add(serializer.deserialize(e.getPayload(), type));
+            }
+        }
+        return result;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Snapshot> getLatestSnapshot(UUID aggregateId, String aggregateType) {
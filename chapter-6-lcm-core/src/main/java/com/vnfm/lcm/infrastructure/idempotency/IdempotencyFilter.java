@@ -87,14 +87,17 @@ public class IdempotencyFilter extends OncePerRequestFilter {
         }
     }
 
-    /** Apply to API paths that support idempotency: /api/** and POST /vnflcm/v1/vnf_instances, POST /vnflcm/v1/vnf_instances/{id}/instantiate. */
+    /** Apply to API paths that support idempotency: /api/**, POST /vnflcm/v1/vnf_instances, POST /vnflcm/v1/vnf_instances/{id}/instantiate and POST /vnflcm/v1/bulk/**. */
     private boolean shouldApply(HttpServletRequest request) {
         String path = request.getRequestURI();
         if (path == null) return false;
+        // The VNF list is paged or streamed; buffering it in the response cache would defeat both.
+        if ("GET".equalsIgnoreCase(request.getMethod()) && path.equals("/api/vnfs")) return false;
         if (path.startsWith("/api/")) return true;
         if (path.startsWith("/vnflcm/v1/")) {
             if ("POST".equalsIgnoreCase(request.getMethod()) && path.equals("/vnflcm/v1/vnf_instances")) return true;
             if ("POST".equalsIgnoreCase(request.getMethod()) && path.matches("/vnflcm/v1/vnf_instances/[^/]+/instantiate")) return true;
+            if ("POST".equalsIgnoreCase(request.getMethod()) && path.startsWith("/vnflcm/v1/bulk/")) return true;
         }
         return false;
     }
@@ -132,13 +135,13 @@ public class IdempotencyFilter extends OncePerRequestFilter {
         response.getWriter().write(cacheJson);
     }
 
-    /** Build cache JSON: for 201/202 include status and Location header so duplicate requests get same response. */
+    /** Build cache JSON: for 201/202/207 include status and Location header so duplicate requests get same response. */
     private String buildResponseCache(ContentCachingResponseWrapper response) {
         try {
             int status = response.getStatus();
             byte[] bodyBytes = response.getContentAsByteArray();
             String body = (bodyBytes != null && bodyBytes.length > 0) ? new String(bodyBytes, StandardCharsets.UTF_8) : null;
-            if (status == 201 || status == 202) {
+            if (status == 201 || status == 202 || status == 207) {
                 ObjectNode node = objectMapper.createObjectNode();
                 node.put("status", status);
                 ObjectNode headers = objectMapper.createObjectNode();
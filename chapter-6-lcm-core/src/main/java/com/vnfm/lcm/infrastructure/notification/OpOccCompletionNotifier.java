@@ -0,0 +1,67 @@
+package com.vnfm.lcm.infrastructure.notification;
+
+import com.vnfm.lcm.domain.model.VnfLcmOpOccAggregate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-process registry of requests waiting for an operation occurrence to finish (long-poll / SSE).
+ * <p>
+ * Waiters register a callback per opId; when {@link OperationOccurrenceFinished} is published and the
+ * saga transaction has committed, all callbacks for that opId are invoked once and removed.
+ * Only completions handled by <em>this</em> instance are seen; callers must re-read the event store
+ * on timeout (another replica may have consumed the VIM reply).
+ */
+@Component
+public class OpOccCompletionNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(OpOccCompletionNotifier.class);
+
+    private final Map<String, Set<Consumer<VnfLcmOpOccAggregate>>> waiters = new ConcurrentHashMap<>();
+
+    /**
+     * Register a callback for the terminal state of opId.
+     *
+     * @return deregistration hook; call it when the waiting request completes or times out
+     */
+    public Runnable register(String opId, Consumer<VnfLcmOpOccAggregate> callback) {
+        waiters.compute(opId, (k, set) -> {
+            Set<Consumer<VnfLcmOpOccAggregate>> callbacks = set != null ? set : ConcurrentHashMap.newKeySet();
+            callbacks.add(callback);
+            return callbacks;
+        });
+        return () -> waiters.computeIfPresent(opId, (k, set) -> {
+            set.remove(callback);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /** Number of requests currently waiting (all operation occurrences). */
+    public int waiting() {
+        return waiters.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFinished(OperationOccurrenceFinished event) {
+        String opId = event.opOcc().getOpId().toString();
+        Set<Consumer<VnfLcmOpOccAggregate>> callbacks = waiters.remove(opId);
+        if (callbacks == null) {
+            return;
+        }
+        for (Consumer<VnfLcmOpOccAggregate> callback : callbacks) {
+            try {
+                callback.accept(event.opOcc());
+            } catch (RuntimeException e) {
+                log.warn("Op occ {} waiter callback failed: {}", opId, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.vnfm.lcm.infrastructure.notification;
+
+import com.vnfm.lcm.domain.model.VnfLcmOpOccAggregate;
+
+/**
+ * In-process notification that an LCM operation occurrence reached a terminal state (COMPLETED or FAILED).
+ * Published by SagaOrchestrator inside the saga transaction; listeners act on it after commit.
+ *
+ * @param opOcc the operation occurrence rebuilt including the terminal event
+ */
+public record OperationOccurrenceFinished(VnfLcmOpOccAggregate opOcc) {
+}
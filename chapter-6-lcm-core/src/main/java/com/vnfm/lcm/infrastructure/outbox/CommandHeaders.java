@@ -0,0 +1,99 @@
+package com.vnfm.lcm.infrastructure.outbox;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Envelope of an outbox message sent as Kafka record headers, so consumers can route the record
+ * (and pick the ordering key) without parsing the value. The value stays the bare JSON payload.
+ * <ul>
+ *   <li>{@code schema_version} – envelope/payload version ({@value #SCHEMA_VERSION}); bump on incompatible changes</li>
+ *   <li>{@code message_id} – the outbox row's message_id (the consumer's deduplication id)</li>
+ *   <li>{@code message_type} – the outbox row's message_type (e.g. ReserveResources)</li>
+ *   <li>{@code saga_id}, {@code vnf_id} – copied from the payload's top-level sagaId / vnfId, when present</li>
+ * </ul>
+ * The record key is the vnf_id ({@link #recordKey}), so all commands for a VNF land on one partition and reach
+ * one consumer in order; without a vnfId it is the message_id.
+ */
+public final class CommandHeaders {
+
+    public static final String SCHEMA_VERSION_HEADER = "schema_version";
+    public static final String MESSAGE_ID_HEADER = "message_id";
+    public static final String MESSAGE_TYPE_HEADER = "message_type";
+    public static final String SAGA_ID_HEADER = "saga_id";
+    public static final String VNF_ID_HEADER = "vnf_id";
+
+    public static final String SCHEMA_VERSION = "1";
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private CommandHeaders() {
+    }
+
+    public static List<Header> of(OutboxMessage message) {
+        List<Header> headers = new ArrayList<>(5);
+        headers.add(header(SCHEMA_VERSION_HEADER, SCHEMA_VERSION));
+        headers.add(header(MESSAGE_ID_HEADER, message.getMessageId()));
+        headers.add(header(MESSAGE_TYPE_HEADER, message.getMessageType()));
+        String[] ids = topLevelIds(message.getPayload());
+        if (ids[0] != null) {
+            headers.add(header(SAGA_ID_HEADER, ids[0]));
+        }
+        if (ids[1] != null) {
+            headers.add(header(VNF_ID_HEADER, ids[1]));
+        }
+        return headers;
+    }
+
+    /** Record key for a message sent with these headers: its vnf_id, or its message_id when it has none. */
+    public static String recordKey(OutboxMessage message, List<Header> headers) {
+        for (Header header : headers) {
+            if (VNF_ID_HEADER.equals(header.key())) {
+                return new String(header.value(), StandardCharsets.UTF_8);
+            }
+        }
+        return message.getMessageId();
+    }
+
+    /**
+     * Reads sagaId and vnfId from the payload's top level with a streaming parser: nested objects
+     * (resources) are skipped, and it stops as soon as both are found.
+     */
+    static String[] topLevelIds(String payload) {
+        String[] ids = new String[2];
+        if (payload == null) {
+            return ids;
+        }
+        try (JsonParser parser = JSON.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return ids;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME && (ids[0] == null || ids[1] == null)) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                } else if (value == JsonToken.VALUE_STRING && "sagaId".equals(field)) {
+                    ids[0] = parser.getText();
+                } else if (value == JsonToken.VALUE_STRING && "vnfId".equals(field)) {
+                    ids[1] = parser.getText();
+                }
+            }
+        } catch (IOException e) {
+            // Not JSON: the record goes out without id headers and the consumer falls back to the body
+        }
+        return ids;
+    }
+
+    private static Header header(String name, String value) {
+        return new RecordHeader(name, value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,14 +1,21 @@
 package com.vnfm.lcm.infrastructure.outbox;
 
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * STUDY NOTE – Kafka adapter for outbox publishing
  * ------------------------------------------------
  * Maps logical "destination" (e.g. vim.manager) to a Kafka topic (e.g. vim.commands).
  * Uses KafkaTemplate which is configured with bootstrap servers and serializers in
- * application.yml. We send key = messageId (for partitioning/ordering) and value = payload (JSON).
+ * application.yml. We send key = vnfId (messageId if the payload has none) and value = payload (JSON):
+ * the key picks the partition, so Reserve and Release for one VNF reach the same consumer in order.
+ * The message id, type, saga id and vnf id travel as record headers ({@link CommandHeaders}), so the
+ * consumer deduplicates and routes the record without parsing the payload.
  */
 @Component
 public class KafkaMessagePublisher implements MessagePublisher {
@@ -30,7 +37,9 @@ public class KafkaMessagePublisher implements MessagePublisher {
         try {
             // STUDY NOTE: send().get() blocks until ack; in production consider fire-and-forget
             // or callback to avoid blocking the forwarder thread. get() ensures we throw on failure.
-            kafkaTemplate.send(topic, message.getMessageId(), message.getPayload()).get();
+            List<Header> headers = CommandHeaders.of(message);
+            kafkaTemplate.send(new ProducerRecord<>(topic, null, CommandHeaders.recordKey(message, headers),
+                    message.getPayload(), headers)).get();
         } catch (Exception e) {
             throw new PublishException("Failed to publish message " + message.getMessageId() + " to " + topic, e);
         }
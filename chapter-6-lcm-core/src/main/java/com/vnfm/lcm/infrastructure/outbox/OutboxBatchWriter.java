@@ -0,0 +1,44 @@
+package com.vnfm.lcm.infrastructure.outbox;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Inserts many outbox rows with one JDBC batch (bulk API). OutboxMessage uses IDENTITY ids, so
+ * outboxRepository.saveAll would issue one INSERT round trip per row. Runs in the caller's transaction,
+ * so the rows commit or roll back together with the saga/event writes (same outbox guarantee).
+ */
+@Repository
+public class OutboxBatchWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox (message_id, destination, message_type, payload, status, retry_count, created_at, next_retry_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, messages.stream()
+                .map(m -> new Object[]{
+                        m.getMessageId(),
+                        m.getDestination(),
+                        m.getMessageType(),
+                        m.getPayload(),
+                        m.getStatus().name(),
+                        m.getRetryCount(),
+                        Timestamp.from(m.getCreatedAt()),
+                        Timestamp.from(m.getNextRetryAt())
+                })
+                .toList());
+    }
+}
@@ -7,10 +7,14 @@ import java.time.Instant;
 /**
  * Read-side table of known VNF IDs for listing (GET /api/vnfs).
  * Populated when a new VNF is created (POST /api/vnfs).
+ * Lists are paged by keyset (created_at DESC, vnf_id DESC); vnf_instance_name is copied here at creation
+ * (it never changes) so the name-prefix filter runs in SQL.
  */
 @Entity
 @Table(name = "vnf_index", indexes = {
-        @Index(name = "idx_vnf_index_vnf_id", columnList = "vnf_id", unique = true)
+        @Index(name = "idx_vnf_index_vnf_id", columnList = "vnf_id", unique = true),
+        @Index(name = "idx_vnf_index_created_at_vnf_id", columnList = "created_at DESC, vnf_id DESC"),
+        @Index(name = "idx_vnf_index_name", columnList = "vnf_instance_name")
 })
 public class VnfIndex {
 
@@ -21,12 +25,20 @@ public class VnfIndex {
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
 
+    @Column(name = "vnf_instance_name")
+    private String vnfInstanceName;
+
     @SuppressWarnings("unused")
     public VnfIndex() {
     }
 
     public VnfIndex(String vnfId) {
+        this(vnfId, null);
+    }
+
+    public VnfIndex(String vnfId, String vnfInstanceName) {
         this.vnfId = vnfId;
+        this.vnfInstanceName = vnfInstanceName;
         this.createdAt = Instant.now();
     }
 
@@ -45,4 +57,12 @@ public class VnfIndex {
     public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
+
+    public String getVnfInstanceName() {
+        return vnfInstanceName;
+    }
+
+    public void setVnfInstanceName(String vnfInstanceName) {
+        this.vnfInstanceName = vnfInstanceName;
+    }
 }
@@ -0,0 +1,32 @@
+package com.vnfm.lcm.infrastructure.readside;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Inserts many vnf_index rows with one JDBC batch (bulk create). vnfIndexRepository.saveAll would
+ * SELECT each row first (assigned ids look "not new" to Spring Data) and then insert it.
+ */
+@Repository
+public class VnfIndexBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO vnf_index (vnf_id, created_at, vnf_instance_name) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VnfIndexBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<VnfIndex> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries.stream()
+                .map(e -> new Object[]{e.getVnfId(), Timestamp.from(e.getCreatedAt()), e.getVnfInstanceName()})
+                .toList());
+    }
+}
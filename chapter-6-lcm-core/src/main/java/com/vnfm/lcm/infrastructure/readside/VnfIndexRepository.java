@@ -1,10 +1,30 @@
 package com.vnfm.lcm.infrastructure.readside;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 
 public interface VnfIndexRepository extends JpaRepository<VnfIndex, String> {
 
-    List<VnfIndex> findAllByOrderByCreatedAtDesc();
+    /**
+     * First keyset page, newest first. namePattern is a LIKE pattern (escape character '!') or null for all.
+     */
+    @Query("SELECT v FROM VnfIndex v WHERE (:namePattern IS NULL OR v.vnfInstanceName LIKE :namePattern ESCAPE '!') "
+            + "ORDER BY v.createdAt DESC, v.vnfId DESC")
+    List<VnfIndex> findFirstPage(@Param("namePattern") String namePattern, Pageable page);
+
+    /**
+     * Next keyset page: rows strictly after (createdAt, vnfId) in (created_at DESC, vnf_id DESC) order.
+     */
+    @Query("SELECT v FROM VnfIndex v WHERE (v.createdAt < :createdAt OR (v.createdAt = :createdAt AND v.vnfId < :vnfId)) "
+            + "AND (:namePattern IS NULL OR v.vnfInstanceName LIKE :namePattern ESCAPE '!') "
+            + "ORDER BY v.createdAt DESC, v.vnfId DESC")
+    List<VnfIndex> findPageAfter(@Param("createdAt") Instant createdAt,
+                                 @Param("vnfId") String vnfId,
+                                 @Param("namePattern") String namePattern,
+                                 Pageable page);
 }
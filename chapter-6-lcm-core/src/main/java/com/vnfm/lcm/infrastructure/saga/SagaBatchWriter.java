@@ -0,0 +1,61 @@
+package com.vnfm.lcm.infrastructure.saga;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Inserts many saga instances and saga timeouts with one JDBC batch each (bulk API).
+ * Both entities use IDENTITY ids, which disables Hibernate insert batching. Runs in the caller's transaction.
+ */
+@Repository
+public class SagaBatchWriter {
+
+    private static final String INSERT_SAGA_SQL =
+            "INSERT INTO saga_instances (saga_id, vnf_id, operation_id, saga_type, current_step, saga_state, status, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TIMEOUT_SQL =
+            "INSERT INTO saga_timeouts (saga_id, step, execute_at, processed, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SagaBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertSagas(List<SagaInstance> sagas) {
+        if (sagas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SAGA_SQL, sagas.stream()
+                .map(s -> new Object[]{
+                        s.getSagaId(),
+                        s.getVnfId(),
+                        s.getOperationId(),
+                        s.getSagaType(),
+                        s.getCurrentStep(),
+                        s.getSagaState(),
+                        s.getStatus().name(),
+                        Timestamp.from(s.getCreatedAt()),
+                        Timestamp.from(s.getUpdatedAt())
+                })
+                .toList());
+    }
+
+    public void insertTimeouts(List<SagaTimeout> timeouts) {
+        if (timeouts.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_TIMEOUT_SQL, timeouts.stream()
+                .map(t -> new Object[]{
+                        t.getSagaId(),
+                        t.getStep(),
+                        Timestamp.from(t.getExecuteAt()),
+                        t.isProcessed(),
+                        Timestamp.from(t.getCreatedAt())
+                })
+                .toList());
+    }
+}
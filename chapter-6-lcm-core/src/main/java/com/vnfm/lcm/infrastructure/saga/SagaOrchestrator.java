@@ -5,11 +5,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vnfm.lcm.domain.DomainEvent;
 import com.vnfm.lcm.domain.model.VnfLcmOpOccAggregate;
 import com.vnfm.lcm.infrastructure.eventstore.EventStore;
+import com.vnfm.lcm.infrastructure.notification.OperationOccurrenceFinished;
+import com.vnfm.lcm.infrastructure.outbox.OutboxBatchWriter;
 import com.vnfm.lcm.infrastructure.outbox.OutboxMessage;
 import com.vnfm.lcm.infrastructure.outbox.OutboxRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -42,20 +45,38 @@ public class SagaOrchestrator {
     private final OutboxRepository outboxRepository;
     private final EventStore eventStore;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SagaBatchWriter sagaBatchWriter;
+    private final OutboxBatchWriter outboxBatchWriter;
 
     @Value("${lcm.saga.step-timeout-seconds:120}")
     private int stepTimeoutSeconds;
 
+    @Value("${lcm.saga.vim-retry.max-attempts:5}")
+    private int vimRetryMaxAttempts;
+
+    @Value("${lcm.saga.vim-retry.backoff-ms:1000}")
+    private long vimRetryBackoffMs;
+
+    @Value("${lcm.saga.vim-retry.max-backoff-ms:30000}")
+    private long vimRetryMaxBackoffMs;
+
     public SagaOrchestrator(SagaInstanceRepository sagaRepository,
                             SagaTimeoutRepository sagaTimeoutRepository,
                             OutboxRepository outboxRepository,
                             EventStore eventStore,
-                            ObjectMapper objectMapper) {
+                            ObjectMapper objectMapper,
+                            ApplicationEventPublisher eventPublisher,
+                            SagaBatchWriter sagaBatchWriter,
+                            OutboxBatchWriter outboxBatchWriter) {
         this.sagaRepository = sagaRepository;
         this.sagaTimeoutRepository = sagaTimeoutRepository;
         this.outboxRepository = outboxRepository;
         this.eventStore = eventStore;
         this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.sagaBatchWriter = sagaBatchWriter;
+        this.outboxBatchWriter = outboxBatchWriter;
     }
 
     /**
@@ -73,11 +94,51 @@ public class SagaOrchestrator {
     @Transactional
     public UUID startInstantiateSaga(String vnfId, UUID operationId, Map<String, Object> resources) {
         UUID sagaId = UUID.randomUUID();
-        String sagaStateJson = "{\"completedSteps\":[],\"stepResults\":{}}";
+        OutboxMessage command = reserveResourcesCommand(sagaId, vnfId, operationId, resources);
 
-        SagaInstance saga = new SagaInstance(sagaId, vnfId, operationId, SAGA_TYPE_INSTANTIATE, STEP_RESERVE_RESOURCES, sagaStateJson);
+        SagaInstance saga = new SagaInstance(sagaId, vnfId, operationId, SAGA_TYPE_INSTANTIATE, STEP_RESERVE_RESOURCES, initialState(command));
         sagaRepository.save(saga);
 
+        outboxRepository.save(command);
+
+        Instant executeAt = Instant.now().plusSeconds(stepTimeoutSeconds);
+        SagaTimeout timeout = new SagaTimeout(sagaId.toString(), STEP_RESERVE_RESOURCES, executeAt);
+        sagaTimeoutRepository.save(timeout);
+
+        log.info("Started instantiate saga sagaId={} vnfId={}", sagaId, vnfId);
+        return sagaId;
+    }
+
+    /**
+     * Start many instantiation sagas in one transaction (bulk API). Same rows as startInstantiateSaga,
+     * but saga instances, ReserveResources commands and timeouts are each written with one JDBC batch.
+     *
+     * @return saga ids in the order of {@code starts}
+     */
+    @Transactional
+    public List<UUID> startInstantiateSagas(List<InstantiateSagaStart> starts) {
+        List<UUID> sagaIds = new ArrayList<>(starts.size());
+        List<SagaInstance> sagas = new ArrayList<>(starts.size());
+        List<OutboxMessage> commands = new ArrayList<>(starts.size());
+        List<SagaTimeout> timeouts = new ArrayList<>(starts.size());
+        Instant executeAt = Instant.now().plusSeconds(stepTimeoutSeconds);
+        for (InstantiateSagaStart start : starts) {
+            UUID sagaId = UUID.randomUUID();
+            sagaIds.add(sagaId);
+            OutboxMessage command = reserveResourcesCommand(sagaId, start.vnfId(), start.operationId(), start.resources());
+            sagas.add(new SagaInstance(sagaId, start.vnfId(), start.operationId(), SAGA_TYPE_INSTANTIATE, STEP_RESERVE_RESOURCES, initialState(command)));
+            commands.add(command);
+            timeouts.add(new SagaTimeout(sagaId.toString(), STEP_RESERVE_RESOURCES, executeAt));
+        }
+        sagaBatchWriter.insertSagas(sagas);
+        outboxBatchWriter.insertAll(commands);
+        sagaBatchWriter.insertTimeouts(timeouts);
+
+        log.info("Started {} instantiate sagas in one batch", sagaIds.size());
+        return sagaIds;
+    }
+
+    private OutboxMessage reserveResourcesCommand(UUID sagaId, String vnfId, UUID operationId, Map<String, Object> resources) {
         Map<String, Object> payload = new HashMap<>();
         payload.put("sagaId", sagaId.toString());
         payload.put("vnfId", vnfId);
@@ -86,20 +147,12 @@ public class SagaOrchestrator {
         }
         payload.put("resources", resources != null ? resources : Map.of());
 
-        OutboxMessage outbox = new OutboxMessage(
+        return new OutboxMessage(
                 UUID.randomUUID().toString(),
                 DESTINATION_VIM,
                 CMD_RESERVE_RESOURCES,
                 writeJson(payload)
         );
-        outboxRepository.save(outbox);
-
-        Instant executeAt = Instant.now().plusSeconds(stepTimeoutSeconds);
-        SagaTimeout timeout = new SagaTimeout(sagaId.toString(), STEP_RESERVE_RESOURCES, executeAt);
-        sagaTimeoutRepository.save(timeout);
-
-        log.info("Started instantiate saga sagaId={} vnfId={}", sagaId, vnfId);
-        return sagaId;
     }
 
     /**
@@ -108,11 +161,6 @@ public class SagaOrchestrator {
     @Transactional
     public UUID startTerminateSaga(String vnfId) {
         UUID sagaId = UUID.randomUUID();
-        String sagaStateJson = "{\"completedSteps\":[],\"stepResults\":{}}";
-
-        SagaInstance saga = new SagaInstance(sagaId, vnfId, SAGA_TYPE_TERMINATE, STEP_TERMINATE, sagaStateJson);
-        sagaRepository.save(saga);
-
         Map<String, Object> payload = new HashMap<>();
         payload.put("sagaId", sagaId.toString());
         payload.put("vnfId", vnfId);
@@ -123,6 +171,9 @@ public class SagaOrchestrator {
                 CMD_TERMINATE_VNF,
                 writeJson(payload)
         );
+
+        SagaInstance saga = new SagaInstance(sagaId, vnfId, SAGA_TYPE_TERMINATE, STEP_TERMINATE, initialState(outbox));
+        sagaRepository.save(saga);
         outboxRepository.save(outbox);
 
         Instant executeAt = Instant.now().plusSeconds(stepTimeoutSeconds);
@@ -139,9 +190,26 @@ public class SagaOrchestrator {
      */
     @Transactional
     public void handleReply(UUID sagaId, int step, boolean success, Map<String, Object> result) {
+        handleReply(sagaId, step, success, false, result);
+    }
+
+    /**
+     * Process a reply that may be retryable. A retryable failure (vim-manager shed the command without asking
+     * the VIM) does not fail the saga: the step's command is sent again under a new messageId after an
+     * exponential backoff, up to {@code lcm.saga.vim-retry.max-attempts} resends; after that it fails like
+     * any other reply. A shed compensation (ReleaseResources of a failed saga) is resent the same way. The
+     * backoff is the outbox row's next_retry_at, so it applies with the outbox forwarder; with debezium-cdc
+     * the resend is captured, and published, as soon as this transaction commits.
+     */
+    @Transactional
+    public void handleReply(UUID sagaId, int step, boolean success, boolean retryable, Map<String, Object> result) {
         SagaInstance saga = sagaRepository.findBySagaId(sagaId.toString())
                 .orElseThrow(() -> new IllegalArgumentException("Saga not found: " + sagaId));
 
+        if (!success && retryable && saga.getStatus() != SagaStatus.RUNNING && resendCompensation(saga)) {
+            return;
+        }
+
         if (saga.getStatus() != SagaStatus.RUNNING && saga.getStatus() != SagaStatus.COMPENSATING) {
             log.warn("Saga {} not in RUNNING state, ignoring reply for step {}", sagaId, step);
             return;
@@ -155,6 +223,10 @@ public class SagaOrchestrator {
         @SuppressWarnings("unchecked")
         Map<String, Object> stepResults = (Map<String, Object>) state.getOrDefault("stepResults", new HashMap<String, Object>());
 
+        if (!success && retryable && resendCommand(saga, step, state)) {
+            return;
+        }
+
         stepResults.put(String.valueOf(step), Map.of("success", success, "result", result != null ? result : Map.of()));
 
         if (success) {
@@ -201,6 +273,8 @@ public class SagaOrchestrator {
                         writeJson(compPayload)
                 );
                 outboxRepository.save(releaseCmd);
+                state.put("compensation", storedCommand(releaseCmd));
+                saga.setSagaState(writeJson(state));
                 log.info("Saga {} step {} failed; sent ReleaseResources (step 1 had succeeded)", sagaId, step);
             } else {
                 log.info("Saga {} step {} failed; no compensation (step 1 not completed)", sagaId, step);
@@ -213,7 +287,107 @@ public class SagaOrchestrator {
         }
     }
 
-    /** Update operation occurrence aggregate on saga completion or failure (ETSI). */
+    /**
+     * Writes the step's command again (see {@link #sendDelayed}) and re-arms the step timeout behind it.
+     *
+     * @return false if the saga is not waiting on this step, has no stored command, or the attempts are used up
+     */
+    private boolean resendCommand(SagaInstance saga, int step, Map<String, Object> state) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> command = (Map<String, Object>) state.get("command");
+        if (saga.getStatus() != SagaStatus.RUNNING || saga.getCurrentStep() != step || command == null) {
+            return false;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> retries = (Map<String, Object>) state.getOrDefault("vimRetries", new HashMap<String, Object>());
+        Object previous = retries.get(String.valueOf(step));
+        int attempt = (previous instanceof Number n ? n.intValue() : 0) + 1;
+        if (attempt > vimRetryMaxAttempts) {
+            log.warn("Saga {} step {} shed again after {} resends; failing the step", saga.getSagaId(), step, vimRetryMaxAttempts);
+            return false;
+        }
+
+        OutboxMessage resend = sendDelayed(command, attempt);
+        sagaTimeoutRepository.save(new SagaTimeout(saga.getSagaId(), step, resend.getNextRetryAt().plusSeconds(stepTimeoutSeconds)));
+
+        retries.put(String.valueOf(step), attempt);
+        state.put("vimRetries", retries);
+        saga.setSagaState(writeJson(state));
+        saga.setUpdatedAt(Instant.now());
+        sagaRepository.save(saga);
+        log.info("Saga {} step {} shed by vim-manager; resend {} of {} as messageId={} at {}",
+                saga.getSagaId(), step, attempt, vimRetryMaxAttempts, resend.getMessageId(), resend.getNextRetryAt());
+        return true;
+    }
+
+    /**
+     * The saga already failed and sent its compensating command (ReleaseResources), and vim-manager shed it:
+     * writes the compensation again with the same backoff, so the VIM reservation is not left behind. Once the
+     * attempts are used up the reservation is logged as leaked.
+     *
+     * @return false if the saga sent no compensation (the reply is a stale one for a failed step)
+     */
+    private boolean resendCompensation(SagaInstance saga) {
+        Map<String, Object> state = parseSagaState(saga.getSagaState());
+        @SuppressWarnings("unchecked")
+        Map<String, Object> compensation = (Map<String, Object>) state.get("compensation");
+        if (compensation == null) {
+            return false;
+        }
+        Object previous = state.get("compensationRetries");
+        int attempt = (previous instanceof Number n ? n.intValue() : 0) + 1;
+        if (attempt > vimRetryMaxAttempts) {
+            log.error("Saga {} compensation {} shed again after {} resends; VIM resources of vnfId={} may be left reserved",
+                    saga.getSagaId(), compensation.get("messageType"), vimRetryMaxAttempts, saga.getVnfId());
+            return true;
+        }
+
+        OutboxMessage resend = sendDelayed(compensation, attempt);
+        state.put("compensationRetries", attempt);
+        saga.setSagaState(writeJson(state));
+        saga.setUpdatedAt(Instant.now());
+        sagaRepository.save(saga);
+        log.info("Saga {} compensation {} shed by vim-manager; resend {} of {} as messageId={} at {}",
+                saga.getSagaId(), compensation.get("messageType"), attempt, vimRetryMaxAttempts,
+                resend.getMessageId(), resend.getNextRetryAt());
+        return true;
+    }
+
+    /**
+     * Writes a stored command to the outbox under a new messageId, delayed by vimRetryBackoffMs * 2^(attempt-1)
+     * (capped at vimRetryMaxBackoffMs).
+     */
+    private OutboxMessage sendDelayed(Map<String, Object> command, int attempt) {
+        long delayMs = Math.min(vimRetryMaxBackoffMs, vimRetryBackoffMs << Math.min(attempt - 1, 20));
+        OutboxMessage resend = new OutboxMessage(
+                UUID.randomUUID().toString(),
+                DESTINATION_VIM,
+                (String) command.get("messageType"),
+                (String) command.get("payload")
+        );
+        resend.setNextRetryAt(Instant.now().plusMillis(delayMs));
+        outboxRepository.save(resend);
+        return resend;
+    }
+
+    /** Initial saga state; keeps the first command so a shed step can be sent again. */
+    private String initialState(OutboxMessage command) {
+        Map<String, Object> state = new HashMap<>();
+        state.put("completedSteps", List.of());
+        state.put("stepResults", Map.of());
+        state.put("command", storedCommand(command));
+        return writeJson(state);
+    }
+
+    private static Map<String, Object> storedCommand(OutboxMessage command) {
+        return Map.of("messageType", command.getMessageType(), "payload", command.getPayload());
+    }
+
+    /**
+     * Update operation occurrence aggregate on saga completion or failure (ETSI).
+     * Publishes {@link OperationOccurrenceFinished}; listeners (long-poll waiters, LCCN subscriptions)
+     * act on it only after this transaction commits.
+     */
     private void completeOperationOccurrence(String operationId, boolean success, String errorMessage) {
         if (operationId == null || operationId.isBlank()) {
             return;
@@ -229,6 +403,9 @@ public class SagaOrchestrator {
                     ? agg.processComplete()
                     : agg.processFail(errorMessage);
             eventStore.saveEvents(opId, AGGREGATE_TYPE_OP_OCC, newEvents, agg.getVersion());
+            List<DomainEvent> allEvents = new ArrayList<>(events);
+            allEvents.addAll(newEvents);
+            eventPublisher.publishEvent(new OperationOccurrenceFinished(VnfLcmOpOccAggregate.from(allEvents)));
         } catch (Exception e) {
             log.warn("Could not update operation occurrence {}: {}", operationId, e.getMessage());
         }
@@ -266,4 +443,10 @@ public class SagaOrchestrator {
             sagaTimeoutRepository.save(t);
         }
     }
+
+    /**
+     * One saga to start via {@link #startInstantiateSagas}.
+     */
+    public record InstantiateSagaStart(String vnfId, UUID operationId, Map<String, Object> resources) {
+    }
 }
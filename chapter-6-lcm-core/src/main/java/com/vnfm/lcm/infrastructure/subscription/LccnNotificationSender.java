@@ -0,0 +1,123 @@
+package com.vnfm.lcm.infrastructure.subscription;
+
+import com.vnfm.lcm.api.dto.VnfLcmOpOcc;
+import com.vnfm.lcm.api.dto.VnfLcmOperationOccurrenceNotification;
+import com.vnfm.lcm.application.VnfQueryService;
+import com.vnfm.lcm.infrastructure.notification.OperationOccurrenceFinished;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestClient;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers VnfLcmOperationOccurrenceNotification (RESULT) to matching LCCN subscriptions after the saga
+ * transaction that finished the operation occurrence has committed.
+ * <p>
+ * Delivery runs on a small bounded executor so a slow callback never blocks the VIM reply consumer.
+ * Best effort: one attempt per subscription, failures are logged; consumers can always fall back to
+ * GET /vnflcm/v1/vnf_lcm_op_occs/{opId}.
+ * <p>
+ * Subscriptions are matched against an in-memory copy of the table instead of a query per completed
+ * operation. The copy is dropped when this instance creates or deletes a subscription
+ * ({@link LccnSubscriptionsChanged}) and reloaded at least every lcm.subscriptions.cache-ttl-ms, which bounds
+ * how long a change made through another replica goes unseen.
+ */
+@Component
+public class LccnNotificationSender {
+
+    private static final Logger log = LoggerFactory.getLogger(LccnNotificationSender.class);
+
+    private final LccnSubscriptionRepository subscriptionRepository;
+    private final RestClient restClient;
+    private final ThreadPoolTaskExecutor executor;
+    private final long cacheTtlNanos;
+
+    private volatile CachedSubscriptions cached;
+
+    public LccnNotificationSender(LccnSubscriptionRepository subscriptionRepository,
+                                  @Value("${lcm.subscriptions.callback-timeout-ms:5000}") int callbackTimeoutMs,
+                                  @Value("${lcm.subscriptions.sender-threads:4}") int senderThreads,
+                                  @Value("${lcm.subscriptions.queue-capacity:1000}") int queueCapacity,
+                                  @Value("${lcm.subscriptions.cache-ttl-ms:10000}") long cacheTtlMs) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.cacheTtlNanos = TimeUnit.MILLISECONDS.toNanos(cacheTtlMs);
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(callbackTimeoutMs);
+        requestFactory.setReadTimeout(callbackTimeoutMs);
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(senderThreads);
+        this.executor.setMaxPoolSize(senderThreads);
+        this.executor.setQueueCapacity(queueCapacity);
+        this.executor.setThreadNamePrefix("lccn-notify-");
+        this.executor.initialize();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFinished(OperationOccurrenceFinished event) {
+        VnfLcmOpOcc opOcc = VnfQueryService.toOpOcc(event.opOcc());
+        try {
+            executor.execute(() -> notifySubscribers(opOcc));
+        } catch (TaskRejectedException e) {
+            log.warn("LCCN notification queue full, dropping notifications for op occ {}", opOcc.getId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSubscriptionsChanged(LccnSubscriptionsChanged event) {
+        cached = null;
+    }
+
+    private List<LccnSubscriptionEntity> subscriptions() {
+        CachedSubscriptions current = cached;
+        long now = System.nanoTime();
+        if (current == null || now - current.loadedAtNanos() >= cacheTtlNanos) {
+            current = new CachedSubscriptions(List.copyOf(subscriptionRepository.findAll()), now);
+            cached = current;
+        }
+        return current.subscriptions();
+    }
+
+    private void notifySubscribers(VnfLcmOpOcc opOcc) {
+        for (LccnSubscriptionEntity subscription : subscriptions()) {
+            if (!subscription.matches(opOcc.getVnfInstanceId(), opOcc.getOperation(), opOcc.getState())) {
+                continue;
+            }
+            VnfLcmOperationOccurrenceNotification notification = new VnfLcmOperationOccurrenceNotification(
+                    UUID.randomUUID().toString(), subscription.getId(), Instant.now(), opOcc);
+            try {
+                restClient.post()
+                        .uri(subscription.getCallbackUri())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(notification)
+                        .retrieve()
+                        .toBodilessEntity();
+                log.debug("Sent LCCN for op occ {} to subscription {}", opOcc.getId(), subscription.getId());
+            } catch (Exception e) {
+                log.warn("LCCN delivery to {} (subscription {}) failed: {}",
+                        subscription.getCallbackUri(), subscription.getId(), e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private record CachedSubscriptions(List<LccnSubscriptionEntity> subscriptions, long loadedAtNanos) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.vnfm.lcm.infrastructure.subscription;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Persisted LCCN subscription (lccn_subscriptions table): a callback URI plus an optional filter.
+ * Filters are stored as comma-separated lists; null/empty means "match all".
+ */
+@Entity
+@Table(name = "lccn_subscriptions")
+public class LccnSubscriptionEntity {
+
+    @Id
+    @Column(name = "id", length = 36)
+    private String id;
+
+    @Column(name = "callback_uri", nullable = false, length = 2048)
+    private String callbackUri;
+
+    @Column(name = "vnf_instance_ids", columnDefinition = "TEXT")
+    private String vnfInstanceIds;
+
+    @Column(name = "operation_types")
+    private String operationTypes;
+
+    @Column(name = "operation_states")
+    private String operationStates;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @SuppressWarnings("unused")
+    public LccnSubscriptionEntity() {
+    }
+
+    public LccnSubscriptionEntity(String id, String callbackUri, String vnfInstanceIds,
+                                  String operationTypes, String operationStates, Instant createdAt) {
+        this.id = id;
+        this.callbackUri = callbackUri;
+        this.vnfInstanceIds = vnfInstanceIds;
+        this.operationTypes = operationTypes;
+        this.operationStates = operationStates;
+        this.createdAt = createdAt;
+    }
+
+    /** True if a notification for this VNF, operation type and state passes the subscription filter. */
+    public boolean matches(String vnfInstanceId, String operationType, String operationState) {
+        return contains(vnfInstanceIds, vnfInstanceId)
+                && contains(operationTypes, operationType)
+                && contains(operationStates, operationState);
+    }
+
+    private static boolean contains(String csv, String value) {
+        return csv == null || csv.isBlank() || split(csv).contains(value);
+    }
+
+    public static List<String> split(String csv) {
+        if (csv == null || csv.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(csv.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+
+    public static String join(List<String> values) {
+        return values == null || values.isEmpty() ? null : String.join(",", values);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getCallbackUri() {
+        return callbackUri;
+    }
+
+    public String getVnfInstanceIds() {
+        return vnfInstanceIds;
+    }
+
+    public String getOperationTypes() {
+        return operationTypes;
+    }
+
+    public String getOperationStates() {
+        return operationStates;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
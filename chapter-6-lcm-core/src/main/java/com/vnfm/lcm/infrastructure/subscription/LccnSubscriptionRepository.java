@@ -0,0 +1,13 @@
+package com.vnfm.lcm.infrastructure.subscription;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+/**
+ * JPA repository for lccn_subscriptions table.
+ */
+public interface LccnSubscriptionRepository extends JpaRepository<LccnSubscriptionEntity, String> {
+
+    List<LccnSubscriptionEntity> findAllByOrderByCreatedAtAsc();
+}
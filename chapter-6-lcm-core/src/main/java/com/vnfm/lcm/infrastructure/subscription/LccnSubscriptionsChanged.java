@@ -0,0 +1,9 @@
+package com.vnfm.lcm.infrastructure.subscription;
+
+/**
+ * In-process notification that an LCCN subscription was created or deleted. Published by
+ * LccnSubscriptionService inside its transaction; {@link LccnNotificationSender} drops its cached
+ * subscriptions after commit.
+ */
+public record LccnSubscriptionsChanged() {
+}
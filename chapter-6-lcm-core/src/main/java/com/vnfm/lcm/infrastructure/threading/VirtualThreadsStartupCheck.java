@@ -0,0 +1,41 @@
+package com.vnfm.lcm.infrastructure.threading;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gates the virtual-thread execution mode ({@code spring.threads.virtual.enabled=true}, profile
+ * {@code virtual-threads}) on a Java 21+ runtime.
+ * <p>
+ * The build targets Java 17, and Spring Boot silently falls back to platform threads on an older JVM. The
+ * profile's pool sizing (20 connections, 2 s connection-timeout) only makes sense with virtual threads, so
+ * startup fails instead of running, or being load-tested, in that half-configured mode.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsStartupCheck {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsStartupCheck.class);
+
+    private static final int MIN_JAVA_FEATURE_VERSION = 21;
+
+    public VirtualThreadsStartupCheck() {
+        int feature = Runtime.version().feature();
+        if (feature < MIN_JAVA_FEATURE_VERSION) {
+            throw new IllegalStateException("spring.threads.virtual.enabled=true (profile virtual-threads) needs Java "
+                    + MIN_JAVA_FEATURE_VERSION + "+, running on Java " + feature
+                    + ". Start on a Java " + MIN_JAVA_FEATURE_VERSION + " runtime or without the profile.");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode() {
+        int feature = Runtime.version().feature();
+        log.info("Virtual-thread execution mode active on Java {}: Tomcat requests, @Scheduled tasks and "
+                + "@KafkaListener containers run on virtual threads", feature);
+    }
+}
@@ -43,8 +43,8 @@ public class VimRepliesConsumer {
                 result = Map.of("reason", reply.getReason());
             }
 
-            sagaOrchestrator.handleReply(sagaId, step, success, result);
-            log.debug("Processed VIM reply sagaId={} step={} success={}", sagaId, step, success);
+            sagaOrchestrator.handleReply(sagaId, step, success, reply.isRetryable(), result);
+            log.debug("Processed VIM reply sagaId={} step={} success={} retryable={}", sagaId, step, success, reply.isRetryable());
         } catch (Exception e) {
             log.error("Failed to process VIM reply: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to process VIM reply", e);
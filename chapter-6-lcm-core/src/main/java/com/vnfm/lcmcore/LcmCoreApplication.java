@@ -21,7 +21,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
  */
 @SpringBootApplication
 @ComponentScan(basePackages = {"com.vnfm.lcmcore", "com.vnfm.lcm"})
-@EntityScan(basePackages = {"com.vnfm.lcm.infrastructure.eventstore", "com.vnfm.lcm.infrastructure.outbox", "com.vnfm.lcm.infrastructure.idempotency", "com.vnfm.lcm.infrastructure.saga", "com.vnfm.lcm.infrastructure.readside"})
+@EntityScan(basePackages = {"com.vnfm.lcm.infrastructure.eventstore", "com.vnfm.lcm.infrastructure.outbox", "com.vnfm.lcm.infrastructure.idempotency", "com.vnfm.lcm.infrastructure.saga", "com.vnfm.lcm.infrastructure.readside", "com.vnfm.lcm.infrastructure.subscription"})
 @EnableScheduling
 public class LcmCoreApplication {
 
@@ -0,0 +1,11 @@
+-- LCCN subscriptions (ETSI SOL003 VNF lifecycle change notifications, see LccnSubscriptionEntity).
+-- Filter columns are comma-separated lists; NULL means "match all".
+-- Run when using spring.jpa.hibernate.ddl-auto=validate.
+CREATE TABLE IF NOT EXISTS lccn_subscriptions (
+    id                 VARCHAR(36) PRIMARY KEY,
+    callback_uri       VARCHAR(2048) NOT NULL,
+    vnf_instance_ids   TEXT,
+    operation_types    VARCHAR(255),
+    operation_states   VARCHAR(255),
+    created_at         TIMESTAMP NOT NULL
+);
@@ -1,6 +1,15 @@
 -- Read-side table for listing VNFs (GET /api/vnfs).
+-- Lists are keyset-paged on (created_at DESC, vnf_id DESC); vnf_instance_name backs the name-prefix filter.
 CREATE TABLE IF NOT EXISTS vnf_index (
-    vnf_id     VARCHAR(36) PRIMARY KEY,
-    created_at TIMESTAMP NOT NULL
+    vnf_id            VARCHAR(36) PRIMARY KEY,
+    created_at        TIMESTAMP NOT NULL,
+    vnf_instance_name VARCHAR(255)
 );
 CREATE UNIQUE INDEX IF NOT EXISTS idx_vnf_index_vnf_id ON vnf_index (vnf_id);
+CREATE INDEX IF NOT EXISTS idx_vnf_index_created_at_vnf_id ON vnf_index (created_at DESC, vnf_id DESC);
+-- text_pattern_ops so LIKE 'prefix%' can use the index regardless of collation.
+CREATE INDEX IF NOT EXISTS idx_vnf_index_name ON vnf_index (vnf_instance_name text_pattern_ops);
+
+-- If table already exists without vnf_instance_name, run:
+-- ALTER TABLE vnf_index ADD COLUMN IF NOT EXISTS vnf_instance_name VARCHAR(255);
+-- (names of existing VNFs stay NULL until backfilled from their VnfInstanceCreated event)
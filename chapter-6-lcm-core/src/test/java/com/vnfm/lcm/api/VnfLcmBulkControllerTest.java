@@ -0,0 +1,165 @@
+package com.vnfm.lcm.api;
+
+import com.vnfm.lcm.application.VnfLcmApplicationService;
+import com.vnfm.lcm.domain.DomainEvent;
+import com.vnfm.lcm.domain.event.VnfInstanceCreated;
+import com.vnfm.lcm.domain.event.VnfInstantiated;
+import com.vnfm.lcm.domain.event.VnfInstantiationStarted;
+import com.vnfm.lcm.infrastructure.eventstore.EventStore;
+import com.vnfm.lcm.infrastructure.eventstore.OptimisticLockingException;
+import com.vnfm.lcm.infrastructure.readside.VnfIndexBatchWriter;
+import com.vnfm.lcm.infrastructure.readside.VnfIndexRepository;
+import com.vnfm.lcm.infrastructure.saga.SagaOrchestrator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.vnfm.lcm.infrastructure.eventstore.EventStore.AGGREGATE_TYPE_VNF;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bulk instantiate through the real {@link VnfLcmApplicationService}: per-item validation against the loaded
+ * VNF streams decides between 202 and 207 Multi-Status; a version conflict on the batch append is 409.
+ */
+class VnfLcmBulkControllerTest {
+
+    private final EventStore eventStore = mock(EventStore.class);
+    private final SagaOrchestrator sagaOrchestrator = mock(SagaOrchestrator.class);
+    private MockMvc mvc;
+
+    private final UUID notInstantiated = UUID.randomUUID();
+    private final UUID active = UUID.randomUUID();
+    private final UUID unknown = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        VnfLcmApplicationService service = new VnfLcmApplicationService(eventStore,
+                mock(VnfIndexRepository.class), sagaOrchestrator, mock(VnfIndexBatchWriter.class));
+        VnfLcmBulkController controller = new VnfLcmBulkController(service);
+        ReflectionTestUtils.setField(controller, "maxItems", 3);
+        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        Map<UUID, List<DomainEvent>> streams = new LinkedHashMap<>();
+        streams.put(notInstantiated, List.of(created(notInstantiated)));
+        streams.put(active, List.of(created(active),
+                new VnfInstantiationStarted(active.toString(), "res", 2, Instant.now()),
+                new VnfInstantiated(active.toString(), "vim-1", "10.0.0.1", 3, Instant.now())));
+        streams.put(unknown, List.of());
+        when(eventStore.loadEventsBatch(anyCollection(), eq(AGGREGATE_TYPE_VNF))).thenAnswer(inv -> {
+            Map<UUID, List<DomainEvent>> result = new LinkedHashMap<>();
+            for (Object id : (java.util.Collection<?>) inv.getArgument(0)) {
+                result.put((UUID) id, streams.getOrDefault((UUID) id, List.of()));
+            }
+            return result;
+        });
+    }
+
+    @Test
+    void instantiate_allAccepted_returns202() throws Exception {
+        mvc.perform(post("/vnflcm/v1/bulk/vnf_instances/instantiate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(notInstantiated.toString())))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.failed").value(0))
+                .andExpect(jsonPath("$.results[0].status").value(202))
+                .andExpect(jsonPath("$.results[0].vnfLcmOpOccId").isNotEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void instantiate_partialFailure_returns207WithPerItemStatus() throws Exception {
+        mvc.perform(post("/vnflcm/v1/bulk/vnf_instances/instantiate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(notInstantiated.toString(), active.toString(), unknown.toString())))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.results[0].status").value(202))
+                .andExpect(jsonPath("$.results[0].vnfLcmOpOccId").isNotEmpty())
+                .andExpect(jsonPath("$.results[1].status").value(409))
+                .andExpect(jsonPath("$.results[1].vnfLcmOpOccId").doesNotExist())
+                .andExpect(jsonPath("$.results[2].status").value(404))
+                .andExpect(jsonPath("$.results[2].vnfInstanceId").value(unknown.toString()));
+
+        // Only the accepted item is appended and started.
+        ArgumentCaptor<List<EventStore.Append>> appends = ArgumentCaptor.forClass(List.class);
+        verify(eventStore).saveEventsBatch(appends.capture());
+        assertThat(appends.getValue()).extracting(EventStore.Append::aggregateId)
+                .contains(notInstantiated)
+                .doesNotContain(active, unknown);
+        ArgumentCaptor<List<SagaOrchestrator.InstantiateSagaStart>> starts = ArgumentCaptor.forClass(List.class);
+        verify(sagaOrchestrator).startInstantiateSagas(starts.capture());
+        assertThat(starts.getValue()).extracting(SagaOrchestrator.InstantiateSagaStart::vnfId)
+                .containsExactly(notInstantiated.toString());
+    }
+
+    @Test
+    void instantiate_invalidAndDuplicateIds_reportedPerItem() throws Exception {
+        mvc.perform(post("/vnflcm/v1/bulk/vnf_instances/instantiate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body("not-a-uuid", notInstantiated.toString(), notInstantiated.toString())))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.results[0].status").value(400))
+                .andExpect(jsonPath("$.results[1].status").value(202))
+                .andExpect(jsonPath("$.results[2].status").value(409));
+    }
+
+    @Test
+    void instantiate_versionConflictOnBatchAppend_returns409AndStartsNothing() throws Exception {
+        doThrow(new OptimisticLockingException(notInstantiated.toString(), 1, 2))
+                .when(eventStore).saveEventsBatch(any());
+
+        mvc.perform(post("/vnflcm/v1/bulk/vnf_instances/instantiate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(notInstantiated.toString(), unknown.toString())))
+                .andExpect(status().isConflict());
+        verify(sagaOrchestrator, never()).startInstantiateSagas(any());
+    }
+
+    @Test
+    void instantiate_overMaxItems_returns400() throws Exception {
+        mvc.perform(post("/vnflcm/v1/bulk/vnf_instances/instantiate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(UUID.randomUUID().toString(), UUID.randomUUID().toString(),
+                                UUID.randomUUID().toString(), UUID.randomUUID().toString())))
+                .andExpect(status().isBadRequest());
+        verify(eventStore, never()).loadEventsBatch(anyCollection(), any());
+    }
+
+    private static VnfInstanceCreated created(UUID vnfId) {
+        return new VnfInstanceCreated(vnfId.toString(), "vnf", null, 1, Instant.now());
+    }
+
+    private static String body(String... vnfIds) {
+        StringBuilder sb = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < vnfIds.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"vnfInstanceId\":\"").append(vnfIds[i]).append("\",\"instantiateVnfRequest\":{\"flavourId\":\"small\"}}");
+        }
+        return sb.append("]}").toString();
+    }
+}
@@ -0,0 +1,126 @@
+package com.vnfm.lcm.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vnfm.lcm.application.VnfLcmApplicationService;
+import com.vnfm.lcm.application.VnfQueryService;
+import com.vnfm.lcm.domain.DomainEvent;
+import com.vnfm.lcm.domain.model.LcmOperationType;
+import com.vnfm.lcm.domain.model.VnfLcmOpOccAggregate;
+import com.vnfm.lcm.infrastructure.notification.OpOccCompletionNotifier;
+import com.vnfm.lcm.infrastructure.notification.OperationOccurrenceFinished;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Long-poll (/wait) and SSE (/events) on operation occurrences, with completions delivered through a real
+ * {@link OpOccCompletionNotifier}.
+ */
+class VnfLcmControllerOpOccWaitTest {
+
+    private final VnfQueryService queryService = mock(VnfQueryService.class);
+    private final OpOccCompletionNotifier notifier = new OpOccCompletionNotifier();
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        VnfLcmController controller = new VnfLcmController(mock(VnfLcmApplicationService.class), queryService,
+                notifier, new ObjectMapper());
+        ReflectionTestUtils.setField(controller, "defaultWaitSeconds", 30L);
+        ReflectionTestUtils.setField(controller, "maxWaitSeconds", 120L);
+        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void wait_returnsAtOnceWhenAlreadyTerminal() throws Exception {
+        UUID opId = UUID.randomUUID();
+        when(queryService.getOperationOccurrence(opId.toString())).thenReturn(VnfQueryService.toOpOcc(completed(opId)));
+
+        MvcResult started = mvc.perform(get("/vnflcm/v1/vnf_lcm_op_occs/{opId}/wait", opId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("COMPLETED"));
+        assertThat(notifier.waiting()).isZero();
+    }
+
+    @Test
+    void wait_holdsRequestUntilCompletionIsPublished() throws Exception {
+        UUID opId = UUID.randomUUID();
+        when(queryService.getOperationOccurrence(opId.toString())).thenReturn(VnfQueryService.toOpOcc(starting(opId)));
+
+        MvcResult started = mvc.perform(get("/vnflcm/v1/vnf_lcm_op_occs/{opId}/wait", opId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(started.getResponse().getContentAsString()).isEmpty();
+        assertThat(notifier.waiting()).isEqualTo(1);
+
+        notifier.onFinished(new OperationOccurrenceFinished(completed(opId)));
+
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("COMPLETED"));
+        assertThat(notifier.waiting()).isZero();
+    }
+
+    @Test
+    void wait_unknownOpOcc_returns404() throws Exception {
+        MvcResult started = mvc.perform(get("/vnflcm/v1/vnf_lcm_op_occs/{opId}/wait", UUID.randomUUID()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(started)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void events_streamsCurrentThenTerminalState() throws Exception {
+        UUID opId = UUID.randomUUID();
+        when(queryService.getOperationOccurrence(opId.toString())).thenReturn(VnfQueryService.toOpOcc(starting(opId)));
+
+        MvcResult started = mvc.perform(get("/vnflcm/v1/vnf_lcm_op_occs/{opId}/events", opId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        notifier.onFinished(new OperationOccurrenceFinished(completed(opId)));
+
+        String body = started.getResponse().getContentAsString();
+        assertThat(body.split("event:opOcc")).hasSize(3);
+        assertThat(body).contains("id:" + opId + ":STARTING", "id:" + opId + ":COMPLETED");
+        assertThat(body.indexOf("STARTING")).isLessThan(body.indexOf("COMPLETED"));
+        assertThat(notifier.waiting()).isZero();
+    }
+
+    @Test
+    void events_unknownOpOcc_returns404AndDeregisters() throws Exception {
+        mvc.perform(get("/vnflcm/v1/vnf_lcm_op_occs/{opId}/events", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+        assertThat(notifier.waiting()).isZero();
+    }
+
+    private static VnfLcmOpOccAggregate starting(UUID opId) {
+        return VnfLcmOpOccAggregate.from(VnfLcmOpOccAggregate.processCreate(opId, "vnf-1", LcmOperationType.INSTANTIATE));
+    }
+
+    private static VnfLcmOpOccAggregate completed(UUID opId) {
+        List<DomainEvent> events = new ArrayList<>(VnfLcmOpOccAggregate.processCreate(opId, "vnf-1", LcmOperationType.INSTANTIATE));
+        events.addAll(VnfLcmOpOccAggregate.from(events).processComplete());
+        return VnfLcmOpOccAggregate.from(events);
+    }
+}
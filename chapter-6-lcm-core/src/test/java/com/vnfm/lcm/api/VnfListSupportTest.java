@@ -0,0 +1,61 @@
+package com.vnfm.lcm.api;
+
+import com.vnfm.lcm.application.VnfListQuery;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VnfListSupportTest {
+
+    @Test
+    void sol013Filter_parsesTermsAndQuotedValues() {
+        assertThat(Sol013Filter.parse("(eq,instantiationState,INSTANTIATED);(cont,vnfInstanceName,'a,b)''c')"))
+                .containsExactly(
+                        new Sol013Filter.Term("eq", "instantiationState", List.of("INSTANTIATED")),
+                        new Sol013Filter.Term("cont", "vnfInstanceName", List.of("a,b)'c")));
+        assertThat(Sol013Filter.parse("(in,id,1,2)").get(0).values()).containsExactly("1", "2");
+        assertThat(Sol013Filter.parse(null)).isEmpty();
+    }
+
+    @Test
+    void sol013Filter_rejectsMalformedExpressions() {
+        for (String filter : List.of("eq,a,b", "(eq,a)", "(eq,a,b", "(eq,a,b)x", "(eq,a,b);", "(eq,a,'b)", "(,a,b)")) {
+            assertThatThrownBy(() -> Sol013Filter.parse(filter))
+                    .as(filter)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void sol013Query_mapsSupportedExpressions() {
+        VnfListQuery query = VnfListSupport.sol013Query(null, null,
+                "(eq,instantiationState,INSTANTIATED);(cont,vnfInstanceName,edge_1)", 100, 1000);
+
+        assertThat(query.state()).isEqualTo("INSTANTIATED");
+        assertThat(query.namePattern()).isEqualTo("%edge!_1%");
+        assertThat(query.limit()).isEqualTo(100);
+        assertThat(VnfListSupport.sol013Query(null, 5, "(eq,vnfInstanceName,core%)", 100, 1000).namePattern())
+                .isEqualTo("core!%");
+    }
+
+    @Test
+    void sol013Query_rejectsUnsupportedExpressionsAndOversizedPages() {
+        assertThatThrownBy(() -> VnfListSupport.sol013Query(null, null, "(neq,instantiationState,INSTANTIATED)", 100, 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> VnfListSupport.sol013Query(null, null, "(eq,vnfdId,x)", 100, 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> VnfListSupport.sol013Query(null, null, "(eq,instantiationState,A,B)", 100, 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> VnfListSupport.sol013Query(null, 1001, null, 100, 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void query_turnsNamePrefixIntoEscapedLikePattern() {
+        assertThat(VnfListSupport.query(null, null, " ", "a%b", 100, 1000).namePattern()).isEqualTo("a!%b%");
+        assertThat(VnfListSupport.query(null, null, null, "", 100, 1000).namePattern()).isNull();
+    }
+}
@@ -0,0 +1,98 @@
+package com.vnfm.lcm.application;
+
+import com.vnfm.lcm.api.dto.VnfSummary;
+import com.vnfm.lcm.infrastructure.eventstore.EventStore;
+import com.vnfm.lcm.infrastructure.readside.VnfIndex;
+import com.vnfm.lcm.infrastructure.readside.VnfIndexRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VnfQueryServiceTest {
+
+    private final EventStore eventStore = mock(EventStore.class);
+    private final VnfIndexRepository repository = mock(VnfIndexRepository.class);
+    private final VnfQueryService service = new VnfQueryService(eventStore, repository);
+
+    @Test
+    void listVnfs_returnsKeysetPagesUntilIndexIsExhausted() {
+        VnfIndex a = row(3), b = row(2), c = row(1);
+        when(eventStore.loadEventsBatch(anyCollection(), anyString())).thenReturn(Map.of());
+        when(repository.findFirstPage(isNull(), eq(PageRequest.of(0, 3)))).thenReturn(List.of(a, b, c));
+        when(repository.findPageAfter(eq(b.getCreatedAt()), eq(b.getVnfId()), isNull(), eq(PageRequest.of(0, 3))))
+                .thenReturn(List.of(c));
+
+        VnfPage<VnfSummary> first = service.listVnfs(new VnfListQuery(null, 2, null, null));
+        assertThat(first.items()).extracting(VnfSummary::getVnfId).containsExactly(a.getVnfId(), b.getVnfId());
+        assertThat(first.nextCursor()).isNotNull();
+
+        VnfPage<VnfSummary> second = service.listVnfs(
+                new VnfListQuery(VnfListQuery.Cursor.decode(first.nextCursor()), 2, null, null));
+        assertThat(second.items()).extracting(VnfSummary::getVnfId).containsExactly(c.getVnfId());
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void listVnfs_fullLastPageHasNoCursor() {
+        VnfIndex a = row(2), b = row(1);
+        when(eventStore.loadEventsBatch(anyCollection(), anyString())).thenReturn(Map.of());
+        when(repository.findFirstPage(isNull(), any())).thenReturn(List.of(a, b));
+
+        VnfPage<VnfSummary> page = service.listVnfs(new VnfListQuery(null, 2, null, null));
+
+        assertThat(page.items()).hasSize(2);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void listVnfs_lookaheadRowIsNotProjected() {
+        VnfIndex a = row(3), b = row(2), c = row(1);
+        when(repository.findFirstPage(isNull(), any())).thenReturn(List.of(a, b, c));
+        when(eventStore.loadEventsBatch(anyCollection(), anyString())).thenReturn(Map.of());
+
+        service.listVnfs(new VnfListQuery(null, 2, null, null));
+
+        verify(eventStore).loadEventsBatch(
+                eq(List.of(UUID.fromString(a.getVnfId()), UUID.fromString(b.getVnfId()))), anyString());
+    }
+
+    @Test
+    void listVnfs_stateFilterStopsAtScanBoundWithCursor() {
+        when(eventStore.loadEventsBatch(anyCollection(), anyString())).thenReturn(Map.of());
+        when(repository.findFirstPage(isNull(), any())).thenReturn(List.of(row(100), row(99)));
+        when(repository.findPageAfter(any(), anyString(), isNull(), any())).thenAnswer(inv -> List.of(row(50), row(49)));
+
+        VnfPage<VnfSummary> page = service.listVnfs(new VnfListQuery(null, 1, null, "ACTIVE"));
+
+        assertThat(page.items()).isEmpty();
+        assertThat(page.nextCursor()).isNotNull();
+    }
+
+    @Test
+    void cursor_roundTripsAndRejectsGarbage() {
+        VnfListQuery.Cursor cursor = new VnfListQuery.Cursor(Instant.parse("2024-05-01T10:15:30.123456Z"), "vnf-1");
+        assertThat(VnfListQuery.Cursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThatThrownBy(() -> VnfListQuery.Cursor.decode("not-a-cursor")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static VnfIndex row(long secondsSinceEpoch) {
+        VnfIndex index = new VnfIndex(UUID.randomUUID().toString(), "vnf-" + secondsSinceEpoch);
+        index.setCreatedAt(Instant.ofEpochSecond(secondsSinceEpoch));
+        return index;
+    }
+}
@@ -0,0 +1,122 @@
+package com.vnfm.lcm.infrastructure.eventstore;
+
+import com.vnfm.lcm.domain.DomainEvent;
+import com.vnfm.lcm.domain.event.VnfInstantiated;
+import com.vnfm.lcm.domain.event.VnfInstantiationStarted;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.vnfm.lcm.infrastructure.eventstore.EventStore.AGGREGATE_TYPE_VNF;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Slice test for the batch append/load path of JdbcEventStore on H2.
+ * The nested configuration keeps the slice self-contained (no @SpringBootConfiguration lookup). It is not a
+ * @Configuration, so the application's component scan of com.vnfm.lcm does not pick it up. The
+ * test runs without a surrounding transaction so every store call commits or rolls back on its own:
+ * "nothing from a failed batch is persisted" is then checked against committed state.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@ContextConfiguration(classes = JdbcEventStoreBatchTest.Config.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JdbcEventStoreBatchTest {
+
+    @EntityScan(basePackages = "com.vnfm.lcm.infrastructure.eventstore")
+    @EnableJpaRepositories(basePackages = "com.vnfm.lcm.infrastructure.eventstore")
+    @Import({DomainEventSerializer.class, JdbcEventStore.class})
+    static class Config {
+    }
+
+    @Autowired
+    EventStore eventStore;
+
+    @Test
+    void saveEventsBatch_and_loadEventsBatch_roundTrip() {
+        UUID aggId = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        eventStore.saveEvents(aggId, AGGREGATE_TYPE_VNF, List.of(started(aggId, 1)), 0);
+
+        eventStore.saveEventsBatch(List.of(
+                new EventStore.Append(aggId, AGGREGATE_TYPE_VNF,
+                        List.of(new VnfInstantiated(aggId.toString(), "vim-1", "10.0.0.1", 2, Instant.now())), 1),
+                new EventStore.Append(other, AGGREGATE_TYPE_VNF, List.of(started(other, 1)), 0)));
+
+        UUID unknown = UUID.randomUUID();
+        Map<UUID, List<DomainEvent>> loaded = eventStore.loadEventsBatch(List.of(aggId, other, unknown), AGGREGATE_TYPE_VNF);
+        assertThat(loaded.get(aggId)).hasSize(2);
+        assertThat(loaded.get(aggId).get(1)).isInstanceOf(VnfInstantiated.class);
+        assertThat(loaded.get(other)).hasSize(1);
+        assertThat(loaded.get(unknown)).isEmpty();
+    }
+
+    @Test
+    void saveEventsBatch_chainsTwoAppendsForTheSameAggregate() {
+        UUID aggId = UUID.randomUUID();
+
+        eventStore.saveEventsBatch(List.of(
+                new EventStore.Append(aggId, AGGREGATE_TYPE_VNF, List.of(started(aggId, 1)), 0),
+                new EventStore.Append(aggId, AGGREGATE_TYPE_VNF,
+                        List.of(new VnfInstantiated(aggId.toString(), "vim-1", "10.0.0.1", 2, Instant.now())), 1)));
+
+        assertThat(eventStore.loadEvents(aggId, AGGREGATE_TYPE_VNF)).extracting(DomainEvent::getVersion)
+                .containsExactly(1, 2);
+    }
+
+    @Test
+    void saveEventsBatch_optimisticLock_failsWholeBatchWhenOneVersionMismatches() {
+        UUID aggId = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        eventStore.saveEvents(aggId, AGGREGATE_TYPE_VNF, List.of(started(aggId, 1)), 0);
+
+        assertThatThrownBy(() -> eventStore.saveEventsBatch(List.of(
+                new EventStore.Append(other, AGGREGATE_TYPE_VNF, List.of(started(other, 1)), 0),
+                new EventStore.Append(aggId, AGGREGATE_TYPE_VNF, List.of(started(aggId, 1)), 0))))
+                .isInstanceOf(OptimisticLockingException.class);
+
+        Map<UUID, List<DomainEvent>> loaded = eventStore.loadEventsBatch(List.of(aggId, other), AGGREGATE_TYPE_VNF);
+        assertThat(loaded.get(other)).isEmpty();
+        assertThat(loaded.get(aggId)).hasSize(1);
+    }
+
+    @Test
+    void saveEventsBatch_insertFailureMidBatch_rollsBackEveryRow() {
+        UUID aggId = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID last = UUID.randomUUID();
+        VnfInstantiationStarted existing = started(aggId, 1);
+        eventStore.saveEvents(aggId, AGGREGATE_TYPE_VNF, List.of(existing), 0);
+
+        // Versions check out, but the middle row reuses a stored event_id and violates the unique key.
+        assertThatThrownBy(() -> eventStore.saveEventsBatch(List.of(
+                new EventStore.Append(first, AGGREGATE_TYPE_VNF, List.of(started(first, 1)), 0),
+                new EventStore.Append(UUID.randomUUID(), AGGREGATE_TYPE_VNF, List.of(new VnfInstantiationStarted(
+                        existing.getEventId(), UUID.randomUUID().toString(), "res", 1, Instant.now())), 0),
+                new EventStore.Append(last, AGGREGATE_TYPE_VNF, List.of(started(last, 1)), 0))))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        Map<UUID, List<DomainEvent>> loaded = eventStore.loadEventsBatch(List.of(aggId, first, last), AGGREGATE_TYPE_VNF);
+        assertThat(loaded.get(first)).isEmpty();
+        assertThat(loaded.get(last)).isEmpty();
+        assertThat(loaded.get(aggId)).hasSize(1);
+    }
+
+    private static VnfInstantiationStarted started(UUID aggId, int version) {
+        return new VnfInstantiationStarted(aggId.toString(), "res", version, Instant.now());
+    }
+}
@@ -21,7 +21,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Integration tests for the event store using @DataJpaTest and H2.
- * Verifies save/load and optimistic locking.
+ * Verifies save/load and optimistic locking. Batch appends are covered by JdbcEventStoreBatchTest.
  */
 @DataJpaTest
 @ActiveProfiles("test")
@@ -0,0 +1,54 @@
+package com.vnfm.lcm.infrastructure.notification;
+
+import com.vnfm.lcm.domain.DomainEvent;
+import com.vnfm.lcm.domain.model.LcmOperationType;
+import com.vnfm.lcm.domain.model.OpOccState;
+import com.vnfm.lcm.domain.model.VnfLcmOpOccAggregate;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpOccCompletionNotifierTest {
+
+    private final OpOccCompletionNotifier notifier = new OpOccCompletionNotifier();
+
+    @Test
+    void onFinished_invokesWaitersForThatOpOccOnceAndRemovesThem() {
+        VnfLcmOpOccAggregate completed = completedOpOcc(UUID.randomUUID());
+        AtomicReference<VnfLcmOpOccAggregate> received = new AtomicReference<>();
+        List<String> other = new ArrayList<>();
+        notifier.register(completed.getOpId().toString(), received::set);
+        notifier.register(UUID.randomUUID().toString(), agg -> other.add("called"));
+
+        notifier.onFinished(new OperationOccurrenceFinished(completed));
+
+        assertThat(received.get()).isNotNull();
+        assertThat(received.get().getState()).isEqualTo(OpOccState.COMPLETED);
+        assertThat(other).isEmpty();
+        assertThat(notifier.waiting()).isEqualTo(1);
+    }
+
+    @Test
+    void deregisteredWaiter_isNotInvoked() {
+        VnfLcmOpOccAggregate completed = completedOpOcc(UUID.randomUUID());
+        List<String> calls = new ArrayList<>();
+        Runnable deregister = notifier.register(completed.getOpId().toString(), agg -> calls.add("called"));
+
+        deregister.run();
+        notifier.onFinished(new OperationOccurrenceFinished(completed));
+
+        assertThat(calls).isEmpty();
+        assertThat(notifier.waiting()).isZero();
+    }
+
+    private static VnfLcmOpOccAggregate completedOpOcc(UUID opId) {
+        List<DomainEvent> events = new ArrayList<>(VnfLcmOpOccAggregate.processCreate(opId, "vnf-1", LcmOperationType.INSTANTIATE));
+        events.addAll(VnfLcmOpOccAggregate.from(events).processComplete());
+        return VnfLcmOpOccAggregate.from(events);
+    }
+}
@@ -0,0 +1,50 @@
+package com.vnfm.lcm.infrastructure.outbox;
+
+import org.apache.kafka.common.header.Header;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommandHeadersTest {
+
+    @Test
+    void of_copiesTypeAndTopLevelIdsIntoHeaders() {
+        OutboxMessage message = new OutboxMessage("msg-1", "vim.manager", "ReserveResources",
+                "{\"resources\":{\"vnfId\":\"nested\",\"cpu\":[1,2]},\"vnfId\":\"vnf-1\",\"sagaId\":\"saga-1\"}");
+
+        Map<String, String> headers = asMap(CommandHeaders.of(message));
+
+        assertThat(headers).containsEntry("schema_version", "1")
+                .containsEntry("message_id", "msg-1")
+                .containsEntry("message_type", "ReserveResources")
+                .containsEntry("saga_id", "saga-1")
+                .containsEntry("vnf_id", "vnf-1");
+    }
+
+    @Test
+    void of_withoutIdsOrJson_sendsOnlyIdTypeAndVersion() {
+        OutboxMessage message = new OutboxMessage("msg-2", "vim.manager", "TerminateVnf", "not json");
+
+        assertThat(asMap(CommandHeaders.of(message))).containsOnlyKeys("schema_version", "message_id", "message_type");
+    }
+
+    @Test
+    void recordKey_isTheVnfIdSoAVnfsCommandsShareAPartition() {
+        OutboxMessage reserve = new OutboxMessage("msg-3", "vim.manager", "ReserveResources", "{\"vnfId\":\"vnf-1\"}");
+        OutboxMessage release = new OutboxMessage("msg-4", "vim.manager", "ReleaseResources", "{\"vnfId\":\"vnf-1\"}");
+        OutboxMessage noVnf = new OutboxMessage("msg-5", "vim.manager", "TerminateVnf", "not json");
+
+        assertThat(CommandHeaders.recordKey(reserve, CommandHeaders.of(reserve))).isEqualTo("vnf-1");
+        assertThat(CommandHeaders.recordKey(release, CommandHeaders.of(release))).isEqualTo("vnf-1");
+        assertThat(CommandHeaders.recordKey(noVnf, CommandHeaders.of(noVnf))).isEqualTo("msg-5");
+    }
+
+    private static Map<String, String> asMap(List<Header> headers) {
+        return headers.stream().collect(Collectors.toMap(Header::key, h -> new String(h.value(), StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,159 @@
+package com.vnfm.lcm.infrastructure.saga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vnfm.lcm.infrastructure.eventstore.EventStore;
+import com.vnfm.lcm.infrastructure.outbox.OutboxBatchWriter;
+import com.vnfm.lcm.infrastructure.outbox.OutboxMessage;
+import com.vnfm.lcm.infrastructure.outbox.OutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A reply with retryable=true (command shed by vim-manager) resends the step's command under a new messageId
+ * after a backoff instead of failing the saga; once the resends are used up the step fails as usual. A shed
+ * compensation of a failed saga is resent the same way.
+ */
+class SagaOrchestratorShedRetryTest {
+
+    private final SagaInstanceRepository sagaRepository = mock(SagaInstanceRepository.class);
+    private final SagaTimeoutRepository timeoutRepository = mock(SagaTimeoutRepository.class);
+    private final OutboxRepository outboxRepository = mock(OutboxRepository.class);
+    private SagaOrchestrator orchestrator;
+    private SagaInstance saga;
+
+    @BeforeEach
+    void setUp() {
+        orchestrator = new SagaOrchestrator(sagaRepository, timeoutRepository, outboxRepository, mock(EventStore.class),
+                new ObjectMapper(), mock(ApplicationEventPublisher.class), mock(SagaBatchWriter.class),
+                mock(OutboxBatchWriter.class));
+        ReflectionTestUtils.setField(orchestrator, "stepTimeoutSeconds", 120);
+        ReflectionTestUtils.setField(orchestrator, "vimRetryMaxAttempts", 2);
+        ReflectionTestUtils.setField(orchestrator, "vimRetryBackoffMs", 1000L);
+        ReflectionTestUtils.setField(orchestrator, "vimRetryMaxBackoffMs", 30000L);
+
+        when(sagaRepository.save(any())).thenAnswer(inv -> {
+            saga = inv.getArgument(0);
+            return saga;
+        });
+        when(sagaRepository.findBySagaId(anyString())).thenAnswer(inv -> Optional.ofNullable(saga));
+        when(timeoutRepository.findBySagaIdAndStepAndProcessedFalse(anyString(), anyInt())).thenReturn(List.of());
+    }
+
+    @Test
+    void shedReply_resendsTheCommandWithNewMessageIdAfterBackoff() {
+        UUID sagaId = orchestrator.startInstantiateSaga("vnf-1", Map.of("cpu", 2));
+        OutboxMessage original = sentCommands().get(0);
+
+        Instant before = Instant.now();
+        orchestrator.handleReply(sagaId, SagaOrchestrator.STEP_RESERVE_RESOURCES, false, true, Map.of("reason", "shed"));
+
+        List<OutboxMessage> sent = sentCommands();
+        assertThat(sent).hasSize(2);
+        OutboxMessage resend = sent.get(1);
+        assertThat(resend.getMessageId()).isNotEqualTo(original.getMessageId());
+        assertThat(resend.getMessageType()).isEqualTo(SagaOrchestrator.CMD_RESERVE_RESOURCES);
+        assertThat(resend.getPayload()).isEqualTo(original.getPayload());
+        assertThat(resend.getNextRetryAt()).isAfterOrEqualTo(before.plusMillis(1000));
+        assertThat(saga.getStatus()).isEqualTo(SagaStatus.RUNNING);
+
+        // The step timeout is re-armed behind the delayed resend.
+        ArgumentCaptor<SagaTimeout> timeouts = ArgumentCaptor.forClass(SagaTimeout.class);
+        verify(timeoutRepository, atLeastOnce()).save(timeouts.capture());
+        assertThat(timeouts.getValue().getExecuteAt()).isAfter(resend.getNextRetryAt());
+
+        // The second resend backs off twice as long.
+        orchestrator.handleReply(sagaId, SagaOrchestrator.STEP_RESERVE_RESOURCES, false, true, Map.of("reason", "shed"));
+        OutboxMessage second = sentCommands().get(2);
+        assertThat(second.getMessageId()).isNotIn(original.getMessageId(), resend.getMessageId());
+        assertThat(second.getNextRetryAt()).isAfterOrEqualTo(before.plusMillis(2000));
+    }
+
+    @Test
+    void shedReply_afterMaxResends_failsTheStepWithoutAnotherCommand() {
+        UUID sagaId = orchestrator.startInstantiateSaga("vnf-1", Map.of());
+
+        orchestrator.handleReply(sagaId, SagaOrchestrator.STEP_RESERVE_RESOURCES, false, true, Map.of("reason", "shed"));
+        orchestrator.handleReply(sagaId, SagaOrchestrator.STEP_RESERVE_RESOURCES, false, true, Map.of("reason", "shed"));
+        assertThat(saga.getStatus()).isEqualTo(SagaStatus.RUNNING);
+
+        orchestrator.handleReply(sagaId, SagaOrchestrator.STEP_RESERVE_RESOURCES, false, true, Map.of("reason", "shed"));
+
+        assertThat(saga.getStatus()).isEqualTo(SagaStatus.FAILED);
+        // Original plus two resends; step 1 never completed, so no ReleaseResources either.
+        assertThat(sentCommands()).hasSize(3)
+                .extracting(OutboxMessage::getMessageType)
+                .containsOnly(SagaOrchestrator.CMD_RESERVE_RESOURCES);
+    }
+
+    @Test
+    void shedCompensation_ofAFailedSaga_isResentUntilTheAttemptsAreUsedUp() {
+        UUID sagaId = orchestrator.startInstantiateSaga("vnf-1", Map.of("cpu", 2));
+        orchestrator.handleReply(sagaId, SagaOrchestrator.STEP_RESERVE_RESOURCES, true, Map.of());
+        orchestrator.handleReply(sagaId, SagaOrchestrator.STEP_DEPLOY, false, Map.of("reason", "deploy failed"));
+        assertThat(saga.getStatus()).isEqualTo(SagaStatus.FAILED);
+        OutboxMessage release = sentCommands().get(1);
+        assertThat(release.getMessageType()).isEqualTo(SagaOrchestrator.CMD_RELEASE_RESOURCES);
+
+        // vim-manager shed the release; its reply (step 1 of the compensation) reaches a FAILED saga.
+        Instant before = Instant.now();
+        orchestrator.handleReply(sagaId, SagaOrchestrator.STEP_RESERVE_RESOURCES, false, true, Map.of("reason", "shed"));
+
+        List<OutboxMessage> sent = sentCommands();
+        assertThat(sent).hasSize(3);
+        OutboxMessage resend = sent.get(2);
+        assertThat(resend.getMessageType()).isEqualTo(SagaOrchestrator.CMD_RELEASE_RESOURCES);
+        assertThat(resend.getMessageId()).isNotEqualTo(release.getMessageId());
+        assertThat(resend.getPayload()).isEqualTo(release.getPayload());
+        assertThat(resend.getNextRetryAt()).isAfterOrEqualTo(before.plusMillis(1000));
+        assertThat(saga.getStatus()).isEqualTo(SagaStatus.FAILED);
+
+        orchestrator.handleReply(sagaId, SagaOrchestrator.STEP_RESERVE_RESOURCES, false, true, Map.of("reason", "shed"));
+        orchestrator.handleReply(sagaId, SagaOrchestrator.STEP_RESERVE_RESOURCES, false, true, Map.of("reason", "shed"));
+        // Two resends allowed: the third shed reply is only logged.
+        assertThat(sentCommands()).hasSize(4);
+    }
+
+    @Test
+    void shedReply_forAFailedSagaWithoutCompensation_isIgnored() {
+        UUID sagaId = orchestrator.startTerminateSaga("vnf-1");
+        orchestrator.handleReply(sagaId, SagaOrchestrator.STEP_TERMINATE, false, false, Map.of("reason", "VIM error"));
+
+        orchestrator.handleReply(sagaId, SagaOrchestrator.STEP_TERMINATE, false, true, Map.of("reason", "shed"));
+
+        assertThat(sentCommands()).hasSize(1);
+    }
+
+    @Test
+    void nonRetryableFailure_failsAtOnce() {
+        UUID sagaId = orchestrator.startTerminateSaga("vnf-1");
+
+        orchestrator.handleReply(sagaId, SagaOrchestrator.STEP_TERMINATE, false, false, Map.of("reason", "VIM error"));
+
+        assertThat(saga.getStatus()).isEqualTo(SagaStatus.FAILED);
+        assertThat(sentCommands()).hasSize(1);
+    }
+
+    private List<OutboxMessage> sentCommands() {
+        ArgumentCaptor<OutboxMessage> captor = ArgumentCaptor.forClass(OutboxMessage.class);
+        verify(outboxRepository, atLeastOnce()).save(captor.capture());
+        return captor.getAllValues();
+    }
+}
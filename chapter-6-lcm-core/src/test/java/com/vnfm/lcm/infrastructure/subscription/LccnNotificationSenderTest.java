@@ -0,0 +1,111 @@
+package com.vnfm.lcm.infrastructure.subscription;
+
+import com.sun.net.httpserver.HttpServer;
+import com.vnfm.lcm.domain.DomainEvent;
+import com.vnfm.lcm.domain.model.LcmOperationType;
+import com.vnfm.lcm.domain.model.VnfLcmOpOccAggregate;
+import com.vnfm.lcm.infrastructure.notification.OperationOccurrenceFinished;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Delivery of LCCN result notifications to a local callback server, and the in-memory subscription cache.
+ */
+class LccnNotificationSenderTest {
+
+    private final LccnSubscriptionRepository repository = mock(LccnSubscriptionRepository.class);
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+    private HttpServer callbackServer;
+    private LccnNotificationSender sender;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        callbackServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        callbackServer.createContext("/", exchange -> {
+            received.add(exchange.getRequestURI().getPath() + " "
+                    + new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        callbackServer.start();
+        sender = new LccnNotificationSender(repository, 2000, 1, 10, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sender.shutdown();
+        callbackServer.stop(0);
+    }
+
+    @Test
+    void onFinished_postsResultNotificationToMatchingSubscriptionsOnly() throws InterruptedException {
+        UUID opId = UUID.randomUUID();
+        when(repository.findAll()).thenReturn(List.of(
+                subscription("sub-all", "/all", null, null),
+                subscription("sub-vnf-1", "/vnf-1", "vnf-1", "COMPLETED"),
+                subscription("sub-failed", "/failed", null, "FAILED"),
+                subscription("sub-vnf-2", "/vnf-2", "vnf-2", null)));
+
+        sender.onFinished(new OperationOccurrenceFinished(completed(opId)));
+
+        List<String> bodies = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            String body = received.poll(5, TimeUnit.SECONDS);
+            assertThat(body).as("notification %d", i + 1).isNotNull();
+            bodies.add(body);
+        }
+        assertThat(bodies).anySatisfy(b -> assertThat(b).startsWith("/all ").contains("\"subscriptionId\":\"sub-all\""));
+        assertThat(bodies).anySatisfy(b -> assertThat(b).startsWith("/vnf-1 ").contains("\"subscriptionId\":\"sub-vnf-1\""));
+        assertThat(bodies).allSatisfy(b -> assertThat(b)
+                .contains("\"notificationType\":\"VnfLcmOperationOccurrenceNotification\"")
+                .contains("\"notificationStatus\":\"RESULT\"")
+                .contains("\"operationState\":\"COMPLETED\"")
+                .contains("\"vnfLcmOpOccId\":\"" + opId + "\""));
+        assertThat(received.poll(300, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void subscriptionsAreCachedUntilChanged() throws InterruptedException {
+        when(repository.findAll()).thenReturn(List.of(subscription("sub-all", "/all", null, null)));
+
+        sender.onFinished(new OperationOccurrenceFinished(completed(UUID.randomUUID())));
+        sender.onFinished(new OperationOccurrenceFinished(completed(UUID.randomUUID())));
+        assertThat(received.poll(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(received.poll(5, TimeUnit.SECONDS)).isNotNull();
+        verify(repository, times(1)).findAll();
+
+        sender.onSubscriptionsChanged(new LccnSubscriptionsChanged());
+        sender.onFinished(new OperationOccurrenceFinished(completed(UUID.randomUUID())));
+        assertThat(received.poll(5, TimeUnit.SECONDS)).isNotNull();
+        verify(repository, times(2)).findAll();
+    }
+
+    private LccnSubscriptionEntity subscription(String id, String path, String vnfIds, String states) {
+        String callbackUri = "http://localhost:" + callbackServer.getAddress().getPort() + path;
+        return new LccnSubscriptionEntity(id, callbackUri, vnfIds, null, states, Instant.now());
+    }
+
+    private static VnfLcmOpOccAggregate completed(UUID opId) {
+        List<DomainEvent> events = new ArrayList<>(VnfLcmOpOccAggregate.processCreate(opId, "vnf-1", LcmOperationType.INSTANTIATE));
+        events.addAll(VnfLcmOpOccAggregate.from(events).processComplete());
+        return VnfLcmOpOccAggregate.from(events);
+    }
+}
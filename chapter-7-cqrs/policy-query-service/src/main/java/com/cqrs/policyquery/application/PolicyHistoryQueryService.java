@@ -1,75 +1,66 @@
 package com.cqrs.policyquery.application;
 
 import com.cqrs.policyquery.config.PolicyQueryProperties;
-import com.cqrs.policyquery.infrastructure.elasticsearch.PolicyEventDocument;
 import com.cqrs.policyquery.interfaces.PolicyHistoryPage;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
-import org.springframework.data.elasticsearch.core.SearchHit;
-import org.springframework.data.elasticsearch.core.SearchHits;
-import org.springframework.data.elasticsearch.core.query.Criteria;
-import org.springframework.data.elasticsearch.core.query.CriteriaQuery;
-import org.springframework.data.elasticsearch.core.query.Query;
-import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
- * Queries indexed policy history from Elasticsearch with filters and pagination.
+ * Queries indexed policy history from the {@link PolicyHistoryStore} with filters and pagination: by page number
+ * (offset), or by cursor for deep paging such as subscriber-history exports.
  */
 @Service
 public class PolicyHistoryQueryService {
 
-    private final ElasticsearchOperations elasticsearchOperations;
+    private final PolicyHistoryStore store;
     private final PolicyQueryProperties properties;
 
-    private static final String INDEX_PATTERN = "policy-history-*";
-
-    public PolicyHistoryQueryService(ElasticsearchOperations elasticsearchOperations,
+    public PolicyHistoryQueryService(PolicyHistoryStore store,
                                      PolicyQueryProperties properties) {
-        this.elasticsearchOperations = elasticsearchOperations;
+        this.store = store;
         this.properties = properties;
     }
 
     public PolicyHistoryPage query(String subscriberId, Instant from, Instant to, String policyName, String search, int page, int size) {
         size = Math.min(size, properties.getPagination().getMaxSize());
-        Criteria criteria = new Criteria();
 
-        if (subscriberId != null && !subscriberId.isBlank()) {
-            criteria = criteria.and(Criteria.where("subscriberId").is(subscriberId));
-        }
-        if (from != null) {
-            criteria = criteria.and(Criteria.where("timestamp").greaterThanEqual(from));
-        }
-        if (to != null) {
-            criteria = criteria.and(Criteria.where("timestamp").lessThanEqual(to));
-        }
-        if (policyName != null && !policyName.isBlank()) {
-            criteria = criteria.and(Criteria.where("policyName").is(policyName));
-        }
-        if (search != null && !search.isBlank()) {
-            criteria = criteria.and(Criteria.where("searchableText").matches(search));
-        }
+        PolicyHistoryStore.SearchResult result = store.search(
+                new PolicyHistoryStore.Filter(subscriberId, from, to, policyName, search), page, size);
 
-        Query query = new CriteriaQuery(criteria)
-                .setPageable(PageRequest.of(page, size));
+        long total = result.totalCount();
+        return new PolicyHistoryPage(
+                result.content(),
+                total,
+                page,
+                size,
+                (long) (page + 1) * size < total,
+                null
+        );
+    }
 
-        SearchHits<PolicyEventDocument> hits = elasticsearchOperations.search(query, PolicyEventDocument.class, IndexCoordinates.of(INDEX_PATTERN));
+    /**
+     * One page after {@code cursor} (from the newest if null), newest first by (timestamp, id).
+     *
+     * @param trackTotalHits count all matching documents (totalCount is null otherwise)
+     * @param pointInTime    read all pages from a snapshot taken at the first page
+     */
+    public PolicyHistoryPage queryAfter(String subscriberId, Instant from, Instant to, String policyName, String search,
+                                        PolicyHistoryStore.Cursor cursor, int size, boolean trackTotalHits,
+                                        boolean pointInTime) {
+        size = Math.max(1, Math.min(size, properties.getPagination().getMaxSize()));
 
-        List<PolicyEventDocument> content = hits.getSearchHits().stream()
-                .map(SearchHit::getContent)
-                .collect(Collectors.toList());
+        PolicyHistoryStore.SearchResult result = store.searchAfter(
+                new PolicyHistoryStore.Filter(subscriberId, from, to, policyName, search), cursor, size,
+                trackTotalHits, pointInTime);
 
-        long total = hits.getTotalHits();
         return new PolicyHistoryPage(
-                content,
-                total,
-                page,
+                result.content(),
+                result.totalCount(),
+                null,
                 size,
-                (long) (page + 1) * size < total
+                result.next() != null,
+                result.next() != null ? result.next().toToken() : null
         );
     }
 }
@@ -0,0 +1,92 @@
+package com.cqrs.policyquery.application;
+
+import com.cqrs.policyquery.infrastructure.elasticsearch.PolicyEventDocument;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage of the policy history read model (SPI). Selected with {@code policy-query.store.type}:
+ * {@code elasticsearch} (default, daily indices in an Elasticsearch cluster) or {@code embedded} (in-process,
+ * in memory; no cluster needed, e.g. for small sites or benchmarking the query path locally).
+ */
+public interface PolicyHistoryStore {
+
+    /**
+     * Stores the documents that are not stored yet (by id); a document stored before is an idempotent no-op.
+     *
+     * @return id → reason for the documents the store rejected (permanently, e.g. a mapping error); empty if all
+     *         are stored
+     * @throws RuntimeException if the store cannot be reached, or still fails documents transiently after its own
+     *                          retries (nothing or only part of the batch may be stored; storing the batch again is
+     *                          safe)
+     */
+    Map<String, String> createAll(List<PolicyEventDocument> documents);
+
+    /**
+     * One page of the documents matching the filter; {@code search} matches any of its words in searchableText.
+     */
+    SearchResult search(Filter filter, int page, int size);
+
+    /**
+     * Cursor paging: up to {@code size} documents matching the filter, newest first by (timestamp, id), that come
+     * after {@code after} in that order (from the newest if null). Unlike offset paging the cost does not grow with
+     * the depth, and {@code search} only filters (no relevance order).
+     *
+     * @param trackTotalHits count all documents matching the filter (totalCount is null otherwise)
+     * @param pointInTime    page over a snapshot of the history taken at the first page (stores without snapshots
+     *                       ignore it)
+     * @return the page, with the cursor of its last document if more documents follow
+     * @throws CursorExpiredException if {@code after} reads from a point in time the store no longer has
+     */
+    SearchResult searchAfter(Filter filter, Cursor after, int size, boolean trackTotalHits, boolean pointInTime);
+
+    /** False if the contents do not survive a restart (the consumer then replays the topic from the beginning). */
+    default boolean isDurable() {
+        return true;
+    }
+
+    /** The cursor's point in time is gone (expired after its keep-alive, or unknown): paging has to start over. */
+    class CursorExpiredException extends RuntimeException {
+
+        public CursorExpiredException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /** Query filters; null (or blank) = not filtered. from and to are inclusive. */
+    record Filter(String subscriberId, Instant from, Instant to, String policyName, String search) {
+    }
+
+    /** totalCount is null if not counted; next is null on the last page (and in offset paging). */
+    record SearchResult(List<PolicyEventDocument> content, Long totalCount, Cursor next) {
+
+        public SearchResult(List<PolicyEventDocument> content, long totalCount) {
+            this(content, totalCount, null);
+        }
+    }
+
+    /**
+     * Position after the last document of a page: its timestamp (epoch millis) and id, and the point in time the
+     * pages are read from (null without one). Travels to the client as an opaque token.
+     */
+    record Cursor(long timestamp, String id, String pointInTimeId) {
+
+        public String toToken() {
+            String value = timestamp + "\n" + (pointInTimeId != null ? pointInTimeId : "") + "\n" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /** @throws IllegalArgumentException if the token was not made by {@link #toToken()} */
+        public static Cursor fromToken(String token) {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\n", 3);
+            if (parts.length != 3 || parts[2].isEmpty()) {
+                throw new IllegalArgumentException("malformed cursor");
+            }
+            return new Cursor(Long.parseLong(parts[0]), parts[2], parts[1].isEmpty() ? null : parts[1]);
+        }
+    }
+}
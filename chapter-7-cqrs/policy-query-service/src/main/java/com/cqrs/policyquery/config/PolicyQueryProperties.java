@@ -2,12 +2,15 @@ package com.cqrs.policyquery.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "policy-query")
 public class PolicyQueryProperties {
 
     private Kafka kafka = new Kafka();
     private Elasticsearch elasticsearch = new Elasticsearch();
     private Pagination pagination = new Pagination();
+    private Store store = new Store();
 
     public Kafka getKafka() { return kafka; }
     public void setKafka(Kafka kafka) { this.kafka = kafka; }
@@ -15,6 +18,8 @@ public class PolicyQueryProperties {
     public void setElasticsearch(Elasticsearch elasticsearch) { this.elasticsearch = elasticsearch; }
     public Pagination getPagination() { return pagination; }
     public void setPagination(Pagination pagination) { this.pagination = pagination; }
+    public Store getStore() { return store; }
+    public void setStore(Store store) { this.store = store; }
 
     public static class Kafka {
         private String topic = "policy-events";
@@ -28,18 +33,53 @@ public class PolicyQueryProperties {
 
     public static class Elasticsearch {
         private String indexPrefix = "policy-history";
+        /** How long the list of existing daily indices is cached for resolving the indices of a time range. */
+        private Duration indexCacheTtl = Duration.ofMinutes(1);
+        /**
+         * Route documents by subscriberId (custom routing) and queries with a subscriberId to that shard only. Off by
+         * default: routed queries miss documents indexed without routing, so switch it on only with new indices.
+         */
+        private boolean routeBySubscriber = false;
+        /** Bulk items failing with 429 or 5xx are sent again (alone) up to this many attempts in total. */
+        private int bulkItemMaxAttempts = 4;
+        /** Wait before the first resend of failed bulk items; doubled for each further one. */
+        private Duration bulkItemBackoff = Duration.ofMillis(200);
 
         public String getIndexPrefix() { return indexPrefix; }
         public void setIndexPrefix(String indexPrefix) { this.indexPrefix = indexPrefix; }
+        public Duration getIndexCacheTtl() { return indexCacheTtl; }
+        public void setIndexCacheTtl(Duration indexCacheTtl) { this.indexCacheTtl = indexCacheTtl; }
+        public boolean isRouteBySubscriber() { return routeBySubscriber; }
+        public void setRouteBySubscriber(boolean routeBySubscriber) { this.routeBySubscriber = routeBySubscriber; }
+        public int getBulkItemMaxAttempts() { return bulkItemMaxAttempts; }
+        public void setBulkItemMaxAttempts(int bulkItemMaxAttempts) { this.bulkItemMaxAttempts = bulkItemMaxAttempts; }
+        public Duration getBulkItemBackoff() { return bulkItemBackoff; }
+        public void setBulkItemBackoff(Duration bulkItemBackoff) { this.bulkItemBackoff = bulkItemBackoff; }
     }
 
     public static class Pagination {
         private int defaultSize = 20;
         private int maxSize = 100;
+        /** Cursor paging with pit: how long a point in time is kept between two pages. */
+        private Duration pointInTimeKeepAlive = Duration.ofMinutes(1);
 
         public int getDefaultSize() { return defaultSize; }
         public void setDefaultSize(int defaultSize) { this.defaultSize = defaultSize; }
         public int getMaxSize() { return maxSize; }
         public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+        public Duration getPointInTimeKeepAlive() { return pointInTimeKeepAlive; }
+        public void setPointInTimeKeepAlive(Duration pointInTimeKeepAlive) { this.pointInTimeKeepAlive = pointInTimeKeepAlive; }
+    }
+
+    /** Backend of the read model: elasticsearch, or embedded (in-process, in memory; see PolicyHistoryStore). */
+    public static class Store {
+        private String type = "elasticsearch";
+        /** Embedded only: days of history kept (older day segments are dropped); 0 = keep all. */
+        private int retentionDays = 30;
+
+        public String getType() { return type; }
+        public void setType(String type) { this.type = type; }
+        public int getRetentionDays() { return retentionDays; }
+        public void setRetentionDays(int retentionDays) { this.retentionDays = retentionDays; }
     }
 }
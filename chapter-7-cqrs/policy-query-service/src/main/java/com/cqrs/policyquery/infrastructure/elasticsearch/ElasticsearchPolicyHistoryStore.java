@@ -0,0 +1,255 @@
+package com.cqrs.policyquery.infrastructure.elasticsearch;
+
+import com.cqrs.policyquery.application.PolicyHistoryStore;
+import com.cqrs.policyquery.config.PolicyQueryProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.ResourceNotFoundException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.BaseQuery;
+import org.springframework.data.elasticsearch.core.query.Criteria;
+import org.springframework.data.elasticsearch.core.query.CriteriaQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.data.elasticsearch.core.query.IndicesOptions;
+import org.springframework.data.elasticsearch.core.query.Order;
+import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Policy history in Elasticsearch: daily indices (policy-history-yyyy-MM-dd), written with one _bulk request of
+ * creates per batch and queried with a CriteriaQuery: offset paging (from + size, limited to the first 10,000 hits
+ * by index.max_result_window), or cursor paging with search_after on (timestamp, id), optionally within a point in
+ * time (PIT).
+ * <p>
+ * A query searches only the daily indices of its from/to range ({@link PolicyIndexResolver}). With
+ * route-by-subscriber, documents are routed by subscriberId, so a query for one subscriber searches one shard
+ * per index instead of all of them.
+ */
+@Component
+@ConditionalOnProperty(name = "policy-query.store.type", havingValue = "elasticsearch", matchIfMissing = true)
+public class ElasticsearchPolicyHistoryStore implements PolicyHistoryStore {
+
+    /**
+     * Newest first; id (unique) breaks ties so that search_after neither skips nor repeats a document. The unmapped
+     * types let the sort pass over indices without the field (e.g. created empty before the template); an index that
+     * maps id as text still fails it and has to be reindexed (ELASTICSEARCH_CONCEPTS.md, 4.3).
+     */
+    private static final Sort CURSOR_SORT = Sort.by(
+            new Order(Sort.Direction.DESC, "timestamp").withUnmappedType("date"),
+            new Order(Sort.Direction.DESC, "id").withUnmappedType("keyword"));
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final PolicyIndexNameProvider indexNameProvider;
+    private final PolicyIndexResolver indexResolver;
+    private final Duration pointInTimeKeepAlive;
+    private final boolean routeBySubscriber;
+    private final int bulkItemMaxAttempts;
+    private final Duration bulkItemBackoff;
+
+    public ElasticsearchPolicyHistoryStore(ElasticsearchOperations elasticsearchOperations,
+                                           PolicyIndexNameProvider indexNameProvider,
+                                           PolicyIndexResolver indexResolver,
+                                           PolicyQueryProperties properties) {
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.indexNameProvider = indexNameProvider;
+        this.indexResolver = indexResolver;
+        this.pointInTimeKeepAlive = properties.getPagination().getPointInTimeKeepAlive();
+        this.routeBySubscriber = properties.getElasticsearch().isRouteBySubscriber();
+        this.bulkItemMaxAttempts = Math.max(1, properties.getElasticsearch().getBulkItemMaxAttempts());
+        this.bulkItemBackoff = properties.getElasticsearch().getBulkItemBackoff();
+    }
+
+    /**
+     * Every document is a create with its id, so one indexed before fails with 409 in its own bulk item and counts
+     * as done, without a GET per document. Items failing with 429 (write queue full) or 5xx are sent again, alone,
+     * with exponential backoff; only other failures (mapping errors, 4xx) are returned as rejected.
+     *
+     * @throws BulkFailureException if items still fail with 429/5xx after bulk-item-max-attempts
+     */
+    @Override
+    public Map<String, String> createAll(List<PolicyEventDocument> documents) {
+        if (documents.isEmpty()) {
+            return Map.of();
+        }
+        List<IndexQuery> queries = new ArrayList<>(documents.size());
+        for (PolicyEventDocument doc : documents) {
+            queries.add(new IndexQueryBuilder()
+                    .withId(doc.getId())
+                    .withObject(doc)
+                    .withIndex(indexNameProvider.indexName(doc.getTimestamp()))
+                    .withRouting(routeBySubscriber ? doc.getSubscriberId() : null)
+                    .withOpType(IndexQuery.OpType.CREATE)
+                    .build());
+        }
+
+        Map<String, String> rejected = new HashMap<>();
+        for (int attempt = 1; ; attempt++) {
+            // Each query names its daily index; the coordinates are only the request's default
+            try {
+                elasticsearchOperations.bulkIndex(queries, IndexCoordinates.of(queries.get(0).getIndexName()));
+                return rejected;
+            } catch (BulkFailureException e) {
+                Map<String, BulkFailureException.FailureDetails> transientFailures = new HashMap<>();
+                for (Map.Entry<String, BulkFailureException.FailureDetails> failure : e.getFailedDocuments().entrySet()) {
+                    Integer status = failure.getValue().status();
+                    if (isTransient(status)) {
+                        transientFailures.put(failure.getKey(), failure.getValue());
+                    } else if (status != HttpStatus.CONFLICT.value()) {
+                        rejected.put(failure.getKey(), failure.getValue().errorMessage());
+                    }
+                }
+                if (transientFailures.isEmpty()) {
+                    return rejected;
+                }
+                if (attempt >= bulkItemMaxAttempts) {
+                    throw new BulkFailureException("Bulk items still failing after " + attempt + " attempts: "
+                            + transientFailures.keySet(), transientFailures);
+                }
+                queries = queries.stream().filter(q -> transientFailures.containsKey(q.getId())).toList();
+                backOff(attempt);
+            }
+        }
+    }
+
+    /** 429 (rejected execution, write queue full), 5xx and items without a status may succeed when sent again. */
+    private static boolean isTransient(Integer status) {
+        return status == null || status == HttpStatus.TOO_MANY_REQUESTS.value() || status >= 500;
+    }
+
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(bulkItemBackoff.toMillis() << Math.min(attempt - 1, 16));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying bulk items", e);
+        }
+    }
+
+    @Override
+    public SearchResult search(Filter filter, int page, int size) {
+        List<String> indices = indexResolver.indices(filter.from(), filter.to());
+        if (indices.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+        CriteriaQuery query = new CriteriaQuery(criteria(filter))
+                .setPageable(PageRequest.of(page, size));
+        narrow(query, filter);
+
+        SearchHits<PolicyEventDocument> hits = elasticsearchOperations.search(query, PolicyEventDocument.class,
+                IndexCoordinates.of(indices.toArray(String[]::new)));
+
+        List<PolicyEventDocument> content = hits.getSearchHits().stream()
+                .map(SearchHit::getContent)
+                .collect(Collectors.toList());
+        return new SearchResult(content, hits.getTotalHits());
+    }
+
+    /**
+     * Fetches size + 1 hits after the cursor's sort values, so the extra hit tells whether a next page exists. With
+     * a point in time, the first page opens it and the cursor carries its id (ES may return a new one per page);
+     * the last page closes it, an abandoned one expires after the keep-alive.
+     *
+     * @throws CursorExpiredException if the cursor's point in time has expired or is unknown to the cluster (404)
+     */
+    @Override
+    public SearchResult searchAfter(Filter filter, Cursor after, int size, boolean trackTotalHits, boolean pointInTime) {
+        String pointInTimeId = after != null ? after.pointInTimeId() : null;
+        List<String> indices = pointInTimeId == null ? indexResolver.indices(filter.from(), filter.to()) : List.of();
+        if (pointInTimeId == null && indices.isEmpty()) {
+            return new SearchResult(List.of(), trackTotalHits ? 0L : null, null);
+        }
+        if (pointInTimeId == null && pointInTime) {
+            pointInTimeId = elasticsearchOperations.openPointInTime(
+                    IndexCoordinates.of(indices.toArray(String[]::new)), pointInTimeKeepAlive, true);
+        }
+
+        CriteriaQuery query = new CriteriaQuery(criteria(filter))
+                .setPageable(PageRequest.of(0, size + 1))
+                .addSort(CURSOR_SORT);
+        query.setTrackTotalHits(trackTotalHits);
+        if (after != null) {
+            query.setSearchAfter(List.of(after.timestamp(), after.id()));
+        }
+        if (pointInTimeId != null) {
+            // The PIT determines the indices (and allows no routing); the coordinates below are then not sent
+            query.setPointInTime(new Query.PointInTime(pointInTimeId, pointInTimeKeepAlive));
+        } else {
+            narrow(query, filter);
+        }
+
+        SearchHits<PolicyEventDocument> hits;
+        try {
+            hits = elasticsearchOperations.search(query, PolicyEventDocument.class,
+                    pointInTimeId != null ? IndexCoordinates.of(indexNameProvider.indexPattern())
+                            : IndexCoordinates.of(indices.toArray(String[]::new)));
+        } catch (ResourceNotFoundException e) {
+            if (after == null || after.pointInTimeId() == null) {
+                throw e;
+            }
+            // search_context_missing_exception: keep-alive passed, node restarted, or not a PIT of this cluster
+            throw new CursorExpiredException("Point in time of the cursor has expired", e);
+        }
+
+        if (hits.getPointInTimeId() != null) {
+            pointInTimeId = hits.getPointInTimeId();
+        }
+        List<PolicyEventDocument> content = hits.getSearchHits().stream()
+                .limit(size)
+                .map(SearchHit::getContent)
+                .collect(Collectors.toList());
+        Cursor next = null;
+        if (hits.getSearchHits().size() > size) {
+            PolicyEventDocument last = content.get(content.size() - 1);
+            next = new Cursor(last.getTimestamp().toEpochMilli(), last.getId(), pointInTimeId);
+        } else if (pointInTimeId != null) {
+            elasticsearchOperations.closePointInTime(pointInTimeId);
+        }
+        return new SearchResult(content, trackTotalHits ? hits.getTotalHits() : null, next);
+    }
+
+    /**
+     * Routes a query for one subscriber to its shard, and lets it skip resolved daily indices that do not exist
+     * (ignore_unavailable).
+     */
+    private void narrow(BaseQuery query, Filter filter) {
+        query.setIndicesOptions(IndicesOptions.LENIENT_EXPAND_OPEN);
+        if (routeBySubscriber && filter.subscriberId() != null && !filter.subscriberId().isBlank()) {
+            query.setRoute(filter.subscriberId());
+        }
+    }
+
+    private static Criteria criteria(Filter filter) {
+        Criteria criteria = new Criteria();
+
+        if (filter.subscriberId() != null && !filter.subscriberId().isBlank()) {
+            criteria = criteria.and(Criteria.where("subscriberId").is(filter.subscriberId()));
+        }
+        if (filter.from() != null) {
+            criteria = criteria.and(Criteria.where("timestamp").greaterThanEqual(filter.from()));
+        }
+        if (filter.to() != null) {
+            criteria = criteria.and(Criteria.where("timestamp").lessThanEqual(filter.to()));
+        }
+        if (filter.policyName() != null && !filter.policyName().isBlank()) {
+            criteria = criteria.and(Criteria.where("policyName").is(filter.policyName()));
+        }
+        if (filter.search() != null && !filter.search().isBlank()) {
+            criteria = criteria.and(Criteria.where("searchableText").matches(filter.search()));
+        }
+        return criteria;
+    }
+}
@@ -14,7 +14,9 @@ import java.util.UUID;
 @Document(indexName = "policy-history")
 public class PolicyEventDocument {
 
+    /** Also a keyword field: tiebreaker of the (timestamp, id) sort of cursor paging. */
     @Id
+    @Field(type = FieldType.Keyword)
     private String id;
 
     @Field(type = FieldType.Keyword)
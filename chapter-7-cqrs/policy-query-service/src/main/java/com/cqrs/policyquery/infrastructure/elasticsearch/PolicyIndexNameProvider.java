@@ -28,4 +28,9 @@ public class PolicyIndexNameProvider {
     public String indexName(Instant instant) {
         return properties.getElasticsearch().getIndexPrefix() + "-" + FORMAT.format(instant);
     }
+
+    /** All daily indices (e.g. policy-history-*). */
+    public String indexPattern() {
+        return properties.getElasticsearch().getIndexPrefix() + "-*";
+    }
 }
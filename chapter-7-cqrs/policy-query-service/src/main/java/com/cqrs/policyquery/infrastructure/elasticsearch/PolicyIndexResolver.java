@@ -0,0 +1,162 @@
+package com.cqrs.policyquery.infrastructure.elasticsearch;
+
+import com.cqrs.policyquery.config.PolicyQueryProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexInformation;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Resolves the daily indices a query has to search: those of the days in its from/to range that exist, instead of
+ * every daily index (policy-history-*), so the cost of a query follows its range rather than the retention.
+ * <p>
+ * The existing indices are listed from Elasticsearch and cached for policy-query.elasticsearch.index-cache-ttl.
+ * Days from the last listing on are always included, since their index may have been created since (the search
+ * skips missing indices). Without a listing (Elasticsearch not reachable yet) queries fall back to the pattern.
+ * So do ranges that cover every listed index, and those whose list of names would make a long request line (the
+ * indices are in the URL path, and Elasticsearch rejects request lines over http.max_initial_line_length, 4 KB).
+ */
+@Component
+@ConditionalOnProperty(name = "policy-query.store.type", havingValue = "elasticsearch", matchIfMissing = true)
+public class PolicyIndexResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(PolicyIndexResolver.class);
+
+    /** Longest comma-separated index list put in a request path; leaves room for the rest of the request line. */
+    static final int MAX_INDEX_LIST_LENGTH = 2048;
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final PolicyIndexNameProvider indexNameProvider;
+    private final String indexPrefix;
+    private final Duration cacheTtl;
+    private final Clock clock;
+
+    private volatile ExistingIndices existing;
+    private volatile Instant nextListing = Instant.MIN;
+
+    public PolicyIndexResolver(ElasticsearchOperations elasticsearchOperations,
+                               PolicyIndexNameProvider indexNameProvider,
+                               PolicyQueryProperties properties) {
+        this(elasticsearchOperations, indexNameProvider, properties, Clock.systemUTC());
+    }
+
+    PolicyIndexResolver(ElasticsearchOperations elasticsearchOperations,
+                        PolicyIndexNameProvider indexNameProvider,
+                        PolicyQueryProperties properties,
+                        Clock clock) {
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.indexNameProvider = indexNameProvider;
+        this.indexPrefix = properties.getElasticsearch().getIndexPrefix() + "-";
+        this.cacheTtl = properties.getElasticsearch().getIndexCacheTtl();
+        this.clock = clock;
+    }
+
+    /**
+     * Indices to search for documents with a timestamp in [from, to] (null = unbounded); empty if no index can
+     * hold one. Unbounded on both sides: the pattern.
+     */
+    public List<String> indices(Instant from, Instant to) {
+        if (from == null && to == null) {
+            return List.of(indexNameProvider.indexPattern());
+        }
+        ExistingIndices indices = existingIndices();
+        if (indices == null) {
+            return List.of(indexNameProvider.indexPattern());
+        }
+        LocalDate fromDay = from != null ? day(from) : LocalDate.MIN;
+        LocalDate toDay = to != null ? day(to) : LocalDate.MAX;
+        if (fromDay.isAfter(toDay)) {
+            return List.of();
+        }
+        NavigableSet<LocalDate> days = new TreeSet<>(indices.days().subSet(fromDay, true, toDay, true));
+        // Possibly created since the listing: from its day up to tomorrow (clock skew), within the range
+        LocalDate recentTo = min(toDay, LocalDate.now(clock).plusDays(1));
+        for (LocalDate day = max(fromDay, indices.listedOn()); !day.isAfter(recentTo); day = day.plusDays(1)) {
+            days.add(day);
+        }
+        if (!days.isEmpty() && !indices.days().isEmpty() && days.containsAll(indices.days())) {
+            return List.of(indexNameProvider.indexPattern());
+        }
+        List<String> names = new ArrayList<>(days.size());
+        int length = -1;
+        for (LocalDate day : days) {
+            String name = indexNameProvider.indexName(day.atStartOfDay(ZoneOffset.UTC).toInstant());
+            length += name.length() + 1;
+            if (length > MAX_INDEX_LIST_LENGTH) {
+                return List.of(indexNameProvider.indexPattern());
+            }
+            names.add(name);
+        }
+        return names;
+    }
+
+    private ExistingIndices existingIndices() {
+        Instant now = clock.instant();
+        if (now.isBefore(nextListing)) {
+            return existing;
+        }
+        synchronized (this) {
+            if (now.isBefore(nextListing)) {
+                return existing;
+            }
+            // Also after a failure: retried once per TTL, not on every query
+            nextListing = now.plus(cacheTtl);
+            try {
+                NavigableSet<LocalDate> days = new TreeSet<>();
+                for (IndexInformation index : elasticsearchOperations
+                        .indexOps(IndexCoordinates.of(indexNameProvider.indexPattern())).getInformation()) {
+                    LocalDate day = parseDay(index.getName());
+                    if (day != null) {
+                        days.add(day);
+                    }
+                }
+                existing = new ExistingIndices(days, LocalDate.ofInstant(now, ZoneOffset.UTC));
+                log.debug("Listed daily indices count={}", days.size());
+            } catch (Exception e) {
+                log.warn("Failed to list daily indices (using the last listing or the pattern) error={}", e.getMessage());
+            }
+            return existing;
+        }
+    }
+
+    private LocalDate parseDay(String indexName) {
+        if (!indexName.startsWith(indexPrefix)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(indexName.substring(indexPrefix.length()));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static LocalDate day(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    /** Days that had an index when listed, and the (UTC) day of the listing. */
+    private record ExistingIndices(NavigableSet<LocalDate> days, LocalDate listedOn) {
+    }
+}
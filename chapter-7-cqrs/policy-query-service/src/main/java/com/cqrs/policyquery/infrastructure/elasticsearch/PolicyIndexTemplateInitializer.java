@@ -0,0 +1,56 @@
+package com.cqrs.policyquery.infrastructure.elasticsearch;
+
+import com.cqrs.policyquery.config.PolicyQueryProperties;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.index.PutIndexTemplateRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * Puts an index template for the daily indices at startup, with the mapping of {@link PolicyEventDocument}
+ * (keyword id, subscriberId and policyName, date timestamp, text searchableText). Daily indices are created by the
+ * first write of their day; without the template they would get a dynamic mapping (every string a text field), and
+ * the exact filters and the (timestamp, id) sort of cursor paging need the keyword fields.
+ * <p>
+ * Only indices created afterwards use it. If Elasticsearch is not reachable the service starts anyway.
+ */
+@Component
+@ConditionalOnProperty(name = "policy-query.store.type", havingValue = "elasticsearch", matchIfMissing = true)
+public class PolicyIndexTemplateInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(PolicyIndexTemplateInitializer.class);
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final PolicyIndexNameProvider indexNameProvider;
+    private final PolicyQueryProperties properties;
+
+    public PolicyIndexTemplateInitializer(ElasticsearchOperations elasticsearchOperations,
+                                          PolicyIndexNameProvider indexNameProvider,
+                                          PolicyQueryProperties properties) {
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.indexNameProvider = indexNameProvider;
+        this.properties = properties;
+    }
+
+    // Before the Kafka listener starts, so the first write of the day already creates a mapped index
+    @PostConstruct
+    public void putIndexTemplate() {
+        String name = properties.getElasticsearch().getIndexPrefix();
+        try {
+            IndexOperations indexOps = elasticsearchOperations.indexOps(PolicyEventDocument.class);
+            indexOps.putIndexTemplate(PutIndexTemplateRequest.builder()
+                    .withName(name)
+                    .withIndexPatterns(indexNameProvider.indexPattern())
+                    .withMapping(indexOps.createMapping())
+                    .build());
+            log.info("Index template put name={} pattern={}", name, indexNameProvider.indexPattern());
+        } catch (Exception e) {
+            log.warn("Failed to put index template name={} (new daily indices get a dynamic mapping) error={}",
+                    name, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.cqrs.policyquery.infrastructure.embedded;
+
+import com.cqrs.policyquery.infrastructure.elasticsearch.PolicyEventDocument;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The documents of one UTC day, like a daily Elasticsearch index. Stored column-wise by row (insertion order):
+ * timestamp, dictionary-encoded subscriberId and policyName, decision, quotaUsed, searchableText; with posting
+ * lists (ascending rows) per subscriber, policy and searchableText term. Append-only; queries share a read lock.
+ */
+final class DaySegment {
+
+    static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final long epochDay;
+    private final long startMillis;
+    private final long endMillis;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int size;
+    private String[] ids = new String[INITIAL_CAPACITY];
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private int[] subscribers = new int[INITIAL_CAPACITY];
+    private int[] policies = new int[INITIAL_CAPACITY];
+    private boolean[] decisions = new boolean[INITIAL_CAPACITY];
+    private long[] quotaUsed = new long[INITIAL_CAPACITY];
+    private String[] texts = new String[INITIAL_CAPACITY];
+    private final Dictionary subscriberCodes = new Dictionary();
+    private final Dictionary policyCodes = new Dictionary();
+    private final Map<String, IntList> termPostings = new HashMap<>();
+    private final Set<String> storedIds = new HashSet<>();
+
+    DaySegment(long epochDay) {
+        this.epochDay = epochDay;
+        this.startMillis = epochDay * DAY_MILLIS;
+        this.endMillis = startMillis + DAY_MILLIS;
+    }
+
+    long epochDay() {
+        return epochDay;
+    }
+
+    /** Appends the documents of this day whose id is not stored yet (like a create in a daily index). */
+    void addAll(List<PolicyEventDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(size + documents.size());
+            for (PolicyEventDocument doc : documents) {
+                if (!storedIds.add(doc.getId())) {
+                    continue;
+                }
+                int row = size++;
+                ids[row] = doc.getId();
+                timestamps[row] = doc.getTimestamp().toEpochMilli();
+                subscribers[row] = subscriberCodes.add(doc.getSubscriberId(), row);
+                policies[row] = policyCodes.add(doc.getPolicyName(), row);
+                decisions[row] = doc.isDecision();
+                quotaUsed[row] = doc.getQuotaUsed();
+                texts[row] = doc.getSearchableText();
+                for (String term : terms(doc.getSearchableText())) {
+                    termPostings.computeIfAbsent(term, t -> new IntList()).add(row);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Offers every row matching the query to the collector (with its number of matching search terms) and returns
+     * how many matched. Starts from the shortest posting list among the filters (or all rows) and checks the
+     * remaining filters on the columns.
+     */
+    int collect(Query query, Collector collector) {
+        lock.readLock().lock();
+        try {
+            int subscriber = -1;
+            int policy = -1;
+            IntList driver = null;
+            if (query.subscriberId() != null) {
+                subscriber = subscriberCodes.code(query.subscriberId());
+                if (subscriber < 0) {
+                    return 0;
+                }
+                driver = subscriberCodes.postings(subscriber);
+            }
+            if (query.policyName() != null) {
+                policy = policyCodes.code(query.policyName());
+                if (policy < 0) {
+                    return 0;
+                }
+                IntList postings = policyCodes.postings(policy);
+                if (driver == null || postings.size() < driver.size()) {
+                    driver = postings;
+                }
+            }
+            IntList[] termLists = null;
+            if (!query.terms().isEmpty()) {
+                List<IntList> found = new ArrayList<>(query.terms().size());
+                long termRows = 0;
+                for (String term : query.terms()) {
+                    IntList postings = termPostings.get(term);
+                    if (postings != null) {
+                        found.add(postings);
+                        termRows += postings.size();
+                    }
+                }
+                if (found.isEmpty()) {
+                    return 0;
+                }
+                termLists = found.toArray(IntList[]::new);
+                if (driver == null || termRows < driver.size()) {
+                    return collectByTerms(termLists, subscriber, policy, query, collector);
+                }
+            }
+
+            boolean checkTime = query.fromMillis() > startMillis || query.toMillis() < endMillis - 1;
+            int rows = driver != null ? driver.size() : size;
+            int count = 0;
+            for (int i = 0; i < rows; i++) {
+                int row = driver != null ? driver.get(i) : i;
+                if (!matches(row, subscriber, policy, checkTime, query)) {
+                    continue;
+                }
+                int score = 0;
+                if (termLists != null) {
+                    for (IntList postings : termLists) {
+                        if (postings.contains(row)) {
+                            score++;
+                        }
+                    }
+                    if (score == 0) {
+                        continue;
+                    }
+                }
+                count++;
+                collector.offer(row, score, timestamps[row]);
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Merges the terms' posting lists (each row once, scored by the lists containing it), checking the filters. */
+    private int collectByTerms(IntList[] termLists, int subscriber, int policy, Query query, Collector collector) {
+        boolean checkTime = query.fromMillis() > startMillis || query.toMillis() < endMillis - 1;
+        int[] positions = new int[termLists.length];
+        int count = 0;
+        while (true) {
+            int row = Integer.MAX_VALUE;
+            for (int i = 0; i < termLists.length; i++) {
+                if (positions[i] < termLists[i].size()) {
+                    row = Math.min(row, termLists[i].get(positions[i]));
+                }
+            }
+            if (row == Integer.MAX_VALUE) {
+                return count;
+            }
+            int score = 0;
+            for (int i = 0; i < termLists.length; i++) {
+                if (positions[i] < termLists[i].size() && termLists[i].get(positions[i]) == row) {
+                    score++;
+                    positions[i]++;
+                }
+            }
+            if (matches(row, subscriber, policy, checkTime, query)) {
+                count++;
+                collector.offer(row, score, timestamps[row]);
+            }
+        }
+    }
+
+    private boolean matches(int row, int subscriber, int policy, boolean checkTime, Query query) {
+        return (subscriber < 0 || subscribers[row] == subscriber)
+                && (policy < 0 || policies[row] == policy)
+                && (!checkTime || (timestamps[row] >= query.fromMillis() && timestamps[row] <= query.toMillis()));
+    }
+
+    String id(int row) {
+        lock.readLock().lock();
+        try {
+            return ids[row];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    PolicyEventDocument document(int row) {
+        lock.readLock().lock();
+        try {
+            return new PolicyEventDocument(ids[row], subscriberCodes.value(subscribers[row]),
+                    Instant.ofEpochMilli(timestamps[row]), policyCodes.value(policies[row]), decisions[row],
+                    quotaUsed[row], texts[row]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int grown = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, grown);
+        timestamps = Arrays.copyOf(timestamps, grown);
+        subscribers = Arrays.copyOf(subscribers, grown);
+        policies = Arrays.copyOf(policies, grown);
+        decisions = Arrays.copyOf(decisions, grown);
+        quotaUsed = Arrays.copyOf(quotaUsed, grown);
+        texts = Arrays.copyOf(texts, grown);
+    }
+
+    /**
+     * Distinct lower-case words (runs of letters and digits), roughly Elasticsearch's standard analyzer:
+     * "sub-42 fair-use allowed" → sub, 42, fair, use, allowed.
+     */
+    static List<String> terms(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return List.copyOf(terms);
+    }
+
+    /** Filters of a query, with search already split into terms; from and to inclusive, in epoch millis. */
+    record Query(String subscriberId, String policyName, long fromMillis, long toMillis, List<String> terms) {
+    }
+
+    @FunctionalInterface
+    interface Collector {
+
+        void offer(int row, int score, long timestamp);
+    }
+
+    /** Codes of distinct values (null has none: -1), each with the rows holding it. */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private final List<IntList> postings = new ArrayList<>();
+
+        int add(String value, int row) {
+            if (value == null) {
+                return -1;
+            }
+            int code = codes.computeIfAbsent(value, v -> {
+                values.add(v);
+                postings.add(new IntList());
+                return values.size() - 1;
+            });
+            postings.get(code).add(row);
+            return code;
+        }
+
+        int code(String value) {
+            Integer code = codes.get(value);
+            return code != null ? code : -1;
+        }
+
+        String value(int code) {
+            return code >= 0 ? values.get(code) : null;
+        }
+
+        IntList postings(int code) {
+            return postings.get(code);
+        }
+    }
+
+    /** Growable list of ascending row numbers. */
+    private static final class IntList {
+
+        private int[] values = new int[8];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.cqrs.policyquery.infrastructure.embedded;
+
+import com.cqrs.policyquery.application.PolicyHistoryStore;
+import com.cqrs.policyquery.config.PolicyQueryProperties;
+import com.cqrs.policyquery.infrastructure.elasticsearch.PolicyEventDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-process policy history (policy-query.store.type=embedded): no Elasticsearch cluster, e.g. for small sites or
+ * for benchmarking the query path locally. Documents live in memory in one {@link DaySegment} per UTC day (the
+ * daily indices of Elasticsearch), column-wise with inverted indexes for subscriberId, policyName and the words of
+ * searchableText.
+ * <p>
+ * A query visits only the segments of its time range. search matches documents containing any of its words (like
+ * an Elasticsearch match query) and ranks them by the number of words matched, then newest first; without search,
+ * results are newest first. Only the top (page + 1) × size hits are kept while scanning.
+ * <p>
+ * Cursor paging orders by (timestamp, id), newest first, and visits the segments newest first from the cursor's
+ * day; unless the total is counted it stops at the first segment that is older than every hit kept. Segments are
+ * append-only, so there is no point in time: a page can include events that arrived after the first page.
+ * <p>
+ * Not durable: the history is gone after a restart, and the consumer then replays the topic (as far as its
+ * retention allows). Segments older than policy-query.store.retention-days are dropped.
+ */
+@Component
+@ConditionalOnProperty(name = "policy-query.store.type", havingValue = "embedded")
+public class EmbeddedPolicyHistoryStore implements PolicyHistoryStore {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedPolicyHistoryStore.class);
+
+    /** Worst hit first: fewer matched words, then older (then segment and row, for a stable order). */
+    private static final Comparator<Hit> WORST_FIRST = Comparator.comparingInt(Hit::score)
+            .thenComparingLong(Hit::timestamp)
+            .thenComparingLong(hit -> hit.segment().epochDay())
+            .thenComparingInt(Hit::row);
+
+    /** Cursor paging order, oldest first: the worst hit of a newest-first page. */
+    private static final Comparator<Hit> OLDEST_FIRST = Comparator.comparingLong(Hit::timestamp)
+            .thenComparing(Hit::id);
+
+    private final ConcurrentSkipListMap<Long, DaySegment> segments = new ConcurrentSkipListMap<>();
+    private final int retentionDays;
+
+    public EmbeddedPolicyHistoryStore(PolicyQueryProperties properties) {
+        this.retentionDays = properties.getStore().getRetentionDays();
+        log.info("Embedded policy history store (in memory, retentionDays={})", retentionDays);
+    }
+
+    @Override
+    public Map<String, String> createAll(List<PolicyEventDocument> documents) {
+        Map<String, String> rejected = new HashMap<>();
+        Map<Long, List<PolicyEventDocument>> byDay = new HashMap<>();
+        for (PolicyEventDocument doc : documents) {
+            if (doc.getId() == null || doc.getTimestamp() == null) {
+                rejected.put(String.valueOf(doc.getId()), "id and timestamp are required");
+                continue;
+            }
+            byDay.computeIfAbsent(epochDay(doc.getTimestamp().toEpochMilli()), day -> new ArrayList<>()).add(doc);
+        }
+        byDay.forEach((day, docs) -> segments.computeIfAbsent(day, DaySegment::new).addAll(docs));
+        if (retentionDays > 0) {
+            segments.headMap(epochDay(Instant.now().toEpochMilli()) - retentionDays).clear();
+        }
+        return rejected;
+    }
+
+    @Override
+    public SearchResult search(Filter filter, int page, int size) {
+        long fromMillis = filter.from() != null ? filter.from().toEpochMilli() : Long.MIN_VALUE;
+        long toMillis = filter.to() != null ? filter.to().toEpochMilli() : Long.MAX_VALUE;
+        if (fromMillis > toMillis) {
+            return new SearchResult(List.of(), 0);
+        }
+        DaySegment.Query query = new DaySegment.Query(blankToNull(filter.subscriberId()), blankToNull(filter.policyName()),
+                fromMillis, toMillis, DaySegment.terms(filter.search()));
+        long offset = (long) page * size;
+        int keep = (int) Math.min(offset + size, Integer.MAX_VALUE);
+
+        PriorityQueue<Hit> top = new PriorityQueue<>(WORST_FIRST);
+        long total = 0;
+        for (DaySegment segment : segments.subMap(epochDay(fromMillis), true, epochDay(toMillis), true).values()) {
+            total += segment.collect(query, (row, score, timestamp) -> {
+                if (top.size() < keep) {
+                    top.add(new Hit(segment, row, score, timestamp));
+                } else if (keep > 0) {
+                    Hit hit = new Hit(segment, row, score, timestamp);
+                    if (WORST_FIRST.compare(hit, top.peek()) > 0) {
+                        top.poll();
+                        top.add(hit);
+                    }
+                }
+            });
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(WORST_FIRST.reversed());
+        List<PolicyEventDocument> content = new ArrayList<>();
+        for (int i = (int) Math.min(offset, hits.size()); i < hits.size(); i++) {
+            content.add(hits.get(i).segment().document(hits.get(i).row()));
+        }
+        return new SearchResult(content, total);
+    }
+
+    @Override
+    public SearchResult searchAfter(Filter filter, Cursor after, int size, boolean trackTotalHits, boolean pointInTime) {
+        long fromMillis = filter.from() != null ? filter.from().toEpochMilli() : Long.MIN_VALUE;
+        long toMillis = filter.to() != null ? filter.to().toEpochMilli() : Long.MAX_VALUE;
+        if (fromMillis > toMillis) {
+            return new SearchResult(List.of(), trackTotalHits ? 0L : null, null);
+        }
+        // Counting the total needs every matching row; otherwise rows newer than the cursor can be skipped
+        long scanToMillis = after != null && !trackTotalHits ? Math.min(toMillis, after.timestamp()) : toMillis;
+        if (fromMillis > scanToMillis) {
+            return new SearchResult(List.of(), null, null);
+        }
+        DaySegment.Query query = new DaySegment.Query(blankToNull(filter.subscriberId()), blankToNull(filter.policyName()),
+                fromMillis, scanToMillis, DaySegment.terms(filter.search()));
+        int keep = size + 1;
+
+        PriorityQueue<Hit> top = new PriorityQueue<>(OLDEST_FIRST);
+        long total = 0;
+        NavigableMap<Long, DaySegment> range = segments.subMap(epochDay(fromMillis), true, epochDay(scanToMillis), true);
+        for (DaySegment segment : range.descendingMap().values()) {
+            long segmentEnd = (segment.epochDay() + 1) * DaySegment.DAY_MILLIS;
+            if (!trackTotalHits && top.size() == keep && top.peek().timestamp() >= segmentEnd) {
+                break;
+            }
+            total += segment.collect(query, (row, score, timestamp) -> {
+                if (after != null && (timestamp > after.timestamp()
+                        || (timestamp == after.timestamp() && segment.id(row).compareTo(after.id()) >= 0))) {
+                    return;
+                }
+                Hit hit = new Hit(segment, row, score, timestamp);
+                if (top.size() < keep) {
+                    top.add(hit);
+                } else if (OLDEST_FIRST.compare(hit, top.peek()) > 0) {
+                    top.poll();
+                    top.add(hit);
+                }
+            });
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(OLDEST_FIRST.reversed());
+        List<PolicyEventDocument> content = new ArrayList<>(Math.min(size, hits.size()));
+        for (int i = 0; i < Math.min(size, hits.size()); i++) {
+            content.add(hits.get(i).segment().document(hits.get(i).row()));
+        }
+        Cursor next = null;
+        if (hits.size() > size) {
+            Hit last = hits.get(size - 1);
+            next = new Cursor(last.timestamp(), last.id(), null);
+        }
+        return new SearchResult(content, trackTotalHits ? total : null, next);
+    }
+
+    @Override
+    public boolean isDurable() {
+        return false;
+    }
+
+    private static long epochDay(long epochMillis) {
+        return Math.floorDiv(epochMillis, DaySegment.DAY_MILLIS);
+    }
+
+    private static String blankToNull(String value) {
+        return value != null && !value.isBlank() ? value : null;
+    }
+
+    private record Hit(DaySegment segment, int row, int score, long timestamp) {
+
+        String id() {
+            return segment.id(row);
+        }
+    }
+}
@@ -1,41 +1,53 @@
 package com.cqrs.policyquery.infrastructure.kafka;
 
 import com.cqrs.policyquery.application.PolicyEventIndexer;
+import com.cqrs.policyquery.application.PolicyHistoryStore;
 import com.cqrs.policyquery.config.PolicyQueryProperties;
 import com.cqrs.policyquery.domain.PolicyEventPayload;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerSeekAware;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * Consumes policy events from Kafka (published by Debezium from outbox).
- * Indexes idempotently in Elasticsearch; on permanent failure sends to DLQ and acks to skip.
+ * Consumes policy events from Kafka (published by Debezium from outbox), a poll (up to max-poll-records) at a time.
+ * Indexes each batch idempotently with one store call (one _bulk request with Elasticsearch); events that fail
+ * (deserialization, rejected by the store, or the whole batch after retries) go to the DLQ, then the batch is acked.
+ * With a store that does not survive restarts (embedded), every assignment of a partition replays it from the
+ * beginning, which rebuilds the history (idempotently) as far as the topic's retention allows. Such a store must see
+ * every partition, so each instance needs a consumer group of its own (application-embedded.yml appends a random id
+ * to the group id): in a shared group, each instance would only hold the partitions assigned to it.
  */
 @Component
-public class PolicyEventConsumer {
+public class PolicyEventConsumer implements ConsumerSeekAware {
 
     private static final Logger log = LoggerFactory.getLogger(PolicyEventConsumer.class);
 
     private final PolicyEventIndexer indexer;
+    private final PolicyHistoryStore store;
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final PolicyQueryProperties properties;
     private final ObjectMapper objectMapper;
 
     public PolicyEventConsumer(PolicyEventIndexer indexer,
+                               PolicyHistoryStore store,
                                KafkaTemplate<String, String> kafkaTemplate,
                                PolicyQueryProperties properties,
                                ObjectMapper objectMapper) {
         this.indexer = indexer;
+        this.store = store;
         this.kafkaTemplate = kafkaTemplate;
         this.properties = properties;
         this.objectMapper = objectMapper;
@@ -45,40 +57,68 @@ public class PolicyEventConsumer {
     @KafkaListener(
             topics = "#{@policyQueryProperties.kafka.topic}",
             groupId = "${spring.kafka.consumer.group-id:policy-query-service}",
-            containerFactory = "kafkaListenerContainerFactory"
+            containerFactory = "kafkaListenerContainerFactory",
+            batch = "true"
     )
-    public void onPolicyEvent(ConsumerRecord<String, String> record,
-                              Acknowledgment ack,
-                              @Header(KafkaHeaders.RECEIVED_KEY) String key) {
-        String eventId = key != null ? key : "unknown";
-        MDC.put("eventId", eventId);
-        try {
-            PolicyEventPayload event = objectMapper.readValue(record.value(), PolicyEventPayload.class);
-            MDC.put("subscriberId", event.subscriberId());
-
+    public void onPolicyEvents(List<ConsumerRecord<String, String>> records, Acknowledgment ack) {
+        // eventId → record, for mapping bulk item failures back; a repeated eventId is indexed once
+        Map<String, ConsumerRecord<String, String>> recordsByEventId = new LinkedHashMap<>();
+        List<PolicyEventPayload> events = new ArrayList<>(records.size());
+        List<CompletableFuture<?>> dlqSends = new ArrayList<>();
+        for (ConsumerRecord<String, String> record : records) {
             try {
-                indexer.index(event);
+                PolicyEventPayload event = objectMapper.readValue(record.value(), PolicyEventPayload.class);
+                if (event.eventId() == null || event.timestamp() == null) {
+                    throw new IllegalArgumentException("eventId and timestamp are required");
+                }
+                if (recordsByEventId.putIfAbsent(event.eventId().toString(), record) == null) {
+                    events.add(event);
+                }
             } catch (Exception e) {
-                log.error("Indexing failed (sending to DLQ) eventId={} error={}", eventId, e.getMessage(), e);
-                sendToDlq(record, e.getMessage());
+                log.error("Deserialization failed (sending to DLQ) key={} error={}", record.key(), e.getMessage(), e);
+                dlqSends.add(sendToDlq(record));
             }
-            ack.acknowledge();
+        }
+
+        try {
+            indexer.indexAll(events).forEach((eventId, reason) -> {
+                log.error("Indexing rejected (sending to DLQ) eventId={} error={}", eventId, reason);
+                dlqSends.add(sendToDlq(recordsByEventId.get(eventId)));
+            });
         } catch (Exception e) {
-            log.error("Deserialization or processing failed (sending to DLQ) eventId={} error={}", eventId, e.getMessage(), e);
-            sendToDlq(record, e.getMessage());
-            ack.acknowledge();
-        } finally {
-            MDC.clear();
+            log.error("Bulk indexing failed (sending {} events to DLQ) error={}", events.size(), e.getMessage(), e);
+            recordsByEventId.values().forEach(record -> dlqSends.add(sendToDlq(record)));
+        }
+
+        // DLQ sends run concurrently; ack only once the bulk response is handled and they have completed
+        CompletableFuture.allOf(dlqSends.toArray(CompletableFuture[]::new)).join();
+        ack.acknowledge();
+        log.debug("Processed policy events batch size={} dlq={}", records.size(), dlqSends.size());
+    }
+
+    /**
+     * Seeks every (re)assigned partition to the beginning for a non-durable store: a partition coming back after a
+     * rebalance may have been consumed elsewhere meanwhile, so its offset says nothing about this store's contents.
+     */
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        if (store.isDurable() || assignments.isEmpty()) {
+            return;
         }
+        log.info("Replaying policy events from the beginning into the non-durable store partitions={}", assignments.keySet());
+        callback.seekToBeginning(assignments.keySet());
     }
 
-    private void sendToDlq(ConsumerRecord<String, String> record, String errorMessage) {
+    /** Completes normally either way; a failed send is logged. */
+    private CompletableFuture<?> sendToDlq(ConsumerRecord<String, String> record) {
         String dlqTopic = properties.getKafka().getDlqTopic();
-        try {
-            kafkaTemplate.send(dlqTopic, record.key(), record.value()).get();
-            log.info("Sent to DLQ topic={} key={}", dlqTopic, record.key());
-        } catch (Exception ex) {
-            log.error("Failed to send to DLQ topic={} key={}", dlqTopic, record.key(), ex);
-        }
+        return kafkaTemplate.send(dlqTopic, record.key(), record.value()).handle((result, ex) -> {
+            if (ex != null) {
+                log.error("Failed to send to DLQ topic={} key={}", dlqTopic, record.key(), ex);
+            } else {
+                log.info("Sent to DLQ topic={} key={}", dlqTopic, record.key());
+            }
+            return null;
+        });
     }
 }
@@ -1,15 +1,20 @@
 package com.cqrs.policyquery.interfaces;
 
 import com.cqrs.policyquery.application.PolicyHistoryQueryService;
+import com.cqrs.policyquery.application.PolicyHistoryStore;
 import com.cqrs.policyquery.config.PolicyQueryProperties;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
 
 /**
- * REST API to query indexed policy history.
+ * REST API to query indexed policy history. Pages by page number, or by cursor when {@code cursor} is given (empty
+ * for the first page; then the previous page's nextCursor), optionally with {@code pit} (point in time) and
+ * {@code total} (count all matches). A malformed cursor is 400; one whose point in time has expired is 410.
  */
 @RestController
 @RequestMapping("/api/policy-history")
@@ -31,9 +36,11 @@ public class PolicyHistoryController {
             @RequestParam(required = false) String policyName,
             @RequestParam(required = false) String search,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(required = false) Integer size) {
-        int pageSize = size != null ? size : properties.getPagination().getDefaultSize();
-        return queryService.query(subscriberId, from, to, policyName, search, page, pageSize);
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean pit,
+            @RequestParam(defaultValue = "false") boolean total) {
+        return query(subscriberId, from, to, policyName, search, page, size, cursor, pit, total);
     }
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
@@ -44,8 +51,29 @@ public class PolicyHistoryController {
             @RequestParam(required = false) String subscriberId,
             @RequestParam(required = false) String search,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(required = false) Integer size) {
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean pit,
+            @RequestParam(defaultValue = "false") boolean total) {
+        return query(subscriberId, from, to, policyName, search, page, size, cursor, pit, total);
+    }
+
+    private PolicyHistoryPage query(String subscriberId, Instant from, Instant to, String policyName, String search,
+                                    int page, Integer size, String cursor, boolean pit, boolean total) {
         int pageSize = size != null ? size : properties.getPagination().getDefaultSize();
-        return queryService.query(subscriberId, from, to, policyName, search, page, pageSize);
+        if (cursor == null) {
+            return queryService.query(subscriberId, from, to, policyName, search, page, pageSize);
+        }
+        PolicyHistoryStore.Cursor after;
+        try {
+            after = cursor.isEmpty() ? null : PolicyHistoryStore.Cursor.fromToken(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+        }
+        try {
+            return queryService.queryAfter(subscriberId, from, to, policyName, search, after, pageSize, total, pit);
+        } catch (PolicyHistoryStore.CursorExpiredException e) {
+            throw new ResponseStatusException(HttpStatus.GONE, "Cursor expired; start again with an empty cursor", e);
+        }
     }
 }
@@ -5,12 +5,14 @@ import com.cqrs.policyquery.infrastructure.elasticsearch.PolicyEventDocument;
 import java.util.List;
 
 /**
- * Page result for policy history API.
+ * Page result for policy history API. With cursor paging, page is null, totalCount is null unless requested, and
+ * nextCursor (null on the last page) fetches the following page.
  */
 public record PolicyHistoryPage(
         List<PolicyEventDocument> content,
-        long totalCount,
-        int page,
+        Long totalCount,
+        Integer page,
         int size,
-        boolean hasNext
+        boolean hasNext,
+        String nextCursor
 ) {}
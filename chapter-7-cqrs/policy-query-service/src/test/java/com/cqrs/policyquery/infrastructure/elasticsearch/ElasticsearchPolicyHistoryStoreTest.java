@@ -0,0 +1,212 @@
+package com.cqrs.policyquery.infrastructure.elasticsearch;
+
+import com.cqrs.policyquery.application.PolicyHistoryStore;
+import com.cqrs.policyquery.config.PolicyQueryProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.ResourceNotFoundException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.CriteriaQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.Order;
+import org.springframework.data.elasticsearch.core.query.Query;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test of the Elasticsearch requests the store builds, against mocked {@link ElasticsearchOperations}.
+ */
+class ElasticsearchPolicyHistoryStoreTest {
+
+    private static final Instant TIMESTAMP = Instant.parse("2025-02-18T10:00:00Z");
+
+    private static final PolicyHistoryStore.Filter FILTER = new PolicyHistoryStore.Filter(
+            "sub-1", TIMESTAMP.minus(Duration.ofHours(1)), TIMESTAMP, null, null);
+
+    private ElasticsearchOperations operations;
+    private PolicyIndexResolver indexResolver;
+    private PolicyQueryProperties properties;
+    private ElasticsearchPolicyHistoryStore store;
+
+    @BeforeEach
+    void setUp() {
+        operations = mock(ElasticsearchOperations.class);
+        indexResolver = mock(PolicyIndexResolver.class);
+        when(indexResolver.indices(any(), any())).thenReturn(List.of("policy-history-2025-02-18"));
+        properties = new PolicyQueryProperties();
+        properties.getElasticsearch().setBulkItemBackoff(Duration.ZERO);
+        store = store();
+    }
+
+    @Test
+    void createAll_resendsOnlyItemsFailingWith429Or5xxAndRejectsOnlyPermanentFailures() {
+        when(operations.bulkIndex(anyList(), any(IndexCoordinates.class)))
+                .thenThrow(bulkFailure(Map.of(
+                        "e1", new BulkFailureException.FailureDetails(429, "es_rejected_execution_exception"),
+                        "e2", new BulkFailureException.FailureDetails(409, "version_conflict_engine_exception"),
+                        "e3", new BulkFailureException.FailureDetails(400, "mapper_parsing_exception"),
+                        "e4", new BulkFailureException.FailureDetails(503, "unavailable_shards_exception"))))
+                .thenThrow(bulkFailure(Map.of(
+                        "e4", new BulkFailureException.FailureDetails(503, "unavailable_shards_exception"))))
+                .thenReturn(List.of());
+
+        Map<String, String> rejected = store.createAll(documents("e1", "e2", "e3", "e4", "e5"));
+
+        assertThat(rejected).containsOnlyKeys("e3");
+        assertThat(rejected.get("e3")).isEqualTo("mapper_parsing_exception");
+        assertThat(sentIds(3)).containsExactly(
+                List.of("e1", "e2", "e3", "e4", "e5"), List.of("e1", "e4"), List.of("e4"));
+    }
+
+    @Test
+    void createAll_itemsStillFailingTransientlyAfterMaxAttempts_failTheBatch() {
+        properties.getElasticsearch().setBulkItemMaxAttempts(2);
+        store = store();
+        when(operations.bulkIndex(anyList(), any(IndexCoordinates.class)))
+                .thenThrow(bulkFailure(Map.of("e1", new BulkFailureException.FailureDetails(429, "queue full"))));
+
+        assertThatThrownBy(() -> store.createAll(documents("e1", "e2")))
+                .isInstanceOfSatisfying(BulkFailureException.class,
+                        e -> assertThat(e.getFailedDocuments()).containsOnlyKeys("e1"));
+        assertThat(sentIds(2)).containsExactly(List.of("e1", "e2"), List.of("e1"));
+    }
+
+    @Test
+    void searchAfter_firstPageWithPit_opensItAndAsksForSizePlusOneInCursorOrder() {
+        when(operations.openPointInTime(any(IndexCoordinates.class), any(Duration.class), any(Boolean.class)))
+                .thenReturn("pit-1");
+        SearchHits<PolicyEventDocument> hits = hits("pit-2", "e3", "e2", "e1");
+        when(operations.search(any(Query.class), eq(PolicyEventDocument.class), any(IndexCoordinates.class))).thenReturn(hits);
+
+        PolicyHistoryStore.SearchResult result = store.searchAfter(FILTER, null, 2, false, true);
+
+        CriteriaQuery query = sentQuery();
+        assertThat(query.getPageable().getPageSize()).isEqualTo(3);
+        assertThat(query.getSearchAfter()).isNull();
+        assertThat(query.getPointInTime().id()).isEqualTo("pit-1");
+        assertThat(query.getRoute()).isNull();
+        assertThat(query.getSort()).extracting(Sort.Order::getProperty, Sort.Order::getDirection,
+                        order -> ((Order) order).getUnmappedType())
+                .containsExactly(tuple("timestamp", Sort.Direction.DESC, "date"), tuple("id", Sort.Direction.DESC, "keyword"));
+        verify(operations).openPointInTime(IndexCoordinates.of("policy-history-2025-02-18"), Duration.ofMinutes(1), true);
+
+        assertThat(result.content()).extracting(PolicyEventDocument::getId).containsExactly("e3", "e2");
+        assertThat(result.next()).isEqualTo(new PolicyHistoryStore.Cursor(TIMESTAMP.toEpochMilli(), "e2", "pit-2"));
+        verify(operations, never()).closePointInTime(any());
+    }
+
+    @Test
+    void searchAfter_lastPage_sendsTheCursorValuesOnThePitAndClosesIt() {
+        SearchHits<PolicyEventDocument> hits = hits("pit-3", "e1");
+        when(operations.search(any(Query.class), eq(PolicyEventDocument.class), any(IndexCoordinates.class))).thenReturn(hits);
+
+        PolicyHistoryStore.SearchResult result = store.searchAfter(FILTER,
+                new PolicyHistoryStore.Cursor(TIMESTAMP.toEpochMilli(), "e2", "pit-2"), 2, false, true);
+
+        CriteriaQuery query = sentQuery();
+        assertThat(query.getSearchAfter()).containsExactly(TIMESTAMP.toEpochMilli(), "e2");
+        assertThat(query.getPointInTime().id()).isEqualTo("pit-2");
+        verify(operations, never()).openPointInTime(any(IndexCoordinates.class), any(Duration.class), any(Boolean.class));
+        verify(indexResolver, never()).indices(any(), any());
+
+        assertThat(result.content()).extracting(PolicyEventDocument::getId).containsExactly("e1");
+        assertThat(result.next()).isNull();
+        verify(operations).closePointInTime("pit-3");
+    }
+
+    @Test
+    void searchAfter_withoutPit_routesToTheSubscriberShardOfTheResolvedIndices() {
+        properties.getElasticsearch().setRouteBySubscriber(true);
+        store = store();
+        SearchHits<PolicyEventDocument> hits = hits(null, "e1");
+        when(operations.search(any(Query.class), eq(PolicyEventDocument.class), any(IndexCoordinates.class))).thenReturn(hits);
+
+        store.searchAfter(FILTER, new PolicyHistoryStore.Cursor(TIMESTAMP.toEpochMilli(), "e2", null), 2, false, false);
+
+        CriteriaQuery query = sentQuery();
+        assertThat(query.getPointInTime()).isNull();
+        assertThat(query.getRoute()).isEqualTo("sub-1");
+        assertThat(query.getSearchAfter()).containsExactly(TIMESTAMP.toEpochMilli(), "e2");
+        verify(operations).search(any(Query.class), eq(PolicyEventDocument.class),
+                eq(IndexCoordinates.of("policy-history-2025-02-18")));
+        verify(operations, never()).closePointInTime(any());
+    }
+
+    @Test
+    void searchAfter_expiredPitOfTheCursor_isCursorExpired() {
+        when(operations.search(any(Query.class), eq(PolicyEventDocument.class), any(IndexCoordinates.class)))
+                .thenThrow(new ResourceNotFoundException("search_context_missing_exception"));
+
+        assertThatThrownBy(() -> store.searchAfter(FILTER,
+                new PolicyHistoryStore.Cursor(TIMESTAMP.toEpochMilli(), "e2", "pit-gone"), 2, false, true))
+                .isInstanceOf(PolicyHistoryStore.CursorExpiredException.class);
+        assertThatThrownBy(() -> store.searchAfter(FILTER,
+                new PolicyHistoryStore.Cursor(TIMESTAMP.toEpochMilli(), "e2", null), 2, false, false))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private ElasticsearchPolicyHistoryStore store() {
+        PolicyIndexNameProvider names = new PolicyIndexNameProvider(properties);
+        return new ElasticsearchPolicyHistoryStore(operations, names, indexResolver, properties);
+    }
+
+    private CriteriaQuery sentQuery() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(operations).search(query.capture(), eq(PolicyEventDocument.class), any(IndexCoordinates.class));
+        return (CriteriaQuery) query.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SearchHits<PolicyEventDocument> hits(String pointInTimeId, String... ids) {
+        List<SearchHit<PolicyEventDocument>> hits = documents(ids).stream().map(doc -> {
+            SearchHit<PolicyEventDocument> hit = mock(SearchHit.class);
+            when(hit.getContent()).thenReturn(doc);
+            return hit;
+        }).toList();
+        SearchHits<PolicyEventDocument> searchHits = mock(SearchHits.class);
+        when(searchHits.getSearchHits()).thenReturn(hits);
+        when(searchHits.getPointInTimeId()).thenReturn(pointInTimeId);
+        return searchHits;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<String>> sentIds(int bulkRequests) {
+        ArgumentCaptor<List<IndexQuery>> sent = ArgumentCaptor.forClass(List.class);
+        verify(operations, times(bulkRequests)).bulkIndex(sent.capture(), any(IndexCoordinates.class));
+        return sent.getAllValues().stream()
+                .map(queries -> queries.stream().map(IndexQuery::getId).toList())
+                .toList();
+    }
+
+    private static List<PolicyEventDocument> documents(String... ids) {
+        return Arrays.stream(ids)
+                .map(id -> new PolicyEventDocument(id, "sub-1", TIMESTAMP, "fair-use", true, 1L))
+                .toList();
+    }
+
+    private static BulkFailureException bulkFailure(Map<String, BulkFailureException.FailureDetails> failures) {
+        return new BulkFailureException("Bulk operation has failures", failures);
+    }
+}
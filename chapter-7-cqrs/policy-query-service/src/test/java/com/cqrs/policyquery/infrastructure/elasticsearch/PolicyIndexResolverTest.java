@@ -0,0 +1,141 @@
+package com.cqrs.policyquery.infrastructure.elasticsearch;
+
+import com.cqrs.policyquery.config.PolicyQueryProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexInformation;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for resolving the daily indices of a time range from the cached listing of existing indices.
+ */
+class PolicyIndexResolverTest {
+
+    private static final Instant NOW = Instant.parse("2025-02-18T10:00:00Z");
+
+    private IndexOperations indexOps;
+    private MutableClock clock;
+    private PolicyIndexResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        ElasticsearchOperations operations = mock(ElasticsearchOperations.class);
+        indexOps = mock(IndexOperations.class);
+        when(operations.indexOps(any(IndexCoordinates.class))).thenReturn(indexOps);
+        when(indexOps.getInformation()).thenReturn(indices(
+                "policy-history-2025-02-10", "policy-history-2025-02-12", "policy-history-2025-02-17",
+                "policy-history-archive", "other-2025-02-12"));
+        PolicyQueryProperties properties = new PolicyQueryProperties();
+        clock = new MutableClock(NOW);
+        resolver = new PolicyIndexResolver(operations, new PolicyIndexNameProvider(properties), properties, clock);
+    }
+
+    @Test
+    void indices_rangeResolvesToExistingDaysAndDaysSinceListing() {
+        assertThat(resolver.indices(Instant.parse("2025-02-11T00:00:00Z"), Instant.parse("2025-02-17T23:00:00Z")))
+                .containsExactly("policy-history-2025-02-12", "policy-history-2025-02-17");
+        // Today (listing day) and tomorrow may be created after the listing
+        assertThat(resolver.indices(NOW.minus(Duration.ofHours(1)), null))
+                .containsExactly("policy-history-2025-02-18", "policy-history-2025-02-19");
+        assertThat(resolver.indices(null, Instant.parse("2025-02-12T08:00:00Z")))
+                .containsExactly("policy-history-2025-02-10", "policy-history-2025-02-12");
+    }
+
+    @Test
+    void indices_emptyWhenNoIndexCanMatch() {
+        assertThat(resolver.indices(Instant.parse("2025-01-01T00:00:00Z"), Instant.parse("2025-01-31T00:00:00Z")))
+                .isEmpty();
+        assertThat(resolver.indices(NOW, NOW.minus(Duration.ofDays(1)))).isEmpty();
+    }
+
+    @Test
+    void indices_unboundedOrWithoutListingUsesPattern() {
+        assertThat(resolver.indices(null, null)).containsExactly("policy-history-*");
+
+        when(indexOps.getInformation()).thenThrow(new IllegalStateException("cluster unavailable"));
+        PolicyQueryProperties properties = new PolicyQueryProperties();
+        ElasticsearchOperations operations = mock(ElasticsearchOperations.class);
+        when(operations.indexOps(any(IndexCoordinates.class))).thenReturn(indexOps);
+        PolicyIndexResolver unlisted = new PolicyIndexResolver(operations, new PolicyIndexNameProvider(properties),
+                properties, clock);
+        assertThat(unlisted.indices(NOW.minus(Duration.ofDays(1)), NOW)).containsExactly("policy-history-*");
+    }
+
+    @Test
+    void indices_rangeCoveringEveryListedIndexOrTooManyToListUsesPattern() {
+        assertThat(resolver.indices(Instant.parse("2025-02-01T00:00:00Z"), NOW)).containsExactly("policy-history-*");
+        assertThat(resolver.indices(Instant.parse("2025-02-10T00:00:00Z"), null)).containsExactly("policy-history-*");
+
+        // 120 daily indices: 100 of them would not fit in the request line, 30 do
+        when(indexOps.getInformation()).thenReturn(indices(Stream.iterate(LocalDate.parse("2024-10-01"), day -> day.plusDays(1))
+                .limit(120).map(day -> "policy-history-" + day).toArray(String[]::new)));
+        clock.advance(Duration.ofMinutes(1));
+        Instant firstDay = Instant.parse("2024-10-01T00:00:00Z");
+        assertThat(resolver.indices(firstDay, firstDay.plus(Duration.ofDays(99)))).containsExactly("policy-history-*");
+        assertThat(resolver.indices(firstDay, firstDay.plus(Duration.ofDays(29))))
+                .hasSize(30)
+                .startsWith("policy-history-2024-10-01");
+    }
+
+    @Test
+    void indices_listingIsCachedForTtl() {
+        resolver.indices(NOW.minus(Duration.ofDays(1)), NOW);
+        clock.advance(Duration.ofSeconds(59));
+        resolver.indices(NOW.minus(Duration.ofDays(1)), NOW);
+        verify(indexOps, times(1)).getInformation();
+
+        clock.advance(Duration.ofSeconds(1));
+        resolver.indices(NOW.minus(Duration.ofDays(1)), NOW);
+        verify(indexOps, times(2)).getInformation();
+    }
+
+    private static List<IndexInformation> indices(String... names) {
+        return Stream.of(names).map(name -> IndexInformation.of(name, null, null, null)).toList();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
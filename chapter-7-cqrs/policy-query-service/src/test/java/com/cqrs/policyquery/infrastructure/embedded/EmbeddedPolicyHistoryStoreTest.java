@@ -0,0 +1,162 @@
+package com.cqrs.policyquery.infrastructure.embedded;
+
+import com.cqrs.policyquery.application.PolicyHistoryStore;
+import com.cqrs.policyquery.application.PolicyHistoryStore.Cursor;
+import com.cqrs.policyquery.application.PolicyHistoryStore.Filter;
+import com.cqrs.policyquery.config.PolicyQueryProperties;
+import com.cqrs.policyquery.infrastructure.elasticsearch.PolicyEventDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit test for the in-memory store: filters, time range across day segments, word ranking, offset and cursor
+ * paging, idempotent creates and retention.
+ */
+class EmbeddedPolicyHistoryStoreTest {
+
+    private static final Instant NOW = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    private static final Instant TODAY = NOW.truncatedTo(ChronoUnit.DAYS);
+
+    private EmbeddedPolicyHistoryStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new EmbeddedPolicyHistoryStore(new PolicyQueryProperties());
+        store.createAll(List.of(
+                doc("e1", "sub-1", hoursAgo(50), "fair-use", true),
+                doc("e2", "sub-1", hoursAgo(30), "fair-use", false),
+                doc("e3", "sub-2", hoursAgo(20), "fair-use", true),
+                doc("e4", "sub-1", hoursAgo(10), "roaming", true),
+                doc("e5", "sub-2", hoursAgo(5), "roaming", false)));
+    }
+
+    @Test
+    void search_filtersBySubscriberAndPolicyNewestFirst() {
+        assertThat(ids(store.search(new Filter("sub-1", null, null, null, null), 0, 10)))
+                .containsExactly("e4", "e2", "e1");
+        assertThat(ids(store.search(new Filter("sub-1", null, null, "fair-use", null), 0, 10)))
+                .containsExactly("e2", "e1");
+        assertThat(store.search(new Filter("sub-9", null, null, null, null), 0, 10).totalCount()).isZero();
+    }
+
+    @Test
+    void search_timeRangeIsInclusiveAcrossDays() {
+        PolicyHistoryStore.SearchResult result = store.search(
+                new Filter(null, hoursAgo(30), hoursAgo(10), null, null), 0, 10);
+
+        assertThat(ids(result)).containsExactly("e4", "e3", "e2");
+        assertThat(result.totalCount()).isEqualTo(3);
+        assertThat(store.search(new Filter(null, hoursAgo(1), hoursAgo(2), null, null), 0, 10).totalCount()).isZero();
+    }
+
+    @Test
+    void search_ranksByMatchedWordsThenNewest() {
+        PolicyHistoryStore.SearchResult result = store.search(new Filter(null, null, null, null, "Roaming DENIED"), 0, 10);
+
+        // e5 matches both words; e4 (roaming) and e2 (denied) one each, newest first
+        assertThat(ids(result)).containsExactly("e5", "e4", "e2");
+        assertThat(result.totalCount()).isEqualTo(3);
+        assertThat(ids(store.search(new Filter("sub-1", null, null, null, "roaming denied"), 0, 10)))
+                .containsExactly("e4", "e2");
+        assertThat(store.search(new Filter(null, null, null, null, "throttled"), 0, 10).totalCount()).isZero();
+    }
+
+    @Test
+    void search_pagesWithTotalCount() {
+        PolicyHistoryStore.SearchResult second = store.search(new Filter(null, null, null, null, null), 1, 2);
+        PolicyHistoryStore.SearchResult last = store.search(new Filter(null, null, null, null, null), 2, 2);
+
+        assertThat(ids(second)).containsExactly("e3", "e2");
+        assertThat(ids(last)).containsExactly("e1");
+        assertThat(second.totalCount()).isEqualTo(5);
+    }
+
+    @Test
+    void searchAfter_pagesNewestFirstByTimestampThenIdWithoutGapsOrRepeats() {
+        // Same timestamp as e3: ordered by id, descending
+        store.createAll(List.of(doc("e3a", "sub-3", hoursAgo(20), "fair-use", true),
+                doc("e3b", "sub-3", hoursAgo(20), "fair-use", true)));
+        List<String> ids = new ArrayList<>();
+        Cursor cursor = null;
+        int pages = 0;
+        do {
+            PolicyHistoryStore.SearchResult result = store.searchAfter(
+                    new Filter(null, null, null, null, null), cursor, 2, false, false);
+            assertThat(result.totalCount()).isNull();
+            ids.addAll(ids(result));
+            // Through the token, as between two requests
+            cursor = result.next() != null ? Cursor.fromToken(result.next().toToken()) : null;
+            pages++;
+        } while (cursor != null);
+
+        assertThat(ids).containsExactly("e5", "e4", "e3b", "e3a", "e3", "e2", "e1");
+        assertThat(pages).isEqualTo(4);
+    }
+
+    @Test
+    void searchAfter_appliesFiltersAndCountsTotalOnRequest() {
+        PolicyHistoryStore.SearchResult first = store.searchAfter(
+                new Filter(null, hoursAgo(40), null, null, "allowed"), null, 1, true, false);
+        PolicyHistoryStore.SearchResult second = store.searchAfter(
+                new Filter(null, hoursAgo(40), null, null, "allowed"), first.next(), 1, true, false);
+
+        assertThat(ids(first)).containsExactly("e4");
+        assertThat(ids(second)).containsExactly("e3");
+        assertThat(second.next()).isNull();
+        assertThat(first.totalCount()).isEqualTo(2);
+        assertThat(second.totalCount()).isEqualTo(2);
+    }
+
+    @Test
+    void cursorFromToken_rejectsMalformedTokens() {
+        assertThatThrownBy(() -> Cursor.fromToken("not a token")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Cursor.fromToken("MTIz")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void createAll_isIdempotentPerEventIdAndRejectsIncompleteDocuments() {
+        var rejected = store.createAll(List.of(
+                doc("e1", "sub-1", hoursAgo(50), "fair-use", false),
+                doc("e6", "sub-3", null, "fair-use", true)));
+
+        assertThat(rejected).containsOnlyKeys("e6");
+        PolicyHistoryStore.SearchResult result = store.search(new Filter("sub-1", null, null, "fair-use", null), 0, 10);
+        assertThat(result.totalCount()).isEqualTo(2);
+        assertThat(result.content().get(1).isDecision()).isTrue();
+    }
+
+    @Test
+    void createAll_dropsDaysOlderThanRetention() {
+        PolicyQueryProperties properties = new PolicyQueryProperties();
+        properties.getStore().setRetentionDays(1);
+        EmbeddedPolicyHistoryStore retained = new EmbeddedPolicyHistoryStore(properties);
+
+        retained.createAll(List.of(
+                doc("old", "sub-1", TODAY.minus(Duration.ofDays(3)), "fair-use", true),
+                doc("new", "sub-1", TODAY, "fair-use", true)));
+
+        assertThat(ids(retained.search(new Filter("sub-1", null, null, null, null), 0, 10))).containsExactly("new");
+    }
+
+    private static Instant hoursAgo(int hours) {
+        return NOW.minus(Duration.ofHours(hours));
+    }
+
+    private static PolicyEventDocument doc(String id, String subscriberId, Instant timestamp, String policyName,
+                                           boolean decision) {
+        return new PolicyEventDocument(id, subscriberId, timestamp, policyName, decision, 10);
+    }
+
+    private static List<String> ids(PolicyHistoryStore.SearchResult result) {
+        return result.content().stream().map(PolicyEventDocument::getId).toList();
+    }
+}
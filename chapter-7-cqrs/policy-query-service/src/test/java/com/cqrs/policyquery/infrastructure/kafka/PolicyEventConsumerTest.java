@@ -0,0 +1,148 @@
+package com.cqrs.policyquery.infrastructure.kafka;
+
+import com.cqrs.policyquery.application.PolicyEventIndexer;
+import com.cqrs.policyquery.application.PolicyHistoryStore;
+import com.cqrs.policyquery.config.PolicyQueryProperties;
+import com.cqrs.policyquery.domain.PolicyEventPayload;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for the batch listener: one indexer call per batch, failures mapped to the DLQ, ack after both; replay of
+ * assigned partitions into a non-durable store.
+ */
+class PolicyEventConsumerTest {
+
+    private PolicyEventIndexer indexer;
+    private KafkaTemplate<String, String> kafkaTemplate;
+    private Acknowledgment ack;
+    private PolicyEventConsumer consumer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        indexer = mock(PolicyEventIndexer.class);
+        kafkaTemplate = mock(KafkaTemplate.class);
+        ack = mock(Acknowledgment.class);
+        when(kafkaTemplate.send(anyString(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        consumer = new PolicyEventConsumer(indexer, mock(PolicyHistoryStore.class), kafkaTemplate, new PolicyQueryProperties(),
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    void onPolicyEvents_indexesBatchOnceAndAcks() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(indexer.indexAll(anyList())).thenReturn(Map.of());
+
+        consumer.onPolicyEvents(List.of(record(first), record(second), record(first)), ack);
+
+        List<PolicyEventPayload> indexed = captureIndexed();
+        assertThat(indexed).extracting(PolicyEventPayload::eventId).containsExactly(first, second);
+        verify(kafkaTemplate, never()).send(anyString(), any(), any());
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    void onPolicyEvents_sendsRejectedAndUnreadableRecordsToDlqBeforeAck() {
+        UUID indexed = UUID.randomUUID();
+        UUID rejected = UUID.randomUUID();
+        when(indexer.indexAll(anyList())).thenReturn(Map.of(rejected.toString(), "mapper_parsing_exception"));
+
+        consumer.onPolicyEvents(List.of(
+                record(indexed),
+                record(rejected),
+                new ConsumerRecord<>("policy-events", 0, 2, "broken", "{not json"),
+                new ConsumerRecord<>("policy-events", 0, 3, "no-id", "{\"subscriberId\":\"sub-1\"}")), ack);
+
+        assertThat(captureIndexed()).extracting(PolicyEventPayload::eventId).containsExactly(indexed, rejected);
+        InOrder order = inOrder(kafkaTemplate, ack);
+        order.verify(kafkaTemplate).send(eq("policy-events-dlq"), eq(rejected.toString()), anyString());
+        order.verify(ack).acknowledge();
+        verify(kafkaTemplate).send("policy-events-dlq", "broken", "{not json");
+        verify(kafkaTemplate).send("policy-events-dlq", "no-id", "{\"subscriberId\":\"sub-1\"}");
+        verify(kafkaTemplate, never()).send(anyString(), eq(indexed.toString()), anyString());
+    }
+
+    @Test
+    void onPolicyEvents_bulkFailure_sendsWholeBatchToDlq() {
+        when(indexer.indexAll(anyList())).thenThrow(new IllegalStateException("cluster unavailable"));
+
+        consumer.onPolicyEvents(List.of(record(UUID.randomUUID()), record(UUID.randomUUID())), ack);
+
+        verify(kafkaTemplate, times(2)).send(eq("policy-events-dlq"), anyString(), anyString());
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    void onPartitionsAssigned_nonDurableStore_replaysEveryAssignmentFromTheBeginning() {
+        PolicyHistoryStore embedded = mock(PolicyHistoryStore.class);
+        when(embedded.isDurable()).thenReturn(false);
+        consumer = new PolicyEventConsumer(indexer, embedded, kafkaTemplate, new PolicyQueryProperties(), new ObjectMapper());
+        ConsumerSeekAware.ConsumerSeekCallback callback = mock(ConsumerSeekAware.ConsumerSeekCallback.class);
+        TopicPartition p0 = new TopicPartition("policy-events", 0);
+        TopicPartition p1 = new TopicPartition("policy-events", 1);
+
+        consumer.onPartitionsAssigned(Map.of(p0, 10L, p1, 20L), callback);
+        // p0 comes back after a rebalance: consumed elsewhere meanwhile, so it is replayed again
+        consumer.onPartitionsAssigned(Map.of(p0, 30L), callback);
+
+        verify(callback).seekToBeginning(Set.of(p0, p1));
+        verify(callback).seekToBeginning(Set.of(p0));
+    }
+
+    @Test
+    void onPartitionsAssigned_durableStore_keepsCommittedOffsets() {
+        PolicyHistoryStore durable = mock(PolicyHistoryStore.class);
+        when(durable.isDurable()).thenReturn(true);
+        consumer = new PolicyEventConsumer(indexer, durable, kafkaTemplate, new PolicyQueryProperties(), new ObjectMapper());
+        ConsumerSeekAware.ConsumerSeekCallback callback = mock(ConsumerSeekAware.ConsumerSeekCallback.class);
+
+        consumer.onPartitionsAssigned(Map.of(new TopicPartition("policy-events", 0), 10L), callback);
+
+        verifyNoInteractions(callback);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<PolicyEventPayload> captureIndexed() {
+        ArgumentCaptor<List<PolicyEventPayload>> events = ArgumentCaptor.forClass(List.class);
+        verify(indexer).indexAll(events.capture());
+        return events.getValue();
+    }
+
+    private static ConsumerRecord<String, String> record(UUID eventId) {
+        String json = "{\"eventId\":\"" + eventId + "\",\"subscriberId\":\"sub-1\",\"timestamp\":\"2025-02-18T10:00:00Z\","
+                + "\"policyName\":\"fair-use\",\"decision\":true,\"quotaUsed\":42}";
+        return new ConsumerRecord<>("policy-events", 0, 0, eventId.toString(), json);
+    }
+}
@@ -0,0 +1,90 @@
+package com.vnfm.nfvo.simulator;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking client for the LCM northbound API, used by the load commands.
+ * Same endpoints as {@link LcmApiClient}, but every call returns a {@link CompletableFuture}
+ * so thousands of requests can be in flight without a thread each.
+ * <p>
+ * Mutating calls always carry a fresh X-Request-Id so the idempotency filter does not have to
+ * parse the body to find one.
+ */
+public class AsyncLcmApiClient {
+
+    private static final String ETSI_BASE = "/vnflcm/v1";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+
+    public AsyncLcmApiClient(String baseUrl, HttpClient httpClient) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * POST /vnflcm/v1/vnf_instances – create a VNF instance (201, body contains "id").
+     */
+    public CompletableFuture<HttpResponse<String>> createVnfInstance(String name) {
+        String body = "{\"vnfInstanceName\":\"" + name + "\"}";
+        return send(post(ETSI_BASE + "/vnf_instances", body));
+    }
+
+    /**
+     * POST /vnflcm/v1/vnf_instances/{vnfId}/instantiate – 202 with Location to the operation occurrence.
+     */
+    public CompletableFuture<HttpResponse<String>> instantiate(String vnfId) {
+        return send(post(ETSI_BASE + "/vnf_instances/" + vnfId + "/instantiate", "{\"flavourId\":\"default\"}"));
+    }
+
+    /**
+     * GET /vnflcm/v1/vnf_lcm_op_occs/{opId} – operation occurrence (state STARTING .. COMPLETED/FAILED).
+     */
+    public CompletableFuture<HttpResponse<String>> operationOccurrence(String opId) {
+        return send(get(ETSI_BASE + "/vnf_lcm_op_occs/" + opId));
+    }
+
+    /**
+     * DELETE /api/vnfs/{vnfId} – start termination (202).
+     */
+    public CompletableFuture<HttpResponse<String>> terminate(String vnfId) {
+        return send(request("/api/vnfs/" + vnfId)
+                .header("X-Request-Id", UUID.randomUUID().toString())
+                .DELETE()
+                .build());
+    }
+
+    /**
+     * GET /api/vnfs/{vnfId}/status – VNF status.
+     */
+    public CompletableFuture<HttpResponse<String>> status(String vnfId) {
+        return send(get("/api/vnfs/" + vnfId + "/status"));
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .header("X-Request-Id", UUID.randomUUID().toString())
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+    }
+}
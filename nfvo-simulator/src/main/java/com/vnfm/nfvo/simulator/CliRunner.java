@@ -6,13 +6,20 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * Parses command-line arguments and invokes LCM API via LcmApiClient.
- * Supports: instantiate, terminate, status, list; optional --requestId and --delay.
+ * Supports: instantiate, terminate, status, list, poll-load, load; optional --requestId and --delay.
  */
 @Component
 public class CliRunner implements CommandLineRunner {
@@ -40,7 +47,7 @@ public class CliRunner implements CommandLineRunner {
         LcmApiClient client = new LcmApiClient(baseUrl, restTemplate, objectMapper);
 
         if (parsed.command == null || parsed.command.isEmpty()) {
-            System.err.println("Error: no command specified. Use: instantiate | terminate | status | list");
+            System.err.println("Error: no command specified. Use: instantiate | terminate | status | list | poll-load | load");
             printUsage();
             return;
         }
@@ -51,6 +58,8 @@ public class CliRunner implements CommandLineRunner {
             case "terminate" -> runTerminate(parsed, client);
             case "status" -> runStatus(parsed, client);
             case "list" -> runList(parsed, client);
+            case "poll-load" -> runPollLoad(parsed, baseUrl, client);
+            case "load" -> runLoad(parsed, baseUrl);
             default -> {
                 System.err.println("Unknown command: " + cmd);
                 printUsage();
@@ -105,6 +114,92 @@ public class CliRunner implements CommandLineRunner {
         printResponse(resp);
     }
 
+    /**
+     * Closed-model polling load: --clients concurrent pollers on one VNF's status for --duration seconds.
+     * Creates a VNF first when no vnf-id is given.
+     */
+    private void runPollLoad(ParsedArgs p, String baseUrl, LcmApiClient client) throws InterruptedException {
+        String vnfId = p.positional.isEmpty() ? null : p.positional.get(0);
+        if (vnfId == null) {
+            LcmApiClient.ApiResponse resp = client.instantiate("poll-load", 1, 1, UUID.randomUUID().toString());
+            vnfId = resp.status == 202 ? extractVnfIdFromInstantiateResponse(resp.body) : null;
+            if (vnfId == null) {
+                System.err.println("Could not create a VNF to poll: HTTP " + resp.status + " " + resp.body);
+                return;
+            }
+        }
+        int clients = p.clients != null ? p.clients : 1000;
+        Duration duration = Duration.ofSeconds(p.durationSeconds != null ? p.durationSeconds : 30);
+        Duration warmup = Duration.ofSeconds(p.warmupSeconds != null ? p.warmupSeconds : 5);
+        System.out.println("Polling " + vnfId + " with " + clients + " clients for " + duration.toSeconds()
+                + "s (warmup " + warmup.toSeconds() + "s)...");
+
+        StatusPollLoad.Result result = new StatusPollLoad(baseUrl, vnfId, clients, duration, warmup).run();
+        System.out.printf("clients=%d ok=%d errors=%d throughput=%.0f req/s%n",
+                result.clients, result.ok, result.errors, result.throughput());
+        System.out.println("latency " + LatencyRecorder.summary(result.latency.snapshot()));
+    }
+
+    /**
+     * Open-model load: one stage per --rate value (ops/s), each for --duration seconds, with the --mix of
+     * create/instantiate/terminate/status. Prints per-operation latency and end-to-end instantiate time per stage.
+     */
+    private void runLoad(ParsedArgs p, String baseUrl) {
+        List<Integer> rates;
+        WorkloadMix mix;
+        try {
+            rates = Arrays.stream((p.rate != null ? p.rate : "50").split(","))
+                    .map(String::trim)
+                    .map(Integer::parseInt)
+                    .toList();
+            for (int rate : rates) {
+                if (rate <= 0) {
+                    throw new IllegalArgumentException("rate must be positive: " + rate);
+                }
+            }
+            mix = WorkloadMix.parse(p.mix != null ? p.mix : WorkloadMix.DEFAULT);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid load options: " + e.getMessage());
+            return;
+        }
+        Duration duration = Duration.ofSeconds(p.durationSeconds != null ? p.durationSeconds : 30);
+        Duration drain = Duration.ofSeconds(p.drainSeconds != null ? p.drainSeconds : 60);
+        int maxInFlight = p.maxInFlight != null ? p.maxInFlight : 10_000;
+        long seed = p.seed != null ? p.seed : 42L;
+
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+        try {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(httpExecutor)
+                    .build();
+            OpenModelLoad load = new OpenModelLoad(new AsyncLcmApiClient(baseUrl, httpClient), objectMapper, timer,
+                    mix, duration, maxInFlight, seed, Duration.ofMillis(500), Duration.ofMinutes(5));
+            System.out.println("Open-model load: rates=" + rates + " ops/s, " + duration.toSeconds() + "s per stage, mix="
+                    + mix + ", max-in-flight=" + maxInFlight + ", seed=" + seed);
+
+            List<OpenModelLoad.StageResult> results = load.run(rates, drain);
+            for (OpenModelLoad.StageResult stage : results) {
+                System.out.printf("%n=== target %d ops/s: achieved %.1f ops/s, issued=%d dropped=%d%n",
+                        stage.targetRate, stage.achievedRate(), stage.issued.get(), stage.dropped.get());
+                stage.ops.forEach((op, stats) -> {
+                    if (stats.ok.get() + stats.errors.get() > 0) {
+                        System.out.printf("  %-12s ok=%d errors=%d %s%n", op.name().toLowerCase(), stats.ok.get(),
+                                stats.errors.get(), LatencyRecorder.summary(stats.latency.snapshot()));
+                    }
+                });
+                System.out.printf("  %-12s completed=%d failed=%d timedOut=%d %s%n", "e2e-inst",
+                        stage.instantiateCompleted.get(), stage.instantiateFailed.get(), stage.instantiateTimedOut.get(),
+                        LatencyRecorder.summary(stage.endToEnd.snapshot()));
+            }
+        } finally {
+            timer.shutdownNow();
+            httpExecutor.shutdownNow();
+        }
+    }
+
     private void pollStatusUntilStable(String vnfId, LcmApiClient client) {
         String[] terminal = { "INSTANTIATED", "ACTIVE", "FAILED", "TERMINATED" };
         for (int i = 0; i < 30; i++) {
@@ -189,6 +284,22 @@ public class CliRunner implements CommandLineRunner {
                 p.delay = true;
             } else if ("--baseUrl".equals(a) && i + 1 < args.length) {
                 p.baseUrl = args[++i];
+            } else if ("--clients".equals(a) && i + 1 < args.length) {
+                p.clients = parseInt(args[++i], "clients");
+            } else if ("--duration".equals(a) && i + 1 < args.length) {
+                p.durationSeconds = parseInt(args[++i], "duration");
+            } else if ("--warmup".equals(a) && i + 1 < args.length) {
+                p.warmupSeconds = parseInt(args[++i], "warmup");
+            } else if ("--rate".equals(a) && i + 1 < args.length) {
+                p.rate = args[++i];
+            } else if ("--mix".equals(a) && i + 1 < args.length) {
+                p.mix = args[++i];
+            } else if ("--max-in-flight".equals(a) && i + 1 < args.length) {
+                p.maxInFlight = parseInt(args[++i], "max-in-flight");
+            } else if ("--drain".equals(a) && i + 1 < args.length) {
+                p.drainSeconds = parseInt(args[++i], "drain");
+            } else if ("--seed".equals(a) && i + 1 < args.length) {
+                p.seed = (long) parseInt(args[++i], "seed");
             } else if (!a.startsWith("--")) {
                 positional.add(a);
             }
@@ -206,11 +317,21 @@ public class CliRunner implements CommandLineRunner {
         System.out.println("  terminate <vnf-id> [--requestId <id>]");
         System.out.println("  status <vnf-id>");
         System.out.println("  list");
+        System.out.println("  poll-load [<vnf-id>] [--clients <n>] [--duration <s>] [--warmup <s>]");
+        System.out.println("  load [--rate <ops/s>[,<ops/s>...]] [--duration <s>] [--mix <op>=<w>,...] [--max-in-flight <n>] [--seed <n>]");
         System.out.println();
         System.out.println("Options:");
         System.out.println("  --baseUrl <url>   LCM base URL (default: http://localhost:8080)");
         System.out.println("  --requestId <id>  Idempotency key; duplicate requests return cached response");
         System.out.println("  --delay           After instantiate, poll status until terminal state");
+        System.out.println("  --clients <n>     poll-load: concurrent polling clients (default: 1000)");
+        System.out.println("  --duration <s>    poll-load: measured duration in seconds (default: 30)");
+        System.out.println("  --warmup <s>      poll-load: unmeasured warmup in seconds (default: 5)");
+        System.out.println("  --rate <list>     load: target ops/s per stage, comma-separated (default: 50)");
+        System.out.println("  --mix <spec>      load: operation weights (default: " + WorkloadMix.DEFAULT + ")");
+        System.out.println("  --max-in-flight   load: requests in flight before arrivals are dropped (default: 10000)");
+        System.out.println("  --drain <s>       load: wait for in-flight requests and instantiate completions (default: 60)");
+        System.out.println("  --seed <n>        load: seed for the drawn operation mix (default: 42)");
         System.out.println();
         System.out.println("Examples:");
         System.out.println("  instantiate my-vnf 2 4");
@@ -218,12 +339,22 @@ public class CliRunner implements CommandLineRunner {
         System.out.println("  terminate 550e8400-e29b-41d4-a716-446655440000 --requestId req-456");
         System.out.println("  status 550e8400-e29b-41d4-a716-446655440000");
         System.out.println("  list");
+        System.out.println("  poll-load --clients 5000 --duration 60");
+        System.out.println("  load --rate 50,100,200,400 --duration 60");
     }
 
     private static class ParsedArgs {
         String baseUrl;
         String requestId;
         Boolean delay;
+        Integer clients;
+        Integer durationSeconds;
+        Integer warmupSeconds;
+        String rate;
+        String mix;
+        Integer maxInFlight;
+        Integer drainSeconds;
+        Long seed;
         String command;
         List<String> positional;
     }
@@ -0,0 +1,42 @@
+package com.vnfm.nfvo.simulator;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread-safe latency histogram (HdrHistogram) for the load commands.
+ * Values are recorded in microseconds and reported in milliseconds.
+ */
+public class LatencyRecorder {
+
+    /** Highest trackable value: 10 minutes (anything slower is clamped). */
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final ConcurrentHistogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+
+    public void recordNanos(long nanos) {
+        long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos));
+        histogram.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+    }
+
+    public Histogram snapshot() {
+        return histogram.copy();
+    }
+
+    /** One line: count and p50/p90/p99/p99.9/max in ms. */
+    public static String summary(Histogram h) {
+        return String.format("count=%d p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms",
+                h.getTotalCount(),
+                ms(h.getValueAtPercentile(50)),
+                ms(h.getValueAtPercentile(90)),
+                ms(h.getValueAtPercentile(99)),
+                ms(h.getValueAtPercentile(99.9)),
+                ms(h.getMaxValue()));
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+}
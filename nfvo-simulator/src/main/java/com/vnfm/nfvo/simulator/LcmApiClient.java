@@ -24,6 +24,9 @@ public class LcmApiClient {
     }
 
     private String api(String path) {
+        if (path.isEmpty()) {
+            return baseUrl + "/api/vnfs";
+        }
         return baseUrl + "/api/vnfs" + (path.startsWith("/") ? path : "/" + path);
     }
 
@@ -0,0 +1,263 @@
+package com.vnfm.nfvo.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vnfm.nfvo.simulator.WorkloadMix.Operation;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: operations arrive at a fixed target rate regardless of how fast the
+ * LCM core answers, so queueing shows up as latency instead of silently lowering the offered load.
+ * <p>
+ * Each stage runs one target rate for the stage duration; running several increasing rates finds the
+ * saturation point (achieved rate falls behind target, or p99 turns into seconds).
+ * Latency is measured from the <em>intended</em> send time (no coordinated omission).
+ * <p>
+ * Instantiations are followed to completion: the operation occurrence from the Location header is
+ * polled on a timer (no sleeping threads) and the time until COMPLETED/FAILED is recorded as the
+ * end-to-end instantiate time.
+ */
+public class OpenModelLoad {
+
+    private static final int KNOWN_VNF_SLOTS = 4096;
+
+    private final AsyncLcmApiClient client;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService timer;
+    private final WorkloadMix mix;
+    private final Duration stageDuration;
+    private final int maxInFlight;
+    private final Duration completionPollInterval;
+    private final Duration completionTimeout;
+    /** Draws the operation mix only, so the seed fixes the sequence of drawn operations. */
+    private final Random random;
+    /** Picks the VNF for status; its draws depend on timing (how many VNFs are known yet). */
+    private final Random vnfPicker;
+
+    /** VNFs created but not yet instantiated (instantiate picks from here). */
+    private final Queue<String> created = new ConcurrentLinkedQueue<>();
+    /** VNFs whose instantiation completed (terminate picks from here). */
+    private final Queue<String> instantiated = new ConcurrentLinkedQueue<>();
+    /** Ring of recently seen VNF ids (status picks from here). */
+    private final AtomicReferenceArray<String> known = new AtomicReferenceArray<>(KNOWN_VNF_SLOTS);
+    private final AtomicLong knownCount = new AtomicLong();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger pendingCompletions = new AtomicInteger();
+
+    public OpenModelLoad(AsyncLcmApiClient client, ObjectMapper objectMapper, ScheduledExecutorService timer,
+                         WorkloadMix mix, Duration stageDuration, int maxInFlight, long seed,
+                         Duration completionPollInterval, Duration completionTimeout) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.timer = timer;
+        this.mix = mix;
+        this.stageDuration = stageDuration;
+        this.maxInFlight = maxInFlight;
+        this.completionPollInterval = completionPollInterval;
+        this.completionTimeout = completionTimeout;
+        this.random = new Random(seed);
+        this.vnfPicker = new Random(seed + 1);
+    }
+
+    /**
+     * Runs one stage per target rate (ops/s), then waits up to {@code drain} for in-flight requests and
+     * pending instantiate completions before returning the per-stage results.
+     */
+    public List<StageResult> run(List<Integer> ratesPerSecond, Duration drain) {
+        for (int rate : ratesPerSecond) {
+            if (rate <= 0) {
+                throw new IllegalArgumentException("Rate must be positive: " + rate);
+            }
+        }
+        List<StageResult> results = new ArrayList<>();
+        for (int rate : ratesPerSecond) {
+            StageResult stage = new StageResult(rate, stageDuration);
+            runStage(stage);
+            results.add(stage);
+        }
+        long drainDeadline = System.nanoTime() + drain.toNanos();
+        while ((inFlight.get() > 0 || pendingCompletions.get() > 0) && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        return results;
+    }
+
+    private void runStage(StageResult stage) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / stage.targetRate;
+        long start = System.nanoTime();
+        long end = start + stageDuration.toNanos();
+        for (long intended = start; intended < end; intended += intervalNanos) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            stage.issued.incrementAndGet();
+            if (inFlight.get() >= maxInFlight) {
+                stage.dropped.incrementAndGet();
+                continue;
+            }
+            dispatch(stage, mix.pick(random), intended);
+        }
+    }
+
+    private void dispatch(StageResult stage, Operation op, long intendedNanos) {
+        switch (op) {
+            case CREATE -> create(stage, intendedNanos, false);
+            case INSTANTIATE -> {
+                String vnfId = created.poll();
+                if (vnfId == null) {
+                    create(stage, intendedNanos, true);
+                } else {
+                    instantiate(stage, vnfId, intendedNanos);
+                }
+            }
+            case TERMINATE -> {
+                String vnfId = instantiated.poll();
+                if (vnfId == null) {
+                    dispatch(stage, Operation.STATUS, intendedNanos);
+                } else {
+                    track(stage, Operation.TERMINATE, intendedNanos, client.terminate(vnfId), 202);
+                }
+            }
+            case STATUS -> {
+                long count = knownCount.get();
+                if (count == 0) {
+                    create(stage, intendedNanos, false);
+                    return;
+                }
+                String vnfId = known.get((int) (Math.floorMod(vnfPicker.nextLong(), Math.min(count, KNOWN_VNF_SLOTS))));
+                track(stage, Operation.STATUS, intendedNanos, client.status(vnfId), 200);
+            }
+        }
+    }
+
+    private void create(StageResult stage, long intendedNanos, boolean thenInstantiate) {
+        track(stage, Operation.CREATE, intendedNanos, client.createVnfInstance("load-" + intendedNanos), 201)
+                .thenAccept(response -> {
+                    String vnfId = readField(response.body(), "id");
+                    if (vnfId == null) {
+                        return;
+                    }
+                    remember(vnfId);
+                    if (thenInstantiate) {
+                        instantiate(stage, vnfId, System.nanoTime());
+                    } else {
+                        created.add(vnfId);
+                    }
+                });
+    }
+
+    private void instantiate(StageResult stage, String vnfId, long intendedNanos) {
+        track(stage, Operation.INSTANTIATE, intendedNanos, client.instantiate(vnfId), 202)
+                .thenAccept(response -> response.headers().firstValue("Location").ifPresent(location -> {
+                    String opId = location.substring(location.lastIndexOf('/') + 1);
+                    pendingCompletions.incrementAndGet();
+                    long deadline = System.nanoTime() + completionTimeout.toNanos();
+                    scheduleCompletionPoll(stage, vnfId, opId, intendedNanos, deadline);
+                }));
+    }
+
+    private void scheduleCompletionPoll(StageResult stage, String vnfId, String opId, long startNanos, long deadline) {
+        timer.schedule(() -> client.operationOccurrence(opId).whenComplete((response, error) -> {
+            String state = error == null && response.statusCode() == 200 ? readField(response.body(), "state") : null;
+            if ("COMPLETED".equals(state) || "FAILED".equals(state)) {
+                stage.endToEnd.recordNanos(System.nanoTime() - startNanos);
+                if ("COMPLETED".equals(state)) {
+                    stage.instantiateCompleted.incrementAndGet();
+                    instantiated.add(vnfId);
+                } else {
+                    stage.instantiateFailed.incrementAndGet();
+                }
+                pendingCompletions.decrementAndGet();
+            } else if (System.nanoTime() >= deadline) {
+                stage.instantiateTimedOut.incrementAndGet();
+                pendingCompletions.decrementAndGet();
+            } else {
+                scheduleCompletionPoll(stage, vnfId, opId, startNanos, deadline);
+            }
+        }), completionPollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records latency and outcome of one request. The returned future completes only for the expected status.
+     */
+    private CompletableFuture<HttpResponse<String>> track(StageResult stage, Operation op, long intendedNanos,
+                                                          CompletableFuture<HttpResponse<String>> call, int expectedStatus) {
+        inFlight.incrementAndGet();
+        OpStats stats = stage.ops.get(op);
+        CompletableFuture<HttpResponse<String>> ok = new CompletableFuture<>();
+        call.whenComplete((response, error) -> {
+            inFlight.decrementAndGet();
+            stats.latency.recordNanos(System.nanoTime() - intendedNanos);
+            if (error == null && response.statusCode() == expectedStatus) {
+                stats.ok.incrementAndGet();
+                ok.complete(response);
+            } else {
+                stats.errors.incrementAndGet();
+            }
+        });
+        return ok;
+    }
+
+    private void remember(String vnfId) {
+        long slot = knownCount.getAndIncrement();
+        known.set((int) (slot % KNOWN_VNF_SLOTS), vnfId);
+    }
+
+    private String readField(String json, String field) {
+        try {
+            JsonNode node = objectMapper.readTree(json).get(field);
+            return node != null && !node.isNull() ? node.asText() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public static class OpStats {
+        public final LatencyRecorder latency = new LatencyRecorder();
+        public final AtomicLong ok = new AtomicLong();
+        public final AtomicLong errors = new AtomicLong();
+    }
+
+    public static class StageResult {
+        public final int targetRate;
+        public final Duration duration;
+        public final AtomicLong issued = new AtomicLong();
+        public final AtomicLong dropped = new AtomicLong();
+        public final Map<Operation, OpStats> ops = new EnumMap<>(Operation.class);
+        public final LatencyRecorder endToEnd = new LatencyRecorder();
+        public final AtomicLong instantiateCompleted = new AtomicLong();
+        public final AtomicLong instantiateFailed = new AtomicLong();
+        public final AtomicLong instantiateTimedOut = new AtomicLong();
+
+        StageResult(int targetRate, Duration duration) {
+            this.targetRate = targetRate;
+            this.duration = duration;
+            for (Operation op : Operation.values()) {
+                ops.put(op, new OpStats());
+            }
+        }
+
+        /** Requests that were actually sent per second (issued minus dropped by the in-flight cap). */
+        public double achievedRate() {
+            return (issued.get() - dropped.get()) / (double) Math.max(1, duration.toSeconds());
+        }
+    }
+}
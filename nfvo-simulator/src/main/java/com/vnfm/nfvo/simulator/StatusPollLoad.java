@@ -0,0 +1,122 @@
+package com.vnfm.nfvo.simulator;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-model polling load: N concurrent clients each poll GET /api/vnfs/{vnfId}/status back-to-back
+ * (next request as soon as the previous response arrives) for a fixed duration.
+ * <p>
+ * Uses the JDK's non-blocking {@link HttpClient} so 10k clients cost 10k sockets, not 10k threads.
+ * Requests completing during the warmup window are not recorded. Each client's next request is submitted as a
+ * new task on the executor, never from the completion callback itself: a future that fails at once (e.g.
+ * connection refused) completes on the calling thread, and chaining from there would grow the stack with
+ * every request.
+ */
+public class StatusPollLoad {
+
+    private final URI statusUri;
+    private final int clients;
+    private final Duration duration;
+    private final Duration warmup;
+
+    private final LatencyRecorder latency = new LatencyRecorder();
+    private final AtomicLong ok = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    private volatile long measureFromNanos;
+    private volatile long deadlineNanos;
+
+    public StatusPollLoad(String baseUrl, String vnfId, int clients, Duration duration, Duration warmup) {
+        String base = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.statusUri = URI.create(base + "/api/vnfs/" + vnfId + "/status");
+        this.clients = clients;
+        this.duration = duration;
+        this.warmup = warmup;
+    }
+
+    public Result run() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executor)
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(statusUri)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        try {
+            long start = System.nanoTime();
+            measureFromNanos = start + warmup.toNanos();
+            deadlineNanos = measureFromNanos + duration.toNanos();
+            CountDownLatch done = new CountDownLatch(clients);
+            for (int i = 0; i < clients; i++) {
+                poll(httpClient, request, executor, done);
+            }
+            done.await(duration.plus(warmup).plusSeconds(60).toMillis(), TimeUnit.MILLISECONDS);
+            return new Result(clients, duration, ok.get(), errors.get(), latency);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void poll(HttpClient httpClient, HttpRequest request, Executor executor, CountDownLatch done) {
+        long sentAt = System.nanoTime();
+        if (sentAt >= deadlineNanos) {
+            done.countDown();
+            return;
+        }
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (sentAt >= measureFromNanos) {
+                        if (error == null && response.statusCode() == 200) {
+                            ok.incrementAndGet();
+                            latency.recordNanos(System.nanoTime() - sentAt);
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    next(httpClient, request, executor, done);
+                });
+    }
+
+    private void next(HttpClient httpClient, HttpRequest request, Executor executor, CountDownLatch done) {
+        try {
+            executor.execute(() -> poll(httpClient, request, executor, done));
+        } catch (RejectedExecutionException e) {
+            // run() has returned and shut the executor down
+            done.countDown();
+        }
+    }
+
+    public static class Result {
+        public final int clients;
+        public final Duration duration;
+        public final long ok;
+        public final long errors;
+        public final LatencyRecorder latency;
+
+        Result(int clients, Duration duration, long ok, long errors, LatencyRecorder latency) {
+            this.clients = clients;
+            this.duration = duration;
+            this.ok = ok;
+            this.errors = errors;
+            this.latency = latency;
+        }
+
+        public double throughput() {
+            return ok / (double) Math.max(1, duration.toSeconds());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.vnfm.nfvo.simulator;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Weighted operation mix for the open-model load command, e.g. {@code create=10,instantiate=20,terminate=5,status=65}.
+ * Weights are relative; they do not have to add up to 100.
+ */
+public class WorkloadMix {
+
+    public enum Operation { CREATE, INSTANTIATE, TERMINATE, STATUS }
+
+    public static final String DEFAULT = "create=10,instantiate=20,terminate=10,status=60";
+
+    private final Map<Operation, Integer> weights;
+    private final int total;
+
+    private WorkloadMix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        this.total = weights.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public static WorkloadMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + part + "', expected <operation>=<weight>");
+            }
+            Operation op = Operation.valueOf(kv[0].trim().toUpperCase(Locale.ROOT));
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + op);
+            }
+            weights.put(op, weight);
+        }
+        WorkloadMix mix = new WorkloadMix(weights);
+        if (mix.total <= 0) {
+            throw new IllegalArgumentException("Mix has no positive weight: " + spec);
+        }
+        return mix;
+    }
+
+    public Operation pick(Random random) {
+        int r = random.nextInt(total);
+        for (Map.Entry<Operation, Integer> e : weights.entrySet()) {
+            r -= e.getValue();
+            if (r < 0) {
+                return e.getKey();
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        weights.forEach((op, w) -> sb.append(sb.length() > 0 ? "," : "").append(op.name().toLowerCase(Locale.ROOT)).append('=').append(w));
+        return sb.toString();
+    }
+}
@@ -1,5 +1,6 @@
 package com.vnfm.vimmanager;
 
+import com.vnfm.vimmanager.registry.VimRegistryProperties;
 import com.vnfm.vimmanager.simulator.VimSimulatorProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -8,7 +9,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableScheduling
-@EnableConfigurationProperties(VimSimulatorProperties.class)
+@EnableConfigurationProperties({VimSimulatorProperties.class, VimRegistryProperties.class})
 public class VimManagerApplication {
 
     public static void main(String[] args) {
@@ -4,26 +4,25 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vnfm.vimmanager.client.VimClient;
 import com.vnfm.vimmanager.client.VimRequest;
 import com.vnfm.vimmanager.client.VimResponse;
-import com.vnfm.vimmanager.domain.ProcessedCommandRepository;
 import com.vnfm.vimmanager.domain.command.VimCommandPayload;
 import com.vnfm.vimmanager.domain.command.VimReplyPayload;
-import com.vnfm.vimmanager.domain.ProcessedCommand;
+import com.vnfm.vimmanager.inventory.VimInventory;
 import com.vnfm.vimmanager.outbox.OutboxMessage;
-import com.vnfm.vimmanager.outbox.OutboxRepository;
 import com.vnfm.vimmanager.translation.ResourceRequestTranslator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
- * Processes VIM commands (ReserveResources, ReleaseResources): idempotency check,
- * translate to VIM request, call VimClient, write reply to outbox for vim.replies.
+ * Processes VIM commands (ReserveResources, ReleaseResources) as claim -> execute -> record:
+ * claim the messageId (short transaction), call VimClient with no transaction open,
+ * then write the reply to the outbox for vim.replies (short transaction).
+ * A slow VIM therefore holds a consumer thread, but no DB connection.
+ * Reservations that do not fit the local {@link VimInventory} get a failure reply without a VIM call.
  */
 @Service
 public class CommandHandler {
@@ -36,42 +35,36 @@ public class CommandHandler {
     public static final int STEP_RESERVE = 1;
     public static final int STEP_RELEASE = 1; // compensation step
 
-    private final ProcessedCommandRepository processedCommandRepository;
-    private final OutboxRepository outboxRepository;
+    private final CommandLedger ledger;
     private final ResourceRequestTranslator translator;
     private final VimClient vimClient;
+    private final VimInventory inventory;
     private final ObjectMapper objectMapper;
 
     @Value("${vim.replies-topic:vim.replies}")
     private String repliesTopic;
 
-    public CommandHandler(ProcessedCommandRepository processedCommandRepository,
-                          OutboxRepository outboxRepository,
+    public CommandHandler(CommandLedger ledger,
                           ResourceRequestTranslator translator,
                           VimClient vimClient,
+                          VimInventory inventory,
                           ObjectMapper objectMapper) {
-        this.processedCommandRepository = processedCommandRepository;
-        this.outboxRepository = outboxRepository;
+        this.ledger = ledger;
         this.translator = translator;
         this.vimClient = vimClient;
+        this.inventory = inventory;
         this.objectMapper = objectMapper;
     }
 
     /**
-     * Handle a command from vim.commands. Idempotent: skips if messageId already processed.
+     * Handle a command from vim.commands. Idempotent: skips if messageId already processed or in flight.
      *
      * @param messageId  unique message id (for idempotency)
      * @param messageType ReserveResources or ReleaseResources
      * @param payloadJson JSON payload (sagaId, vnfId, resources, etc.)
      * @return true if processed (or already seen), false if payload invalid
      */
-    @Transactional
     public boolean handle(String messageId, String messageType, String payloadJson) {
-        if (processedCommandRepository.existsByMessageId(messageId)) {
-            log.debug("Ignoring duplicate command messageId={}", messageId);
-            return true;
-        }
-
         VimCommandPayload payload;
         try {
             payload = objectMapper.readValue(payloadJson, VimCommandPayload.class);
@@ -79,30 +72,75 @@ public class CommandHandler {
             log.warn("Invalid payload for messageId={}: {}", messageId, e.getMessage());
             return false;
         }
+        return handle(messageId, messageType, payloadJson, payload);
+    }
 
-        // Claim messageId before slow VIM call so duplicate deliveries (or concurrent consumers)
-        // see this message as already processed and skip. If another thread already inserted,
-        // we get DataIntegrityViolationException (unique constraint) and treat as idempotent.
-        try {
-            processedCommandRepository.saveAndFlush(new ProcessedCommand(messageId));
-        } catch (DataIntegrityViolationException e) {
+    /**
+     * Same as {@link #handle(String, String, String)} for a payload the caller has already deserialized
+     * from payloadJson (payloadJson is still stored in the ledger for recovery).
+     */
+    public boolean handle(String messageId, String messageType, String payloadJson, VimCommandPayload payload) {
+        // Claim messageId before the slow VIM call so duplicate deliveries (or concurrent consumers)
+        // skip it. Only an abandoned IN_FLIGHT claim (past the in-flight timeout) is taken over.
+        Optional<CommandLedger.Claim> claimed = ledger.claim(messageId, messageType, payloadJson);
+        if (claimed.isEmpty()) {
             log.debug("Duplicate command messageId={} (already claimed or processed)", messageId);
             return true;
         }
+        CommandLedger.Claim claim = claimed.get();
+        if (claim.attempt() > 1) {
+            log.info("Took over abandoned command messageId={} attempt={}", messageId, claim.attempt());
+        }
+
+        execute(claim, payload);
+        return true;
+    }
 
+    /**
+     * Re-executes a command whose claim was taken over from a crashed worker (see InFlightCommandRecovery).
+     */
+    public void resume(CommandLedger.Claim claim) {
+        VimCommandPayload payload;
+        try {
+            payload = objectMapper.readValue(claim.payloadJson(), VimCommandPayload.class);
+        } catch (Exception e) {
+            log.warn("Invalid stored payload for messageId={}: {}", claim.messageId(), e.getMessage());
+            ledger.release(claim);
+            return;
+        }
+        execute(claim, payload);
+    }
+
+    private void execute(CommandLedger.Claim claim, VimCommandPayload payload) {
+        String messageType = claim.messageType();
         int step = CMD_RESERVE_RESOURCES.equals(messageType) ? STEP_RESERVE : STEP_RELEASE;
         VimRequest request = translator.toVimRequest(messageType, payload);
-        VimResponse response = vimClient.execute(request);
+        VimResponse response;
+        Optional<String> noCapacity = inventory.tryReserve(request);
+        if (noCapacity.isPresent()) {
+            response = VimResponse.fail(VimResponse.ERROR_QUOTA, noCapacity.get());
+        } else {
+            try {
+                response = vimClient.execute(request);
+            } catch (RuntimeException e) {
+                inventory.cancel(request);
+                ledger.release(claim);
+                throw e;
+            }
+            inventory.record(request, response);
+        }
 
         VimReplyPayload reply = response.isSuccess()
                 ? VimReplyPayload.success(payload.getSagaId(), step, response.getResult())
                 : VimReplyPayload.failure(payload.getSagaId(), step, response.getErrorMessage());
+        reply.setRetryable(response.isRetryable());
 
         String replyType = response.isSuccess() ? "VimReplySuccess" : "VimReplyFailure";
         String replyPayloadJson;
         try {
             replyPayloadJson = objectMapper.writeValueAsString(reply);
         } catch (Exception e) {
+            ledger.release(claim);
             throw new RuntimeException("Failed to serialize reply", e);
         }
 
@@ -112,8 +150,27 @@ public class CommandHandler {
                 replyType,
                 replyPayloadJson
         );
-        outboxRepository.save(outbox);
-        log.info("Processed command messageId={} type={} sagaId={} success={}", messageId, messageType, payload.getSagaId(), response.isSuccess());
-        return true;
+        // A shed command never reached the VIM: keep it out of the ledger so it is not recorded as processed
+        boolean recorded = response.isRetryable()
+                ? ledger.recordRetryableReply(claim, outbox)
+                : ledger.recordReply(claim, outbox, placementChange(messageType, request, response));
+        if (recorded) {
+            log.info("Processed command messageId={} type={} sagaId={} success={} retryable={}", claim.messageId(), messageType,
+                    payload.getSagaId(), response.isSuccess(), response.isRetryable());
+        }
+    }
+
+    /**
+     * A multi-site client names the site in result.vimId: a reservation is placed there, a release removes the
+     * placement. Recorded by the ledger with the reply, not by the client on the site's I/O threads.
+     */
+    private static CommandLedger.PlacementChange placementChange(String messageType, VimRequest request, VimResponse response) {
+        if (!response.isSuccess() || request.getVnfId() == null || response.getResult() == null
+                || !(response.getResult().get("vimId") instanceof String vimId)) {
+            return null;
+        }
+        return CMD_RELEASE_RESOURCES.equals(messageType)
+                ? CommandLedger.PlacementChange.removed(request.getVnfId())
+                : CommandLedger.PlacementChange.placed(request.getVnfId(), vimId);
     }
 }
@@ -0,0 +1,212 @@
+package com.vnfm.vimmanager.application;
+
+import com.vnfm.vimmanager.domain.CommandStatus;
+import com.vnfm.vimmanager.domain.ProcessedCommand;
+import com.vnfm.vimmanager.domain.ProcessedCommandRepository;
+import com.vnfm.vimmanager.domain.VimPlacement;
+import com.vnfm.vimmanager.domain.VimPlacementRepository;
+import com.vnfm.vimmanager.outbox.OutboxMessage;
+import com.vnfm.vimmanager.outbox.OutboxRepository;
+import com.vnfm.vimmanager.outbox.OutboxWrittenEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Short transactions around a command's VIM call: claim before, record reply after, release on error.
+ * No transaction (and no pooled connection) is held while the VIM is called.
+ * <p>
+ * The claim is one autocommitted {@code INSERT ... ON CONFLICT DO NOTHING}: a new command costs a single
+ * round trip and a duplicate is a zero-row insert instead of a constraint violation and rollback.
+ * Ids seen recently are remembered in memory (vim.commands.dedup-cache-size), so redelivery bursts
+ * are skipped without touching the database.
+ * <p>
+ * With several VIM sites the reply also carries the VNF's placement, which is written in the reply's transaction:
+ * a crash can then not leave a placement without a reply, or a reply without its placement.
+ */
+@Component
+public class CommandLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(CommandLedger.class);
+
+    private static final String CLAIM_SQL = "INSERT INTO processed_commands "
+            + "(message_id, processed_at, status, message_type, payload, attempt, claimed_at) "
+            + "VALUES (?, ?, 'IN_FLIGHT', ?, ?, 1, ?) ON CONFLICT DO NOTHING";
+
+    private final ProcessedCommandRepository processedCommandRepository;
+    private final OutboxRepository outboxRepository;
+    private final VimPlacementRepository placementRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RecentMessageIds recentIds;
+
+    /** A claim older than this is considered abandoned (worker crashed) and may be taken over. */
+    @Value("${vim.commands.in-flight-timeout-seconds:120}")
+    private long inFlightTimeoutSeconds;
+
+    public CommandLedger(ProcessedCommandRepository processedCommandRepository,
+                         OutboxRepository outboxRepository,
+                         VimPlacementRepository placementRepository,
+                         JdbcTemplate jdbcTemplate,
+                         ApplicationEventPublisher eventPublisher,
+                         @Value("${vim.commands.dedup-cache-size:10000}") int dedupCacheSize) {
+        this.processedCommandRepository = processedCommandRepository;
+        this.outboxRepository = outboxRepository;
+        this.placementRepository = placementRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.recentIds = new RecentMessageIds(dedupCacheSize);
+    }
+
+    /**
+     * Claims the messageId for this worker. Empty if it is a duplicate: claimed here recently, already COMPLETED, or
+     * IN_FLIGHT on a live worker. An IN_FLIGHT claim past the in-flight timeout is taken over instead
+     * (the returned claim then has attempt &gt; 1).
+     */
+    public Optional<Claim> claim(String messageId, String messageType, String payloadJson) {
+        if (recentIds.contains(messageId)) {
+            return Optional.empty();
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        Optional<Claim> claim = jdbcTemplate.update(CLAIM_SQL, messageId, now, messageType, payloadJson, now) == 1
+                ? Optional.of(new Claim(messageId, messageType, payloadJson, 1))
+                : takeOverIfStale(messageId);
+        // Only a won claim is cached: one lost to a live worker may still be released for a redelivery
+        claim.ifPresent(c -> recentIds.add(messageId));
+        return claim;
+    }
+
+    /**
+     * Takes over an existing claim if it is IN_FLIGHT past the in-flight timeout; empty if it is
+     * COMPLETED or still held by a live worker.
+     */
+    private Optional<Claim> takeOverIfStale(String messageId) {
+        Instant now = Instant.now();
+        if (processedCommandRepository.takeOver(messageId, staleBefore(now), now) == 0) {
+            return Optional.empty();
+        }
+        return processedCommandRepository.findByMessageId(messageId).map(Claim::of);
+    }
+
+    /**
+     * Takes over up to {@code limit} abandoned IN_FLIGHT claims (oldest first).
+     */
+    @Transactional
+    public List<Claim> takeOverStale(int limit) {
+        Instant now = Instant.now();
+        Instant staleBefore = staleBefore(now);
+        List<Claim> claims = new ArrayList<>();
+        for (ProcessedCommand stale : processedCommandRepository.findByStatusAndClaimedAtBeforeOrderByClaimedAtAsc(
+                CommandStatus.IN_FLIGHT, staleBefore, PageRequest.of(0, limit))) {
+            if (processedCommandRepository.takeOver(stale.getMessageId(), staleBefore, now) == 1) {
+                claims.add(new Claim(stale.getMessageId(), stale.getMessageType(), stale.getPayload(), stale.getAttempt() + 1));
+            }
+        }
+        return claims;
+    }
+
+    /**
+     * Completes the claim and writes the reply to the outbox in one transaction. Returns false (and writes
+     * nothing) if the claim was taken over meanwhile, so a command never produces two replies.
+     */
+    @Transactional
+    public boolean recordReply(Claim claim, OutboxMessage reply) {
+        return recordReply(claim, reply, null);
+    }
+
+    /**
+     * Same as {@link #recordReply(Claim, OutboxMessage)}, and applies the placement change (if not null) in the
+     * same transaction.
+     */
+    @Transactional
+    public boolean recordReply(Claim claim, OutboxMessage reply, PlacementChange placement) {
+        if (processedCommandRepository.complete(claim.messageId(), claim.attempt(), Instant.now()) == 0) {
+            log.warn("Claim lost for messageId={} attempt={}; reply discarded", claim.messageId(), claim.attempt());
+            return false;
+        }
+        if (placement != null && placement.vimId() != null) {
+            placementRepository.save(new VimPlacement(placement.vnfId(), placement.vimId()));
+        } else if (placement != null) {
+            placementRepository.deleteById(placement.vnfId());
+        }
+        outboxRepository.save(reply);
+        // OutboxForwarder picks the reply up as soon as this transaction commits
+        eventPublisher.publishEvent(new OutboxWrittenEvent());
+        return true;
+    }
+
+    /**
+     * Writes a retryable failure reply (command shed without reaching the VIM) and drops the claim in one
+     * transaction instead of completing it: the ledger then holds no COMPLETED entry for a command that was
+     * never executed, so a resend is processed. Returns false (and writes nothing) if the claim was taken over.
+     */
+    @Transactional
+    public boolean recordRetryableReply(Claim claim, OutboxMessage reply) {
+        if (processedCommandRepository.release(claim.messageId(), claim.attempt()) == 0) {
+            log.warn("Claim lost for messageId={} attempt={}; reply discarded", claim.messageId(), claim.attempt());
+            return false;
+        }
+        recentIds.remove(claim.messageId());
+        outboxRepository.save(reply);
+        eventPublisher.publishEvent(new OutboxWrittenEvent());
+        return true;
+    }
+
+    /**
+     * Drops the claim after an unexpected error so a redelivery processes the command again.
+     */
+    @Transactional
+    public void release(Claim claim) {
+        recentIds.remove(claim.messageId());
+        processedCommandRepository.release(claim.messageId(), claim.attempt());
+    }
+
+    /**
+     * Deletes up to {@code limit} COMPLETED entries that completed before {@code cutoff}, oldest first.
+     * IN_FLIGHT claims are never purged.
+     */
+    @Transactional
+    public int purgeCompletedBefore(Instant cutoff, int limit) {
+        return processedCommandRepository.purgeCompletedBefore(cutoff, limit);
+    }
+
+    private Instant staleBefore(Instant now) {
+        return now.minus(Duration.ofSeconds(inFlightTimeoutSeconds));
+    }
+
+    /**
+     * Where a VNF now runs: {@code vimId} is the site a reservation was placed on, or null once the VNF is released.
+     */
+    public record PlacementChange(String vnfId, String vimId) {
+
+        public static PlacementChange placed(String vnfId, String vimId) {
+            return new PlacementChange(vnfId, vimId);
+        }
+
+        public static PlacementChange removed(String vnfId) {
+            return new PlacementChange(vnfId, null);
+        }
+    }
+
+    /**
+     * A claim held by this worker; {@code attempt} is the fencing token checked when recording the reply.
+     */
+    public record Claim(String messageId, String messageType, String payloadJson, int attempt) {
+
+        static Claim of(ProcessedCommand command) {
+            return new Claim(command.getMessageId(), command.getMessageType(), command.getPayload(), command.getAttempt());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.vnfm.vimmanager.application;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Scheduled job: re-executes commands left IN_FLIGHT past the in-flight timeout (worker crashed between
+ * claim and reply, and the Kafka record will not be redelivered). Each command is taken over with a new
+ * attempt number, so the crashed worker's reply, if it ever arrives, is discarded.
+ */
+@Component
+public class InFlightCommandRecovery {
+
+    private static final Logger log = LoggerFactory.getLogger(InFlightCommandRecovery.class);
+
+    private final CommandLedger ledger;
+    private final CommandHandler commandHandler;
+
+    @Value("${vim.commands.recovery.batch-size:50}")
+    private int batchSize;
+
+    public InFlightCommandRecovery(CommandLedger ledger, CommandHandler commandHandler) {
+        this.ledger = ledger;
+        this.commandHandler = commandHandler;
+    }
+
+    @Scheduled(fixedDelayString = "${vim.commands.recovery.fixed-delay:30000}")
+    public void recover() {
+        List<CommandLedger.Claim> claims = ledger.takeOverStale(batchSize);
+        for (CommandLedger.Claim claim : claims) {
+            log.info("Recovering in-flight command messageId={} type={} attempt={}", claim.messageId(), claim.messageType(), claim.attempt());
+            try {
+                commandHandler.resume(claim);
+            } catch (Exception e) {
+                log.error("Recovery failed for messageId={}", claim.messageId(), e);
+            }
+        }
+    }
+}
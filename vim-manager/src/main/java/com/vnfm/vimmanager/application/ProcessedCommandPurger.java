@@ -0,0 +1,55 @@
+package com.vnfm.vimmanager.application;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Scheduled job: retention for the idempotency ledger. COMPLETED entries older than
+ * vim.commands.retention-hours are deleted in batches of purge-batch-size (one short transaction each),
+ * oldest first, so processed_commands stays bounded without long-running deletes.
+ * <p>
+ * A message redelivered after its entry was purged would be executed again, so the retention must exceed
+ * how far back vim.commands can be replayed (topic retention).
+ */
+@Component
+public class ProcessedCommandPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(ProcessedCommandPurger.class);
+
+    private final CommandLedger ledger;
+
+    @Value("${vim.commands.retention-hours:168}")
+    private long retentionHours;
+
+    @Value("${vim.commands.purge-batch-size:1000}")
+    private int batchSize;
+
+    @Value("${vim.commands.purge-max-batches:100}")
+    private int maxBatches;
+
+    public ProcessedCommandPurger(CommandLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    @Scheduled(initialDelayString = "${vim.commands.purge-interval-ms:3600000}", fixedDelayString = "${vim.commands.purge-interval-ms:3600000}")
+    public void purge() {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(retentionHours));
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int deleted = ledger.purgeCompletedBefore(cutoff, batchSize);
+            total += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Purged {} processed command(s) completed before {}", total, cutoff);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.vnfm.vimmanager.application;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded set of message ids this instance has recently claimed, oldest evicted
+ * first. Lets a burst of redeliveries (rebalance, consumer restart) be skipped without a DB round trip;
+ * a miss still goes to the ledger, which stays the source of truth.
+ */
+final class RecentMessageIds {
+
+    private final Map<String, Boolean> ids;
+
+    RecentMessageIds(int capacity) {
+        this.ids = new LinkedHashMap<>(Math.min(capacity, 1024), 0.75f) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    synchronized boolean contains(String messageId) {
+        return ids.containsKey(messageId);
+    }
+
+    synchronized void add(String messageId) {
+        ids.put(messageId, Boolean.TRUE);
+    }
+
+    synchronized void remove(String messageId) {
+        ids.remove(messageId);
+    }
+}
@@ -0,0 +1,260 @@
+package com.vnfm.vimmanager.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Adaptive limit on concurrent VIM calls (AIMD driven by latency), applied per attempt inside the
+ * circuit breaker and retry, so retries compete for the same permits as first attempts.
+ * <p>
+ * The no-load latency is the minimum observed over the last baseline-window samples. A call that completes
+ * within latency-tolerance × that baseline while the limit is at least half used raises the limit by one;
+ * a slower call, or one that fails with an exception (timeout, 5xx, I/O), multiplies it by backoff-ratio,
+ * at most once per round trip (only calls started after the last decrease can cause another one).
+ * <p>
+ * Calls over the limit wait in a FIFO queue of max-queue entries. A full queue, or a wait longer than
+ * queue-timeout-ms, sheds the call with {@link VimOverloadedException}; it never reaches the VIM.
+ * <p>
+ * Metrics: vim.client.concurrency.limit, .in-flight, .queued (gauges) and .rejected (counter, tag reason).
+ * The bean limits calls to the single configured VIM; with vim.client.type=multi each VIM site has its own
+ * instance, tagged vim=&lt;site id&gt;.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+    private final int baselineWindow;
+    private final int maxQueue;
+    private final long queueTimeoutMs;
+    private final ScheduledExecutorService timeouts;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedQueueTimeout;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<CompletableFuture<Void>> queue = new ArrayDeque<>();
+    private volatile int limit;
+    private volatile int inFlight;
+    private long baselineNanos = Long.MAX_VALUE;
+    private long windowMinNanos = Long.MAX_VALUE;
+    private int windowSamples;
+    private long lastDecreaseNanos = Long.MIN_VALUE;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+                                      @Value("${vim.client.concurrency.enabled:true}") boolean enabled,
+                                      @Value("${vim.client.concurrency.initial-limit:20}") int initialLimit,
+                                      @Value("${vim.client.concurrency.min-limit:2}") int minLimit,
+                                      @Value("${vim.client.concurrency.max-limit:200}") int maxLimit,
+                                      @Value("${vim.client.concurrency.latency-tolerance:2.0}") double latencyTolerance,
+                                      @Value("${vim.client.concurrency.backoff-ratio:0.9}") double backoffRatio,
+                                      @Value("${vim.client.concurrency.baseline-window:500}") int baselineWindow,
+                                      @Value("${vim.client.concurrency.max-queue:1000}") int maxQueue,
+                                      @Value("${vim.client.concurrency.queue-timeout-ms:5000}") long queueTimeoutMs) {
+        this(meterRegistry, enabled, initialLimit, minLimit, maxLimit, latencyTolerance, backoffRatio, baselineWindow,
+                maxQueue, queueTimeoutMs, Tags.empty());
+    }
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry, boolean enabled, int initialLimit, int minLimit,
+                                      int maxLimit, double latencyTolerance, double backoffRatio, int baselineWindow,
+                                      int maxQueue, long queueTimeoutMs, Iterable<Tag> tags) {
+        this.enabled = enabled;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+        this.baselineWindow = Math.max(1, baselineWindow);
+        this.maxQueue = maxQueue;
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.timeouts = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "vim-limiter-timeout");
+            t.setDaemon(true);
+            return t;
+        });
+        Gauge.builder("vim.client.concurrency.limit", this, l -> l.limit).tags(tags)
+                .description("Current adaptive limit on concurrent VIM calls").register(meterRegistry);
+        Gauge.builder("vim.client.concurrency.in-flight", this, l -> l.inFlight).tags(tags)
+                .description("VIM calls holding a permit").register(meterRegistry);
+        Gauge.builder("vim.client.concurrency.queued", this, AdaptiveConcurrencyLimiter::queued).tags(tags)
+                .description("VIM calls waiting for a permit").register(meterRegistry);
+        this.rejectedQueueFull = Counter.builder("vim.client.concurrency.rejected").tags(tags).tag("reason", "queue-full")
+                .description("VIM calls shed before reaching the VIM").register(meterRegistry);
+        this.rejectedQueueTimeout = Counter.builder("vim.client.concurrency.rejected").tags(tags).tag("reason", "queue-timeout")
+                .description("VIM calls shed before reaching the VIM").register(meterRegistry);
+    }
+
+    /**
+     * Runs an asynchronous VIM call under a permit. The call starts on the thread that grants the permit.
+     */
+    public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        return acquire().thenCompose(granted -> {
+            long start = System.nanoTime();
+            CompletableFuture<T> result;
+            try {
+                result = call.get();
+            } catch (RuntimeException e) {
+                result = CompletableFuture.failedFuture(e);
+            }
+            return result.whenComplete((value, error) -> release(start, error != null));
+        });
+    }
+
+    /**
+     * Runs a blocking VIM call under a permit; the caller waits (parks) for the permit.
+     */
+    public <T> T execute(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        try {
+            acquire().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            T value = call.get();
+            dropped = false;
+            return value;
+        } finally {
+            release(start, dropped);
+        }
+    }
+
+    /**
+     * Takes a permit: completes at once if under the limit, later when one is freed, or exceptionally
+     * with {@link VimOverloadedException} if the call is shed.
+     */
+    CompletableFuture<Void> acquire() {
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        lock.lock();
+        try {
+            if (inFlight < limit && queue.isEmpty()) {
+                inFlight++;
+                permit.complete(null);
+                return permit;
+            }
+            if (queue.size() >= maxQueue) {
+                rejectedQueueFull.increment();
+                return CompletableFuture.failedFuture(new VimOverloadedException(
+                        "VIM overloaded: " + queue.size() + " calls waiting, limit " + limit));
+            }
+            queue.addLast(permit);
+        } finally {
+            lock.unlock();
+        }
+        timeouts.schedule(() -> expire(permit), queueTimeoutMs, TimeUnit.MILLISECONDS);
+        return permit;
+    }
+
+    /**
+     * Returns a permit and feeds the call's latency into the limit.
+     *
+     * @param startNanos {@link System#nanoTime()} when the call started
+     * @param dropped    true if the call failed with an exception (timeout, 5xx, I/O)
+     */
+    void release(long startNanos, boolean dropped) {
+        long now = System.nanoTime();
+        long rtt = now - startNanos;
+        List<CompletableFuture<Void>> granted = new ArrayList<>();
+        lock.lock();
+        try {
+            inFlight--;
+            int previous = limit;
+            if (dropped || isSlow(rtt)) {
+                if (startNanos > lastDecreaseNanos) {
+                    limit = Math.max(minLimit, (int) (limit * backoffRatio));
+                    lastDecreaseNanos = now;
+                }
+            } else if (inFlight + 1 >= limit / 2) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+            if (limit != previous) {
+                log.debug("VIM concurrency limit {} -> {} (rtt={}ms, dropped={})", previous, limit, rtt / 1_000_000, dropped);
+            }
+            while (inFlight < limit && !queue.isEmpty()) {
+                inFlight++;
+                granted.add(queue.pollFirst());
+            }
+        } finally {
+            lock.unlock();
+        }
+        granted.forEach(permit -> permit.complete(null));
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    int queued() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        timeouts.shutdownNow();
+    }
+
+    /** Updates the no-load baseline with a successful sample and tells whether it was too slow. */
+    private boolean isSlow(long rtt) {
+        windowMinNanos = Math.min(windowMinNanos, rtt);
+        baselineNanos = Math.min(baselineNanos, windowMinNanos);
+        if (++windowSamples >= baselineWindow) {
+            // Start a new window so the baseline follows a VIM whose no-load latency has changed
+            baselineNanos = windowMinNanos;
+            windowMinNanos = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+        return rtt > baselineNanos * latencyTolerance;
+    }
+
+    private void expire(CompletableFuture<Void> permit) {
+        boolean removed;
+        lock.lock();
+        try {
+            removed = queue.remove(permit);
+        } finally {
+            lock.unlock();
+        }
+        if (removed) {
+            rejectedQueueTimeout.increment();
+            permit.completeExceptionally(new VimOverloadedException(
+                    "VIM overloaded: no permit within " + queueTimeoutMs + " ms, limit " + limit));
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.vnfm.vimmanager.client;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking port for calling the VIM: the future completes when the VIM answers, without a thread
+ * waiting for it. VIM-reported failures (e.g. quota) complete normally with a failed {@link VimResponse};
+ * transport errors and retryable VIM errors complete exceptionally with {@link VimCallException}.
+ */
+public interface AsyncVimClient {
+
+    CompletableFuture<VimResponse> executeAsync(VimRequest request);
+}
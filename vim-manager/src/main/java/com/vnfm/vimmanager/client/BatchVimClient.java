@@ -0,0 +1,13 @@
+package com.vnfm.vimmanager.client;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * VIM adapter that can execute several requests of one command type in a single VIM call.
+ * The result list is in request order; a failed call completes exceptionally for the whole batch.
+ */
+public interface BatchVimClient extends AsyncVimClient {
+
+    CompletableFuture<List<VimResponse>> executeBatch(String commandType, List<VimRequest> requests);
+}
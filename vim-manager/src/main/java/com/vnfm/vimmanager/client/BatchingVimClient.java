@@ -0,0 +1,150 @@
+package com.vnfm.vimmanager.client;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micro-batching stage in front of {@link BatchVimClient} (vim.client.type=http and vim.client.batch.enabled=true).
+ * <p>
+ * Requests are queued per command type. A queue is flushed as one bulk VIM call when it reaches
+ * max-size, or window-ms after its first request arrived, whichever comes first. The bulk result is
+ * fanned back out: each caller's future completes with its own {@link VimResponse}, so replies stay
+ * one per command. If the bulk call fails, every request of the batch fails with the same error
+ * (and is retried individually by {@link ResilientAsyncVimClient}, landing in a later batch).
+ * <p>
+ * Batches only form when several commands are in flight at once, i.e. with the concurrent consumer mode.
+ */
+@Component
+@ConditionalOnExpression("'${vim.client.type:in-memory}' == 'http' and ${vim.client.batch.enabled:false}")
+public class BatchingVimClient implements AsyncVimClient, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchingVimClient.class);
+
+    private final BatchVimClient delegate;
+    private final long windowMs;
+    private final int maxSize;
+    private final ScheduledExecutorService flusher;
+    private final DistributionSummary batchSizes;
+    private final Map<String, Batch> batches = new ConcurrentHashMap<>();
+
+    public BatchingVimClient(BatchVimClient delegate,
+                             MeterRegistry meterRegistry,
+                             @Value("${vim.client.batch.window-ms:20}") long windowMs,
+                             @Value("${vim.client.batch.max-size:50}") int maxSize) {
+        this.delegate = delegate;
+        this.windowMs = windowMs;
+        this.maxSize = maxSize;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "vim-batch-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        this.batchSizes = DistributionSummary.builder("vim.client.batch.size")
+                .description("Requests per bulk VIM call")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<VimResponse> executeAsync(VimRequest request) {
+        Pending pending = new Pending(request, new CompletableFuture<>());
+        batches.computeIfAbsent(request.getCommandType(), Batch::new).add(pending);
+        return pending.future;
+    }
+
+    @Override
+    public void destroy() {
+        flusher.shutdownNow();
+    }
+
+    private record Pending(VimRequest request, CompletableFuture<VimResponse> future) {
+    }
+
+    /** Queue of one command type; flushes run on the single flusher thread. */
+    private final class Batch {
+
+        private final String commandType;
+        private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        Batch(String commandType) {
+            this.commandType = commandType;
+        }
+
+        void add(Pending pending) {
+            queue.add(pending);
+            int queued = size.incrementAndGet();
+            if (queued == 1) {
+                flusher.schedule(this::flush, windowMs, TimeUnit.MILLISECONDS);
+            } else if (queued == maxSize) {
+                flusher.execute(this::flush);
+            }
+        }
+
+        private void flush() {
+            List<Pending> drained = new ArrayList<>(maxSize);
+            Pending next;
+            while (drained.size() < maxSize && (next = queue.poll()) != null) {
+                drained.add(next);
+            }
+            if (drained.isEmpty()) {
+                return;
+            }
+            int remaining = size.addAndGet(-drained.size());
+            if (remaining > 0) {
+                // Requests that arrived meanwhile start a new window (or a full batch flushes right away)
+                flusher.schedule(this::flush, remaining >= maxSize ? 0 : windowMs, TimeUnit.MILLISECONDS);
+            }
+            send(drained);
+        }
+
+        private void send(List<Pending> drained) {
+            batchSizes.record(drained.size());
+            List<VimRequest> requests = drained.stream().map(Pending::request).toList();
+            CompletableFuture<List<VimResponse>> call;
+            try {
+                call = delegate.executeBatch(commandType, requests);
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+            call.whenComplete((responses, error) -> {
+                Throwable failure = error;
+                if (failure == null && (responses == null || responses.size() != drained.size())) {
+                    failure = new VimCallException("Bulk " + commandType + " returned "
+                            + (responses == null ? 0 : responses.size()) + " results for " + drained.size() + " requests");
+                }
+                if (failure == null) {
+                    try {
+                        for (int i = 0; i < drained.size(); i++) {
+                            drained.get(i).future.complete(responses.get(i));
+                        }
+                        return;
+                    } catch (RuntimeException e) {
+                        failure = e;
+                    }
+                }
+                // Every caller is completed, or its command would hang holding a limiter permit and a worker
+                log.debug("Bulk {} of {} failed: {}", commandType, drained.size(), failure.getMessage());
+                Throwable cause = failure;
+                drained.forEach(p -> p.future.completeExceptionally(cause));
+            });
+        }
+    }
+}
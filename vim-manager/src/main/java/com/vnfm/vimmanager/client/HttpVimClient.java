@@ -0,0 +1,316 @@
+package com.vnfm.vimmanager.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vnfm.vimmanager.inventory.InventorySnapshot;
+import com.vnfm.vimmanager.inventory.InventorySource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Non-blocking HTTP adapter for vim-simulator's /servers API (enabled with vim.client.type=http).
+ * <ul>
+ *   <li>ReserveResources: POST /servers named after the vnfId; result carries vimResourceId and ipAddress.</li>
+ *   <li>ReleaseResources: GET /servers?name={vnfId}, then DELETE /servers/{id} for each match.</li>
+ * </ul>
+ * Uses one shared JDK {@link HttpClient} (keep-alive connection pool, no thread per request) with a
+ * per-attempt deadline. 403 (QUOTA) and other 4xx are VIM answers (failed VimResponse); 5xx, timeouts and
+ * I/O errors complete exceptionally with {@link VimCallException} so the circuit breaker and retry see them.
+ * Every call is timed as vim.client.requests (operation, outcome).
+ * <p>
+ * Batches ({@link #executeBatch}) use POST /servers/bulk and POST /servers/bulk-delete (by vnfId name).
+ * Quota and usage for the local inventory come from GET /limits (?tenant= for a tenant's quota).
+ * <p>
+ * With vim.client.type=multi every VIM site gets its own instance (own HttpClient, so its own connection pool,
+ * and its own executor for response handling); its timers carry a vim=&lt;site id&gt; tag.
+ */
+@Component("httpVimClient")
+@ConditionalOnProperty(name = "vim.client.type", havingValue = "http")
+public class HttpVimClient implements BatchVimClient, InventorySource {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpVimClient.class);
+    private static final String CMD_RELEASE_RESOURCES = "ReleaseResources";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final Tags tags;
+
+    @Autowired
+    public HttpVimClient(ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${vim.client.http.base-url:http://localhost:9090}") String baseUrl,
+                         @Value("${vim.client.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+                         @Value("${vim.client.http.request-timeout-ms:5000}") long requestTimeoutMs) {
+        this(objectMapper, meterRegistry, baseUrl, connectTimeoutMs, requestTimeoutMs, null, Tags.empty());
+    }
+
+    /**
+     * @param executor runs response handling (null: the HttpClient's default cached pool)
+     * @param tags     extra tags on vim.client.requests
+     */
+    public HttpVimClient(ObjectMapper objectMapper, MeterRegistry meterRegistry, String baseUrl, long connectTimeoutMs,
+                         long requestTimeoutMs, Executor executor, Iterable<Tag> tags) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.tags = Tags.of(tags);
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs));
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        this.httpClient = builder.build();
+    }
+
+    @Override
+    public CompletableFuture<VimResponse> executeAsync(VimRequest request) {
+        boolean release = CMD_RELEASE_RESOURCES.equals(request.getCommandType());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<VimResponse> call = release ? release(request) : reserve(request);
+        return call.whenComplete((response, error) -> sample.stop(meterRegistry.timer("vim.client.requests", tags.and(
+                "operation", release ? "release" : "reserve",
+                "outcome", error != null ? "error" : response.isSuccess() ? "success" : "failure"))));
+    }
+
+    @Override
+    public CompletableFuture<List<VimResponse>> executeBatch(String commandType, List<VimRequest> requests) {
+        boolean release = CMD_RELEASE_RESOURCES.equals(commandType);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<List<VimResponse>> call = release ? releaseBatch(requests) : reserveBatch(requests);
+        return call.whenComplete((responses, error) -> sample.stop(meterRegistry.timer("vim.client.requests", tags.and(
+                "operation", release ? "release-bulk" : "reserve-bulk",
+                "outcome", error != null ? "error" : "success"))));
+    }
+
+    private CompletableFuture<List<VimResponse>> reserveBatch(List<VimRequest> requests) {
+        List<Map<String, Object>> servers = requests.stream().map(HttpVimClient::serverSpec).toList();
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/servers/bulk"))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(writeJson(Map.of("servers", servers))))
+                .build())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        VimResponse failed = failure(response);
+                        return requests.stream().map(r -> failed).toList();
+                    }
+                    List<Map<String, Object>> results = readJson(response.body(), new TypeReference<>() { });
+                    List<VimResponse> responses = new ArrayList<>(requests.size());
+                    for (int i = 0; i < requests.size(); i++) {
+                        Map<String, Object> item = i < results.size() ? results.get(i) : Map.of();
+                        if (item.get("server") instanceof Map<?, ?> server) {
+                            responses.add(VimResponse.ok(reservation(requests.get(i), server)));
+                        } else {
+                            responses.add(VimResponse.fail(errorType(item.get("errorType"), item.get("status")),
+                                    "VIM returned " + item.get("status") + ": " + item.get("message")));
+                        }
+                    }
+                    return responses;
+                });
+    }
+
+    private CompletableFuture<List<VimResponse>> releaseBatch(List<VimRequest> requests) {
+        List<String> names = requests.stream().map(r -> String.valueOf(r.getVnfId())).toList();
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/servers/bulk-delete"))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(writeJson(Map.of("names", names))))
+                .build())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        VimResponse failed = failure(response);
+                        return requests.stream().map(r -> failed).toList();
+                    }
+                    List<Map<String, Object>> results = readJson(response.body(), new TypeReference<>() { });
+                    List<VimResponse> responses = new ArrayList<>(requests.size());
+                    for (int i = 0; i < requests.size(); i++) {
+                        Object released = i < results.size() ? results.get(i).get("released") : 0;
+                        responses.add(VimResponse.ok(Map.of("vnfId", names.get(i), "releasedServers", released)));
+                    }
+                    return responses;
+                });
+    }
+
+    private CompletableFuture<VimResponse> reserve(VimRequest request) {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/servers"))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(writeJson(serverSpec(request))))
+                .build())
+                .thenApply(response -> {
+                    if (response.statusCode() != 201) {
+                        return failure(response);
+                    }
+                    Map<String, Object> server = readJson(response.body(), new TypeReference<>() { });
+                    return VimResponse.ok(reservation(request, server));
+                });
+    }
+
+    /** POST /servers body: name = vnfId, cpu, memory (MB), and resources.tenant if set (the VIM's tenant quota). */
+    private static Map<String, Object> serverSpec(VimRequest request) {
+        ResourceDemand demand = ResourceDemand.of(request);
+        Map<String, Object> body = new HashMap<>();
+        body.put("name", request.getVnfId());
+        body.put("cpu", demand.cpu());
+        body.put("memory", demand.memoryMb());
+        if (demand.tenant() != null) {
+            body.put("tenant", demand.tenant());
+        }
+        return body;
+    }
+
+    /** Reply result for a created server, in the LCM's terms. */
+    private static Map<String, Object> reservation(VimRequest request, Map<?, ?> server) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("vnfId", request.getVnfId());
+        result.put("vimResourceId", server.get("resourceId"));
+        result.put("ipAddress", server.get("ip"));
+        return result;
+    }
+
+    private CompletableFuture<VimResponse> release(VimRequest request) {
+        String name = URLEncoder.encode(String.valueOf(request.getVnfId()), StandardCharsets.UTF_8);
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/servers?name=" + name))
+                .timeout(requestTimeout)
+                .GET()
+                .build())
+                .thenCompose(response -> {
+                    if (response.statusCode() != 200) {
+                        return CompletableFuture.completedFuture(failure(response));
+                    }
+                    List<Map<String, Object>> servers = readJson(response.body(), new TypeReference<>() { });
+                    CompletableFuture<?>[] deletes = servers.stream()
+                            .map(s -> delete(String.valueOf(s.get("resourceId"))))
+                            .toArray(CompletableFuture[]::new);
+                    return CompletableFuture.allOf(deletes).thenApply(done -> VimResponse.ok(Map.of(
+                            "vnfId", String.valueOf(request.getVnfId()),
+                            "releasedServers", servers.size())));
+                });
+    }
+
+    private CompletableFuture<Void> delete(String resourceId) {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/servers/" + resourceId))
+                .timeout(requestTimeout)
+                .DELETE()
+                .build())
+                .thenAccept(response -> {
+                    // 404: a retried or concurrent delete got there first; the server is gone either way.
+                    // 5xx never gets here: send() fails the call, so the release is retried.
+                    if (response.statusCode() == 404) {
+                        log.debug("DELETE /servers/{} returned 404: already released", resourceId);
+                    } else if (response.statusCode() != 204) {
+                        log.warn("DELETE /servers/{} returned {}: {}", resourceId, response.statusCode(), response.body());
+                    }
+                });
+    }
+
+    /** Sends the request; 5xx and transport errors become {@link VimCallException}. */
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        String what = cause instanceof HttpTimeoutException ? "VIM call timed out" : "VIM call failed";
+                        throw new VimCallException(what + ": " + request.method() + " " + request.uri().getPath(), cause);
+                    }
+                    if (response.statusCode() >= 500) {
+                        throw new VimCallException("VIM returned " + response.statusCode() + ": " + response.body());
+                    }
+                    return response;
+                });
+    }
+
+    /**
+     * GET /limits (?tenant=): the VIM's or a tenant's quota and current usage, for the local inventory refresh.
+     * 404 for a tenant: the VIM keeps no quota for it.
+     */
+    @Override
+    public CompletableFuture<InventorySnapshot> fetchInventory(String tenant) {
+        String query = tenant == null ? "" : "?tenant=" + URLEncoder.encode(tenant, StandardCharsets.UTF_8);
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/limits" + query))
+                .timeout(requestTimeout)
+                .GET()
+                .build())
+                .thenApply(response -> {
+                    if (tenant != null && response.statusCode() == 404) {
+                        return InventorySnapshot.unlimited();
+                    }
+                    if (response.statusCode() != 200) {
+                        throw new VimCallException("VIM returned " + response.statusCode() + " for /limits: " + response.body());
+                    }
+                    Map<String, Object> limits = readJson(response.body(), new TypeReference<>() { });
+                    return new InventorySnapshot(
+                            intOrUnlimited(limits, "maxTotalInstances"), intOrUnlimited(limits, "maxTotalCores"),
+                            intOrUnlimited(limits, "maxTotalRamSizeMb"), intOrUnlimited(limits, "totalInstancesUsed"),
+                            intOrUnlimited(limits, "totalCoresUsed"), intOrUnlimited(limits, "totalRamUsedMb"));
+                });
+    }
+
+    private static int intOrUnlimited(Map<String, Object> values, String key) {
+        return values.get(key) instanceof Number n ? n.intValue() : InventorySnapshot.UNLIMITED;
+    }
+
+    private VimResponse failure(HttpResponse<String> response) {
+        Object errorType = null;
+        try {
+            errorType = objectMapper.readTree(response.body()).path("errorType").textValue();
+        } catch (Exception e) {
+            // not a VIM error body; classify by status only
+        }
+        return VimResponse.fail(errorType(errorType, response.statusCode()),
+                "VIM returned " + response.statusCode() + ": " + response.body());
+    }
+
+    /** The errorType the VIM sent, or QUOTA for a bare 403 (the VIM's quota answer); null otherwise. */
+    private static String errorType(Object errorType, Object status) {
+        if (errorType instanceof String type && !type.isBlank()) {
+            return type;
+        }
+        return status instanceof Number n && n.intValue() == 403 ? VimResponse.ERROR_QUOTA : null;
+    }
+
+    private String writeJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to serialize VIM request", e);
+        }
+    }
+
+    private <T> T readJson(String json, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (Exception e) {
+            throw new VimCallException("Unreadable VIM response: " + e.getMessage(), e);
+        }
+    }
+}
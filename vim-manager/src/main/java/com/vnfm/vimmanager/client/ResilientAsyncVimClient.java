@@ -0,0 +1,99 @@
+package com.vnfm.vimmanager.client;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Async counterpart of {@link ResilientVimClient}: the same vimClient circuit breaker and retry instances
+ * (resilience4j.*.instances.vimClient), applied to the {@link CompletableFuture} of the HTTP adapter.
+ * Retry back-off waits on a scheduler instead of a sleeping thread. With vim.client.batch.enabled the delegate is
+ * the {@link BatchingVimClient}, so breaker and retry still act per command. Once retries are exhausted or the circuit
+ * is open, the call completes with a failed VimResponse, like the synchronous fallback. Each attempt runs under
+ * the {@link AdaptiveConcurrencyLimiter}; an attempt it sheds becomes a retryable failed VimResponse.
+ * <p>
+ * Also serves as the {@link VimClient} for the blocking command pipeline ({@link #execute} waits for the future);
+ * in concurrent consumer mode that wait parks a virtual thread only.
+ * <p>
+ * With vim.client.type=multi each VIM site is wrapped in its own instance, with its own breaker, retry and limiter.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "vim.client.type", havingValue = "http")
+public class ResilientAsyncVimClient implements AsyncVimClient, VimClient, DisposableBean {
+
+    private static final String INSTANCE = "vimClient";
+
+    private final AsyncVimClient delegate;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final CircuitBreaker circuitBreaker;
+    private final Retry retry;
+    private final ScheduledExecutorService retryScheduler;
+
+    @Autowired
+    public ResilientAsyncVimClient(@Qualifier("httpVimClient") AsyncVimClient httpVimClient,
+                                   ObjectProvider<BatchingVimClient> batchingVimClient,
+                                   AdaptiveConcurrencyLimiter limiter,
+                                   CircuitBreakerRegistry circuitBreakerRegistry,
+                                   RetryRegistry retryRegistry) {
+        this(batchingOrDirect(batchingVimClient, httpVimClient), limiter,
+                circuitBreakerRegistry.circuitBreaker(INSTANCE), retryRegistry.retry(INSTANCE));
+    }
+
+    public ResilientAsyncVimClient(AsyncVimClient delegate, AdaptiveConcurrencyLimiter limiter,
+                                   CircuitBreaker circuitBreaker, Retry retry) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+        this.circuitBreaker = circuitBreaker;
+        this.retry = retry;
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "vim-client-retry");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    public CompletableFuture<VimResponse> executeAsync(VimRequest request) {
+        return Retry.decorateCompletionStage(retry, retryScheduler,
+                        CircuitBreaker.decorateCompletionStage(circuitBreaker,
+                                () -> limiter.executeAsync(() -> delegate.executeAsync(request))))
+                .get()
+                .toCompletableFuture()
+                .exceptionally(e -> unwrap(e) instanceof VimOverloadedException overloaded
+                        ? VimResponse.retryableFail(overloaded.getMessage())
+                        : VimResponse.fail("VIM unavailable: " + unwrap(e).getMessage()));
+    }
+
+    @Override
+    public VimResponse execute(VimRequest request) {
+        return executeAsync(request).join();
+    }
+
+    private static AsyncVimClient batchingOrDirect(ObjectProvider<BatchingVimClient> batching, AsyncVimClient direct) {
+        BatchingVimClient batchingClient = batching.getIfAvailable();
+        return batchingClient != null ? batchingClient : direct;
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    @Override
+    public void destroy() {
+        retryScheduler.shutdownNow();
+    }
+}
@@ -3,32 +3,40 @@ package com.vnfm.vimmanager.client;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 
 /**
- * Decorator around VimClient that adds circuit breaker and retry with exponential backoff.
- * Delegates to the actual implementation (e.g. InMemoryVimSimulator).
+ * Decorator around VimClient that adds circuit breaker and retry with exponential backoff; each attempt
+ * runs under the {@link AdaptiveConcurrencyLimiter}, and a shed attempt becomes a retryable failure.
+ * Delegates to the in-memory simulator; with vim.client.type=http {@link ResilientAsyncVimClient} is used instead.
  */
 @Component
 @Primary
+@ConditionalOnProperty(name = "vim.client.type", havingValue = "in-memory", matchIfMissing = true)
 public class ResilientVimClient implements VimClient {
 
     private final VimClient delegate;
+    private final AdaptiveConcurrencyLimiter limiter;
 
-    public ResilientVimClient(@Qualifier("inMemoryVimSimulator") VimClient delegate) {
+    public ResilientVimClient(@Qualifier("inMemoryVimSimulator") VimClient delegate, AdaptiveConcurrencyLimiter limiter) {
         this.delegate = delegate;
+        this.limiter = limiter;
     }
 
     @Override
     @CircuitBreaker(name = "vimClient", fallbackMethod = "executeFallback")
     @Retry(name = "vimClient")
     public VimResponse execute(VimRequest request) {
-        return delegate.execute(request);
+        return limiter.execute(() -> delegate.execute(request));
     }
 
     @SuppressWarnings("unused")
     public VimResponse executeFallback(VimRequest request, Exception e) {
+        if (e instanceof VimOverloadedException) {
+            return VimResponse.retryableFail(e.getMessage());
+        }
         return VimResponse.fail("VIM unavailable: " + e.getMessage());
     }
 }
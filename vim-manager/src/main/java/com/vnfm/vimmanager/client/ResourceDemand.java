@@ -0,0 +1,42 @@
+package com.vnfm.vimmanager.client;
+
+import java.util.Map;
+
+/**
+ * Compute resources one ReserveResources request asks for (one instance).
+ * Read from the request's "resources": cpu / vcpu / cpuCores (default 1),
+ * memory / memoryMb in MB or memoryGb (default 1024 MB), and tenant (whose VIM quota it counts against; may be null).
+ */
+public record ResourceDemand(int cpu, int memoryMb, String tenant) {
+
+    public static ResourceDemand of(VimRequest request) {
+        Map<String, Object> resources = resources(request);
+        Object tenant = resources.get("tenant");
+        return new ResourceDemand(intValue(resources, 1, "cpu", "vcpu", "cpuCores"), memoryMb(resources),
+                tenant != null ? tenant.toString() : null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> resources(VimRequest request) {
+        Object resources = request.getBody() != null ? request.getBody().get("resources") : null;
+        return resources instanceof Map ? (Map<String, Object>) resources : Map.of();
+    }
+
+    private static int intValue(Map<String, Object> resources, int defaultValue, String... keys) {
+        for (String key : keys) {
+            if (resources.get(key) instanceof Number n && n.intValue() > 0) {
+                return n.intValue();
+            }
+        }
+        return defaultValue;
+    }
+
+    private static int memoryMb(Map<String, Object> resources) {
+        int mb = intValue(resources, 0, "memory", "memoryMb");
+        if (mb > 0) {
+            return mb;
+        }
+        int gb = intValue(resources, 0, "memoryGb");
+        return gb > 0 ? gb * 1024 : 1024;
+    }
+}
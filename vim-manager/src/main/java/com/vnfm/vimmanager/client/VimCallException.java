@@ -0,0 +1,15 @@
+package com.vnfm.vimmanager.client;
+
+/**
+ * Retryable VIM call failure (timeout, connection error, 5xx). Counted by the circuit breaker and retried.
+ */
+public class VimCallException extends RuntimeException {
+
+    public VimCallException(String message) {
+        super(message);
+    }
+
+    public VimCallException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
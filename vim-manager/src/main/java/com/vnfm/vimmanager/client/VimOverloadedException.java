@@ -0,0 +1,12 @@
+package com.vnfm.vimmanager.client;
+
+/**
+ * The command was shed by {@link AdaptiveConcurrencyLimiter} before reaching the VIM (wait queue full or
+ * wait timed out). Not retried and not counted by the circuit breaker; the command gets a retryable failure reply.
+ */
+public class VimOverloadedException extends RuntimeException {
+
+    public VimOverloadedException(String message) {
+        super(message);
+    }
+}
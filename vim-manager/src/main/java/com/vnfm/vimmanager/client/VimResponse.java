@@ -3,18 +3,33 @@ package com.vnfm.vimmanager.client;
 import java.util.Map;
 
 /**
- * Response from VIM (success or failure).
+ * Response from VIM (success or failure). A failure the VIM classified carries its error type
+ * (e.g. {@link #ERROR_QUOTA}); callers branch on that, never on the message text.
  */
 public class VimResponse {
 
+    /**
+     * Error type of a request rejected for lack of quota: by the VIM (HTTP 403), or locally by the inventory
+     * (message "Insufficient VIM capacity (local inventory): …").
+     */
+    public static final String ERROR_QUOTA = "QUOTA";
+
     private final boolean success;
+    private final String errorType;
     private final String errorMessage;
     private final Map<String, Object> result;
+    private final boolean retryable;
 
     public VimResponse(boolean success, String errorMessage, Map<String, Object> result) {
+        this(success, null, errorMessage, result, false);
+    }
+
+    private VimResponse(boolean success, String errorType, String errorMessage, Map<String, Object> result, boolean retryable) {
         this.success = success;
+        this.errorType = errorType;
         this.errorMessage = errorMessage;
         this.result = result;
+        this.retryable = retryable;
     }
 
     public static VimResponse ok(Map<String, Object> result) {
@@ -25,7 +40,20 @@ public class VimResponse {
         return new VimResponse(false, errorMessage, null);
     }
 
+    /** Failure answered by the VIM with an error type (null if it gave none). */
+    public static VimResponse fail(String errorType, String errorMessage) {
+        return new VimResponse(false, errorType, errorMessage, null, false);
+    }
+
+    /** Failure without a VIM answer (the call was shed locally); the same command may succeed later. */
+    public static VimResponse retryableFail(String errorMessage) {
+        return new VimResponse(false, null, errorMessage, null, true);
+    }
+
     public boolean isSuccess() { return success; }
+    public String getErrorType() { return errorType; }
+    public boolean isQuotaExceeded() { return !success && ERROR_QUOTA.equals(errorType); }
     public String getErrorMessage() { return errorMessage; }
     public Map<String, Object> getResult() { return result; }
+    public boolean isRetryable() { return retryable; }
 }
@@ -0,0 +1,10 @@
+package com.vnfm.vimmanager.domain;
+
+/**
+ * Lifecycle of a claimed command in processed_commands.
+ * IN_FLIGHT: claimed, VIM call running (or the worker crashed); COMPLETED: reply written to the outbox.
+ */
+public enum CommandStatus {
+    IN_FLIGHT,
+    COMPLETED
+}
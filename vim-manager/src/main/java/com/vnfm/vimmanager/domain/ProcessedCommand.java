@@ -4,11 +4,18 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 /**
- * Idempotency record: stores message_id of consumed commands so we skip duplicates.
+ * Idempotency record and claim for a consumed command.
+ * <p>
+ * The row is inserted IN_FLIGHT (claim) in its own short transaction before the VIM call and set to
+ * COMPLETED together with the reply outbox row afterwards. Type and payload are kept so a command left
+ * IN_FLIGHT by a crashed worker can be re-executed; {@code attempt} fences a stale worker that finishes
+ * after its claim was taken over. COMPLETED rows are purged after vim.commands.retention-hours.
  */
 @Entity
 @Table(name = "processed_commands", indexes = {
-        @Index(name = "idx_processed_commands_message_id", columnList = "message_id", unique = true)
+        @Index(name = "idx_processed_commands_message_id", columnList = "message_id", unique = true),
+        @Index(name = "idx_processed_commands_status_claimed", columnList = "status, claimed_at"),
+        @Index(name = "idx_processed_commands_status_completed", columnList = "status, completed_at")
 })
 public class ProcessedCommand {
 
@@ -22,13 +29,38 @@ public class ProcessedCommand {
     @Column(name = "processed_at", nullable = false)
     private Instant processedAt;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private CommandStatus status;
+
+    @Column(name = "message_type", length = 128)
+    private String messageType;
+
+    @Lob
+    @Column(name = "payload")
+    private String payload;
+
+    @Column(name = "attempt", nullable = false)
+    private int attempt;
+
+    @Column(name = "claimed_at")
+    private Instant claimedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
     @SuppressWarnings("unused")
     public ProcessedCommand() {
     }
 
-    public ProcessedCommand(String messageId) {
+    public ProcessedCommand(String messageId, String messageType, String payload) {
         this.messageId = messageId;
+        this.messageType = messageType;
+        this.payload = payload;
+        this.status = CommandStatus.IN_FLIGHT;
+        this.attempt = 1;
         this.processedAt = Instant.now();
+        this.claimedAt = this.processedAt;
     }
 
     public Long getId() {
@@ -39,7 +71,33 @@ public class ProcessedCommand {
         return messageId;
     }
 
+    /** First claim time. */
     public Instant getProcessedAt() {
         return processedAt;
     }
+
+    public CommandStatus getStatus() {
+        return status;
+    }
+
+    public String getMessageType() {
+        return messageType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public int getAttempt() {
+        return attempt;
+    }
+
+    /** Start of the current claim (lease); reset on takeover. */
+    public Instant getClaimedAt() {
+        return claimedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
 }
@@ -1,7 +1,14 @@
 package com.vnfm.vimmanager.domain;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface ProcessedCommandRepository extends JpaRepository<ProcessedCommand, Long> {
@@ -9,4 +16,42 @@ public interface ProcessedCommandRepository extends JpaRepository<ProcessedComma
     Optional<ProcessedCommand> findByMessageId(String messageId);
 
     boolean existsByMessageId(String messageId);
+
+    List<ProcessedCommand> findByStatusAndClaimedAtBeforeOrderByClaimedAtAsc(CommandStatus status, Instant claimedBefore, Pageable page);
+
+    /**
+     * Takes over an IN_FLIGHT claim whose lease started before staleBefore (new attempt, new lease).
+     * Returns 1 if this caller won the claim. Runs in its own transaction unless one is active.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProcessedCommand p SET p.attempt = p.attempt + 1, p.claimedAt = :now "
+            + "WHERE p.messageId = :messageId AND p.status = com.vnfm.vimmanager.domain.CommandStatus.IN_FLIGHT "
+            + "AND p.claimedAt < :staleBefore")
+    int takeOver(@Param("messageId") String messageId, @Param("staleBefore") Instant staleBefore, @Param("now") Instant now);
+
+    /**
+     * Marks the claim COMPLETED if it is still held by this attempt. Returns 0 if it was taken over meanwhile.
+     */
+    @Modifying
+    @Query("UPDATE ProcessedCommand p SET p.status = com.vnfm.vimmanager.domain.CommandStatus.COMPLETED, p.completedAt = :now "
+            + "WHERE p.messageId = :messageId AND p.status = com.vnfm.vimmanager.domain.CommandStatus.IN_FLIGHT "
+            + "AND p.attempt = :attempt")
+    int complete(@Param("messageId") String messageId, @Param("attempt") int attempt, @Param("now") Instant now);
+
+    /**
+     * Drops the claim of this attempt so a redelivery can process the command again.
+     */
+    @Modifying
+    @Query("DELETE FROM ProcessedCommand p WHERE p.messageId = :messageId "
+            + "AND p.status = com.vnfm.vimmanager.domain.CommandStatus.IN_FLIGHT AND p.attempt = :attempt")
+    int release(@Param("messageId") String messageId, @Param("attempt") int attempt);
+
+    /**
+     * Deletes up to {@code limit} COMPLETED rows completed before the cutoff, oldest first (retention purge).
+     */
+    @Modifying
+    @Query(value = "DELETE FROM processed_commands WHERE id IN (SELECT id FROM processed_commands "
+            + "WHERE status = 'COMPLETED' AND completed_at < :cutoff ORDER BY completed_at LIMIT :limit)", nativeQuery = true)
+    int purgeCompletedBefore(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
 }
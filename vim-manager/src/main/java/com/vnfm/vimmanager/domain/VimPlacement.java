@@ -0,0 +1,49 @@
+package com.vnfm.vimmanager.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * Which VIM site holds a VNF's resources (vim.client.type=multi). Written when a reservation succeeds and
+ * removed when the release succeeds, so a ReleaseResources (which names no region) goes back to the same site.
+ */
+@Entity
+@Table(name = "vim_placements")
+public class VimPlacement {
+
+    @Id
+    @Column(name = "vnf_id", nullable = false, length = 255)
+    private String vnfId;
+
+    @Column(name = "vim_id", nullable = false, length = 64)
+    private String vimId;
+
+    @Column(name = "placed_at", nullable = false)
+    private Instant placedAt;
+
+    @SuppressWarnings("unused")
+    public VimPlacement() {
+    }
+
+    public VimPlacement(String vnfId, String vimId) {
+        this.vnfId = vnfId;
+        this.vimId = vimId;
+        this.placedAt = Instant.now();
+    }
+
+    public String getVnfId() {
+        return vnfId;
+    }
+
+    public String getVimId() {
+        return vimId;
+    }
+
+    public Instant getPlacedAt() {
+        return placedAt;
+    }
+}
@@ -0,0 +1,6 @@
+package com.vnfm.vimmanager.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface VimPlacementRepository extends JpaRepository<VimPlacement, String> {
+}
@@ -12,6 +12,8 @@ public class VimReplyPayload {
     private boolean success;
     private String reason;
     private Map<String, Object> result;
+    /** Failure without a VIM answer (shed by vim-manager under overload): resending the command may succeed. */
+    private boolean retryable;
 
     public static VimReplyPayload success(String sagaId, int step, Map<String, Object> result) {
         VimReplyPayload p = new VimReplyPayload();
@@ -41,4 +43,6 @@ public class VimReplyPayload {
     public void setReason(String reason) { this.reason = reason; }
     public Map<String, Object> getResult() { return result; }
     public void setResult(Map<String, Object> result) { this.result = result; }
+    public boolean isRetryable() { return retryable; }
+    public void setRetryable(boolean retryable) { this.retryable = retryable; }
 }
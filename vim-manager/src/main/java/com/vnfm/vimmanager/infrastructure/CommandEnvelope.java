@@ -0,0 +1,51 @@
+package com.vnfm.vimmanager.infrastructure;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Envelope of a vim.commands record, carried in Kafka headers (written by lcm-core's outbox publisher):
+ * schema_version, message_id, message_type, saga_id, vnf_id. The record key is the vnf id (so a VNF's commands
+ * share a partition) and the value the bare JSON payload, so a record with an envelope is routed without reading
+ * its value. Records from older producers have no message_id header and carry the message id as their key.
+ *
+ * @param schemaVersion envelope version; only {@value #SUPPORTED_SCHEMA_VERSION} is understood
+ * @param sagaId        may be null
+ * @param vnfId         ordering key when present; may be null
+ */
+public record CommandEnvelope(String schemaVersion, String messageType, String sagaId, String vnfId) {
+
+    public static final String SCHEMA_VERSION_HEADER = "schema_version";
+    public static final String MESSAGE_ID_HEADER = "message_id";
+    public static final String MESSAGE_TYPE_HEADER = "message_type";
+    public static final String SAGA_ID_HEADER = "saga_id";
+    public static final String VNF_ID_HEADER = "vnf_id";
+
+    public static final String SUPPORTED_SCHEMA_VERSION = "1";
+
+    /**
+     * The envelope, if the record has one. Both schema_version and message_type are required; a record with
+     * only message_type comes from an older producer and carries no ordering key.
+     */
+    public static Optional<CommandEnvelope> fromHeaders(Headers headers) {
+        String version = text(headers, SCHEMA_VERSION_HEADER);
+        String messageType = text(headers, MESSAGE_TYPE_HEADER);
+        if (version == null || messageType == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new CommandEnvelope(version, messageType,
+                text(headers, SAGA_ID_HEADER), text(headers, VNF_ID_HEADER)));
+    }
+
+    public boolean isSupported() {
+        return SUPPORTED_SCHEMA_VERSION.equals(schemaVersion);
+    }
+
+    static String text(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        return header == null || header.value() == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+}
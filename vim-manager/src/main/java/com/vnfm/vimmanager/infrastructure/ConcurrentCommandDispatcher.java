@@ -0,0 +1,139 @@
+package com.vnfm.vimmanager.infrastructure;
+
+import com.vnfm.vimmanager.application.CommandHandler;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrent execution mode of {@link VimCommandsConsumer} (vim.commands.consumer.mode=concurrent).
+ * <p>
+ * Commands run on virtual threads (Java 21+, platform threads otherwise), ordered per vnfId through a
+ * {@link KeyOrderedExecutor}. That orders a VNF's commands within this instance; across instances it relies on
+ * lcm-core keying vim.commands by vnfId, so all of a VNF's commands are on one partition. Offsets are committed only up to the last contiguous completed record
+ * ({@link ContiguousAcks}); tracking them here rather than with the container's async acks keeps the consumer
+ * fetching while a slow command (e.g. one routed to a slow VIM site) is still running.
+ * When max-in-flight commands are running the listener container is paused (the consumer keeps polling
+ * and heartbeating, but fetches nothing) and resumed once half of them have completed.
+ */
+@Component
+public class ConcurrentCommandDispatcher implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrentCommandDispatcher.class);
+
+    private final CommandHandler commandHandler;
+    private final KafkaListenerEndpointRegistry registry;
+    private final SimpleAsyncTaskExecutor threads;
+    private final KeyOrderedExecutor executor;
+    private final ContiguousAcks acks = new ContiguousAcks();
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean paused = new AtomicBoolean();
+
+    @Value("${vim.commands.consumer.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${vim.commands.consumer.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    public ConcurrentCommandDispatcher(CommandHandler commandHandler,
+                                       KafkaListenerEndpointRegistry registry,
+                                       @Value("${vim.commands.consumer.max-in-flight:256}") int maxInFlight,
+                                       @Value("${vim.commands.consumer.stripes:256}") int stripes,
+                                       @Value("${vim.commands.consumer.virtual-threads:true}") boolean virtualThreads) {
+        this.commandHandler = commandHandler;
+        this.registry = registry;
+        this.maxInFlight = maxInFlight;
+        this.threads = new SimpleAsyncTaskExecutor("vim-command-");
+        this.threads.setVirtualThreads(virtualThreads && Runtime.version().feature() >= 21);
+        this.threads.setTaskTerminationTimeout(30_000);
+        this.executor = new KeyOrderedExecutor(threads, stripes);
+    }
+
+    /**
+     * Queues the command behind earlier commands of the same orderingKey and returns immediately.
+     */
+    public void dispatch(ReceivedCommand command, TopicPartition partition, long offset, Acknowledgment ack) {
+        int running = inFlight.incrementAndGet();
+        acks.started(partition, offset, ack);
+        executor.execute(command.orderingKey(), () -> {
+            try {
+                process(command);
+            } finally {
+                acks.completed(partition, offset, ack);
+                completed();
+            }
+        });
+        if (running >= maxInFlight && paused.compareAndSet(false, true)) {
+            container().pause();
+            log.debug("Paused vim.commands consumption: {} commands in flight", running);
+            // All commands may have completed before the flag was set; nothing would resume then
+            resumeIfDrained();
+        }
+    }
+
+    /** Drops offset tracking of revoked partitions (commands already running there still finish). */
+    public void partitionsRevoked(Collection<TopicPartition> partitions) {
+        acks.revoked(partitions);
+    }
+
+    /** Commands accepted but not yet finished. */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private void process(ReceivedCommand command) {
+        String messageId = command.messageId();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                command.handleWith(commandHandler);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    // Same outcome as the container's default error handler: log and skip the record
+                    log.error("Giving up on command messageId={} after {} attempts", messageId, attempt, e);
+                    return;
+                }
+                log.warn("Command messageId={} failed (attempt {}), retrying: {}", messageId, attempt, e.getMessage());
+                try {
+                    Thread.sleep(retryBackoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void completed() {
+        inFlight.decrementAndGet();
+        resumeIfDrained();
+    }
+
+    private void resumeIfDrained() {
+        if (inFlight.get() <= maxInFlight / 2 && paused.compareAndSet(true, false)) {
+            container().resume();
+            log.debug("Resumed vim.commands consumption");
+        }
+    }
+
+    private MessageListenerContainer container() {
+        return registry.getListenerContainer(VimCommandsConsumer.LISTENER_ID);
+    }
+
+    @Override
+    public void destroy() {
+        threads.close();
+    }
+}
@@ -0,0 +1,63 @@
+package com.vnfm.vimmanager.infrastructure;
+
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-partition offset tracking for out-of-order completion: a record is acknowledged only once it and every
+ * earlier record of its partition have completed, and then only the newest of that contiguous run (its commit
+ * covers the others). Records completing ahead of a slow one wait here; the consumer keeps fetching.
+ * <p>
+ * A redelivered record (same offset after a rebalance) replaces the earlier entry; completion of the earlier
+ * delivery is then ignored, matched by its {@link Acknowledgment}.
+ */
+public class ContiguousAcks {
+
+    private final Map<TopicPartition, TreeMap<Long, Entry>> partitions = new HashMap<>();
+
+    public synchronized void started(TopicPartition partition, long offset, Acknowledgment ack) {
+        partitions.computeIfAbsent(partition, p -> new TreeMap<>()).put(offset, new Entry(ack));
+    }
+
+    /**
+     * Marks the record completed and acknowledges the contiguous completed run at the head of its partition,
+     * if any.
+     */
+    public void completed(TopicPartition partition, long offset, Acknowledgment ack) {
+        Acknowledgment commit = null;
+        synchronized (this) {
+            TreeMap<Long, Entry> pending = partitions.get(partition);
+            Entry entry = pending != null ? pending.get(offset) : null;
+            if (entry == null || entry.ack != ack) {
+                return;
+            }
+            entry.done = true;
+            while (!pending.isEmpty() && pending.firstEntry().getValue().done) {
+                commit = pending.pollFirstEntry().getValue().ack;
+            }
+        }
+        if (commit != null) {
+            commit.acknowledge();
+        }
+    }
+
+    /** Forgets revoked partitions; their records are redelivered to the new owner from the committed offset. */
+    public synchronized void revoked(Collection<TopicPartition> revoked) {
+        revoked.forEach(partitions::remove);
+    }
+
+    private static final class Entry {
+
+        private final Acknowledgment ack;
+        private boolean done;
+
+        private Entry(Acknowledgment ack) {
+            this.ack = ack;
+        }
+    }
+}
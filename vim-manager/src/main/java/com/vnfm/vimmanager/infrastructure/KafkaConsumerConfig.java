@@ -0,0 +1,42 @@
+package com.vnfm.vimmanager.infrastructure;
+
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ContainerCustomizer;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import java.util.Collection;
+
+/**
+ * Listener container settings for vim.commands. Records are acknowledged manually by
+ * {@link VimCommandsConsumer}. In concurrent mode {@link ConcurrentCommandDispatcher} acknowledges only
+ * contiguous completed offsets itself (the container's async acks would pause the consumer until every
+ * record of the previous poll is acknowledged) and pausing takes effect after the current record.
+ */
+@Configuration
+public class KafkaConsumerConfig {
+
+    @Bean
+    public ContainerCustomizer<Object, Object, ConcurrentMessageListenerContainer<Object, Object>> vimCommandsContainerCustomizer(
+            @Value("${vim.commands.consumer.mode:serial}") String mode,
+            ConcurrentCommandDispatcher dispatcher) {
+        boolean concurrent = VimCommandsConsumer.MODE_CONCURRENT.equalsIgnoreCase(mode);
+        return container -> {
+            ContainerProperties properties = container.getContainerProperties();
+            properties.setAckMode(ContainerProperties.AckMode.MANUAL);
+            properties.setPauseImmediate(concurrent);
+            if (concurrent) {
+                properties.setConsumerRebalanceListener(new ConsumerAwareRebalanceListener() {
+                    @Override
+                    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+                        dispatcher.partitionsRevoked(partitions);
+                    }
+                });
+            }
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.vnfm.vimmanager.infrastructure;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Striped executor: tasks with the same key run one at a time in submission order, tasks on
+ * different stripes run in parallel on the delegate executor. Keys hash onto a fixed number of
+ * stripes, so unrelated keys may occasionally share (and serialize on) a stripe.
+ * <p>
+ * Lock-free: each stripe is a queue plus a "drain scheduled" flag.
+ */
+public class KeyOrderedExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(KeyOrderedExecutor.class);
+
+    private final Executor delegate;
+    private final Stripe[] stripes;
+
+    public KeyOrderedExecutor(Executor delegate, int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("stripes must be >= 1");
+        }
+        this.delegate = delegate;
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    public void execute(String key, Runnable task) {
+        stripes[Math.floorMod(Objects.hashCode(key), stripes.length)].submit(task);
+    }
+
+    private final class Stripe {
+
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        void submit(Runnable task) {
+            queue.add(task);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                delegate.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Runnable task;
+                while ((task = queue.poll()) != null) {
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        log.error("Task failed", e);
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+                // A task added after the last poll but before the flag was cleared would otherwise be stranded
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.vnfm.vimmanager.infrastructure;
+
+import com.vnfm.vimmanager.application.CommandHandler;
+import com.vnfm.vimmanager.domain.command.VimCommandPayload;
+
+/**
+ * A vim.commands record after routing: type and ordering key are known, the payload is deserialized at
+ * most once.
+ *
+ * @param orderingKey vnfId, or the message id when the VNF is unknown
+ * @param payload     already deserialized payload, or null to let {@link CommandHandler} read payloadJson
+ */
+public record ReceivedCommand(String messageId, String messageType, String orderingKey,
+                              String payloadJson, VimCommandPayload payload) {
+
+    public boolean handleWith(CommandHandler handler) {
+        return payload != null
+                ? handler.handle(messageId, messageType, payloadJson, payload)
+                : handler.handle(messageId, messageType, payloadJson);
+    }
+}
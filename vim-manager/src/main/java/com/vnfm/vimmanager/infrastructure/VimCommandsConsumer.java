@@ -1,73 +1,148 @@
 package com.vnfm.vimmanager.infrastructure;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vnfm.vimmanager.application.CommandHandler;
+import com.vnfm.vimmanager.domain.command.VimCommandPayload;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+
 /**
  * Kafka consumer for vim.commands. Delegates to CommandHandler (idempotent processing).
- * Accepts either: (1) wrapper {"messageType":"ReserveResources","payload":{...}} or
- * (2) raw payload with message_type header, or (3) raw payload and infer type (reason -> ReleaseResources).
+ * <p>
+ * Records carrying a {@link CommandEnvelope} in their headers (schema_version, message_type, saga_id, vnf_id)
+ * are routed from the headers alone; the value is deserialized once, straight into the typed payload, by
+ * the handler. An envelope with an unknown schema_version is logged and skipped.
+ * Records without an envelope (older producers) are read as a JSON tree once: either a wrapper
+ * {"messageType":"ReserveResources","payload":{...}}, or a raw payload typed by a message_type header or
+ * inferred from the body (reason -> ReleaseResources). Type, ordering key and typed payload all come from that tree.
+ * <p>
+ * vim.commands.consumer.mode=serial (default) processes each record on the listener thread;
+ * concurrent hands it to {@link ConcurrentCommandDispatcher} (parallel, ordered per vnfId).
  */
 @Component
 public class VimCommandsConsumer {
 
     private static final Logger log = LoggerFactory.getLogger(VimCommandsConsumer.class);
 
+    public static final String LISTENER_ID = "vimCommands";
+    public static final String MODE_CONCURRENT = "concurrent";
+
     private final CommandHandler commandHandler;
+    private final ConcurrentCommandDispatcher dispatcher;
     private final ObjectMapper objectMapper;
 
-    public VimCommandsConsumer(CommandHandler commandHandler, ObjectMapper objectMapper) {
+    @Value("${vim.commands.consumer.mode:serial}")
+    private String mode;
+
+    public VimCommandsConsumer(CommandHandler commandHandler,
+                               ConcurrentCommandDispatcher dispatcher,
+                               ObjectMapper objectMapper) {
         this.commandHandler = commandHandler;
+        this.dispatcher = dispatcher;
         this.objectMapper = objectMapper;
     }
 
     @KafkaListener(
+            id = LISTENER_ID,
+            idIsGroup = false,
             topics = "${vim.commands-topic:vim.commands}",
             groupId = "${spring.kafka.consumer.group-id:vim-manager-group}"
     )
-    public void onCommand(
-            @Payload String payload,
-            @Header(KafkaHeaders.RECEIVED_KEY) String messageId,
-            @Header(value = "message_type", required = false) String messageTypeHeader) {
-        String messageIdToUse = messageId != null ? messageId : "unknown";
-        String messageType;
-        String payloadJson;
-        try {
-            var root = objectMapper.readTree(payload);
-            if (root.has("messageType") && root.has("payload")) {
-                messageType = root.get("messageType").asText();
-                payloadJson = root.get("payload").isTextual() ? root.get("payload").asText() : root.get("payload").toString();
-            } else {
-                messageType = messageTypeHeader != null ? messageTypeHeader : inferMessageType(payload);
-                payloadJson = payload;
+    public void onCommand(ConsumerRecord<String, String> record, Acknowledgment ack) {
+        String messageId = messageId(record);
+        Optional<CommandEnvelope> envelope = CommandEnvelope.fromHeaders(record.headers());
+        ReceivedCommand command;
+        if (envelope.isPresent()) {
+            if (!envelope.get().isSupported()) {
+                log.warn("Skipping command messageId={}: unsupported schema_version {}", messageId, envelope.get().schemaVersion());
+                ack.acknowledge();
+                return;
             }
-        } catch (Exception e) {
-            log.debug("Parse command value as raw payload: {}", e.getMessage());
-            messageType = messageTypeHeader != null ? messageTypeHeader : inferMessageType(payload);
-            payloadJson = payload;
+            command = fromEnvelope(messageId, envelope.get(), record.value());
+        } else {
+            command = fromBody(messageId, record.value(), CommandEnvelope.text(record.headers(), CommandEnvelope.MESSAGE_TYPE_HEADER));
+        }
+        if (MODE_CONCURRENT.equalsIgnoreCase(mode)) {
+            dispatcher.dispatch(command, new TopicPartition(record.topic(), record.partition()), record.offset(), ack);
+            return;
         }
         try {
-            commandHandler.handle(messageIdToUse,  , payloadJson);
+            command.handleWith(commandHandler);
         } catch (Exception e) {
-            log.error("Error processing command messageId={}", messageIdToUse, e);
+            log.error("Error processing command messageId={}", messageId, e);
             throw e;
         }
+        ack.acknowledge();
     }
 
-    private String inferMessageType(String payload) {
+    /** The message_id header; older producers sent no header and keyed the record by the message id. */
+    private static String messageId(ConsumerRecord<String, String> record) {
+        String header = CommandEnvelope.text(record.headers(), CommandEnvelope.MESSAGE_ID_HEADER);
+        if (header != null) {
+            return header;
+        }
+        return record.key() != null ? record.key() : "unknown";
+    }
+
+    /** Routed by headers; the value is left for the handler's single typed read. */
+    private static ReceivedCommand fromEnvelope(String messageId, CommandEnvelope envelope, String payload) {
+        String orderingKey = envelope.vnfId() != null ? envelope.vnfId() : messageId;
+        return new ReceivedCommand(messageId, envelope.messageType(), orderingKey, payload, null);
+    }
+
+    /** No envelope: one tree parse gives the type, the ordering key (commands for a VNF stay in order) and the payload. */
+    private ReceivedCommand fromBody(String messageId, String value, String messageTypeHeader) {
+        JsonNode root = null;
         try {
-            var root = objectMapper.readTree(payload);
-            if (root.has("reason") && !root.has("resources")) {
-                return CommandHandler.CMD_RELEASE_RESOURCES;
+            root = objectMapper.readTree(value);
+        } catch (Exception e) {
+            log.debug("Parse command value as raw payload: {}", e.getMessage());
+        }
+        if (root == null || !root.isObject()) {
+            // Not a JSON object: the handler rejects it as an invalid payload
+            String messageType = messageTypeHeader != null ? messageTypeHeader : CommandHandler.CMD_RESERVE_RESOURCES;
+            return new ReceivedCommand(messageId, messageType, messageId, value, null);
+        }
+        if (root.has("messageType") && root.has("payload")) {
+            JsonNode inner = root.get("payload");
+            if (inner.isTextual()) {
+                // Payload embedded as a JSON string: the handler has to parse it anyway
+                return new ReceivedCommand(messageId, root.get("messageType").asText(), messageId, inner.asText(), null);
             }
-        } catch (Exception ignored) { }
+            return new ReceivedCommand(messageId, root.get("messageType").asText(), orderingKey(inner, messageId),
+                    inner.toString(), toPayload(inner));
+        }
+        String messageType = messageTypeHeader != null ? messageTypeHeader : inferMessageType(root);
+        return new ReceivedCommand(messageId, messageType, orderingKey(root, messageId), value, toPayload(root));
+    }
+
+    private static String orderingKey(JsonNode payload, String messageId) {
+        JsonNode vnfId = payload.get("vnfId");
+        return vnfId != null && !vnfId.isNull() ? vnfId.asText() : messageId;
+    }
+
+    /** Binds the tree to the typed payload; null (handler reports it as invalid) if it does not fit. */
+    private VimCommandPayload toPayload(JsonNode payload) {
+        try {
+            return objectMapper.treeToValue(payload, VimCommandPayload.class);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String inferMessageType(JsonNode root) {
+        if (root.has("reason") && !root.has("resources")) {
+            return CommandHandler.CMD_RELEASE_RESOURCES;
+        }
         return CommandHandler.CMD_RESERVE_RESOURCES;
     }
 }
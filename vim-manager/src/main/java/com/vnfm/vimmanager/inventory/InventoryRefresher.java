@@ -0,0 +1,40 @@
+package com.vnfm.vimmanager.inventory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled job: reloads the VIM's and its tenants' quota and usage into {@link VimInventory}. Only runs when the VIM adapter
+ * can report them (vim.client.type=http); otherwise the inventory is maintained from command outcomes alone.
+ * A failed refresh keeps the previous view.
+ */
+@Component
+public class InventoryRefresher {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryRefresher.class);
+
+    private final VimInventory inventory;
+    private final ObjectProvider<InventorySource> source;
+
+    public InventoryRefresher(VimInventory inventory, ObjectProvider<InventorySource> source) {
+        this.inventory = inventory;
+        this.source = source;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${vim.inventory.refresh-interval-ms:30000}")
+    public void refresh() {
+        InventorySource vim = source.getIfAvailable();
+        if (vim == null) {
+            return;
+        }
+        try {
+            inventory.refresh(vim).join();
+            log.debug("Refreshed VIM inventory: {}", inventory.snapshot());
+        } catch (Exception e) {
+            log.warn("VIM inventory refresh failed, keeping previous view: {}", e.getMessage());
+        }
+    }
+}
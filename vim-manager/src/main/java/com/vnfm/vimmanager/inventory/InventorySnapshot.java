@@ -0,0 +1,15 @@
+package com.vnfm.vimmanager.inventory;
+
+/**
+ * Quota and usage of a VIM as reported by the VIM itself. Limits of {@link #UNLIMITED} impose no bound.
+ */
+public record InventorySnapshot(int maxInstances, int maxCpu, int maxMemoryMb,
+                                int usedInstances, int usedCpu, int usedMemoryMb) {
+
+    public static final int UNLIMITED = -1;
+
+    /** No limits and no usage: a tenant the VIM keeps no quota for. */
+    public static InventorySnapshot unlimited() {
+        return new InventorySnapshot(UNLIMITED, UNLIMITED, UNLIMITED, 0, 0, 0);
+    }
+}
@@ -0,0 +1,19 @@
+package com.vnfm.vimmanager.inventory;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * VIM adapter that can report its quota and usage, used by {@link InventoryRefresher}.
+ */
+public interface InventorySource {
+
+    default CompletableFuture<InventorySnapshot> fetchInventory() {
+        return fetchInventory(null);
+    }
+
+    /**
+     * Quota and usage of one tenant (null: of the whole VIM); {@link InventorySnapshot#unlimited()} if the VIM has
+     * no quota for that tenant.
+     */
+    CompletableFuture<InventorySnapshot> fetchInventory(String tenant);
+}
@@ -0,0 +1,350 @@
+package com.vnfm.vimmanager.inventory;
+
+import com.vnfm.vimmanager.client.ResourceDemand;
+import com.vnfm.vimmanager.client.VimRequest;
+import com.vnfm.vimmanager.client.VimResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Local capacity model of the VIM (instances, vCPUs, memory), so a reservation that cannot fit fails
+ * without a VIM round trip (and without retries against a VIM that is out of quota).
+ * <p>
+ * The VIM's quota is modelled as a whole and per tenant (resources.tenant), like the VIM checks it: a reservation
+ * for a tenant has to fit both. Usage is kept up to date from command outcomes: a reservation counts as pending
+ * while its VIM call runs (so concurrent commands cannot overbook), becomes used on success and is freed by a
+ * successful release. {@link #refresh(InventorySource)} periodically replaces limits and usage with what the VIM
+ * reports (GET /limits, and ?tenant= for every tenant seen), which corrects drift (restarts, servers created or
+ * deleted outside vim-manager). A QUOTA answer from the VIM marks the tenant of the request (or the whole VIM, for
+ * a request without one) exhausted until the next refresh or release.
+ * <p>
+ * Limits come from vim.inventory.max-* and, where the VIM reports a tighter one, from the VIM.
+ * All methods are short and in-memory; the monitor is never held across I/O.
+ * <p>
+ * With vim.client.type=multi every VIM site keeps its own inventory (metrics tagged vim=&lt;site id&gt;) and this
+ * bean is switched off.
+ */
+@Component
+public class VimInventory {
+
+    private static final Logger log = LoggerFactory.getLogger(VimInventory.class);
+    private static final String CMD_RESERVE_RESOURCES = "ReserveResources";
+    private static final String CMD_RELEASE_RESOURCES = "ReleaseResources";
+
+    private final boolean enabled;
+    private final Counter rejections;
+
+    /** The whole VIM: configured vim.inventory.max-* limits, tightened by the VIM's. */
+    private final Ledger total;
+    /** tenant -> that tenant's quota and usage at the VIM, for every tenant seen in a reservation. */
+    private final Map<String, Ledger> tenants = new HashMap<>();
+    /** vnfId -> reservation whose VIM call is running. */
+    private final Map<String, ResourceDemand> pending = new HashMap<>();
+    /** vnfId -> resources reserved for it (freed on release). */
+    private final Map<String, Allocation> allocations = new HashMap<>();
+
+    @Autowired
+    public VimInventory(MeterRegistry meterRegistry,
+                        @Value("#{${vim.inventory.enabled:true} and '${vim.client.type:in-memory}' != 'multi'}") boolean enabled,
+                        @Value("${vim.inventory.max-instances:-1}") int maxInstances,
+                        @Value("${vim.inventory.max-cpu:-1}") int maxCpu,
+                        @Value("${vim.inventory.max-memory-mb:-1}") int maxMemoryMb) {
+        this(meterRegistry, enabled, maxInstances, maxCpu, maxMemoryMb, Tags.empty());
+    }
+
+    public VimInventory(MeterRegistry meterRegistry, boolean enabled, int maxInstances, int maxCpu, int maxMemoryMb,
+                        Iterable<Tag> tags) {
+        this.enabled = enabled;
+        this.total = new Ledger("VIM", maxInstances, maxCpu, maxMemoryMb);
+        this.rejections = Counter.builder("vim.inventory.rejections").tags(tags)
+                .description("Reservations failed locally for lack of VIM capacity")
+                .register(meterRegistry);
+        Gauge.builder("vim.inventory.used", this, inv -> inv.snapshot().usedInstances()).tags(tags).tag("resource", "instances").register(meterRegistry);
+        Gauge.builder("vim.inventory.used", this, inv -> inv.snapshot().usedCpu()).tags(tags).tag("resource", "cpu").register(meterRegistry);
+        Gauge.builder("vim.inventory.used", this, inv -> inv.snapshot().usedMemoryMb()).tags(tags).tag("resource", "memoryMb").register(meterRegistry);
+    }
+
+    /**
+     * Books a ReserveResources request as pending if it fits the VIM and its tenant. Other commands always pass.
+     *
+     * @return the rejection reason if the reservation does not fit, empty if the VIM should be called
+     */
+    public synchronized Optional<String> tryReserve(VimRequest request) {
+        if (!enabled || !CMD_RESERVE_RESOURCES.equals(request.getCommandType())) {
+            return Optional.empty();
+        }
+        if (pending.containsKey(request.getVnfId())) {
+            // Same reservation executed again (retry or take-over): already booked
+            return Optional.empty();
+        }
+        ResourceDemand demand = ResourceDemand.of(request);
+        Ledger tenant = demand.tenant() != null ? tenants.computeIfAbsent(demand.tenant(), Ledger::forTenant) : null;
+        String reason = total.rejection(demand);
+        if (reason == null && tenant != null) {
+            reason = tenant.rejection(demand);
+        }
+        if (reason != null) {
+            rejections.increment();
+            log.debug("Rejected reservation for vnfId={} locally: {}", request.getVnfId(), reason);
+            return Optional.of("Insufficient VIM capacity (local inventory): " + reason);
+        }
+        pending.put(request.getVnfId(), demand);
+        total.book(demand);
+        if (tenant != null) {
+            tenant.book(demand);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * True if a reservation of {@code demand} would pass {@link #tryReserve} now; books nothing.
+     */
+    public synchronized boolean fits(ResourceDemand demand) {
+        if (!enabled) {
+            return true;
+        }
+        Ledger tenant = demand.tenant() != null ? tenants.get(demand.tenant()) : null;
+        return total.rejection(demand) == null && (tenant == null || tenant.rejection(demand) == null);
+    }
+
+    /**
+     * Applies the VIM's answer to a command that passed {@link #tryReserve}.
+     */
+    public synchronized void record(VimRequest request, VimResponse response) {
+        if (!enabled) {
+            return;
+        }
+        if (CMD_RESERVE_RESOURCES.equals(request.getCommandType())) {
+            ResourceDemand demand = unbook(request);
+            Ledger tenant = demand.tenant() != null ? tenants.computeIfAbsent(demand.tenant(), Ledger::forTenant) : null;
+            if (response.isSuccess()) {
+                allocations.merge(request.getVnfId(), new Allocation(demand.tenant(), 1, demand.cpu(), demand.memoryMb()),
+                        Allocation::plus);
+                total.use(1, demand.cpu(), demand.memoryMb());
+                if (tenant != null) {
+                    tenant.use(1, demand.cpu(), demand.memoryMb());
+                }
+            } else if (response.isQuotaExceeded()) {
+                (tenant != null ? tenant : total).exhausted = true;
+                log.info("VIM rejected reservation for vnfId={} with QUOTA; failing reservations of {} locally until next refresh",
+                        request.getVnfId(), tenant != null ? "tenant " + demand.tenant() : "the VIM");
+            }
+        } else if (CMD_RELEASE_RESOURCES.equals(request.getCommandType()) && response.isSuccess()) {
+            Allocation released = allocations.remove(request.getVnfId());
+            if (released != null) {
+                total.free(released);
+                Ledger tenant = released.tenant() != null ? tenants.get(released.tenant()) : null;
+                if (tenant != null) {
+                    tenant.free(released);
+                }
+            }
+            // Capacity was freed at the VIM: a tenant flagged because the VIM as a whole was full may fit again
+            total.exhausted = false;
+            tenants.values().forEach(t -> t.exhausted = false);
+        }
+    }
+
+    /**
+     * Drops the pending booking of a command whose VIM call threw (it will be retried from scratch).
+     */
+    public synchronized void cancel(VimRequest request) {
+        if (enabled && CMD_RESERVE_RESOURCES.equals(request.getCommandType())) {
+            unbook(request);
+        }
+    }
+
+    /**
+     * Reloads limits and usage from the VIM: the whole VIM and every tenant seen so far, in parallel. Completes
+     * exceptionally (keeping the previous view) if any of them fails; one refresh at a time.
+     * <p>
+     * Allocations stay known, so releasing one later frees its capacity locally right away. Releases recorded
+     * while the calls are in flight are subtracted from the VIM's figures: those may have been read before the
+     * release reached the VIM. Pending reservations stay booked on top.
+     */
+    public CompletableFuture<Void> refresh(InventorySource source) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<String> names;
+        synchronized (this) {
+            total.startRefresh();
+            tenants.values().forEach(Ledger::startRefresh);
+            names = new ArrayList<>(tenants.keySet());
+        }
+        CompletableFuture<InventorySnapshot> vim = source.fetchInventory(null);
+        Map<String, CompletableFuture<InventorySnapshot>> perTenant = new LinkedHashMap<>();
+        names.forEach(name -> perTenant.put(name, source.fetchInventory(name)));
+        List<CompletableFuture<?>> calls = new ArrayList<>(perTenant.values());
+        calls.add(vim);
+        return CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).thenAccept(done -> {
+            synchronized (this) {
+                total.apply(vim.join());
+                perTenant.forEach((name, snapshot) -> tenants.get(name).apply(snapshot.join()));
+            }
+        });
+    }
+
+    /**
+     * Current limits and usage of the whole VIM, pending reservations included.
+     */
+    public synchronized InventorySnapshot snapshot() {
+        return total.snapshot();
+    }
+
+    /**
+     * Current limits and usage of a tenant, pending reservations included; empty for a tenant not seen yet.
+     */
+    public synchronized Optional<InventorySnapshot> snapshot(String tenant) {
+        Ledger ledger = tenants.get(tenant);
+        return ledger == null ? Optional.empty() : Optional.of(ledger.snapshot());
+    }
+
+    private ResourceDemand unbook(VimRequest request) {
+        ResourceDemand demand = pending.remove(request.getVnfId());
+        if (demand == null) {
+            return ResourceDemand.of(request);
+        }
+        total.unbook(demand);
+        Ledger tenant = demand.tenant() != null ? tenants.get(demand.tenant()) : null;
+        if (tenant != null) {
+            tenant.unbook(demand);
+        }
+        return demand;
+    }
+
+    private static boolean exceeds(int value, int limit) {
+        return limit != InventorySnapshot.UNLIMITED && value > limit;
+    }
+
+    private static int tighter(int configured, int reported) {
+        if (configured == InventorySnapshot.UNLIMITED) {
+            return reported;
+        }
+        return reported == InventorySnapshot.UNLIMITED ? configured : Math.min(configured, reported);
+    }
+
+    /** Limits and usage of the VIM or of one tenant. Guarded by the inventory's monitor. */
+    private static final class Ledger {
+
+        private final String name;
+        private final int configuredMaxInstances;
+        private final int configuredMaxCpu;
+        private final int configuredMaxMemoryMb;
+
+        private int maxInstances;
+        private int maxCpu;
+        private int maxMemoryMb;
+        private int usedInstances;
+        private int usedCpu;
+        private int usedMemoryMb;
+        private int pendingInstances;
+        private int pendingCpu;
+        private int pendingMemoryMb;
+        private boolean exhausted;
+        /** Released since the running refresh started; subtracted from the figures it brings back. */
+        private Allocation releasedDuringRefresh = Allocation.NONE;
+
+        Ledger(String name, int maxInstances, int maxCpu, int maxMemoryMb) {
+            this.name = name;
+            this.configuredMaxInstances = maxInstances;
+            this.configuredMaxCpu = maxCpu;
+            this.configuredMaxMemoryMb = maxMemoryMb;
+            this.maxInstances = maxInstances;
+            this.maxCpu = maxCpu;
+            this.maxMemoryMb = maxMemoryMb;
+        }
+
+        /** A tenant's quota is only known from the VIM: unlimited until the first refresh. */
+        static Ledger forTenant(String tenant) {
+            return new Ledger("tenant " + tenant, InventorySnapshot.UNLIMITED, InventorySnapshot.UNLIMITED,
+                    InventorySnapshot.UNLIMITED);
+        }
+
+        String rejection(ResourceDemand demand) {
+            if (exhausted) {
+                return name + " reported quota exhausted";
+            }
+            if (exceeds(usedInstances + pendingInstances + 1, maxInstances)) {
+                return name + " instances " + (usedInstances + pendingInstances) + "/" + maxInstances + " in use";
+            }
+            if (exceeds(usedCpu + pendingCpu + demand.cpu(), maxCpu)) {
+                return name + " vCPUs " + (usedCpu + pendingCpu) + "/" + maxCpu + " in use, " + demand.cpu() + " requested";
+            }
+            if (exceeds(usedMemoryMb + pendingMemoryMb + demand.memoryMb(), maxMemoryMb)) {
+                return name + " memory " + (usedMemoryMb + pendingMemoryMb) + "/" + maxMemoryMb + " MB in use, "
+                        + demand.memoryMb() + " MB requested";
+            }
+            return null;
+        }
+
+        void book(ResourceDemand demand) {
+            pendingInstances++;
+            pendingCpu += demand.cpu();
+            pendingMemoryMb += demand.memoryMb();
+        }
+
+        void unbook(ResourceDemand demand) {
+            pendingInstances--;
+            pendingCpu -= demand.cpu();
+            pendingMemoryMb -= demand.memoryMb();
+        }
+
+        void use(int instances, int cpu, int memoryMb) {
+            usedInstances += instances;
+            usedCpu += cpu;
+            usedMemoryMb += memoryMb;
+        }
+
+        void free(Allocation released) {
+            usedInstances = Math.max(0, usedInstances - released.instances());
+            usedCpu = Math.max(0, usedCpu - released.cpu());
+            usedMemoryMb = Math.max(0, usedMemoryMb - released.memoryMb());
+            releasedDuringRefresh = releasedDuringRefresh.plus(released);
+        }
+
+        void startRefresh() {
+            releasedDuringRefresh = Allocation.NONE;
+        }
+
+        void apply(InventorySnapshot vim) {
+            maxInstances = tighter(configuredMaxInstances, vim.maxInstances());
+            maxCpu = tighter(configuredMaxCpu, vim.maxCpu());
+            maxMemoryMb = tighter(configuredMaxMemoryMb, vim.maxMemoryMb());
+            usedInstances = Math.max(0, vim.usedInstances() - releasedDuringRefresh.instances());
+            usedCpu = Math.max(0, vim.usedCpu() - releasedDuringRefresh.cpu());
+            usedMemoryMb = Math.max(0, vim.usedMemoryMb() - releasedDuringRefresh.memoryMb());
+            releasedDuringRefresh = Allocation.NONE;
+            exhausted = false;
+        }
+
+        InventorySnapshot snapshot() {
+            return new InventorySnapshot(maxInstances, maxCpu, maxMemoryMb,
+                    usedInstances + pendingInstances, usedCpu + pendingCpu, usedMemoryMb + pendingMemoryMb);
+        }
+    }
+
+    private record Allocation(String tenant, int instances, int cpu, int memoryMb) {
+
+        static final Allocation NONE = new Allocation(null, 0, 0, 0);
+
+        Allocation plus(Allocation other) {
+            return new Allocation(tenant, instances + other.instances, cpu + other.cpu, memoryMb + other.memoryMb);
+        }
+    }
+}
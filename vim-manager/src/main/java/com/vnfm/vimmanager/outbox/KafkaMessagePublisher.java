@@ -4,6 +4,7 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Publishes outbox messages to Kafka. Destination (e.g. vim.replies) is used as topic name.
@@ -22,12 +23,22 @@ public class KafkaMessagePublisher implements MessagePublisher {
     }
 
     @Override
-    public void publish(OutboxMessage message) {
+    public CompletableFuture<Void> publishAsync(OutboxMessage message) {
         String topic = DESTINATION_TO_TOPIC.getOrDefault(message.getDestination(), message.getDestination());
+        CompletableFuture<Void> published = new CompletableFuture<>();
         try {
-            kafkaTemplate.send(topic, message.getMessageId(), message.getPayload()).get();
+            kafkaTemplate.send(topic, message.getMessageId(), message.getPayload()).whenComplete((result, error) -> {
+                if (error == null) {
+                    published.complete(null);
+                } else {
+                    published.completeExceptionally(new PublishException(
+                            "Failed to publish message " + message.getMessageId() + " to " + topic, error));
+                }
+            });
         } catch (Exception e) {
-            throw new PublishException("Failed to publish message " + message.getMessageId() + " to " + topic, e);
+            published.completeExceptionally(new PublishException(
+                    "Failed to publish message " + message.getMessageId() + " to " + topic, e));
         }
+        return published;
     }
 }
@@ -1,6 +1,21 @@
 package com.vnfm.vimmanager.outbox;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 public interface MessagePublisher {
 
-    void publish(OutboxMessage message);
+    /**
+     * Sends the message without waiting; the future completes once the broker has acknowledged it,
+     * or exceptionally with {@link PublishException}.
+     */
+    CompletableFuture<Void> publishAsync(OutboxMessage message);
+
+    default void publish(OutboxMessage message) {
+        try {
+            publishAsync(message).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof PublishException p ? p : new PublishException(e.getMessage(), e.getCause());
+        }
+    }
 }
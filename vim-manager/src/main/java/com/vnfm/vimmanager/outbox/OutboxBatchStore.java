@@ -0,0 +1,98 @@
+package com.vnfm.vimmanager.outbox;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Batch access to the outbox for {@link OutboxForwarder}: claim a bounded batch of due rows, then mark the
+ * sent ones in one statement and the failed ones in one JDBC batch.
+ * <p>
+ * Claiming locks due rows with {@code FOR UPDATE SKIP LOCKED} and pushes their next_retry_at forward by the
+ * lease, all in one short transaction. Other replicas skip locked rows and no longer see leased ones as due,
+ * so several vim-manager instances drain the outbox in parallel without sending a row twice. If the claiming
+ * instance dies, the rows become due again when the lease runs out.
+ */
+@Repository
+public class OutboxBatchStore {
+
+    private static final String SELECT_DUE_SQL =
+            "SELECT id, message_id, destination, message_type, payload, retry_count FROM outbox "
+                    + "WHERE status = 'PENDING' AND next_retry_at <= ? ORDER BY next_retry_at LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String MARK_SENT_SQL = "UPDATE outbox SET status = 'SENT', last_error = NULL WHERE id IN (%s)";
+    private static final String MARK_FAILED_SQL =
+            "UPDATE outbox SET retry_count = ?, last_error = ?, next_retry_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxBatchStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Claims up to {@code limit} due PENDING rows (oldest next_retry_at first) for {@code lease}.
+     */
+    @Transactional
+    public List<ClaimedMessage> claimDue(int limit, Duration lease) {
+        Instant now = Instant.now();
+        List<ClaimedMessage> claimed = jdbcTemplate.query(SELECT_DUE_SQL, (rs, row) -> new ClaimedMessage(
+                rs.getLong("id"),
+                rs.getString("message_id"),
+                rs.getString("destination"),
+                rs.getString("message_type"),
+                rs.getString("payload"),
+                rs.getInt("retry_count")), Timestamp.from(now), limit);
+        if (!claimed.isEmpty()) {
+            jdbcTemplate.update("UPDATE outbox SET next_retry_at = ? WHERE id IN (" + ids(claimed) + ")",
+                    Timestamp.from(now.plus(lease)));
+        }
+        return claimed;
+    }
+
+    public void markSent(List<ClaimedMessage> sent) {
+        if (!sent.isEmpty()) {
+            jdbcTemplate.update(MARK_SENT_SQL.formatted(ids(sent)));
+        }
+    }
+
+    public void markFailed(List<FailedMessage> failed) {
+        if (failed.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(MARK_FAILED_SQL, failed.stream()
+                .map(f -> new Object[]{
+                        f.message().retryCount() + 1,
+                        truncate(f.error()),
+                        Timestamp.from(f.nextRetryAt()),
+                        f.message().id()
+                })
+                .toList());
+    }
+
+    private static String ids(List<ClaimedMessage> messages) {
+        return messages.stream().map(m -> Long.toString(m.id())).collect(Collectors.joining(","));
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 2048 ? error.substring(0, 2048) : error;
+    }
+
+    /** A claimed outbox row. */
+    public record ClaimedMessage(long id, String messageId, String destination, String messageType,
+                                 String payload, int retryCount) {
+
+        OutboxMessage toMessage() {
+            return new OutboxMessage(messageId, destination, messageType, payload);
+        }
+    }
+
+    /** A claimed row whose send failed, with its next attempt time. */
+    public record FailedMessage(ClaimedMessage message, String error, Instant nextRetryAt) {
+    }
+}
@@ -1,54 +1,164 @@
 package com.vnfm.vimmanager.outbox;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Scheduled job: poll outbox for PENDING messages and publish to Kafka (vim.replies).
+ * Publishes outbox rows (vim.replies) to Kafka in pipelined batches.
+ * <p>
+ * A drain claims up to batch-size due rows ({@link OutboxBatchStore#claimDue}), sends them all without
+ * waiting in between, waits for the acknowledgements (at most send-timeout-ms), then marks the sent rows
+ * in one UPDATE and reschedules the failed ones with exponential backoff. It repeats while batches come back
+ * full. No transaction or connection is held while the sends are in flight.
+ * <p>
+ * Drains run on one forwarder thread and are triggered right after a transaction that wrote outbox rows
+ * commits ({@link OutboxWrittenEvent}), so a reply normally leaves within one broker round trip. The
+ * fixed-delay poll remains as a fallback for retries and rows left by other instances.
  */
 @Component
-public class OutboxForwarder {
+public class OutboxForwarder implements DisposableBean {
 
     private static final Logger log = LoggerFactory.getLogger(OutboxForwarder.class);
     private static final int BASE_DELAY_SECONDS = 2;
 
-    private final OutboxRepository outboxRepository;
+    private final OutboxBatchStore outboxBatchStore;
     private final MessagePublisher messagePublisher;
+    private final int batchSize;
+    private final Duration lease;
+    private final long sendTimeoutMs;
+    private final DistributionSummary batchSizes;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "outbox-forwarder");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
 
-    public OutboxForwarder(OutboxRepository outboxRepository, MessagePublisher messagePublisher) {
-        this.outboxRepository = outboxRepository;
+    public OutboxForwarder(OutboxBatchStore outboxBatchStore,
+                           MessagePublisher messagePublisher,
+                           MeterRegistry meterRegistry,
+                           @Value("${vim.outbox.forwarder.batch-size:200}") int batchSize,
+                           @Value("${vim.outbox.forwarder.lease-ms:30000}") long leaseMs,
+                           @Value("${vim.outbox.forwarder.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.outboxBatchStore = outboxBatchStore;
         this.messagePublisher = messagePublisher;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.batchSizes = DistributionSummary.builder("vim.outbox.forwarder.batch.size")
+                .description("Outbox rows claimed per forwarder batch")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOutboxWritten(OutboxWrittenEvent event) {
+        wakeUp();
     }
 
     @Scheduled(fixedDelayString = "${vim.outbox.forwarder.fixed-delay:5000}")
-    @Transactional
-    public void forward() {
+    public void poll() {
+        wakeUp();
+    }
+
+    /**
+     * Queues a drain on the forwarder thread unless one is already queued; wakeups during a drain queue the next.
+     */
+    public void wakeUp() {
+        if (drainQueued.compareAndSet(false, true)) {
+            worker.execute(() -> {
+                drainQueued.set(false);
+                try {
+                    drain();
+                } catch (Exception e) {
+                    log.error("Outbox drain failed", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Forwards batches until fewer than batch-size rows are due. Returns the number of rows claimed.
+     */
+    public int drain() {
+        int total = 0;
+        int claimed;
+        do {
+            claimed = forwardBatch();
+            total += claimed;
+        } while (claimed == batchSize);
+        return total;
+    }
+
+    private int forwardBatch() {
+        List<OutboxBatchStore.ClaimedMessage> batch = outboxBatchStore.claimDue(batchSize, lease);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        batchSizes.record(batch.size());
+        List<CompletableFuture<Void>> sends = new ArrayList<>(batch.size());
+        for (OutboxBatchStore.ClaimedMessage message : batch) {
+            sends.add(messagePublisher.publishAsync(message.toMessage()));
+        }
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Failed or timed-out sends are handled per message below
+        }
+
         Instant now = Instant.now();
-        List<OutboxMessage> due = outboxRepository.findByStatusAndNextRetryAtLessThanEqualOrderByNextRetryAtAsc(
-                OutboxStatus.PENDING, now);
-
-        for (OutboxMessage message : due) {
-            try {
-                messagePublisher.publish(message);
-                message.setStatus(OutboxStatus.SENT);
-                message.setLastError(null);
-                outboxRepository.save(message);
-                log.debug("Published outbox message id={} destination={}", message.getMessageId(), message.getDestination());
-            } catch (PublishException e) {
-                int retryCount = message.getRetryCount() + 1;
-                message.setRetryCount(retryCount);
-                message.setLastError(e.getMessage());
-                long delaySeconds = (long) (BASE_DELAY_SECONDS * Math.pow(2, retryCount));
-                message.setNextRetryAt(now.plusSeconds(delaySeconds));
-                outboxRepository.save(message);
-                log.warn("Publish failed for message id={}, retryCount={}: {}", message.getMessageId(), retryCount, e.getMessage());
+        List<OutboxBatchStore.ClaimedMessage> sent = new ArrayList<>(batch.size());
+        List<OutboxBatchStore.FailedMessage> failed = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxBatchStore.ClaimedMessage message = batch.get(i);
+            CompletableFuture<Void> send = sends.get(i);
+            if (send.isDone() && !send.isCompletedExceptionally()) {
+                sent.add(message);
+                continue;
             }
+            String error = send.isDone() ? cause(send) : "Send not acknowledged within " + sendTimeoutMs + " ms";
+            int retryCount = message.retryCount() + 1;
+            Instant nextRetryAt = now.plusSeconds((long) (BASE_DELAY_SECONDS * Math.pow(2, retryCount)));
+            failed.add(new OutboxBatchStore.FailedMessage(message, error, nextRetryAt));
+            log.warn("Publish failed for message id={}, retryCount={}: {}", message.messageId(), retryCount, error);
         }
+        outboxBatchStore.markSent(sent);
+        outboxBatchStore.markFailed(failed);
+        log.debug("Forwarded outbox batch: {} sent, {} failed", sent.size(), failed.size());
+        return batch.size();
+    }
+
+    private static String cause(CompletableFuture<Void> send) {
+        try {
+            send.join();
+            return null;
+        } catch (CompletionException e) {
+            return e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        worker.shutdownNow();
     }
 }
@@ -0,0 +1,7 @@
+package com.vnfm.vimmanager.outbox;
+
+/**
+ * Published in the transaction that inserted outbox rows; {@link OutboxForwarder} wakes up once it commits.
+ */
+public record OutboxWrittenEvent() {
+}
@@ -0,0 +1,111 @@
+package com.vnfm.vimmanager.registry;
+
+import com.vnfm.vimmanager.client.AsyncVimClient;
+import com.vnfm.vimmanager.client.ResourceDemand;
+import com.vnfm.vimmanager.client.VimClient;
+import com.vnfm.vimmanager.client.VimRequest;
+import com.vnfm.vimmanager.client.VimResponse;
+import com.vnfm.vimmanager.domain.VimPlacementRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * VimClient for vim.client.type=multi: routes each command to one site of the {@link VimRegistry}.
+ * <ul>
+ *   <li>ReserveResources: by the command's resources.vimId, else resources.region and/or resources.tenant
+ *       (preferring sites whose inventory fits the request), else the default site. No matching site is a failure reply. On success the site is returned as vimId in
+ *       the reply result; {@link com.vnfm.vimmanager.application.CommandLedger} stores it in vim_placements in the
+ *       reply's transaction.</li>
+ *   <li>ReleaseResources: to the site in vim_placements (the ledger removes the placement with the reply). A VNF
+ *       without a placement (reserved before multi mode, or placement lost) is released on every site.</li>
+ * </ul>
+ * Each site runs its calls behind its own bulkhead ({@link VimSite}), so a slow or failing site delays and fails
+ * only the commands routed to it.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "vim.client.type", havingValue = "multi")
+public class MultiVimClient implements AsyncVimClient, VimClient {
+
+    private static final Logger log = LoggerFactory.getLogger(MultiVimClient.class);
+    private static final String CMD_RELEASE_RESOURCES = "ReleaseResources";
+
+    private final VimRegistry registry;
+    private final VimPlacementRepository placements;
+
+    public MultiVimClient(VimRegistry registry, VimPlacementRepository placements) {
+        this.registry = registry;
+        this.placements = placements;
+    }
+
+    @Override
+    public CompletableFuture<VimResponse> executeAsync(VimRequest request) {
+        return CMD_RELEASE_RESOURCES.equals(request.getCommandType()) ? release(request) : reserve(request);
+    }
+
+    @Override
+    public VimResponse execute(VimRequest request) {
+        return executeAsync(request).join();
+    }
+
+    private CompletableFuture<VimResponse> reserve(VimRequest request) {
+        Map<?, ?> resources = request.getBody() != null && request.getBody().get("resources") instanceof Map<?, ?> r
+                ? r : Map.of();
+        String vimId = text(resources, "vimId");
+        String region = text(resources, "region");
+        ResourceDemand demand = ResourceDemand.of(request);
+        Optional<VimSite> selected = registry.select(vimId, region, demand);
+        if (selected.isEmpty()) {
+            return CompletableFuture.completedFuture(VimResponse.fail(
+                    "No VIM site for vimId=" + vimId + ", region=" + region + ", tenant=" + demand.tenant()));
+        }
+        VimSite site = selected.get();
+        return site.executeAsync(request).thenApply(response -> response.isSuccess() ? withVimId(response, site.id()) : response);
+    }
+
+    private CompletableFuture<VimResponse> release(VimRequest request) {
+        Optional<VimSite> placed = Optional.ofNullable(request.getVnfId())
+                .flatMap(placements::findById)
+                .flatMap(placement -> registry.site(placement.getVimId()));
+        if (placed.isPresent()) {
+            VimSite site = placed.get();
+            return site.executeAsync(request).thenApply(response -> response.isSuccess() ? withVimId(response, site.id()) : response);
+        }
+        log.debug("No placement for vnfId={}, releasing on every VIM site", request.getVnfId());
+        List<VimSite> sites = registry.sites();
+        List<CompletableFuture<VimResponse>> calls = sites.stream().map(site -> site.executeAsync(request)).toList();
+        return CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).thenApply(done -> {
+            int released = 0;
+            for (int i = 0; i < sites.size(); i++) {
+                VimResponse response = calls.get(i).join();
+                if (!response.isSuccess()) {
+                    return VimResponse.fail("Release on VIM " + sites.get(i).id() + " failed: " + response.getErrorMessage());
+                }
+                if (response.getResult() != null && response.getResult().get("releasedServers") instanceof Number n) {
+                    released += n.intValue();
+                }
+            }
+            return VimResponse.ok(Map.of("vnfId", String.valueOf(request.getVnfId()), "releasedServers", released));
+        });
+    }
+
+    private static VimResponse withVimId(VimResponse response, String vimId) {
+        Map<String, Object> result = response.getResult() != null ? new HashMap<>(response.getResult()) : new HashMap<>();
+        result.put("vimId", vimId);
+        return VimResponse.ok(result);
+    }
+
+    private static String text(Map<?, ?> resources, String key) {
+        Object value = resources.get(key);
+        return value != null ? value.toString() : null;
+    }
+}
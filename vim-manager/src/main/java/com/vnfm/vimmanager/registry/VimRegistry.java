@@ -0,0 +1,177 @@
+package com.vnfm.vimmanager.registry;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vnfm.vimmanager.client.AdaptiveConcurrencyLimiter;
+import com.vnfm.vimmanager.client.HttpVimClient;
+import com.vnfm.vimmanager.client.ResilientAsyncVimClient;
+import com.vnfm.vimmanager.client.ResourceDemand;
+import com.vnfm.vimmanager.inventory.VimInventory;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The VIM sites of vim.client.type=multi (vim.registry.sites), each built as an isolated {@link VimSite}:
+ * <ul>
+ *   <li>its own {@link HttpVimClient}, i.e. its own connection pool, on its own io-threads executor;</li>
+ *   <li>its own {@link AdaptiveConcurrencyLimiter} (max-concurrency, max-queue, queue-timeout-ms; the remaining
+ *       tuning from vim.client.concurrency.*);</li>
+ *   <li>circuit breaker and retry instances named vim-{id}: taken from resilience4j.*.instances.vim-{id} if
+ *       configured, otherwise created with the settings of the vimClient instances;</li>
+ *   <li>its own {@link VimInventory} (site max-* limits, refreshed from the site's GET /limits).</li>
+ * </ul>
+ * Metrics of a site carry the tag vim={id}.
+ */
+@Component
+@ConditionalOnProperty(name = "vim.client.type", havingValue = "multi")
+public class VimRegistry implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(VimRegistry.class);
+    private static final String BASE_INSTANCE = "vimClient";
+
+    private final Map<String, VimSite> sites = new LinkedHashMap<>();
+    private final VimSite defaultSite;
+    private final boolean inventoryEnabled;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+
+    public VimRegistry(VimRegistryProperties properties,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry,
+                       CircuitBreakerRegistry circuitBreakerRegistry,
+                       RetryRegistry retryRegistry,
+                       @Value("${vim.client.concurrency.enabled:true}") boolean concurrencyEnabled,
+                       @Value("${vim.client.concurrency.initial-limit:20}") int initialLimit,
+                       @Value("${vim.client.concurrency.min-limit:2}") int minLimit,
+                       @Value("${vim.client.concurrency.latency-tolerance:2.0}") double latencyTolerance,
+                       @Value("${vim.client.concurrency.backoff-ratio:0.9}") double backoffRatio,
+                       @Value("${vim.client.concurrency.baseline-window:500}") int baselineWindow,
+                       @Value("${vim.inventory.enabled:true}") boolean inventoryEnabled) {
+        this.inventoryEnabled = inventoryEnabled;
+        if (properties.getSites().isEmpty()) {
+            throw new IllegalStateException("vim.client.type=multi needs at least one vim.registry.sites entry");
+        }
+        CircuitBreaker baseBreaker = circuitBreakerRegistry.circuitBreaker(BASE_INSTANCE);
+        Retry baseRetry = retryRegistry.retry(BASE_INSTANCE);
+        for (VimRegistryProperties.Site site : properties.getSites()) {
+            if (site.getId() == null || site.getBaseUrl() == null) {
+                throw new IllegalStateException("Every vim.registry.sites entry needs an id and a base-url");
+            }
+            if (sites.containsKey(site.getId())) {
+                throw new IllegalStateException("Duplicate VIM site id " + site.getId());
+            }
+            Tags tags = Tags.of("vim", site.getId());
+            String instance = "vim-" + site.getId();
+            ExecutorService io = Executors.newFixedThreadPool(Math.max(1, site.getIoThreads()),
+                    daemon("vim-" + site.getId() + "-io"));
+            HttpVimClient http = new HttpVimClient(objectMapper, meterRegistry, site.getBaseUrl(),
+                    site.getConnectTimeoutMs(), site.getRequestTimeoutMs(), io, tags);
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(meterRegistry, concurrencyEnabled,
+                    Math.min(initialLimit, site.getMaxConcurrency()), minLimit, site.getMaxConcurrency(),
+                    latencyTolerance, backoffRatio, baselineWindow, site.getMaxQueue(), site.getQueueTimeoutMs(), tags);
+            CircuitBreaker breaker = circuitBreakerRegistry.find(instance)
+                    .orElseGet(() -> circuitBreakerRegistry.circuitBreaker(instance, baseBreaker.getCircuitBreakerConfig()));
+            Retry retry = retryRegistry.find(instance)
+                    .orElseGet(() -> retryRegistry.retry(instance, baseRetry.getRetryConfig()));
+            VimInventory inventory = new VimInventory(meterRegistry, inventoryEnabled,
+                    site.getMaxInstances(), site.getMaxCpu(), site.getMaxMemoryMb(), tags);
+            sites.put(site.getId(), new VimSite(site, http, new ResilientAsyncVimClient(http, limiter, breaker, retry),
+                    breaker, inventory, io));
+            log.info("VIM site {} (region={}, tenants={}) at {}", site.getId(), site.getRegion(), site.getTenants(), site.getBaseUrl());
+        }
+        String defaultId = properties.getDefaultSite();
+        if (defaultId != null && !defaultId.isBlank()) {
+            if (!sites.containsKey(defaultId)) {
+                throw new IllegalStateException("vim.registry.default-site " + defaultId + " is not a configured site");
+            }
+            this.defaultSite = sites.get(defaultId);
+        } else {
+            this.defaultSite = sites.size() == 1 ? sites.values().iterator().next() : null;
+        }
+    }
+
+    public List<VimSite> sites() {
+        return new ArrayList<>(sites.values());
+    }
+
+    public Optional<VimSite> site(String id) {
+        return Optional.ofNullable(sites.get(id));
+    }
+
+    /**
+     * Picks the site for a reservation: the named vimId, else a site matching region and the demand's tenant,
+     * else the default site. Among matching sites, those with an open circuit or whose inventory would reject
+     * the demand are taken only if no other matches (round-robin among equals).
+     */
+    public Optional<VimSite> select(String vimId, String region, ResourceDemand demand) {
+        String tenant = demand.tenant();
+        if (vimId != null) {
+            return site(vimId);
+        }
+        if (region == null && tenant == null) {
+            return Optional.ofNullable(defaultSite);
+        }
+        List<VimSite> matching = sites.values().stream()
+                .filter(s -> region == null || region.equals(s.region()))
+                .filter(s -> tenant == null || s.serves(tenant))
+                .toList();
+        if (matching.isEmpty()) {
+            return Optional.empty();
+        }
+        List<VimSite> available = matching.stream().filter(VimSite::isAvailable).toList();
+        List<VimSite> fitting = available.stream().filter(s -> s.fits(demand)).toList();
+        List<VimSite> candidates = !fitting.isEmpty() ? fitting : !available.isEmpty() ? available : matching;
+        return Optional.of(candidates.get(Math.floorMod(roundRobin.getAndIncrement(), candidates.size())));
+    }
+
+    /**
+     * Reloads every site's quota and usage in parallel; a site that does not answer keeps its previous view.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${vim.inventory.refresh-interval-ms:30000}")
+    public void refreshInventories() {
+        if (!inventoryEnabled) {
+            return;
+        }
+        CompletableFuture<?>[] refreshes = sites.values().stream()
+                .map(site -> site.refreshInventory().exceptionally(e -> {
+                    log.warn("Inventory refresh of VIM {} failed, keeping previous view: {}", site.id(), e.getMessage());
+                    return null;
+                }))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(refreshes).join();
+    }
+
+    @Override
+    public void destroy() {
+        sites.values().forEach(VimSite::close);
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
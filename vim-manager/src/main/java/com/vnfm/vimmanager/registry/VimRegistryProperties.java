@@ -0,0 +1,181 @@
+package com.vnfm.vimmanager.registry;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * VIM sites for vim.client.type=multi (vim.registry.*). Each site is a vim-simulator compatible endpoint
+ * serving one region and, optionally, a set of tenants.
+ */
+@ConfigurationProperties(prefix = "vim.registry")
+public class VimRegistryProperties {
+
+    /**
+     * Site used for reservations that name neither vimId, region nor tenant. Empty: such reservations fail,
+     * unless only one site is configured.
+     */
+    private String defaultSite;
+
+    private List<Site> sites = new ArrayList<>();
+
+    public String getDefaultSite() {
+        return defaultSite;
+    }
+
+    public void setDefaultSite(String defaultSite) {
+        this.defaultSite = defaultSite;
+    }
+
+    public List<Site> getSites() {
+        return sites;
+    }
+
+    public void setSites(List<Site> sites) {
+        this.sites = sites;
+    }
+
+    public static class Site {
+
+        /** Unique site id; also the vim tag on metrics and the resilience4j instance name suffix (vim-{id}). */
+        private String id;
+
+        private String region;
+
+        /** Tenants served by this site; empty = any tenant. */
+        private List<String> tenants = new ArrayList<>();
+
+        private String baseUrl;
+
+        private long connectTimeoutMs = 2000;
+
+        /** Deadline per HTTP attempt. */
+        private long requestTimeoutMs = 5000;
+
+        /** Threads handling this site's HTTP responses (the site's executor bulkhead). */
+        private int ioThreads = 2;
+
+        /** Upper bound of the site's adaptive concurrency limit. */
+        private int maxConcurrency = 50;
+
+        /**
+         * Commands waiting for a permit of this site. Kept small so a slow site sheds commands instead of
+         * occupying the consumer's in-flight budget (vim.commands.consumer.max-in-flight) for every site.
+         */
+        private int maxQueue = 50;
+
+        private long queueTimeoutMs = 2000;
+
+        /** Local inventory limits of this site (-1 = unlimited; the site's GET /limits may report tighter ones). */
+        private int maxInstances = -1;
+
+        private int maxCpu = -1;
+
+        private int maxMemoryMb = -1;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getRegion() {
+            return region;
+        }
+
+        public void setRegion(String region) {
+            this.region = region;
+        }
+
+        public List<String> getTenants() {
+            return tenants;
+        }
+
+        public void setTenants(List<String> tenants) {
+            this.tenants = tenants;
+        }
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public void setBaseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public long getConnectTimeoutMs() {
+            return connectTimeoutMs;
+        }
+
+        public void setConnectTimeoutMs(long connectTimeoutMs) {
+            this.connectTimeoutMs = connectTimeoutMs;
+        }
+
+        public long getRequestTimeoutMs() {
+            return requestTimeoutMs;
+        }
+
+        public void setRequestTimeoutMs(long requestTimeoutMs) {
+            this.requestTimeoutMs = requestTimeoutMs;
+        }
+
+        public int getIoThreads() {
+            return ioThreads;
+        }
+
+        public void setIoThreads(int ioThreads) {
+            this.ioThreads = ioThreads;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public int getMaxQueue() {
+            return maxQueue;
+        }
+
+        public void setMaxQueue(int maxQueue) {
+            this.maxQueue = maxQueue;
+        }
+
+        public long getQueueTimeoutMs() {
+            return queueTimeoutMs;
+        }
+
+        public void setQueueTimeoutMs(long queueTimeoutMs) {
+            this.queueTimeoutMs = queueTimeoutMs;
+        }
+
+        public int getMaxInstances() {
+            return maxInstances;
+        }
+
+        public void setMaxInstances(int maxInstances) {
+            this.maxInstances = maxInstances;
+        }
+
+        public int getMaxCpu() {
+            return maxCpu;
+        }
+
+        public void setMaxCpu(int maxCpu) {
+            this.maxCpu = maxCpu;
+        }
+
+        public int getMaxMemoryMb() {
+            return maxMemoryMb;
+        }
+
+        public void setMaxMemoryMb(int maxMemoryMb) {
+            this.maxMemoryMb = maxMemoryMb;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.vnfm.vimmanager.registry;
+
+import com.vnfm.vimmanager.client.HttpVimClient;
+import com.vnfm.vimmanager.client.ResilientAsyncVimClient;
+import com.vnfm.vimmanager.client.ResourceDemand;
+import com.vnfm.vimmanager.client.VimRequest;
+import com.vnfm.vimmanager.client.VimResponse;
+import com.vnfm.vimmanager.inventory.VimInventory;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * One VIM endpoint of the {@link VimRegistry} with everything it does not share with other sites: HTTP client
+ * (connection pool) and response executor, adaptive concurrency limit and queue, circuit breaker, retry and
+ * capacity inventory. A slow or failing site therefore exhausts only its own permits, opens only its own breaker
+ * and sheds only its own commands.
+ */
+public class VimSite {
+
+    private final String id;
+    private final String region;
+    private final List<String> tenants;
+    private final HttpVimClient http;
+    private final ResilientAsyncVimClient client;
+    private final CircuitBreaker circuitBreaker;
+    private final VimInventory inventory;
+    private final ExecutorService ioExecutor;
+
+    VimSite(VimRegistryProperties.Site site, HttpVimClient http, ResilientAsyncVimClient client,
+            CircuitBreaker circuitBreaker, VimInventory inventory, ExecutorService ioExecutor) {
+        this.id = site.getId();
+        this.region = site.getRegion();
+        this.tenants = List.copyOf(site.getTenants());
+        this.http = http;
+        this.client = client;
+        this.circuitBreaker = circuitBreaker;
+        this.inventory = inventory;
+        this.ioExecutor = ioExecutor;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public String region() {
+        return region;
+    }
+
+    /** True if the site serves the tenant (a site without tenants serves all). */
+    public boolean serves(String tenant) {
+        return tenants.isEmpty() || tenants.contains(tenant);
+    }
+
+    /** False while the site's circuit breaker is open. */
+    public boolean isAvailable() {
+        return circuitBreaker.getState() != CircuitBreaker.State.OPEN
+                && circuitBreaker.getState() != CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    /** True if the site's inventory would accept a reservation of {@code demand}. */
+    public boolean fits(ResourceDemand demand) {
+        return inventory.fits(demand);
+    }
+
+    /**
+     * Checks the site's inventory, then calls the VIM through the site's breaker, retry and limiter.
+     * Always completes normally; failures are failed {@link VimResponse}s.
+     */
+    public CompletableFuture<VimResponse> executeAsync(VimRequest request) {
+        Optional<String> noCapacity = inventory.tryReserve(request);
+        if (noCapacity.isPresent()) {
+            return CompletableFuture.completedFuture(VimResponse.fail(VimResponse.ERROR_QUOTA, noCapacity.get() + " (VIM " + id + ")"));
+        }
+        return client.executeAsync(request).thenApply(response -> {
+            inventory.record(request, response);
+            return response;
+        });
+    }
+
+    /** Reloads the site's and its tenants' quota and usage from its GET /limits. */
+    public CompletableFuture<Void> refreshInventory() {
+        return inventory.refresh(http);
+    }
+
+    VimInventory inventory() {
+        return inventory;
+    }
+
+    void close() {
+        client.destroy();
+        ioExecutor.shutdownNow();
+    }
+}
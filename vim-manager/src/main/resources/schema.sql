@@ -1,10 +1,29 @@
--- Idempotency: processed commands (message_id from vim.commands)
+-- Idempotency + claim: processed commands (message_id from vim.commands)
+-- status IN_FLIGHT while the VIM call runs, COMPLETED once the reply is in the outbox.
+-- message_type/payload allow re-execution of abandoned IN_FLIGHT claims; attempt fences stale workers.
+-- Claims are inserted with ON CONFLICT DO NOTHING: a duplicate message_id inserts no row.
 CREATE TABLE IF NOT EXISTS processed_commands (
-    id          BIGSERIAL PRIMARY KEY,
-    message_id  VARCHAR(36) NOT NULL UNIQUE,
-    processed_at TIMESTAMP NOT NULL
+    id           BIGSERIAL PRIMARY KEY,
+    message_id   VARCHAR(36) NOT NULL UNIQUE,
+    processed_at TIMESTAMP NOT NULL,
+    status       VARCHAR(20) NOT NULL DEFAULT 'COMPLETED',
+    message_type VARCHAR(128),
+    payload      TEXT,
+    attempt      INT NOT NULL DEFAULT 1,
+    claimed_at   TIMESTAMP,
+    completed_at TIMESTAMP
 );
+-- Existing databases: add the claim columns (rows processed before this change count as COMPLETED)
+ALTER TABLE processed_commands ADD COLUMN IF NOT EXISTS status VARCHAR(20) NOT NULL DEFAULT 'COMPLETED';
+ALTER TABLE processed_commands ADD COLUMN IF NOT EXISTS message_type VARCHAR(128);
+ALTER TABLE processed_commands ADD COLUMN IF NOT EXISTS payload TEXT;
+ALTER TABLE processed_commands ADD COLUMN IF NOT EXISTS attempt INT NOT NULL DEFAULT 1;
+ALTER TABLE processed_commands ADD COLUMN IF NOT EXISTS claimed_at TIMESTAMP;
+ALTER TABLE processed_commands ADD COLUMN IF NOT EXISTS completed_at TIMESTAMP;
 CREATE UNIQUE INDEX IF NOT EXISTS idx_processed_commands_message_id ON processed_commands (message_id);
+CREATE INDEX IF NOT EXISTS idx_processed_commands_status_claimed ON processed_commands (status, claimed_at);
+-- Retention purge of COMPLETED rows, oldest first
+CREATE INDEX IF NOT EXISTS idx_processed_commands_status_completed ON processed_commands (status, completed_at);
 
 -- Outbox for vim.replies (transactional outbox pattern)
 CREATE TABLE IF NOT EXISTS outbox (
@@ -20,3 +39,10 @@ CREATE TABLE IF NOT EXISTS outbox (
     last_error      VARCHAR(2048)
 );
 CREATE INDEX IF NOT EXISTS idx_outbox_status_next_retry ON outbox (status, next_retry_at);
+
+-- VIM site holding each VNF's resources (vim.client.type=multi): releases are routed back to it
+CREATE TABLE IF NOT EXISTS vim_placements (
+    vnf_id    VARCHAR(255) PRIMARY KEY,
+    vim_id    VARCHAR(64) NOT NULL,
+    placed_at TIMESTAMP NOT NULL
+);
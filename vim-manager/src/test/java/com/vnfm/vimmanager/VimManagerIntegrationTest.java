@@ -1,17 +1,27 @@
 package com.vnfm.vimmanager;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vnfm.vimmanager.application.InFlightCommandRecovery;
+import com.vnfm.vimmanager.application.ProcessedCommandPurger;
+import com.vnfm.vimmanager.domain.CommandStatus;
+import com.vnfm.vimmanager.domain.ProcessedCommand;
 import com.vnfm.vimmanager.domain.ProcessedCommandRepository;
+import com.vnfm.vimmanager.infrastructure.CommandEnvelope;
 import com.vnfm.vimmanager.outbox.OutboxRepository;
 import com.vnfm.vimmanager.outbox.OutboxStatus;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.test.context.EmbeddedKafka;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -39,6 +49,15 @@ class VimManagerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private InFlightCommandRecovery inFlightCommandRecovery;
+
+    @Autowired
+    private ProcessedCommandPurger processedCommandPurger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void whenReserveResourcesSent_thenProcessedAndReplyInOutbox() throws Exception {
         String messageId = UUID.randomUUID().toString();
@@ -57,6 +76,112 @@ class VimManagerIntegrationTest {
 
         // Reply should be in outbox (PENDING then forwarded to SENT by OutboxForwarder)
         awaitOutboxReply(sagaId);
+        assertThat(processedCommandRepository.findByMessageId(messageId))
+                .hasValueSatisfying(c -> assertThat(c.getStatus()).isEqualTo(CommandStatus.COMPLETED));
+    }
+
+    @Test
+    void whenCommandCarriesHeaderEnvelope_thenRoutedByHeaders() throws Exception {
+        String messageId = UUID.randomUUID().toString();
+        String sagaId = UUID.randomUUID().toString();
+        // Body alone would be inferred as ReserveResources (no reason); the message_type header decides
+        String payload = objectMapper.writeValueAsString(Map.of("sagaId", sagaId, "vnfId", "vnf-6"));
+        ProducerRecord<String, String> record = new ProducerRecord<>("vim.commands", messageId, payload);
+        record.headers()
+                .add(CommandEnvelope.SCHEMA_VERSION_HEADER, "1".getBytes(StandardCharsets.UTF_8))
+                .add(CommandEnvelope.MESSAGE_TYPE_HEADER, "ReleaseResources".getBytes(StandardCharsets.UTF_8))
+                .add(CommandEnvelope.SAGA_ID_HEADER, sagaId.getBytes(StandardCharsets.UTF_8))
+                .add(CommandEnvelope.VNF_ID_HEADER, "vnf-6".getBytes(StandardCharsets.UTF_8));
+
+        kafkaTemplate.send(record).get(5, TimeUnit.SECONDS);
+
+        awaitProcessed(messageId);
+        assertThat(processedCommandRepository.findByMessageId(messageId))
+                .hasValueSatisfying(c -> assertThat(c.getMessageType()).isEqualTo("ReleaseResources"));
+    }
+
+    @Test
+    void whenEnvelopeSchemaVersionUnknown_thenSkipped() throws Exception {
+        String skipped = UUID.randomUUID().toString();
+        String next = UUID.randomUUID().toString();
+        String payload = objectMapper.writeValueAsString(Map.of("sagaId", UUID.randomUUID().toString(), "vnfId", "vnf-7"));
+        ProducerRecord<String, String> record = new ProducerRecord<>("vim.commands", skipped, payload);
+        record.headers()
+                .add(CommandEnvelope.SCHEMA_VERSION_HEADER, "99".getBytes(StandardCharsets.UTF_8))
+                .add(CommandEnvelope.MESSAGE_TYPE_HEADER, "ReserveResources".getBytes(StandardCharsets.UTF_8));
+
+        kafkaTemplate.send(record).get(5, TimeUnit.SECONDS);
+        kafkaTemplate.send("vim.commands", next, payload).get(5, TimeUnit.SECONDS);
+
+        awaitProcessed(next);
+        assertThat(processedCommandRepository.existsByMessageId(skipped)).isFalse();
+    }
+
+    @Test
+    void whenReplyRecorded_thenForwardedWithoutWaitingForThePoll() throws Exception {
+        String messageId = UUID.randomUUID().toString();
+        String sagaId = UUID.randomUUID().toString();
+        String payload = objectMapper.writeValueAsString(Map.of(
+                "sagaId", sagaId,
+                "vnfId", "vnf-5",
+                "resources", Map.of("vcpu", 1)
+        ));
+
+        kafkaTemplate.send("vim.commands", messageId, payload).get(5, TimeUnit.SECONDS);
+
+        // The forwarder poll runs every 10 s in tests; the after-commit wakeup must send the reply well before
+        for (int i = 0; i < 25; i++) {
+            boolean sent = outboxRepository.findAll().stream()
+                    .anyMatch(m -> m.getPayload().contains(sagaId) && m.getStatus() == OutboxStatus.SENT);
+            if (sent) {
+                return;
+            }
+            Thread.sleep(200);
+        }
+        throw new AssertionError("Reply for sagaId=" + sagaId + " was not forwarded within 5 s");
+    }
+
+    @Test
+    void whenClaimAbandonedInFlight_thenRecoveryReExecutesIt() throws Exception {
+        String messageId = UUID.randomUUID().toString();
+        String sagaId = UUID.randomUUID().toString();
+        String payload = objectMapper.writeValueAsString(Map.of(
+                "sagaId", sagaId,
+                "vnfId", "vnf-4",
+                "resources", Map.of("vcpu", 1)
+        ));
+        // Worker crashed after the claim: IN_FLIGHT row, lease long expired, no reply
+        processedCommandRepository.saveAndFlush(new ProcessedCommand(messageId, "ReserveResources", payload));
+        jdbcTemplate.update("UPDATE processed_commands SET claimed_at = ? WHERE message_id = ?",
+                Timestamp.from(Instant.now().minusSeconds(3600)), messageId);
+
+        inFlightCommandRecovery.recover();
+
+        ProcessedCommand recovered = processedCommandRepository.findByMessageId(messageId).orElseThrow();
+        assertThat(recovered.getStatus()).isEqualTo(CommandStatus.COMPLETED);
+        assertThat(recovered.getAttempt()).isEqualTo(2);
+        awaitOutboxReply(sagaId);
+    }
+
+    @Test
+    void whenLedgerEntriesExpire_thenPurgeDeletesOnlyOldCompletedOnes() throws Exception {
+        String expired = UUID.randomUUID().toString();
+        String recent = UUID.randomUUID().toString();
+        String inFlight = UUID.randomUUID().toString();
+        for (String messageId : new String[] { expired, recent, inFlight }) {
+            processedCommandRepository.saveAndFlush(new ProcessedCommand(messageId, "ReleaseResources", "{}"));
+        }
+        Timestamp longAgo = Timestamp.from(Instant.now().minusSeconds(30L * 24 * 3600));
+        jdbcTemplate.update("UPDATE processed_commands SET status = 'COMPLETED', completed_at = ? WHERE message_id = ?", longAgo, expired);
+        jdbcTemplate.update("UPDATE processed_commands SET status = 'COMPLETED', completed_at = ? WHERE message_id = ?",
+                Timestamp.from(Instant.now()), recent);
+        jdbcTemplate.update("UPDATE processed_commands SET claimed_at = ? WHERE message_id = ?", longAgo, inFlight);
+
+        processedCommandPurger.purge();
+
+        assertThat(processedCommandRepository.existsByMessageId(expired)).isFalse();
+        assertThat(processedCommandRepository.existsByMessageId(recent)).isTrue();
+        assertThat(processedCommandRepository.existsByMessageId(inFlight)).isTrue();
     }
 
     @Test
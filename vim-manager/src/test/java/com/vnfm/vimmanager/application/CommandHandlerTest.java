@@ -0,0 +1,89 @@
+package com.vnfm.vimmanager.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vnfm.vimmanager.client.VimClient;
+import com.vnfm.vimmanager.client.VimResponse;
+import com.vnfm.vimmanager.inventory.VimInventory;
+import com.vnfm.vimmanager.outbox.OutboxMessage;
+import com.vnfm.vimmanager.translation.ResourceRequestTranslator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A command shed under overload is answered with a retryable failure but not recorded as processed,
+ * so the resend from lcm-core is executed; every other reply completes the claim, together with the VNF's
+ * placement when a multi-site client named the site.
+ */
+class CommandHandlerTest {
+
+    private static final String PAYLOAD = "{\"sagaId\":\"saga-1\",\"vnfId\":\"vnf-1\",\"resources\":{\"cpu\":2}}";
+
+    private final CommandLedger ledger = mock(CommandLedger.class);
+    private final VimClient vimClient = mock(VimClient.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private CommandHandler handler;
+    private final CommandLedger.Claim claim = new CommandLedger.Claim("msg-1", CommandHandler.CMD_RESERVE_RESOURCES, PAYLOAD, 1);
+
+    @BeforeEach
+    void setUp() {
+        VimInventory inventory = new VimInventory(new SimpleMeterRegistry(), false, -1, -1, -1);
+        handler = new CommandHandler(ledger, new ResourceRequestTranslator(), vimClient, inventory, objectMapper);
+        ReflectionTestUtils.setField(handler, "repliesTopic", "vim.replies");
+        when(ledger.claim(anyString(), anyString(), anyString())).thenReturn(Optional.of(claim));
+        when(ledger.recordReply(any(), any(), any())).thenReturn(true);
+        when(ledger.recordRetryableReply(any(), any())).thenReturn(true);
+    }
+
+    @Test
+    void shedCommand_repliesRetryableWithoutCompletingTheClaim() throws Exception {
+        when(vimClient.execute(any())).thenReturn(VimResponse.retryableFail("VIM client overloaded"));
+
+        handler.handle("msg-1", CommandHandler.CMD_RESERVE_RESOURCES, PAYLOAD);
+
+        ArgumentCaptor<OutboxMessage> reply = ArgumentCaptor.forClass(OutboxMessage.class);
+        verify(ledger).recordRetryableReply(any(), reply.capture());
+        verify(ledger, never()).recordReply(any(), any(), any());
+        Map<?, ?> body = objectMapper.readValue(reply.getValue().getPayload(), Map.class);
+        assertThat(body.get("success")).isEqualTo(false);
+        assertThat(body.get("retryable")).isEqualTo(true);
+    }
+
+    @Test
+    void vimAnswer_completesTheClaim() {
+        when(vimClient.execute(any())).thenReturn(VimResponse.fail("VIM returned 500"));
+
+        handler.handle("msg-1", CommandHandler.CMD_RESERVE_RESOURCES, PAYLOAD);
+
+        verify(ledger).recordReply(any(), any(), isNull());
+        verify(ledger, never()).recordRetryableReply(any(), any());
+    }
+
+    @Test
+    void siteNamedInTheResult_isPlacedOnReserveAndRemovedOnRelease() {
+        when(vimClient.execute(any())).thenReturn(VimResponse.ok(Map.of("vimId", "west")));
+
+        handler.handle("msg-1", CommandHandler.CMD_RESERVE_RESOURCES, PAYLOAD);
+        verify(ledger).recordReply(any(), any(), eq(CommandLedger.PlacementChange.placed("vnf-1", "west")));
+
+        when(ledger.claim(anyString(), anyString(), anyString())).thenReturn(Optional.of(
+                new CommandLedger.Claim("msg-2", CommandHandler.CMD_RELEASE_RESOURCES, PAYLOAD, 1)));
+        handler.handle("msg-2", CommandHandler.CMD_RELEASE_RESOURCES, PAYLOAD);
+        verify(ledger).recordReply(any(), any(), eq(CommandLedger.PlacementChange.removed("vnf-1")));
+    }
+}
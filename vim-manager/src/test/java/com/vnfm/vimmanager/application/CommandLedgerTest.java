@@ -0,0 +1,196 @@
+package com.vnfm.vimmanager.application;
+
+import com.vnfm.vimmanager.domain.ProcessedCommandRepository;
+import com.vnfm.vimmanager.domain.VimPlacementRepository;
+import com.vnfm.vimmanager.outbox.OutboxMessage;
+import com.vnfm.vimmanager.outbox.OutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ledger on H2 (PostgreSQL mode, for ON CONFLICT DO NOTHING) behind a DataSource that counts prepared
+ * statements and commits: these are the per-command DB costs quoted in the README. No surrounding test
+ * transaction, so every ledger call commits on its own as in production.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ledger;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CommandLedgerTest {
+
+    @Configuration
+    @EntityScan(basePackages = {"com.vnfm.vimmanager.domain", "com.vnfm.vimmanager.outbox"})
+    @EnableJpaRepositories(basePackages = {"com.vnfm.vimmanager.domain", "com.vnfm.vimmanager.outbox"})
+    @Import(CommandLedger.class)
+    static class Config {
+
+        static final AtomicInteger statements = new AtomicInteger();
+        static final AtomicInteger commits = new AtomicInteger();
+
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? counting(dataSource) : bean;
+                }
+            };
+        }
+
+        private static DataSource counting(DataSource target) {
+            return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(target, method, args);
+                        return result instanceof Connection connection ? counting(connection) : result;
+                    });
+        }
+
+        private static Connection counting(Connection target) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("prepareStatement")) {
+                            statements.incrementAndGet();
+                        } else if (method.getName().equals("commit")) {
+                            commits.incrementAndGet();
+                        }
+                        return invoke(target, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    @Autowired
+    CommandLedger ledger;
+    @Autowired
+    ProcessedCommandRepository processedCommandRepository;
+    @Autowired
+    OutboxRepository outboxRepository;
+    @Autowired
+    VimPlacementRepository placementRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(ledger, "inFlightTimeoutSeconds", 120L);
+    }
+
+    @Test
+    void newCommand_claimAndReply_threeStatementsOneTransaction() {
+        String messageId = UUID.randomUUID().toString();
+        resetCounts();
+
+        CommandLedger.Claim claim = ledger.claim(messageId, CommandHandler.CMD_RESERVE_RESOURCES, "{}").orElseThrow();
+        ledger.recordReply(claim, reply());
+
+        // INSERT claim (autocommitted), then UPDATE to COMPLETED + INSERT reply in one transaction
+        assertThat(Config.statements.get()).isEqualTo(3);
+        assertThat(Config.commits.get()).isEqualTo(1);
+    }
+
+    @Test
+    void duplicate_claimedRecentlyHere_skipsTheDatabase() {
+        String messageId = UUID.randomUUID().toString();
+        ledger.recordReply(ledger.claim(messageId, CommandHandler.CMD_RESERVE_RESOURCES, "{}").orElseThrow(), reply());
+        resetCounts();
+
+        assertThat(ledger.claim(messageId, CommandHandler.CMD_RESERVE_RESOURCES, "{}")).isEmpty();
+        assertThat(Config.statements.get()).isZero();
+    }
+
+    @Test
+    void duplicate_notInCache_zeroRowInsertAndTakeOverCheck() {
+        String messageId = UUID.randomUUID().toString();
+        ledger.recordReply(ledger.claim(messageId, CommandHandler.CMD_RESERVE_RESOURCES, "{}").orElseThrow(), reply());
+        CommandLedger restarted = restartedLedger();
+        resetCounts();
+
+        assertThat(restarted.claim(messageId, CommandHandler.CMD_RESERVE_RESOURCES, "{}")).isEmpty();
+        assertThat(Config.statements.get()).isEqualTo(2);
+        assertThat(Config.commits.get()).isEqualTo(1);
+    }
+
+    @Test
+    void claimLostToLiveWorker_isNotCached_soAReleasedCommandCanBeClaimedAgain() {
+        String messageId = UUID.randomUUID().toString();
+        CommandLedger other = restartedLedger();
+        CommandLedger.Claim held = ledger.claim(messageId, CommandHandler.CMD_RESERVE_RESOURCES, "{}").orElseThrow();
+
+        assertThat(other.claim(messageId, CommandHandler.CMD_RESERVE_RESOURCES, "{}")).isEmpty();
+        ledger.release(held);
+
+        Optional<CommandLedger.Claim> redelivered = other.claim(messageId, CommandHandler.CMD_RESERVE_RESOURCES, "{}");
+        assertThat(redelivered).hasValueSatisfying(c -> assertThat(c.attempt()).isEqualTo(1));
+    }
+
+    @Test
+    void placement_isWrittenWithTheReplyAndNotWhenTheClaimWasLost() {
+        String vnfId = "vnf-" + UUID.randomUUID();
+        CommandLedger.Claim claim = ledger.claim(UUID.randomUUID().toString(), CommandHandler.CMD_RESERVE_RESOURCES, "{}").orElseThrow();
+        assertThat(ledger.recordReply(claim, reply(), CommandLedger.PlacementChange.placed(vnfId, "west"))).isTrue();
+        assertThat(placementRepository.findById(vnfId)).hasValueSatisfying(p -> assertThat(p.getVimId()).isEqualTo("west"));
+
+        // Completed already: a second reply for the same claim is discarded together with its placement change
+        assertThat(ledger.recordReply(claim, reply(), CommandLedger.PlacementChange.removed(vnfId))).isFalse();
+        assertThat(placementRepository.existsById(vnfId)).isTrue();
+
+        CommandLedger.Claim release = ledger.claim(UUID.randomUUID().toString(), CommandHandler.CMD_RELEASE_RESOURCES, "{}").orElseThrow();
+        assertThat(ledger.recordReply(release, reply(), CommandLedger.PlacementChange.removed(vnfId))).isTrue();
+        assertThat(placementRepository.existsById(vnfId)).isFalse();
+    }
+
+    /** A second instance over the same database, with an empty recent-id cache. */
+    private CommandLedger restartedLedger() {
+        CommandLedger restarted = new CommandLedger(processedCommandRepository, outboxRepository, placementRepository,
+                jdbcTemplate, eventPublisher, 100);
+        ReflectionTestUtils.setField(restarted, "inFlightTimeoutSeconds", 120L);
+        return restarted;
+    }
+
+    private static OutboxMessage reply() {
+        return new OutboxMessage(UUID.randomUUID().toString(), "vim.replies", "VimReplySuccess", "{}");
+    }
+
+    private static void resetCounts() {
+        Config.statements.set(0);
+        Config.commits.set(0);
+    }
+}
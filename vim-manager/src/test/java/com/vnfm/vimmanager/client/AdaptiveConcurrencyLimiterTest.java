@@ -0,0 +1,73 @@
+package com.vnfm.vimmanager.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @AfterEach
+    void tearDown() {
+        limiter.destroy();
+    }
+
+    @Test
+    void limitGrowsWhileFastAndBacksOffOncePerRoundTripWhenSlow() {
+        limiter = limiter(10, 100, 100, 200);
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire().join();
+        }
+        for (int i = 0; i < 5; i++) {
+            limiter.release(System.nanoTime() - 10 * MS, false);
+        }
+        // +1 per fast reply while at least half the limit is in use (the fifth reply leaves 5 of 14)
+        assertThat(limiter.limit()).isEqualTo(14);
+
+        // three times the baseline: one decrease for calls started before it, not one per reply
+        limiter.release(System.nanoTime() - 30 * MS, false);
+        limiter.release(System.nanoTime() - 30 * MS, false);
+        assertThat(limiter.limit()).isEqualTo(12);
+
+        limiter.acquire().join();
+        limiter.release(System.nanoTime(), true);
+        assertThat(limiter.limit()).isEqualTo(10);
+    }
+
+    @Test
+    void callsOverTheLimitQueueAndAreShedWhenTheQueueIsFullOrTheWaitExpires() {
+        limiter = limiter(2, 2, 1, 100);
+        CompletableFuture<Void> first = limiter.acquire();
+        CompletableFuture<Void> second = limiter.acquire();
+        CompletableFuture<Void> queued = limiter.acquire();
+        assertThat(first).isCompleted();
+        assertThat(second).isCompleted();
+        assertThat(queued).isNotDone();
+
+        assertThatThrownBy(() -> limiter.acquire().join()).hasCauseInstanceOf(VimOverloadedException.class);
+
+        limiter.release(System.nanoTime() - MS, false);
+        assertThat(queued).isCompleted();
+
+        CompletableFuture<Void> expires = limiter.acquire();
+        assertThatThrownBy(expires::join).isInstanceOf(CompletionException.class).hasCauseInstanceOf(VimOverloadedException.class);
+        assertThat(meterRegistry.get("vim.client.concurrency.rejected").tag("reason", "queue-full").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("vim.client.concurrency.rejected").tag("reason", "queue-timeout").counter().count()).isEqualTo(1.0);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int maxLimit, int maxQueue, long queueTimeoutMs) {
+        return new AdaptiveConcurrencyLimiter(meterRegistry, true, initialLimit, 2, maxLimit, 2.0, 0.9, 500,
+                maxQueue, queueTimeoutMs);
+    }
+}
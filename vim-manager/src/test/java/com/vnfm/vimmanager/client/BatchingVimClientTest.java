@@ -0,0 +1,102 @@
+package com.vnfm.vimmanager.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * BatchingVimClient against a recording BatchVimClient.
+ */
+class BatchingVimClientTest {
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private volatile boolean failBatches;
+    private volatile boolean dropLastResult;
+    private BatchingVimClient client;
+
+    @AfterEach
+    void tearDown() {
+        client.destroy();
+    }
+
+    @Test
+    void coalescesRequestsPerCommandTypeAndFansOutResults() {
+        client = new BatchingVimClient(new RecordingBatchClient(), new SimpleMeterRegistry(), 50, 3);
+
+        List<CompletableFuture<VimResponse>> reserves = IntStream.range(0, 5)
+                .mapToObj(i -> client.executeAsync(request("ReserveResources", "vnf-" + i)))
+                .toList();
+        CompletableFuture<VimResponse> release = client.executeAsync(request("ReleaseResources", "vnf-9"));
+
+        for (int i = 0; i < reserves.size(); i++) {
+            assertThat(reserves.get(i).join().getResult()).containsEntry("vnfId", "vnf-" + i);
+        }
+        assertThat(release.join().getResult()).containsEntry("vnfId", "vnf-9");
+        // max-size 3: one full batch flushed at once, the rest after the window; release is never mixed in
+        assertThat(batches).containsExactlyInAnyOrder(
+                List.of("ReserveResources:vnf-0", "ReserveResources:vnf-1", "ReserveResources:vnf-2"),
+                List.of("ReserveResources:vnf-3", "ReserveResources:vnf-4"),
+                List.of("ReleaseResources:vnf-9"));
+    }
+
+    @Test
+    void failedBulkCallFailsEveryRequestOfTheBatch() {
+        client = new BatchingVimClient(new RecordingBatchClient(), new SimpleMeterRegistry(), 20, 50);
+        failBatches = true;
+
+        CompletableFuture<VimResponse> first = client.executeAsync(request("ReserveResources", "vnf-1"));
+        CompletableFuture<VimResponse> second = client.executeAsync(request("ReserveResources", "vnf-2"));
+
+        assertThatThrownBy(first::join).isInstanceOf(CompletionException.class).hasCauseInstanceOf(VimCallException.class);
+        assertThatThrownBy(second::join).isInstanceOf(CompletionException.class).hasCauseInstanceOf(VimCallException.class);
+        assertThat(batches).hasSize(1);
+    }
+
+    @Test
+    void bulkCallWithAResultMissingFailsEveryRequestOfTheBatch() {
+        client = new BatchingVimClient(new RecordingBatchClient(), new SimpleMeterRegistry(), 20, 50);
+        dropLastResult = true;
+
+        CompletableFuture<VimResponse> first = client.executeAsync(request("ReserveResources", "vnf-1"));
+        CompletableFuture<VimResponse> second = client.executeAsync(request("ReserveResources", "vnf-2"));
+
+        assertThatThrownBy(first::join).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(VimCallException.class)
+                .hasMessageContaining("returned 1 results for 2 requests");
+        assertThatThrownBy(second::join).isInstanceOf(CompletionException.class).hasCauseInstanceOf(VimCallException.class);
+    }
+
+    private static VimRequest request(String type, String vnfId) {
+        return new VimRequest(type, "saga-" + vnfId, vnfId, Map.of());
+    }
+
+    private class RecordingBatchClient implements BatchVimClient {
+
+        @Override
+        public CompletableFuture<List<VimResponse>> executeBatch(String commandType, List<VimRequest> requests) {
+            batches.add(requests.stream().map(r -> commandType + ":" + r.getVnfId()).toList());
+            if (failBatches) {
+                return CompletableFuture.failedFuture(new VimCallException("VIM returned 503"));
+            }
+            return CompletableFuture.completedFuture(requests.stream()
+                    .limit(dropLastResult ? requests.size() - 1 : requests.size())
+                    .map(r -> VimResponse.ok(Map.of("vnfId", r.getVnfId())))
+                    .toList());
+        }
+
+        @Override
+        public CompletableFuture<VimResponse> executeAsync(VimRequest request) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.vnfm.vimmanager.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * HttpVimClient against a stub of vim-simulator's /servers API.
+ */
+class HttpVimClientTest {
+
+    private HttpServer server;
+    private HttpVimClient client;
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+    private volatile int createStatus = 201;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/servers", this::handle);
+        server.start();
+        client = new HttpVimClient(new ObjectMapper(), new SimpleMeterRegistry(),
+                "http://localhost:" + server.getAddress().getPort(), 1000, 2000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void reserve_createsNamedServerAndReturnsResourceIdAndIp() {
+        VimResponse response = client.executeAsync(request("ReserveResources", Map.of("cpuCores", 2, "memoryGb", 4))).join();
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getResult()).containsEntry("vimResourceId", "vm-1").containsEntry("ipAddress", "10.0.0.1");
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0)).startsWith("POST /servers ")
+                .contains("\"cpu\":2", "\"memory\":4096", "\"name\":\"vnf-1\"");
+    }
+
+    @Test
+    void reserve_quotaIsFailedReplyButServerErrorIsRetryable() {
+        createStatus = 403;
+        VimResponse quota = client.executeAsync(request("ReserveResources", Map.of())).join();
+        assertThat(quota.isSuccess()).isFalse();
+        assertThat(quota.getErrorType()).isEqualTo(VimResponse.ERROR_QUOTA);
+        assertThat(quota.isQuotaExceeded()).isTrue();
+
+        createStatus = 500;
+        assertThatThrownBy(() -> client.executeAsync(request("ReserveResources", Map.of())).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(VimCallException.class);
+    }
+
+    @Test
+    void release_deletesServersFoundByVnfName_andCountsAnAlreadyDeletedOneAsReleased() {
+        VimResponse response = client.executeAsync(request("ReleaseResources", Map.of())).join();
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getResult()).containsEntry("releasedServers", 2);
+        assertThat(calls).contains("GET /servers?name=vnf-1", "DELETE /servers/vm-1", "DELETE /servers/vm-2");
+    }
+
+    @Test
+    void reserveBatch_isOneBulkCallWithResultPerRequest() {
+        List<VimResponse> responses = client.executeBatch("ReserveResources", List.of(
+                request("ReserveResources", Map.of()),
+                new VimRequest("ReserveResources", "saga-2", "vnf-2", Map.of("resources", Map.of())))).join();
+
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0)).startsWith("POST /servers/bulk ").contains("\"name\":\"vnf-1\"", "\"name\":\"vnf-2\"");
+        assertThat(responses.get(0).isSuccess()).isTrue();
+        assertThat(responses.get(0).getResult()).containsEntry("vimResourceId", "vm-1").containsEntry("vnfId", "vnf-1");
+        assertThat(responses.get(1).isSuccess()).isFalse();
+        assertThat(responses.get(1).isQuotaExceeded()).isTrue();
+    }
+
+    private static VimRequest request(String type, Map<String, Object> resources) {
+        return new VimRequest(type, "saga-1", "vnf-1", Map.of("resources", resources));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String uri = exchange.getRequestURI().toString();
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        calls.add(method + " " + uri + (body.isEmpty() ? "" : " " + body));
+        if (uri.equals("/servers/bulk")) {
+            respond(exchange, 200, "[{\"status\":201,\"server\":{\"resourceId\":\"vm-1\",\"ip\":\"10.0.0.1\"}},"
+                    + "{\"status\":403,\"errorType\":\"QUOTA\",\"message\":\"Quota exceeded\"}]");
+            return;
+        }
+        switch (method) {
+            case "POST" -> respond(exchange, createStatus, createStatus == 201
+                    ? "{\"resourceId\":\"vm-1\",\"name\":\"vnf-1\",\"ip\":\"10.0.0.1\",\"status\":\"ACTIVE\"}"
+                    : "{\"errorType\":\"QUOTA\"}");
+            case "GET" -> respond(exchange, 200, "[{\"resourceId\":\"vm-1\"},{\"resourceId\":\"vm-2\"}]");
+            // vm-2 was deleted concurrently: the VIM answers 404
+            case "DELETE" -> respond(exchange, uri.endsWith("/vm-2") ? 404 : 204,
+                    uri.endsWith("/vm-2") ? "{\"errorType\":\"NOT_FOUND\"}" : null);
+            default -> respond(exchange, 405, null);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        if (json == null) {
+            exchange.sendResponseHeaders(status, -1);
+        } else {
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        }
+        exchange.close();
+    }
+}
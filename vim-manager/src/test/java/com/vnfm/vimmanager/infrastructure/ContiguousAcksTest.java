@@ -0,0 +1,61 @@
+package com.vnfm.vimmanager.infrastructure;
+
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContiguousAcksTest {
+
+    private static final TopicPartition P0 = new TopicPartition("vim.commands", 0);
+    private static final TopicPartition P1 = new TopicPartition("vim.commands", 1);
+
+    private final List<String> acknowledged = new ArrayList<>();
+    private final ContiguousAcks acks = new ContiguousAcks();
+
+    @Test
+    void acknowledgesOnlyTheNewestOfTheContiguousCompletedRun() {
+        Acknowledgment a0 = ack("p0@0");
+        Acknowledgment a1 = ack("p0@1");
+        Acknowledgment a2 = ack("p0@2");
+        Acknowledgment b0 = ack("p1@0");
+        acks.started(P0, 0, a0);
+        acks.started(P0, 1, a1);
+        acks.started(P0, 2, a2);
+        acks.started(P1, 0, b0);
+
+        acks.completed(P0, 2, a2);
+        acks.completed(P0, 1, a1);
+        acks.completed(P1, 0, b0);
+        assertThat(acknowledged).containsExactly("p1@0");
+
+        acks.completed(P0, 0, a0);
+        assertThat(acknowledged).containsExactly("p1@0", "p0@2");
+    }
+
+    @Test
+    void ignoresCompletionOfRevokedOrReplacedDeliveries() {
+        Acknowledgment first = ack("first");
+        Acknowledgment redelivered = ack("redelivered");
+        acks.started(P0, 5, first);
+        acks.revoked(Set.of(P0));
+        acks.completed(P0, 5, first);
+        assertThat(acknowledged).isEmpty();
+
+        acks.started(P0, 5, first);
+        acks.started(P0, 5, redelivered);
+        acks.completed(P0, 5, first);
+        assertThat(acknowledged).isEmpty();
+        acks.completed(P0, 5, redelivered);
+        assertThat(acknowledged).containsExactly("redelivered");
+    }
+
+    private Acknowledgment ack(String name) {
+        return () -> acknowledged.add(name);
+    }
+}
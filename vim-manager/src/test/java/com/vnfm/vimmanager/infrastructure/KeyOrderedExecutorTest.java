@@ -0,0 +1,68 @@
+package com.vnfm.vimmanager.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyOrderedExecutorTest {
+
+    @Test
+    void tasksWithSameKey_runInSubmissionOrder() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            KeyOrderedExecutor executor = new KeyOrderedExecutor(pool, 16);
+            Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+            CountDownLatch done = new CountDownLatch(10 * 200);
+            for (int i = 0; i < 200; i++) {
+                for (int k = 0; k < 10; k++) {
+                    String key = "vnf-" + k;
+                    int seq = i;
+                    executor.execute(key, () -> {
+                        seen.computeIfAbsent(key, x -> Collections.synchronizedList(new ArrayList<>())).add(seq);
+                        done.countDown();
+                    });
+                }
+            }
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+            for (List<Integer> sequence : seen.values()) {
+                assertThat(sequence).isSorted().hasSize(200);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void blockedKey_doesNotBlockOtherStripes() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            KeyOrderedExecutor executor = new KeyOrderedExecutor(pool, 2);
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch otherRan = new CountDownLatch(1);
+            // "a" and "b" hash onto different stripes of two
+            assertThat(Math.floorMod("a".hashCode(), 2)).isNotEqualTo(Math.floorMod("b".hashCode(), 2));
+            executor.execute("a", () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            executor.execute("b", otherRan::countDown);
+            assertThat(otherRan.await(5, TimeUnit.SECONDS)).isTrue();
+            release.countDown();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
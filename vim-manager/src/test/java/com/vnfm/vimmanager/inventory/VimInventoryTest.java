@@ -0,0 +1,161 @@
+package com.vnfm.vimmanager.inventory;
+
+import com.vnfm.vimmanager.client.VimRequest;
+import com.vnfm.vimmanager.client.VimResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VimInventoryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VimInventory inventory = new VimInventory(meterRegistry, true, 2, 8, -1);
+
+    @Test
+    void pendingReservationsCountAgainstQuotaAndReleaseFreesCapacity() {
+        assertThat(inventory.tryReserve(reserve("vnf-1", 2))).isEmpty();
+        assertThat(inventory.tryReserve(reserve("vnf-2", 2))).isEmpty();
+        // both still in flight: the third does not fit although nothing is confirmed yet
+        assertThat(inventory.tryReserve(reserve("vnf-3", 2))).hasValueSatisfying(r -> assertThat(r).contains("instances 2/2"));
+
+        inventory.record(reserve("vnf-1", 2), VimResponse.ok(Map.of()));
+        inventory.record(reserve("vnf-2", 2), VimResponse.fail("VIM returned 500"));
+        assertThat(inventory.snapshot().usedInstances()).isEqualTo(1);
+        assertThat(inventory.tryReserve(reserve("vnf-3", 8))).hasValueSatisfying(r -> assertThat(r).contains("vCPUs 2/8"));
+
+        inventory.record(release("vnf-1"), VimResponse.ok(Map.of()));
+        assertThat(inventory.tryReserve(reserve("vnf-3", 8))).isEmpty();
+        assertThat(meterRegistry.get("vim.inventory.rejections").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void vimQuotaAnswerFailsFastUntilRefresh() {
+        assertThat(inventory.tryReserve(reserve("vnf-1", 1))).isEmpty();
+        inventory.record(reserve("vnf-1", 1), VimResponse.fail(VimResponse.ERROR_QUOTA, "VIM returned 403"));
+
+        assertThat(inventory.tryReserve(reserve("vnf-2", 1))).hasValueSatisfying(r -> assertThat(r).contains("quota exhausted"));
+
+        inventory.refresh(new StubSource(new InventorySnapshot(100, -1, -1, 0, 0, 0))).join();
+        assertThat(inventory.tryReserve(reserve("vnf-2", 1))).isEmpty();
+        // configured max-instances 2 is tighter than the VIM's 100
+        assertThat(inventory.snapshot().maxInstances()).isEqualTo(2);
+        assertThat(inventory.tryReserve(release("vnf-9"))).isEmpty();
+    }
+
+    @Test
+    void quotaInMessageTextAloneDoesNotMarkExhausted() {
+        assertThat(inventory.tryReserve(reserve("vnf-1", 1))).isEmpty();
+        inventory.record(reserve("vnf-1", 1), VimResponse.fail("VIM returned 500: QUOTA service unavailable"));
+
+        assertThat(inventory.tryReserve(reserve("vnf-2", 1))).isEmpty();
+    }
+
+    @Test
+    void releaseAfterRefreshFreesCapacityRightAway() {
+        VimInventory limited = new VimInventory(meterRegistry, true, 2, -1, -1);
+        assertThat(limited.tryReserve(reserve("vnf-1", 2))).isEmpty();
+        limited.record(reserve("vnf-1", 2), VimResponse.ok(Map.of()));
+        assertThat(limited.tryReserve(reserve("vnf-2", 2))).isEmpty();
+        limited.record(reserve("vnf-2", 2), VimResponse.ok(Map.of()));
+
+        limited.refresh(new StubSource(new InventorySnapshot(-1, -1, -1, 2, 4, 0))).join();
+        assertThat(limited.tryReserve(reserve("vnf-3", 2))).isPresent();
+
+        // Booked before the refresh: its release still frees the instance locally, no wait for the next refresh
+        limited.record(release("vnf-1"), VimResponse.ok(Map.of()));
+        assertThat(limited.snapshot().usedInstances()).isEqualTo(1);
+        assertThat(limited.tryReserve(reserve("vnf-3", 2))).isEmpty();
+    }
+
+    @Test
+    void releaseRecordedWhileTheRefreshIsInFlightIsSubtractedFromTheVimFigures() {
+        VimInventory unlimited = new VimInventory(meterRegistry, true, -1, -1, -1);
+        assertThat(unlimited.tryReserve(reserve("vnf-1", 2))).isEmpty();
+        unlimited.record(reserve("vnf-1", 2), VimResponse.ok(Map.of()));
+        assertThat(unlimited.tryReserve(reserve("vnf-2", 2))).isEmpty();
+        unlimited.record(reserve("vnf-2", 2), VimResponse.ok(Map.of()));
+
+        // GET /limits read both servers; vnf-1 is released before its answer is applied
+        StubSource source = new StubSource(null);
+        CompletableFuture<Void> refresh = unlimited.refresh(source);
+        unlimited.record(release("vnf-1"), VimResponse.ok(Map.of()));
+        source.vim.complete(new InventorySnapshot(-1, -1, -1, 2, 4, 0));
+        refresh.join();
+
+        assertThat(unlimited.snapshot().usedInstances()).isEqualTo(1);
+        assertThat(unlimited.snapshot().usedCpu()).isEqualTo(2);
+
+        // Released after that refresh completed: not subtracted again from the next one
+        unlimited.record(release("vnf-2"), VimResponse.ok(Map.of()));
+        unlimited.refresh(new StubSource(new InventorySnapshot(-1, -1, -1, 1, 1, 0))).join();
+        assertThat(unlimited.snapshot().usedInstances()).isEqualTo(1);
+        assertThat(unlimited.snapshot().usedCpu()).isEqualTo(1);
+    }
+
+    @Test
+    void tenantQuotaAnswerFailsOnlyThatTenantLocally() {
+        VimInventory unlimited = new VimInventory(meterRegistry, true, -1, -1, -1);
+        assertThat(unlimited.tryReserve(reserve("vnf-1", 1, "acme"))).isEmpty();
+        unlimited.record(reserve("vnf-1", 1, "acme"), VimResponse.fail(VimResponse.ERROR_QUOTA, "VIM returned 403"));
+
+        assertThat(unlimited.tryReserve(reserve("vnf-2", 1, "acme")))
+                .hasValueSatisfying(r -> assertThat(r).contains("tenant acme reported quota exhausted"));
+        assertThat(unlimited.tryReserve(reserve("vnf-3", 1, "globex"))).isEmpty();
+        assertThat(unlimited.tryReserve(reserve("vnf-4", 1))).isEmpty();
+    }
+
+    @Test
+    void refreshLoadsTheQuotaOfEveryTenantSeen() {
+        VimInventory unlimited = new VimInventory(meterRegistry, true, -1, -1, -1);
+        assertThat(unlimited.tryReserve(reserve("vnf-1", 1, "acme"))).isEmpty();
+        unlimited.record(reserve("vnf-1", 1, "acme"), VimResponse.ok(Map.of()));
+        assertThat(unlimited.tryReserve(reserve("vnf-2", 1, "globex"))).isEmpty();
+        unlimited.record(reserve("vnf-2", 1, "globex"), VimResponse.ok(Map.of()));
+
+        StubSource source = new StubSource(new InventorySnapshot(-1, -1, -1, 2, 2, 0));
+        source.tenants.put("acme", new InventorySnapshot(1, -1, -1, 1, 1, 0));
+        source.tenants.put("globex", InventorySnapshot.unlimited());
+        unlimited.refresh(source).join();
+
+        assertThat(unlimited.tryReserve(reserve("vnf-3", 1, "acme")))
+                .hasValueSatisfying(r -> assertThat(r).contains("tenant acme instances 1/1"));
+        assertThat(unlimited.tryReserve(reserve("vnf-4", 1, "globex"))).isEmpty();
+        assertThat(unlimited.snapshot("acme")).hasValueSatisfying(t -> assertThat(t.usedInstances()).isEqualTo(1));
+    }
+
+    private static VimRequest reserve(String vnfId, int cpu) {
+        return new VimRequest("ReserveResources", "saga-" + vnfId, vnfId, Map.of("resources", Map.of("cpu", cpu)));
+    }
+
+    private static VimRequest reserve(String vnfId, int cpu, String tenant) {
+        return new VimRequest("ReserveResources", "saga-" + vnfId, vnfId,
+                Map.of("resources", Map.of("cpu", cpu, "tenant", tenant)));
+    }
+
+    private static VimRequest release(String vnfId) {
+        return new VimRequest("ReleaseResources", "saga-" + vnfId, vnfId, Map.of());
+    }
+
+    /** GET /limits answers: the VIM's (pending until completed if null) and per tenant (unlimited if absent). */
+    private static final class StubSource implements InventorySource {
+
+        final CompletableFuture<InventorySnapshot> vim = new CompletableFuture<>();
+        final Map<String, InventorySnapshot> tenants = new HashMap<>();
+
+        StubSource(InventorySnapshot vim) {
+            if (vim != null) {
+                this.vim.complete(vim);
+            }
+        }
+
+        @Override
+        public CompletableFuture<InventorySnapshot> fetchInventory(String tenant) {
+            return tenant == null ? vim : CompletableFuture.completedFuture(tenants.getOrDefault(tenant, InventorySnapshot.unlimited()));
+        }
+    }
+}
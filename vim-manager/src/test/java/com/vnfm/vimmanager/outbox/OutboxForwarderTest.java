@@ -0,0 +1,106 @@
+package com.vnfm.vimmanager.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxForwarderTest {
+
+    private final OutboxBatchStore store = mock(OutboxBatchStore.class);
+    private final MessagePublisher publisher = mock(MessagePublisher.class);
+    private OutboxForwarder forwarder;
+
+    @AfterEach
+    void tearDown() {
+        forwarder.destroy();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void partialBatchFailure_marksOnlyAckedRowsSentAndReschedulesTheRest() {
+        forwarder = forwarder(10, 1000);
+        when(store.claimDue(anyInt(), any())).thenReturn(List.of(claimed("ok", 0), claimed("broken", 2), claimed("ok-2", 0)));
+        answerSends(Map.of(
+                "ok", CompletableFuture.completedFuture(null),
+                "broken", CompletableFuture.failedFuture(new PublishException("broker unavailable")),
+                "ok-2", CompletableFuture.completedFuture(null)));
+
+        Instant before = Instant.now();
+        assertThat(forwarder.drain()).isEqualTo(3);
+
+        ArgumentCaptor<List<OutboxBatchStore.ClaimedMessage>> sent = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<OutboxBatchStore.FailedMessage>> failed = ArgumentCaptor.forClass(List.class);
+        verify(store).markSent(sent.capture());
+        verify(store).markFailed(failed.capture());
+        assertThat(sent.getValue()).extracting(OutboxBatchStore.ClaimedMessage::messageId).containsExactly("ok", "ok-2");
+        assertThat(failed.getValue()).singleElement().satisfies(f -> {
+            assertThat(f.message().messageId()).isEqualTo("broken");
+            assertThat(f.error()).isEqualTo("broker unavailable");
+            // third failure: 2 s * 2^3
+            assertThat(f.nextRetryAt()).isBetween(before.plusSeconds(16), Instant.now().plusSeconds(16));
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendNotAckedWithinTimeout_isRescheduledWhileAckedRowsAreMarkedSent() {
+        forwarder = forwarder(10, 50);
+        when(store.claimDue(anyInt(), any())).thenReturn(List.of(claimed("ok", 0), claimed("stuck", 0)));
+        answerSends(Map.of(
+                "ok", CompletableFuture.completedFuture(null),
+                "stuck", new CompletableFuture<>()));
+
+        long start = System.nanoTime();
+        forwarder.drain();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+
+        ArgumentCaptor<List<OutboxBatchStore.ClaimedMessage>> sent = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<OutboxBatchStore.FailedMessage>> failed = ArgumentCaptor.forClass(List.class);
+        verify(store).markSent(sent.capture());
+        verify(store).markFailed(failed.capture());
+        assertThat(sent.getValue()).extracting(OutboxBatchStore.ClaimedMessage::messageId).containsExactly("ok");
+        assertThat(failed.getValue()).singleElement().satisfies(f -> {
+            assertThat(f.message().messageId()).isEqualTo("stuck");
+            assertThat(f.error()).isEqualTo("Send not acknowledged within 50 ms");
+        });
+    }
+
+    @Test
+    void drain_repeatsWhileBatchesComeBackFull() {
+        forwarder = forwarder(2, 1000);
+        when(store.claimDue(anyInt(), any()))
+                .thenReturn(List.of(claimed("a", 0), claimed("b", 0)))
+                .thenReturn(List.of(claimed("c", 0)));
+        when(publisher.publishAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThat(forwarder.drain()).isEqualTo(3);
+        verify(store, times(2)).claimDue(anyInt(), any());
+    }
+
+    private OutboxForwarder forwarder(int batchSize, long sendTimeoutMs) {
+        return new OutboxForwarder(store, publisher, new SimpleMeterRegistry(), batchSize, 30000, sendTimeoutMs);
+    }
+
+    private void answerSends(Map<String, CompletableFuture<Void>> byMessageId) {
+        when(publisher.publishAsync(any())).thenAnswer(inv -> byMessageId.get(((OutboxMessage) inv.getArgument(0)).getMessageId()));
+    }
+
+    private static OutboxBatchStore.ClaimedMessage claimed(String messageId, int retryCount) {
+        return new OutboxBatchStore.ClaimedMessage(1L, messageId, "vim.replies", "VimReplySuccess", "{}", retryCount);
+    }
+}
@@ -0,0 +1,157 @@
+package com.vnfm.vimmanager.registry;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.vnfm.vimmanager.client.ResourceDemand;
+import com.vnfm.vimmanager.client.VimOverloadedException;
+import com.vnfm.vimmanager.client.VimRequest;
+import com.vnfm.vimmanager.client.VimResponse;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * VimRegistry against two stub VIMs: "east" answers at once, "west" holds every request until the test opens
+ * {@link #westGate}.
+ */
+class VimRegistryTest {
+
+    private final List<HttpServer> servers = new ArrayList<>();
+    private final CountDownLatch westGate = new CountDownLatch(1);
+    private VimRegistry registry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        VimRegistryProperties properties = new VimRegistryProperties();
+        VimRegistryProperties.Site east = site("east", "eu-east", List.of(), stub(new CountDownLatch(0)));
+        east.setMaxInstances(1);
+        properties.getSites().add(east);
+        properties.getSites().add(site("west", "eu-west", List.of("acme"), stub(westGate)));
+        properties.setDefaultSite("east");
+        CircuitBreakerRegistry breakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .ignoreExceptions(VimOverloadedException.class).build());
+        RetryRegistry retries = RetryRegistry.of(RetryConfig.custom()
+                .ignoreExceptions(VimOverloadedException.class).build());
+        registry = new VimRegistry(properties, new ObjectMapper(), new SimpleMeterRegistry(), breakers, retries,
+                true, 1, 1, 2.0, 0.9, 100, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        westGate.countDown();
+        registry.destroy();
+        servers.forEach(server -> server.stop(0));
+    }
+
+    @Test
+    void select_byVimIdRegionTenantOrDefault() {
+        assertThat(registry.select("west", null, demand(null))).map(VimSite::id).hasValue("west");
+        assertThat(registry.select(null, "eu-west", demand(null))).map(VimSite::id).hasValue("west");
+        assertThat(registry.select(null, null, demand("acme"))).map(VimSite::id).hasValueSatisfying(id -> assertThat(id).isIn("east", "west"));
+        assertThat(registry.select(null, "eu-east", demand("acme"))).map(VimSite::id).hasValue("east");
+        assertThat(registry.select(null, null, demand(null))).map(VimSite::id).hasValue("east");
+        assertThat(registry.select(null, "us-east", demand(null))).isEmpty();
+        assertThat(registry.select("north", null, demand(null))).isEmpty();
+    }
+
+    @Test
+    void select_skipsSitesWhoseInventoryWouldRejectTheDemand() throws Exception {
+        // east allows one instance; once it holds one, every round-robin pick for acme goes to west
+        assertThat(registry.site("east").orElseThrow().executeAsync(reserve("vnf-e")).get(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(registry.select(null, null, demand("acme"))).map(VimSite::id).hasValue("west");
+        }
+        // The only matching site is still picked when full; its inventory then rejects the reservation locally
+        assertThat(registry.select(null, "eu-east", demand("acme"))).map(VimSite::id).hasValue("east");
+    }
+
+    @Test
+    void slowSiteShedsItsOwnCommandsWithoutDelayingOtherSites() throws Exception {
+        VimSite west = registry.site("west").orElseThrow();
+        VimSite east = registry.site("east").orElseThrow();
+
+        // west: one call running, one queued, the rest shed at once (max-concurrency 1, max-queue 1)
+        List<CompletableFuture<VimResponse>> westCalls = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            westCalls.add(west.executeAsync(reserve("vnf-w" + i)));
+        }
+        long shed = westCalls.stream().filter(CompletableFuture::isDone).map(CompletableFuture::join)
+                .filter(VimResponse::isRetryable).count();
+        assertThat(shed).isEqualTo(3);
+
+        // west cannot answer before the gate opens, so east completing first shows it does not wait on west
+        VimResponse eastResponse = east.executeAsync(reserve("vnf-e")).get(10, TimeUnit.SECONDS);
+        assertThat(eastResponse.isSuccess()).isTrue();
+        assertThat(westCalls.get(0).isDone()).isFalse();
+
+        westGate.countDown();
+        assertThat(westCalls.get(0).join().isSuccess()).isTrue();
+        assertThat(westCalls.get(1).join().isSuccess()).isTrue();
+    }
+
+    private static ResourceDemand demand(String tenant) {
+        return new ResourceDemand(1, 1024, tenant);
+    }
+
+    private static VimRequest reserve(String vnfId) {
+        return new VimRequest("ReserveResources", "saga-" + vnfId, vnfId, Map.of("resources", Map.of("cpu", 1)));
+    }
+
+    private static VimRegistryProperties.Site site(String id, String region, List<String> tenants, String baseUrl) {
+        VimRegistryProperties.Site site = new VimRegistryProperties.Site();
+        site.setId(id);
+        site.setRegion(region);
+        site.setTenants(tenants);
+        site.setBaseUrl(baseUrl);
+        site.setMaxConcurrency(1);
+        site.setMaxQueue(1);
+        site.setQueueTimeoutMs(5000);
+        return site;
+    }
+
+    /** Minimal POST /servers stub answering once the gate is open, one handler thread per request. */
+    private String stub(CountDownLatch gate) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/servers", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            try {
+                gate.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, "{\"resourceId\":\"vm-1\",\"ip\":\"10.0.0.1\",\"status\":\"ACTIVE\"}");
+        });
+        server.start();
+        servers.add(server);
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(201, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
@@ -0,0 +1,85 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Open-loop throughput benchmark for a running vim-simulator: for each offered rate, sends GET requests at that
+ * rate for a fixed time, regardless of how many are still outstanding (as independent VNFM clients would), and
+ * reports the completed rate and latency percentiles. The highest rate whose completed rate keeps up and whose
+ * p99 stays near the configured latency is the sustained throughput.
+ * <p>
+ * Run with the JDK source launcher (no build needed):
+ * <pre>
+ * java bench/ThroughputBench.java http://localhost:9090/limits 20 100,200,500,1000
+ * </pre>
+ * Arguments: URL, seconds per rate, comma-separated rates (requests per second).
+ */
+public class ThroughputBench {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: java bench/ThroughputBench.java <url> <seconds-per-rate> <rate,rate,...>");
+            System.exit(1);
+        }
+        URI uri = URI.create(args[0]);
+        int seconds = Integer.parseInt(args[1]);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        System.out.printf("%8s %10s %8s %8s %8s %8s %8s%n", "offered", "completed", "errors", "p50", "p90", "p99", "max");
+        for (String rate : args[2].split(",")) {
+            run(client, uri, Integer.parseInt(rate.trim()), seconds);
+        }
+        System.exit(0);
+    }
+
+    private static void run(HttpClient client, URI uri, int rate, int seconds) throws InterruptedException {
+        int total = rate * seconds;
+        List<CompletableFuture<long[]>> calls = Collections.synchronizedList(new ArrayList<>(total));
+        ScheduledExecutorService sender = Executors.newSingleThreadScheduledExecutor();
+        long periodNanos = 1_000_000_000L / rate;
+        sender.scheduleAtFixedRate(() -> {
+            if (calls.size() >= total) {
+                return;
+            }
+            long sent = System.nanoTime();
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(120)).GET().build();
+            calls.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> new long[]{
+                            (System.nanoTime() - sent) / 1_000_000,
+                            error == null && response.statusCode() < 400 ? 0 : 1,
+                            System.nanoTime()}));
+        }, 0, periodNanos, TimeUnit.NANOSECONDS);
+        while (calls.size() < total) {
+            Thread.sleep(10);
+        }
+        sender.shutdown();
+        long[] latencies = new long[total];
+        int errors = 0;
+        long firstDone = Long.MAX_VALUE;
+        long lastDone = Long.MIN_VALUE;
+        for (int i = 0; i < total; i++) {
+            long[] result = calls.get(i).join();
+            latencies[i] = result[0];
+            errors += (int) result[1];
+            firstDone = Math.min(firstDone, result[2]);
+            lastDone = Math.max(lastDone, result[2]);
+        }
+        // Completions span the send window shifted by the latency when the simulator keeps up, longer otherwise
+        double elapsed = Math.max(lastDone - firstDone, periodNanos) / 1e9;
+        Arrays.sort(latencies);
+        System.out.printf("%8d %10.0f %8d %8d %8d %8d %8d%n", rate, total / elapsed, errors,
+                latencies[total / 2], latencies[total * 9 / 10], latencies[total * 99 / 100], latencies[total - 1]);
+    }
+}
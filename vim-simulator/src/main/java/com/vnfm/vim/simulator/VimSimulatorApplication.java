@@ -1,11 +1,18 @@
 package com.vnfm.vim.simulator;
 
+import com.vnfm.vim.simulator.config.FailureProperties;
+import com.vnfm.vim.simulator.config.LatencyProperties;
+import com.vnfm.vim.simulator.config.LifecycleProperties;
+import com.vnfm.vim.simulator.config.PersistenceProperties;
+import com.vnfm.vim.simulator.config.PoolProperties;
+import com.vnfm.vim.simulator.config.SimulationProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication
-@EnableConfigurationProperties({ FailureProperties.class, LatencyProperties.class, PoolProperties.class })
+@EnableConfigurationProperties({ FailureProperties.class, LatencyProperties.class, LifecycleProperties.class,
+        PersistenceProperties.class, PoolProperties.class, SimulationProperties.class })
 public class VimSimulatorApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,26 @@
+package com.vnfm.vim.simulator.api;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request body for POST /servers/bulk (allocate several VMs in one call).
+ */
+public class BulkCreateServersRequest {
+
+    @NotEmpty
+    @Size(max = 1000)
+    @Valid
+    private List<CreateServerRequest> servers;
+
+    public List<CreateServerRequest> getServers() {
+        return servers;
+    }
+
+    public void setServers(List<CreateServerRequest> servers) {
+        this.servers = servers;
+    }
+}
@@ -0,0 +1,42 @@
+package com.vnfm.vim.simulator.api;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request body for POST /servers/bulk-delete: release servers in one call, either all servers with the given
+ * names or the servers with the given resourceIds. Exactly one of the two lists is set.
+ */
+public class BulkDeleteServersRequest {
+
+    @Size(max = 1000)
+    private List<String> names;
+
+    @Size(max = 1000)
+    private List<String> ids;
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    public void setNames(List<String> names) {
+        this.names = names;
+    }
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "exactly one of names or ids must be a non-empty list")
+    public boolean isNamesOrIds() {
+        return (names != null && !names.isEmpty()) != (ids != null && !ids.isEmpty());
+    }
+}
@@ -0,0 +1,63 @@
+package com.vnfm.vim.simulator.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One item of a bulk response, in request order: HTTP-like status plus the server (create),
+ * the released count (delete by name), the resourceId (delete by id) or the error.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkServerResult {
+
+    private int status;
+    private ServerResponse server;
+    private String resourceId;
+    private String name;
+    private Integer released;
+    private String errorType;
+    private String message;
+
+    public static BulkServerResult created(ServerResponse server) {
+        BulkServerResult r = new BulkServerResult();
+        r.status = 201;
+        r.server = server;
+        return r;
+    }
+
+    public static BulkServerResult released(String name, int count) {
+        BulkServerResult r = new BulkServerResult();
+        r.status = 200;
+        r.name = name;
+        r.released = count;
+        return r;
+    }
+
+    public static BulkServerResult deleted(String resourceId) {
+        BulkServerResult r = new BulkServerResult();
+        r.status = 204;
+        r.resourceId = resourceId;
+        return r;
+    }
+
+    public static BulkServerResult notDeleted(String resourceId, int status, String errorType, String message) {
+        BulkServerResult r = error(status, errorType, message);
+        r.resourceId = resourceId;
+        return r;
+    }
+
+    public static BulkServerResult error(int status, String errorType, String message) {
+        BulkServerResult r = new BulkServerResult();
+        r.status = status;
+        r.errorType = errorType;
+        r.message = message;
+        return r;
+    }
+
+    public int getStatus() { return status; }
+    public ServerResponse getServer() { return server; }
+    public String getResourceId() { return resourceId; }
+    public String getName() { return name; }
+    public Integer getReleased() { return released; }
+    public String getErrorType() { return errorType; }
+    public String getMessage() { return message; }
+}
@@ -1,18 +1,43 @@
 package com.vnfm.vim.simulator.api;
 
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 
 /**
  * Request body for POST /servers (allocate VM).
  */
 public class CreateServerRequest {
 
+    /** Optional server name; clients use it to find the server again (GET /servers?name=). */
+    @Size(max = 255)
+    private String name;
+
+    /** Optional tenant; a tenant configured under pool.tenants is held to its own quota and address block. */
+    @Size(max = 255)
+    private String tenant;
+
     @Min(0)
     private int cpu = 1;
 
     @Min(0)
     private int memory = 1024;
 
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    public void setTenant(String tenant) {
+        this.tenant = tenant;
+    }
+
     public int getCpu() {
         return cpu;
     }
@@ -0,0 +1,7 @@
+package com.vnfm.vim.simulator.api;
+
+/**
+ * Error response of the simulator's REST endpoints: the VIM error type and a message.
+ */
+public record ErrorBody(String errorType, String message) {
+}
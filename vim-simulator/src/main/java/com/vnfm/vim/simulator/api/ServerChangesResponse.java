@@ -0,0 +1,48 @@
+package com.vnfm.vim.simulator.api;
+
+import java.util.List;
+
+/**
+ * Response for GET /servers?changes-since=: servers whose status changed after the given sequence (deleted ones
+ * as DELETED), and the sequence to pass next time. truncated = deletions were purged since then; resync with
+ * changes-since=0.
+ */
+public class ServerChangesResponse {
+
+    private long sequence;
+    private boolean truncated;
+    private List<ServerResponse> servers;
+
+    public ServerChangesResponse() {
+    }
+
+    public ServerChangesResponse(long sequence, boolean truncated, List<ServerResponse> servers) {
+        this.sequence = sequence;
+        this.truncated = truncated;
+        this.servers = servers;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public List<ServerResponse> getServers() {
+        return servers;
+    }
+
+    public void setServers(List<ServerResponse> servers) {
+        this.servers = servers;
+    }
+}
@@ -0,0 +1,40 @@
+package com.vnfm.vim.simulator.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Response for GET /servers (paged listing): one page of servers, and the marker of the next page (absent on
+ * the last page).
+ */
+public class ServerPageResponse {
+
+    private List<ServerResponse> servers;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String next;
+
+    public ServerPageResponse() {
+    }
+
+    public ServerPageResponse(List<ServerResponse> servers, String next) {
+        this.servers = servers;
+        this.next = next;
+    }
+
+    public List<ServerResponse> getServers() {
+        return servers;
+    }
+
+    public void setServers(List<ServerResponse> servers) {
+        this.servers = servers;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+}
@@ -1,25 +1,32 @@
 package com.vnfm.vim.simulator.api;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 /**
  * Response for allocated server (POST /servers) or GET /servers/{id}.
  */
 public class ServerResponse {
 
     private String resourceId;
+    private String name;
     private String ip;
     private String status;
     private int cpu;
     private int memory;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String tenant;
 
     public ServerResponse() {
     }
 
-    public ServerResponse(String resourceId, String ip, String status, int cpu, int memory) {
+    public ServerResponse(String resourceId, String name, String ip, String status, int cpu, int memory, String tenant) {
         this.resourceId = resourceId;
+        this.name = name;
         this.ip = ip;
         this.status = status;
         this.cpu = cpu;
         this.memory = memory;
+        this.tenant = tenant;
     }
 
     public String getResourceId() {
@@ -30,6 +37,14 @@ public class ServerResponse {
         this.resourceId = resourceId;
     }
 
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
     public String getIp() {
         return ip;
     }
@@ -61,4 +76,12 @@ public class ServerResponse {
     public void setMemory(int memory) {
         this.memory = memory;
     }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    public void setTenant(String tenant) {
+        this.tenant = tenant;
+    }
 }
@@ -0,0 +1,34 @@
+package com.vnfm.vim.simulator.api;
+
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request body for POST /webhooks: URL to POST status changes to, optionally only for some statuses.
+ */
+public class WebhookRequest {
+
+    @NotBlank
+    private String url;
+
+    /** e.g. ACTIVE, ERROR, DELETED; empty = all. */
+    private List<String> statuses = new ArrayList<>();
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public List<String> getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(List<String> statuses) {
+        this.statuses = statuses;
+    }
+}
@@ -0,0 +1,9 @@
+package com.vnfm.vim.simulator.api;
+
+import java.util.Set;
+
+/**
+ * A registered webhook (POST/GET /webhooks) with its delivery counters.
+ */
+public record WebhookResponse(String id, String url, Set<String> statuses, long delivered, long failed, long dropped) {
+}
@@ -2,7 +2,9 @@ package com.vnfm.vim.simulator.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @ConfigurationProperties(prefix = "failure")
 public class FailureProperties {
@@ -13,6 +15,9 @@ public class FailureProperties {
     /** Error types when failure triggers (e.g. TIMEOUT, QUOTA, INTERNAL). */
     private List<String> errorTypes = List.of("TIMEOUT", "QUOTA", "INTERNAL");
 
+    /** Rate and error types by operation (same names as latency.operations), replacing the ones above. */
+    private Map<String, Operation> operations = new LinkedHashMap<>();
+
     public double getRate() {
         return rate;
     }
@@ -28,4 +33,36 @@ public class FailureProperties {
     public void setErrorTypes(List<String> errorTypes) {
         this.errorTypes = errorTypes;
     }
+
+    public Map<String, Operation> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(Map<String, Operation> operations) {
+        this.operations = operations;
+    }
+
+    public static class Operation {
+
+        private double rate = 0.0;
+
+        /** Empty = failure.error-types. */
+        private List<String> errorTypes = List.of();
+
+        public double getRate() {
+            return rate;
+        }
+
+        public void setRate(double rate) {
+            this.rate = rate;
+        }
+
+        public List<String> getErrorTypes() {
+            return errorTypes;
+        }
+
+        public void setErrorTypes(List<String> errorTypes) {
+            this.errorTypes = errorTypes;
+        }
+    }
 }
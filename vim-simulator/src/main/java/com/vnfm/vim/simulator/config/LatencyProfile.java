@@ -0,0 +1,104 @@
+package com.vnfm.vim.simulator.config;
+
+/**
+ * Delay distribution of a VIM operation:
+ * <ul>
+ *   <li>uniform: between min-ms and max-ms (no delay if max-ms is 0);</li>
+ *   <li>lognormal: median-ms × e^(sigma × N(0,1)); sigma 1 puts p99 at about 10 × the median;</li>
+ *   <li>pareto: scale-ms / U^(1/shape), at least scale-ms; shape below 2 gives a heavy tail (1.2: p99.9 ≈ 300 × scale).</li>
+ * </ul>
+ * A field left unset (null) is taken from the default profile, see {@link #withDefaults}.
+ */
+public class LatencyProfile {
+
+    public enum Distribution { UNIFORM, LOGNORMAL, PARETO }
+
+    private Distribution distribution;
+
+    /** Min simulated delay in milliseconds (uniform). */
+    private Integer minMs;
+
+    /** Max simulated delay in milliseconds (uniform). */
+    private Integer maxMs;
+
+    /** Median delay (lognormal). */
+    private Double medianMs;
+
+    /** Spread of the log of the delay (lognormal). */
+    private Double sigma;
+
+    /** Minimum and most frequent delay (pareto). */
+    private Double scaleMs;
+
+    /** Tail index (pareto); smaller = heavier tail. */
+    private Double shape;
+
+    /** This profile with every unset field taken from {@code defaults}. */
+    public LatencyProfile withDefaults(LatencyProfile defaults) {
+        LatencyProfile merged = new LatencyProfile();
+        merged.distribution = distribution != null ? distribution : defaults.distribution;
+        merged.minMs = minMs != null ? minMs : defaults.minMs;
+        merged.maxMs = maxMs != null ? maxMs : defaults.maxMs;
+        merged.medianMs = medianMs != null ? medianMs : defaults.medianMs;
+        merged.sigma = sigma != null ? sigma : defaults.sigma;
+        merged.scaleMs = scaleMs != null ? scaleMs : defaults.scaleMs;
+        merged.shape = shape != null ? shape : defaults.shape;
+        return merged;
+    }
+
+    public Distribution getDistribution() {
+        return distribution;
+    }
+
+    public void setDistribution(Distribution distribution) {
+        this.distribution = distribution;
+    }
+
+    public Integer getMinMs() {
+        return minMs;
+    }
+
+    public void setMinMs(Integer minMs) {
+        this.minMs = minMs;
+    }
+
+    public Integer getMaxMs() {
+        return maxMs;
+    }
+
+    public void setMaxMs(Integer maxMs) {
+        this.maxMs = maxMs;
+    }
+
+    public Double getMedianMs() {
+        return medianMs;
+    }
+
+    public void setMedianMs(Double medianMs) {
+        this.medianMs = medianMs;
+    }
+
+    public Double getSigma() {
+        return sigma;
+    }
+
+    public void setSigma(Double sigma) {
+        this.sigma = sigma;
+    }
+
+    public Double getScaleMs() {
+        return scaleMs;
+    }
+
+    public void setScaleMs(Double scaleMs) {
+        this.scaleMs = scaleMs;
+    }
+
+    public Double getShape() {
+        return shape;
+    }
+
+    public void setShape(Double shape) {
+        this.shape = shape;
+    }
+}
@@ -2,28 +2,49 @@ package com.vnfm.vim.simulator.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Simulated latency: the default {@link LatencyProfile} (latency.distribution, min-ms, …), per-operation
+ * profiles overriding some of its fields (latency.operations.createServer.*; unset fields are inherited), and a
+ * cap for long-tailed samples.
+ */
 @ConfigurationProperties(prefix = "latency")
-public class LatencyProperties {
-
-    /** Min simulated delay in milliseconds. */
-    private int minMs = 0;
-
-    /** Max simulated delay in milliseconds. */
-    private int maxMs = 100;
+public class LatencyProperties extends LatencyProfile {
+
+    /** Upper bound of any simulated delay, after brownout and saturation slowdown. */
+    private int capMs = 60_000;
+
+    /**
+     * Profiles by operation (createServer, createServers, deleteServer, deleteServers, getServer, listServers,
+     * limits, buildServer, destroyServer); an operation without one uses the default profile.
+     */
+    private Map<String, LatencyProfile> operations = new LinkedHashMap<>();
+
+    public LatencyProperties() {
+        setDistribution(Distribution.UNIFORM);
+        setMinMs(0);
+        setMaxMs(100);
+        setMedianMs(50.0);
+        setSigma(1.0);
+        setScaleMs(20.0);
+        setShape(1.5);
+    }
 
-    public int getMinMs() {
-        return minMs;
+    public int getCapMs() {
+        return capMs;
     }
 
-    public void setMinMs(int minMs) {
-        this.minMs = minMs;
+    public void setCapMs(int capMs) {
+        this.capMs = capMs;
     }
 
-    public int getMaxMs() {
-        return maxMs;
+    public Map<String, LatencyProfile> getOperations() {
+        return operations;
     }
 
-    public void setMaxMs(int maxMs) {
-        this.maxMs = maxMs;
+    public void setOperations(Map<String, LatencyProfile> operations) {
+        this.operations = operations;
     }
 }
@@ -0,0 +1,106 @@
+package com.vnfm.vim.simulator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Asynchronous server lifecycle (BUILD → ACTIVE/ERROR, DELETING → DELETED), change tracking and webhooks.
+ * Build and teardown durations and failures come from the buildServer and destroyServer operations of
+ * latency.* and failure.*.
+ */
+@ConfigurationProperties(prefix = "lifecycle")
+public class LifecycleProperties {
+
+    /**
+     * true: create returns BUILD and delete returns DELETING, the final status follows later. false: create
+     * returns ACTIVE and delete removes the server right away (changes and webhooks are reported either way).
+     */
+    private boolean enabled = false;
+
+    /** How long deleted servers stay visible to GET /servers?changes-since= as DELETED. */
+    private long retainDeletedMs = 300_000;
+
+    /** Timer wheel resolution: transitions fire up to one tick late. */
+    private long tickMs = 10;
+
+    /** Timer wheel slots; one revolution covers tick-ms × wheel-size. */
+    private int wheelSize = 512;
+
+    /** Webhook URLs registered at startup (more via POST /webhooks). */
+    private List<String> webhooks = new ArrayList<>();
+
+    /** Timeout of one webhook delivery. */
+    private long webhookTimeoutMs = 5_000;
+
+    /** Concurrent deliveries (connections) per webhook. */
+    private int webhookMaxInFlight = 64;
+
+    /** Changes waiting per webhook while max-in-flight are out; further ones are dropped (and counted). */
+    private int webhookBacklog = 10_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getRetainDeletedMs() {
+        return retainDeletedMs;
+    }
+
+    public void setRetainDeletedMs(long retainDeletedMs) {
+        this.retainDeletedMs = retainDeletedMs;
+    }
+
+    public long getTickMs() {
+        return tickMs;
+    }
+
+    public void setTickMs(long tickMs) {
+        this.tickMs = tickMs;
+    }
+
+    public int getWheelSize() {
+        return wheelSize;
+    }
+
+    public void setWheelSize(int wheelSize) {
+        this.wheelSize = wheelSize;
+    }
+
+    public List<String> getWebhooks() {
+        return webhooks;
+    }
+
+    public void setWebhooks(List<String> webhooks) {
+        this.webhooks = webhooks;
+    }
+
+    public long getWebhookTimeoutMs() {
+        return webhookTimeoutMs;
+    }
+
+    public void setWebhookTimeoutMs(long webhookTimeoutMs) {
+        this.webhookTimeoutMs = webhookTimeoutMs;
+    }
+
+    public int getWebhookBacklog() {
+        return webhookBacklog;
+    }
+
+    public void setWebhookBacklog(int webhookBacklog) {
+        this.webhookBacklog = webhookBacklog;
+    }
+
+    public int getWebhookMaxInFlight() {
+        return webhookMaxInFlight;
+    }
+
+    public void setWebhookMaxInFlight(int webhookMaxInFlight) {
+        this.webhookMaxInFlight = webhookMaxInFlight;
+    }
+}
@@ -0,0 +1,43 @@
+package com.vnfm.vim.simulator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Server state on disk: a periodic binary snapshot plus a journal of the status changes since, restored at
+ * startup so soak tests survive a simulator restart.
+ */
+@ConfigurationProperties(prefix = "persistence")
+public class PersistenceProperties {
+
+    private boolean enabled = false;
+
+    /** Directory of servers.snapshot and the journal files (created if missing). */
+    private String directory = "data";
+
+    /** Interval between snapshots; each one starts a new journal and drops the previous. */
+    private long snapshotIntervalMs = 60_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public long getSnapshotIntervalMs() {
+        return snapshotIntervalMs;
+    }
+
+    public void setSnapshotIntervalMs(long snapshotIntervalMs) {
+        this.snapshotIntervalMs = snapshotIntervalMs;
+    }
+}
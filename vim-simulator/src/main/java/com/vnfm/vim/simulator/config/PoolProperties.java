@@ -2,12 +2,27 @@ package com.vnfm.vim.simulator.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @ConfigurationProperties(prefix = "pool")
 public class PoolProperties {
 
     /** Max number of VMs in the pool. */
     private int maxServers = 100;
 
+    /** Max total vCPUs of all VMs; -1 = unlimited. */
+    private int maxCores = -1;
+
+    /** Max total memory (MB) of all VMs; -1 = unlimited. */
+    private int maxRamMb = -1;
+
+    /** Address block server IPs are allocated from (network and broadcast excluded). */
+    private String cidr = "10.0.0.0/16";
+
+    /** Per-tenant quotas (key = tenant), checked in addition to the limits above. */
+    private Map<String, Tenant> tenants = new LinkedHashMap<>();
+
     public int getMaxServers() {
         return maxServers;
     }
@@ -15,4 +30,81 @@ public class PoolProperties {
     public void setMaxServers(int maxServers) {
         this.maxServers = maxServers;
     }
+
+    public int getMaxCores() {
+        return maxCores;
+    }
+
+    public void setMaxCores(int maxCores) {
+        this.maxCores = maxCores;
+    }
+
+    public int getMaxRamMb() {
+        return maxRamMb;
+    }
+
+    public void setMaxRamMb(int maxRamMb) {
+        this.maxRamMb = maxRamMb;
+    }
+
+    public String getCidr() {
+        return cidr;
+    }
+
+    public void setCidr(String cidr) {
+        this.cidr = cidr;
+    }
+
+    public Map<String, Tenant> getTenants() {
+        return tenants;
+    }
+
+    public void setTenants(Map<String, Tenant> tenants) {
+        this.tenants = tenants;
+    }
+
+    public static class Tenant {
+
+        /** Max VMs of the tenant; -1 = unlimited. */
+        private int maxServers = -1;
+
+        private int maxCores = -1;
+
+        private int maxRamMb = -1;
+
+        /** Own address block of the tenant; empty = the pool's cidr. */
+        private String cidr;
+
+        public int getMaxServers() {
+            return maxServers;
+        }
+
+        public void setMaxServers(int maxServers) {
+            this.maxServers = maxServers;
+        }
+
+        public int getMaxCores() {
+            return maxCores;
+        }
+
+        public void setMaxCores(int maxCores) {
+            this.maxCores = maxCores;
+        }
+
+        public int getMaxRamMb() {
+            return maxRamMb;
+        }
+
+        public void setMaxRamMb(int maxRamMb) {
+            this.maxRamMb = maxRamMb;
+        }
+
+        public String getCidr() {
+            return cidr;
+        }
+
+        public void setCidr(String cidr) {
+            this.cidr = cidr;
+        }
+    }
 }
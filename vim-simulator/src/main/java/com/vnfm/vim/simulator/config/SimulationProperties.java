@@ -0,0 +1,174 @@
+package com.vnfm.vim.simulator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Time- and load-dependent behaviour on top of latency.* and failure.*, and the random seed.
+ */
+@ConfigurationProperties(prefix = "simulation")
+public class SimulationProperties {
+
+    /**
+     * Seed for reproducible runs: the n-th call of an operation then always gets the same delay and outcome
+     * (brownouts still follow the clock). Empty = random.
+     */
+    private Long seed;
+
+    /**
+     * Queueing slowdown as the pool fills: delays are multiplied by 1 + factor × u / (1 − u), u = utilization of
+     * the pool's tightest limit (capped at 0.99). 0 = off; 1 ≈ an M/M/1 queue (×2 at 50 % full, ×10 at 90 %).
+     */
+    private double saturationFactor = 0.0;
+
+    private List<Brownout> brownouts = new ArrayList<>();
+
+    /**
+     * How a call waits out its delay: SCHEDULED completes it from a timer, holding no thread; BLOCKING sleeps on
+     * the request thread, like a VIM with a fixed worker pool (at most threads / latency calls per second).
+     */
+    private LatencyMode latencyMode = LatencyMode.SCHEDULED;
+
+    /** Timer threads of SCHEDULED mode; they only run the (short, lock-free) operations. */
+    private int schedulerThreads = 1;
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    public double getSaturationFactor() {
+        return saturationFactor;
+    }
+
+    public void setSaturationFactor(double saturationFactor) {
+        this.saturationFactor = saturationFactor;
+    }
+
+    public LatencyMode getLatencyMode() {
+        return latencyMode;
+    }
+
+    public void setLatencyMode(LatencyMode latencyMode) {
+        this.latencyMode = latencyMode;
+    }
+
+    public int getSchedulerThreads() {
+        return schedulerThreads;
+    }
+
+    public void setSchedulerThreads(int schedulerThreads) {
+        this.schedulerThreads = schedulerThreads;
+    }
+
+    public List<Brownout> getBrownouts() {
+        return brownouts;
+    }
+
+    public void setBrownouts(List<Brownout> brownouts) {
+        this.brownouts = brownouts;
+    }
+
+    public enum LatencyMode {
+        SCHEDULED, BLOCKING
+    }
+
+    /**
+     * A window of degraded service: from start-ms after startup for duration-ms, repeated every period-ms
+     * (0 = once).
+     */
+    public static class Brownout {
+
+        private long startMs = 0;
+
+        private long durationMs = 0;
+
+        private long periodMs = 0;
+
+        /** Delay multiplier inside the window. */
+        private double latencyFactor = 1.0;
+
+        /** Additional failure probability inside the window. */
+        private double failureRate = 0.0;
+
+        /** Error type of brownout failures. */
+        private String errorType = "TIMEOUT";
+
+        /** Affected operations; empty = all. */
+        private List<String> operations = new ArrayList<>();
+
+        public long getStartMs() {
+            return startMs;
+        }
+
+        public void setStartMs(long startMs) {
+            this.startMs = startMs;
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        public void setDurationMs(long durationMs) {
+            this.durationMs = durationMs;
+        }
+
+        public long getPeriodMs() {
+            return periodMs;
+        }
+
+        public void setPeriodMs(long periodMs) {
+            this.periodMs = periodMs;
+        }
+
+        public double getLatencyFactor() {
+            return latencyFactor;
+        }
+
+        public void setLatencyFactor(double latencyFactor) {
+            this.latencyFactor = latencyFactor;
+        }
+
+        public double getFailureRate() {
+            return failureRate;
+        }
+
+        public void setFailureRate(double failureRate) {
+            this.failureRate = failureRate;
+        }
+
+        public String getErrorType() {
+            return errorType;
+        }
+
+        public void setErrorType(String errorType) {
+            this.errorType = errorType;
+        }
+
+        public List<String> getOperations() {
+            return operations;
+        }
+
+        public void setOperations(List<String> operations) {
+            this.operations = operations;
+        }
+
+        /** True if the window is open at the given time since startup. */
+        public boolean isActive(long elapsedMs) {
+            if (durationMs <= 0 || elapsedMs < startMs) {
+                return false;
+            }
+            long sinceStart = elapsedMs - startMs;
+            return periodMs > 0 ? sinceStart % periodMs < durationMs : sinceStart < durationMs;
+        }
+
+        public boolean affects(String operation) {
+            return operations.isEmpty() || operations.contains(operation);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.vnfm.vim.simulator.controller;
+
+import com.vnfm.vim.simulator.api.ErrorBody;
+import com.vnfm.vim.simulator.exception.VimException;
+import com.vnfm.vim.simulator.pool.ResourcePool;
+import com.vnfm.vim.simulator.service.VimSimulatorService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Pool limits and usage (GET /limits), modelled on OpenStack's absolute compute limits.
+ * vim-manager polls it to refresh its local capacity model. With ?tenant= the quota and usage of a tenant
+ * configured under pool.tenants (404 for other tenants).
+ */
+@RestController
+public class LimitsController {
+
+    private final VimSimulatorService vimSimulatorService;
+
+    public LimitsController(VimSimulatorService vimSimulatorService) {
+        this.vimSimulatorService = vimSimulatorService;
+    }
+
+    @GetMapping(value = "/limits", produces = "application/json")
+    public CompletableFuture<ResponseEntity<ResourcePool.Limits>> getLimits(@RequestParam(value = "tenant", required = false) String tenant) {
+        return vimSimulatorService.limits(tenant).thenApply(limits -> limits
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+
+    @ExceptionHandler(VimException.class)
+    public ResponseEntity<ErrorBody> handleVimException(VimException ex) {
+        return ResponseEntity.status(ServerController.mapErrorTypeToStatus(ex.getErrorType()))
+                .body(new ErrorBody(ex.getErrorType(), ex.getMessage()));
+    }
+}
@@ -1,6 +1,12 @@
 package com.vnfm.vim.simulator.controller;
 
+import com.vnfm.vim.simulator.api.BulkCreateServersRequest;
+import com.vnfm.vim.simulator.api.BulkDeleteServersRequest;
+import com.vnfm.vim.simulator.api.BulkServerResult;
 import com.vnfm.vim.simulator.api.CreateServerRequest;
+import com.vnfm.vim.simulator.api.ErrorBody;
+import com.vnfm.vim.simulator.api.ServerChangesResponse;
+import com.vnfm.vim.simulator.api.ServerPageResponse;
 import com.vnfm.vim.simulator.api.ServerResponse;
 import com.vnfm.vim.simulator.domain.Server;
 import com.vnfm.vim.simulator.exception.VimException;
@@ -10,15 +16,22 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * REST API for mock VIM: allocate VM (POST /servers), release (DELETE), status (GET).
+ * REST API for mock VIM: allocate VM (POST /servers), release (DELETE), status (GET), find by name (GET ?name=),
+ * changed servers (GET ?changes-since=), paged listing (GET), and bulk create/delete.
+ * Handlers return futures (async requests), so no servlet thread waits out the simulated latency.
  */
 @RestController
 @RequestMapping("/servers")
 public class ServerController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final VimSimulatorService vimSimulatorService;
 
     public ServerController(VimSimulatorService vimSimulatorService) {
@@ -26,35 +39,121 @@ public class ServerController {
     }
 
     @PostMapping(consumes = "application/json", produces = "application/json")
-    public ResponseEntity<ServerResponse> createServer(@Valid @RequestBody(required = false) CreateServerRequest request) {
+    public CompletableFuture<ResponseEntity<ServerResponse>> createServer(@Valid @RequestBody(required = false) CreateServerRequest request) {
         int cpu = request != null ? request.getCpu() : 1;
         int memory = request != null ? request.getMemory() : 1024;
-        Server server = vimSimulatorService.createServer(cpu, memory);
-        ServerResponse body = new ServerResponse(
-                server.getResourceId(),
-                server.getIp(),
-                server.getStatus(),
-                server.getCpu(),
-                server.getMemory()
-        );
-        return ResponseEntity.status(HttpStatus.CREATED).body(body);
+        String name = request != null ? request.getName() : null;
+        String tenant = request != null ? request.getTenant() : null;
+        return vimSimulatorService.createServer(name, cpu, memory, tenant)
+                .thenApply(server -> ResponseEntity.status(HttpStatus.CREATED).body(toResponse(server)));
+    }
+
+    /**
+     * Allocate several VMs in one call (POST /servers/bulk). 200 with one result per item in request order; an
+     * item over quota has status 403. A simulated failure of the call itself fails the whole request.
+     */
+    @PostMapping(value = "/bulk", consumes = "application/json", produces = "application/json")
+    public CompletableFuture<ResponseEntity<List<BulkServerResult>>> createServers(@Valid @RequestBody BulkCreateServersRequest request) {
+        return vimSimulatorService.createServers(request.getServers()).thenApply(items -> ResponseEntity.ok(items.stream()
+                .map(item -> item.error() == null
+                        ? BulkServerResult.created(toResponse(item.value()))
+                        : BulkServerResult.error(mapErrorTypeToStatus(item.error().getErrorType()).value(),
+                                item.error().getErrorType(), item.error().getMessage()))
+                .toList()));
+    }
+
+    /**
+     * Release servers in one call (POST /servers/bulk-delete), by name ({@code names}) or by resourceId
+     * ({@code ids}). 200 with one result per entry in request order: the released count per name, or 204 per
+     * deleted id and 404 per unknown one.
+     */
+    @PostMapping(value = "/bulk-delete", consumes = "application/json", produces = "application/json")
+    public CompletableFuture<ResponseEntity<List<BulkServerResult>>> deleteServers(@Valid @RequestBody BulkDeleteServersRequest request) {
+        return request.getIds() != null && !request.getIds().isEmpty()
+                ? deleteServersById(request.getIds())
+                : deleteServersByName(request.getNames());
+    }
+
+    private CompletableFuture<ResponseEntity<List<BulkServerResult>>> deleteServersByName(List<String> names) {
+        return vimSimulatorService.deleteServersByName(names).thenApply(released -> {
+            List<BulkServerResult> body = new ArrayList<>(names.size());
+            for (int i = 0; i < names.size(); i++) {
+                body.add(BulkServerResult.released(names.get(i), released.get(i)));
+            }
+            return ResponseEntity.ok(body);
+        });
+    }
+
+    private CompletableFuture<ResponseEntity<List<BulkServerResult>>> deleteServersById(List<String> ids) {
+        return vimSimulatorService.deleteServers(ids).thenApply(items -> {
+            List<BulkServerResult> body = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                VimException error = items.get(i).error();
+                body.add(error == null
+                        ? BulkServerResult.deleted(ids.get(i))
+                        : BulkServerResult.notDeleted(ids.get(i), mapErrorTypeToStatus(error.getErrorType()).value(),
+                                error.getErrorType(), error.getMessage()));
+            }
+            return ResponseEntity.ok(body);
+        });
+    }
+
+    /**
+     * Page through servers (GET /servers?status=&marker=&limit=), ordered by resourceId: limit (1 to 1000,
+     * default 100) servers after marker, the resourceId where the previous page ended. With status, only
+     * servers in that status (from the status index). next is absent on the last page: one server more than
+     * the page is fetched, so a page that exactly ends the listing has no next.
+     */
+    @GetMapping(params = {"!name", "!changes-since"}, produces = "application/json")
+    public CompletableFuture<ResponseEntity<ServerPageResponse>> listServers(
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "marker", required = false) String marker,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return vimSimulatorService.listServers(status != null ? status.toUpperCase(Locale.ROOT) : null, marker, pageSize + 1)
+                .thenApply(servers -> {
+                    List<Server> page = servers.size() > pageSize ? servers.subList(0, pageSize) : servers;
+                    return ResponseEntity.ok(new ServerPageResponse(
+                            page.stream().map(ServerController::toResponse).toList(),
+                            page.size() < servers.size() ? page.get(page.size() - 1).getResourceId() : null));
+                });
+    }
+
+    /**
+     * Find servers by name (GET /servers?name=...).
+     */
+    @GetMapping(params = "name", produces = "application/json")
+    public CompletableFuture<ResponseEntity<List<ServerResponse>>> findServers(@RequestParam("name") String name) {
+        return vimSimulatorService.findServersByName(name).thenApply(servers -> ResponseEntity.ok(servers.stream()
+                .map(ServerController::toResponse)
+                .toList()));
+    }
+
+    /**
+     * Servers whose status changed after the given sequence (GET /servers?changes-since=N), for polling status
+     * at scale: start with 0, then pass the returned sequence. Deleted servers appear once as DELETED.
+     */
+    @GetMapping(params = "changes-since", produces = "application/json")
+    public CompletableFuture<ResponseEntity<ServerChangesResponse>> changes(@RequestParam("changes-since") long since) {
+        return vimSimulatorService.changesSince(since).thenApply(changes -> ResponseEntity.ok(new ServerChangesResponse(
+                changes.sequence(), changes.truncated(),
+                changes.servers().stream().map(ServerController::toResponse).toList())));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteServer(@PathVariable String id) {
-        vimSimulatorService.deleteServer(id);
-        return ResponseEntity.noContent().build();
+    public CompletableFuture<ResponseEntity<Void>> deleteServer(@PathVariable String id) {
+        return vimSimulatorService.deleteServer(id).thenApply(done -> ResponseEntity.noContent().build());
     }
 
     @GetMapping(value = "/{id}", produces = "application/json")
-    public ResponseEntity<ServerResponse> getServer(@PathVariable String id) {
-        Optional<Server> server = vimSimulatorService.getServer(id);
-        if (server.isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
-        Server s = server.get();
-        ServerResponse body = new ServerResponse(s.getResourceId(), s.getIp(), s.getStatus(), s.getCpu(), s.getMemory());
-        return ResponseEntity.ok(body);
+    public CompletableFuture<ResponseEntity<ServerResponse>> getServer(@PathVariable String id) {
+        return vimSimulatorService.getServer(id).thenApply(server -> server
+                .map(s -> ResponseEntity.ok(toResponse(s)))
+                .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+
+    private static ServerResponse toResponse(Server s) {
+        return new ServerResponse(s.getResourceId(), s.getName(), s.getIp(), s.getStatus(), s.getCpu(), s.getMemory(), s.getTenant());
     }
 
     @ExceptionHandler(VimException.class)
@@ -63,26 +162,13 @@ public class ServerController {
         return ResponseEntity.status(status).body(new ErrorBody(ex.getErrorType(), ex.getMessage()));
     }
 
-    private static HttpStatus mapErrorTypeToStatus(String errorType) {
+    static HttpStatus mapErrorTypeToStatus(String errorType) {
         if (errorType == null) return HttpStatus.INTERNAL_SERVER_ERROR;
         return switch (errorType.toUpperCase()) {
             case "TIMEOUT" -> HttpStatus.GATEWAY_TIMEOUT;
             case "QUOTA" -> HttpStatus.FORBIDDEN;
+            case "NOT_FOUND" -> HttpStatus.NOT_FOUND;
             default -> HttpStatus.INTERNAL_SERVER_ERROR;
         };
     }
-
-    @SuppressWarnings("unused")
-    public static class ErrorBody {
-        private String errorType;
-        private String message;
-
-        public ErrorBody(String errorType, String message) {
-            this.errorType = errorType;
-            this.message = message;
-        }
-
-        public String getErrorType() { return errorType; }
-        public String getMessage() { return message; }
-    }
 }
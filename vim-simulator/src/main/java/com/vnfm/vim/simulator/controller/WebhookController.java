@@ -0,0 +1,57 @@
+package com.vnfm.vim.simulator.controller;
+
+import com.vnfm.vim.simulator.api.ErrorBody;
+import com.vnfm.vim.simulator.api.WebhookRequest;
+import com.vnfm.vim.simulator.api.WebhookResponse;
+import com.vnfm.vim.simulator.lifecycle.WebhookRegistry;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Webhook registry for server status changes: register (POST /webhooks), list with delivery counters (GET),
+ * remove (DELETE /webhooks/{id}). Not subject to simulated latency or failures.
+ */
+@RestController
+@RequestMapping("/webhooks")
+public class WebhookController {
+
+    private final WebhookRegistry webhookRegistry;
+
+    public WebhookController(WebhookRegistry webhookRegistry) {
+        this.webhookRegistry = webhookRegistry;
+    }
+
+    @PostMapping(consumes = "application/json", produces = "application/json")
+    public ResponseEntity<?> register(@Valid @RequestBody WebhookRequest request) {
+        Set<String> statuses = request.getStatuses() == null ? Set.of() : request.getStatuses().stream()
+                .map(status -> status.toUpperCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(webhookRegistry.register(request.getUrl(), statuses)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorBody("INVALID", "Invalid webhook URL: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping(produces = "application/json")
+    public List<WebhookResponse> list() {
+        return webhookRegistry.list().stream().map(WebhookController::toResponse).toList();
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> unregister(@PathVariable String id) {
+        return webhookRegistry.unregister(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    private static WebhookResponse toResponse(WebhookRegistry.Webhook webhook) {
+        return new WebhookResponse(webhook.id(), webhook.url().toString(), webhook.statuses(),
+                webhook.delivered().get(), webhook.failed().get(), webhook.dropped().get());
+    }
+}
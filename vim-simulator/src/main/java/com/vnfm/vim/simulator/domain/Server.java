@@ -1,28 +1,39 @@
 package com.vnfm.vim.simulator.domain;
 
 /**
- * In-memory representation of an allocated VM.
+ * In-memory representation of an allocated VM. Status and change sequence are updated by the lifecycle
+ * (BUILD, ACTIVE, ERROR, DELETING, DELETED), together as one {@link State}, so a reader outside the lifecycle's
+ * lock never sees the status of one change with the sequence of another.
  */
 public class Server {
 
     private final String resourceId;
+    private final String name;
     private final String ip;
     private final int cpu;
     private final int memory;
-    private final String status;
+    private final String tenant;
+    private volatile State state;
 
-    public Server(String resourceId, String ip, int cpu, int memory, String status) {
+    public Server(String resourceId, String name, String ip, int cpu, int memory, String status, String tenant) {
         this.resourceId = resourceId;
+        this.name = name;
         this.ip = ip;
         this.cpu = cpu;
         this.memory = memory;
-        this.status = status;
+        this.state = new State(status, 0);
+        this.tenant = tenant;
     }
 
     public String getResourceId() {
         return resourceId;
     }
 
+    /** Client-chosen name (e.g. the VNF id), may be null. Not unique. */
+    public String getName() {
+        return name;
+    }
+
     public String getIp() {
         return ip;
     }
@@ -36,6 +47,28 @@ public class Server {
     }
 
     public String getStatus() {
-        return status;
+        return state.status();
+    }
+
+    /** Sequence number of the last status change; 0 before the first. */
+    public long getSequence() {
+        return state.sequence();
+    }
+
+    /** Status and sequence of the last change, read together. */
+    public State getState() {
+        return state;
+    }
+
+    public void changed(String status, long sequence) {
+        this.state = new State(status, sequence);
+    }
+
+    /** Tenant the VM is booked to, may be null. */
+    public String getTenant() {
+        return tenant;
+    }
+
+    public record State(String status, long sequence) {
     }
 }
@@ -0,0 +1,192 @@
+package com.vnfm.vim.simulator.lifecycle;
+
+import com.vnfm.vim.simulator.config.LifecycleProperties;
+import com.vnfm.vim.simulator.domain.Server;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Status changes of all servers: numbers each change with a global sequence, indexes every server by the
+ * sequence of its last change (so a delta query is a range scan of the servers that changed, not a scan of the
+ * pool) and by status (sorted by resourceId, for paged listing), notifies listeners (e.g. {@link WebhookRegistry})
+ * and runs delayed transitions on a {@link TimerWheel}.
+ * <p>
+ * Deleted servers stay in the index as DELETED for lifecycle.retain-deleted-ms; a delta query from before the
+ * newest purged deletion reports itself truncated.
+ */
+@Component
+public class ServerLifecycle implements DisposableBean {
+
+    /** Restore packs a server's position into the low bits of its sequence: up to 16M servers, 2^39 changes. */
+    private static final int RESTORE_POSITION_BITS = 24;
+
+    private final LifecycleProperties properties;
+    private final TimerWheel wheel;
+    private final ConcurrentSkipListMap<Long, Server> bySequence = new ConcurrentSkipListMap<>();
+    private final Map<String, ConcurrentSkipListMap<String, Server>> byStatus = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /** Guarded by this, with every index update, so a query never reads a sequence whose server is not indexed yet. */
+    private long sequence;
+    private long purgedUpTo;
+
+    public ServerLifecycle(LifecycleProperties properties) {
+        this.properties = properties;
+        this.wheel = new TimerWheel("vim-lifecycle", properties.getTickMs(), properties.getWheelSize());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Indexes servers restored from disk (ordered by resourceId) in their saved status and sequence, without
+     * notifying listeners, and continues numbering after the newest saved change. Deletions before the restart
+     * are not retained, so delta queries from before it report themselves truncated.
+     */
+    public synchronized void restored(List<Server> servers, long restoredSequence) {
+        // Skip lists fill fastest in key order
+        for (Server server : servers) {
+            statusIndex(server.getStatus()).put(server.getResourceId(), server);
+        }
+        if (servers.size() >= 1 << RESTORE_POSITION_BITS) {
+            throw new IllegalArgumentException("Cannot restore more than " + ((1 << RESTORE_POSITION_BITS) - 1) + " servers");
+        }
+        // Sorting (sequence, position) packed into longs is several times faster than a comparator sort
+        long[] inChangeOrder = new long[servers.size()];
+        for (int i = 0; i < inChangeOrder.length; i++) {
+            inChangeOrder[i] = servers.get(i).getSequence() << RESTORE_POSITION_BITS | i;
+        }
+        Arrays.sort(inChangeOrder);
+        for (long packed : inChangeOrder) {
+            Server server = servers.get((int) (packed & (1 << RESTORE_POSITION_BITS) - 1));
+            bySequence.put(server.getSequence(), server);
+            restoredSequence = Math.max(restoredSequence, server.getSequence());
+        }
+        sequence = Math.max(sequence, restoredSequence);
+        purgedUpTo = sequence;
+    }
+
+    /** Sequence of the newest change. */
+    public synchronized long sequence() {
+        return sequence;
+    }
+
+    /** Records a new server in its initial status. */
+    public void created(Server server) {
+        change(server, server.getStatus(), true);
+    }
+
+    /**
+     * Moves the server to the status if its current status is one of from (any status if none given).
+     *
+     * @return false if the server was in another status (nothing changed)
+     */
+    public boolean transition(Server server, String to, String... from) {
+        return change(server, to, false, from);
+    }
+
+    /** Runs the action on the lifecycle timer after the delay. */
+    public TimerWheel.Timeout after(long delayMs, Runnable action) {
+        return wheel.schedule(delayMs, action);
+    }
+
+    /** Keeps a deleted server visible to delta queries for lifecycle.retain-deleted-ms, then drops it. */
+    public void retire(Server deleted) {
+        wheel.schedule(properties.getRetainDeletedMs(), () -> {
+            synchronized (this) {
+                if (bySequence.remove(deleted.getSequence(), deleted)) {
+                    purgedUpTo = Math.max(purgedUpTo, deleted.getSequence());
+                    statusIndex(deleted.getStatus()).remove(deleted.getResourceId(), deleted);
+                }
+            }
+        });
+    }
+
+    /**
+     * Servers whose last change is after the given sequence, in change order, with their current status.
+     * A server changing during the query may be missing; it is then part of the next query.
+     */
+    public Changes changesSince(long since) {
+        long upTo;
+        boolean truncated;
+        synchronized (this) {
+            upTo = sequence;
+            truncated = since > 0 && since < purgedUpTo;
+        }
+        List<Server> changed = since >= upTo ? List.of() : List.copyOf(bySequence.subMap(since, false, upTo, true).values());
+        return new Changes(upTo, truncated, changed);
+    }
+
+    /**
+     * Up to limit servers in the status, ordered by resourceId, starting after the marker (null = first page).
+     * Deleted servers are listed as DELETED while retained.
+     */
+    public List<Server> list(String status, String marker, int limit) {
+        NavigableMap<String, Server> index = byStatus.get(status);
+        if (index == null) {
+            return List.of();
+        }
+        return (marker == null ? index : index.tailMap(marker, false)).values().stream().limit(limit).toList();
+    }
+
+    private ConcurrentSkipListMap<String, Server> statusIndex(String status) {
+        return byStatus.computeIfAbsent(status, s -> new ConcurrentSkipListMap<>());
+    }
+
+    private boolean change(Server server, String to, boolean initial, String... from) {
+        StatusChange change;
+        synchronized (this) {
+            String previous = initial ? null : server.getStatus();
+            if (!initial && from.length > 0 && !List.of(from).contains(previous)) {
+                return false;
+            }
+            long next = ++sequence;
+            if (server.getSequence() > 0) {
+                bySequence.remove(server.getSequence());
+            }
+            if (previous != null) {
+                statusIndex(previous).remove(server.getResourceId(), server);
+            }
+            server.changed(to, next);
+            bySequence.put(next, server);
+            statusIndex(to).put(server.getResourceId(), server);
+            change = new StatusChange(next, server.getResourceId(), server.getName(), server.getTenant(),
+                    previous, to, Instant.now());
+        }
+        listeners.forEach(listener -> listener.changed(server, change));
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+        wheel.close();
+    }
+
+    /** Notified after every status change, outside the lifecycle's lock (so not necessarily in sequence order). */
+    @FunctionalInterface
+    public interface Listener {
+
+        void changed(Server server, StatusChange change);
+    }
+
+    /**
+     * Result of a delta query: the servers, and the sequence to pass as changes-since next time. truncated =
+     * deletions after since were already purged; only a full query (changes-since=0) is complete then.
+     */
+    public record Changes(long sequence, boolean truncated, List<Server> servers) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.vnfm.vim.simulator.lifecycle;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+/**
+ * One server status change, as delivered to listeners and webhooks. Sequence numbers are unique and increase
+ * with every change of any server; previousStatus is null for a newly created server.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record StatusChange(long sequence, String resourceId, String name, String tenant,
+                           String previousStatus, String status, Instant changedAt) {
+}
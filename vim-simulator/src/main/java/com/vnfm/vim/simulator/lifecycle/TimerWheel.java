@@ -0,0 +1,131 @@
+package com.vnfm.vim.simulator.lifecycle;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timer wheel: one thread advancing a ring of buckets every tick, each holding the tasks due in a tick
+ * of that slot (in this or a later revolution). Scheduling is an enqueue and firing scans one bucket per tick,
+ * so tens of thousands of pending server transitions cost O(1) each, unlike a heap-based scheduler. Tasks fire
+ * up to one tick late and run on the wheel thread, so they must be short. A cancelled task stays in its bucket
+ * until its tick comes and is skipped then.
+ */
+public class TimerWheel implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TimerWheel.class);
+
+    private final long tickNanos;
+    private final List<List<Task>> buckets;
+    private final Queue<Task> scheduled = new ConcurrentLinkedQueue<>();
+    private final long startNanos = System.nanoTime();
+    private final Thread worker;
+
+    /** Only read and written by the wheel thread. */
+    private long tick;
+
+    public TimerWheel(String name, long tickMs, int wheelSize) {
+        if (tickMs < 1 || wheelSize < 1) {
+            throw new IllegalArgumentException("tickMs and wheelSize must be positive");
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /** Runs the task on the wheel thread once the delay has passed. */
+    public Timeout schedule(long delayMs, Runnable task) {
+        long due = System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMs));
+        Timeout timeout = new Timeout(task);
+        scheduled.add(new Task((due + tickNanos - 1) / tickNanos, timeout));
+        return timeout;
+    }
+
+    @Override
+    public void close() {
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            long sleepNanos = startNanos + (tick + 1) * tickNanos - System.nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+            tick++;
+            for (Task task; (task = scheduled.poll()) != null; ) {
+                if (task.dueTick <= tick) {
+                    fire(task);
+                } else {
+                    buckets.get((int) (task.dueTick % buckets.size())).add(task);
+                }
+            }
+            int slot = (int) (tick % buckets.size());
+            List<Task> bucket = buckets.get(slot);
+            if (!bucket.isEmpty()) {
+                List<Task> later = new ArrayList<>();
+                for (Task task : bucket) {
+                    if (task.dueTick <= tick) {
+                        fire(task);
+                    } else {
+                        later.add(task);
+                    }
+                }
+                buckets.set(slot, later);
+            }
+        }
+    }
+
+    private static void fire(Task task) {
+        if (!task.timeout.state.compareAndSet(Timeout.PENDING, Timeout.FIRED)) {
+            return;
+        }
+        try {
+            task.timeout.action.run();
+        } catch (RuntimeException e) {
+            log.warn("Timer task failed", e);
+        }
+    }
+
+    private record Task(long dueTick, Timeout timeout) {
+    }
+
+    /** Handle of a scheduled task. */
+    public static final class Timeout {
+
+        private static final int PENDING = 0;
+        private static final int FIRED = 1;
+        private static final int CANCELLED = 2;
+
+        private final Runnable action;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        private Timeout(Runnable action) {
+            this.action = action;
+        }
+
+        /** @return true if the task will not run; false if it already ran or is running */
+        public boolean cancel() {
+            return state.compareAndSet(PENDING, CANCELLED) || state.get() == CANCELLED;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+    }
+}
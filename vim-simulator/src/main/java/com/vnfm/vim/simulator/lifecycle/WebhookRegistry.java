@@ -0,0 +1,146 @@
+package com.vnfm.vim.simulator.lifecycle;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vnfm.vim.simulator.config.LifecycleProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Webhooks for server status changes: every {@link StatusChange} (optionally only some statuses) is POSTed as
+ * JSON to each registered URL. Delivery is asynchronous and best effort: at most lifecycle.webhook-max-in-flight
+ * requests per webhook, further changes wait in a backlog of lifecycle.webhook-backlog and are dropped beyond
+ * that; no retries, and no ordering guarantee (receivers order and deduplicate by sequence). Receivers reconcile
+ * with GET /servers?changes-since=.
+ */
+@Component
+public class WebhookRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookRegistry.class);
+
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+    private final int maxInFlight;
+    private final int maxBacklog;
+    private final ConcurrentHashMap<String, Webhook> webhooks = new ConcurrentHashMap<>();
+
+    public WebhookRegistry(LifecycleProperties properties, ServerLifecycle lifecycle, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.timeout = Duration.ofMillis(properties.getWebhookTimeoutMs());
+        this.maxInFlight = properties.getWebhookMaxInFlight();
+        this.maxBacklog = properties.getWebhookBacklog();
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        properties.getWebhooks().forEach(url -> register(url, Set.of()));
+        lifecycle.addListener((server, change) -> deliver(change));
+    }
+
+    /**
+     * @param statuses statuses to notify; empty = all
+     * @throws IllegalArgumentException if url is not an absolute http(s) URL
+     */
+    public Webhook register(String url, Set<String> statuses) {
+        URI uri = URI.create(url);
+        if (!("http".equals(uri.getScheme()) || "https".equals(uri.getScheme())) || uri.getHost() == null) {
+            throw new IllegalArgumentException("not an http(s) URL: " + url);
+        }
+        Webhook webhook = new Webhook(UUID.randomUUID().toString(), uri, Set.copyOf(statuses), new Semaphore(maxInFlight));
+        webhooks.put(webhook.id(), webhook);
+        log.info("Registered webhook id={} url={} statuses={}", webhook.id(), url, statuses);
+        return webhook;
+    }
+
+    public boolean unregister(String id) {
+        return webhooks.remove(id) != null;
+    }
+
+    public Collection<Webhook> list() {
+        return List.copyOf(webhooks.values());
+    }
+
+    private void deliver(StatusChange change) {
+        if (webhooks.isEmpty()) {
+            return;
+        }
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize status change", e);
+        }
+        for (Webhook webhook : webhooks.values()) {
+            if (!webhook.statuses().isEmpty() && !webhook.statuses().contains(change.status())) {
+                continue;
+            }
+            if (webhook.queued().incrementAndGet() > maxBacklog) {
+                webhook.queued().decrementAndGet();
+                webhook.dropped().incrementAndGet();
+                continue;
+            }
+            webhook.backlog().add(new Delivery(change.sequence(), body));
+            pump(webhook);
+        }
+    }
+
+    /** Sends backlogged changes while the webhook has requests to spare; completions pump again. */
+    private void pump(Webhook webhook) {
+        while (!webhook.backlog().isEmpty() && webhook.inFlight().tryAcquire()) {
+            Delivery delivery = webhook.backlog().poll();
+            if (delivery == null) {
+                webhook.inFlight().release();
+                continue;
+            }
+            webhook.queued().decrementAndGet();
+            HttpRequest request = HttpRequest.newBuilder(webhook.url())
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(delivery.body()))
+                    .build();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                webhook.inFlight().release();
+                if (error == null && response.statusCode() < 300) {
+                    webhook.delivered().incrementAndGet();
+                } else {
+                    webhook.failed().incrementAndGet();
+                    log.debug("Webhook {} failed for sequence {}: {}", webhook.url(), delivery.sequence(),
+                            error != null ? error.toString() : "HTTP " + response.statusCode());
+                }
+                pump(webhook);
+            });
+        }
+    }
+
+    /** A registered webhook and its delivery counters. */
+    public record Webhook(String id, URI url, Set<String> statuses, Semaphore inFlight,
+                          Queue<Delivery> backlog, AtomicInteger queued,
+                          AtomicLong delivered, AtomicLong failed, AtomicLong dropped) {
+
+        Webhook(String id, URI url, Set<String> statuses, Semaphore inFlight) {
+            this(id, url, statuses, inFlight, new ConcurrentLinkedQueue<>(), new AtomicInteger(),
+                    new AtomicLong(), new AtomicLong(), new AtomicLong());
+        }
+    }
+
+    private record Delivery(long sequence, String body) {
+    }
+}
@@ -14,7 +14,8 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 /**
- * Logs every request (method, path, query).
+ * Logs every request (method, path, query) and its response status; for async requests the status is logged
+ * on the async dispatch that writes the response.
  */
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
@@ -27,12 +28,21 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         String method = request.getMethod();
         String path = request.getRequestURI();
-        String query = request.getQueryString();
-        String full = query != null ? path + "?" + query : path;
-        log.info("Request: {} {}", method, full);
+        if (!isAsyncDispatch(request)) {
+            String query = request.getQueryString();
+            String full = query != null ? path + "?" + query : path;
+            log.info("Request: {} {}", method, full);
+        }
 
         filterChain.doFilter(request, response);
 
-        log.info("Response: {} {} -> {}", method, path, response.getStatus());
+        if (!isAsyncStarted(request)) {
+            log.info("Response: {} {} -> {}", method, path, response.getStatus());
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
     }
 }
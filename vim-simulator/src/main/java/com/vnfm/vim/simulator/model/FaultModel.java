@@ -0,0 +1,125 @@
+package com.vnfm.vim.simulator.model;
+
+import com.vnfm.vim.simulator.config.FailureProperties;
+import com.vnfm.vim.simulator.config.LatencyProfile;
+import com.vnfm.vim.simulator.config.LatencyProperties;
+import com.vnfm.vim.simulator.config.SimulationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * Decides delay and outcome of each simulated VIM call:
+ * <ol>
+ *   <li>delay sampled from the operation's {@link LatencyProfile} (uniform, lognormal or pareto), whose unset
+ *       fields come from the default profile;</li>
+ *   <li>multiplied by the latency-factor of every open brownout window affecting the operation;</li>
+ *   <li>multiplied by the saturation slowdown for the current pool utilization;</li>
+ *   <li>capped at latency.cap-ms;</li>
+ *   <li>failure drawn with the operation's rate, combined with the failure-rate of open brownouts.</li>
+ * </ol>
+ * With simulation.seed set, the n-th call of an operation draws from its own generator seeded with
+ * (seed, operation, n), so runs repeat call for call however requests interleave.
+ */
+@Component
+public class FaultModel {
+
+    private final LatencyProperties latency;
+    private final FailureProperties failure;
+    private final SimulationProperties simulation;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, AtomicLong> calls = new ConcurrentHashMap<>();
+    private final Map<String, LatencyProfile> profiles = new ConcurrentHashMap<>();
+
+    public FaultModel(LatencyProperties latency, FailureProperties failure, SimulationProperties simulation) {
+        this.latency = latency;
+        this.failure = failure;
+        this.simulation = simulation;
+    }
+
+    /**
+     * @param utilization fill level of the pool, 0 to 1
+     */
+    public Outcome next(String operation, double utilization) {
+        RandomGenerator random = random(operation);
+        double delay = sample(profiles.computeIfAbsent(operation, this::profile), random);
+        FailureProperties.Operation failureProfile = failure.getOperations().get(operation);
+        double failureRate = failureProfile != null ? failureProfile.getRate() : failure.getRate();
+        List<String> errorTypes = failureProfile != null && !failureProfile.getErrorTypes().isEmpty()
+                ? failureProfile.getErrorTypes() : failure.getErrorTypes();
+        String errorType = null;
+        // Every draw is made on every call, so a seeded sequence does not depend on which windows are open
+        double failureDraw = random.nextDouble();
+        int typeDraw = random.nextInt(Math.max(1, errorTypes.size()));
+        double brownoutDraw = random.nextDouble();
+        if (failureDraw < failureRate) {
+            errorType = errorTypes.isEmpty() ? "INTERNAL" : errorTypes.get(typeDraw);
+        }
+
+        long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
+        double brownoutSurvival = 1.0;
+        String brownoutError = null;
+        for (SimulationProperties.Brownout brownout : simulation.getBrownouts()) {
+            if (brownout.affects(operation) && brownout.isActive(elapsedMs)) {
+                delay *= brownout.getLatencyFactor();
+                brownoutSurvival *= 1.0 - brownout.getFailureRate();
+                brownoutError = brownoutError != null ? brownoutError : brownout.getErrorType();
+            }
+        }
+        if (errorType == null && brownoutDraw >= brownoutSurvival) {
+            errorType = brownoutError;
+        }
+
+        if (simulation.getSaturationFactor() > 0 && utilization > 0) {
+            double u = Math.min(utilization, 0.99);
+            delay *= 1.0 + simulation.getSaturationFactor() * u / (1.0 - u);
+        }
+        long delayMs = Math.max(0, Math.min(Math.round(delay), latency.getCapMs()));
+        return new Outcome(delayMs, errorType);
+    }
+
+    /** The operation's profile merged over the default one, so it only needs to set what differs. */
+    private LatencyProfile profile(String operation) {
+        LatencyProfile own = latency.getOperations().get(operation);
+        return own != null ? own.withDefaults(latency) : latency;
+    }
+
+    private static double sample(LatencyProfile profile, RandomGenerator random) {
+        return switch (profile.getDistribution()) {
+            case UNIFORM -> {
+                int min = profile.getMinMs();
+                int max = profile.getMaxMs();
+                double u = random.nextDouble();
+                yield max <= 0 ? 0 : min >= max ? min : min + Math.floor(u * (max - min + 1));
+            }
+            case LOGNORMAL -> profile.getMedianMs() * Math.exp(profile.getSigma() * random.nextGaussian());
+            // 1 - nextDouble() is in (0, 1], so the sample is finite
+            case PARETO -> profile.getScaleMs() / Math.pow(1.0 - random.nextDouble(), 1.0 / profile.getShape());
+        };
+    }
+
+    private RandomGenerator random(String operation) {
+        Long seed = simulation.getSeed();
+        if (seed == null) {
+            return ThreadLocalRandom.current();
+        }
+        long n = calls.computeIfAbsent(operation, op -> new AtomicLong()).getAndIncrement();
+        return new SplittableRandom((seed * 31 + operation.hashCode()) * 0x9E3779B97F4A7C15L + n);
+    }
+
+    /**
+     * @param errorType simulated failure to return after the delay, or null for success
+     */
+    public record Outcome(long delayMs, String errorType) {
+
+        public boolean failed() {
+            return errorType != null;
+        }
+    }
+}
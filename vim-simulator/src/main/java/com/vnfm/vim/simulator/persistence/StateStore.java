@@ -0,0 +1,409 @@
+package com.vnfm.vim.simulator.persistence;
+
+import com.vnfm.vim.simulator.config.PersistenceProperties;
+import com.vnfm.vim.simulator.domain.Server;
+import com.vnfm.vim.simulator.lifecycle.ServerLifecycle;
+import com.vnfm.vim.simulator.lifecycle.StatusChange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Server state on disk, in a compact binary format (big-endian fixed-width numbers, length-prefixed UTF-8):
+ * <ul>
+ *   <li><b>servers.snapshot</b>: every server with its status and change sequence, written to a temporary file
+ *       and moved into place, so it is always complete.</li>
+ *   <li><b>journal-N.log</b>: every status change since (create with the full server, status change, delete),
+ *       appended as it happens.</li>
+ * </ul>
+ * Request threads only enqueue journal entries; one writer thread appends them (flushed to the OS whenever the
+ * queue runs empty, so a killed process loses nothing, a crashed host the last unflushed batch) and takes the
+ * periodic snapshot, meanwhile entries queue up. A snapshot first starts journal N+1 and, once written, deletes
+ * the older journals; a crash in between leaves the previous snapshot and all journals it needs. Shutdown queues
+ * a stop entry behind the pending ones, so the writer journals everything before it, then takes a final snapshot.
+ * <p>
+ * Restore maps the files into memory and decodes them in place (no stream per byte), then replays the journals
+ * in sequence order; an entry older than the server's state is skipped, so entries written while the snapshot
+ * was taken apply only once.
+ */
+@Component
+public class StateStore implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(StateStore.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x56494d53;
+    private static final int JOURNAL_MAGIC = 0x56494d4a;
+    private static final int VERSION = 1;
+    private static final byte CREATE = 'C';
+    private static final byte STATUS = 'S';
+    private static final byte DELETE = 'D';
+    private static final String STATUS_DELETED = "DELETED";
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final Pattern JOURNAL_NAME = Pattern.compile("journal-(\\d+)\\.log");
+    /** Queued by destroy; never written. */
+    private static final Entry STOP = new Entry((byte) 0, 0, null, null, null);
+
+    private final PersistenceProperties properties;
+    private final ServerLifecycle lifecycle;
+    private final Path directory;
+    private final Path snapshotFile;
+    private final BlockingQueue<Entry> pending = new LinkedBlockingQueue<>();
+    private Thread writer;
+
+    public StateStore(PersistenceProperties properties, ServerLifecycle lifecycle) {
+        this.properties = properties;
+        this.lifecycle = lifecycle;
+        this.directory = Paths.get(properties.getDirectory());
+        this.snapshotFile = directory.resolve("servers.snapshot");
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Servers as of the last journaled change before shutdown, with their status and change sequence.
+     *
+     * @throws IllegalStateException if the snapshot is unreadable (delete persistence.directory to start empty)
+     */
+    public Restored load() {
+        // Snapshot order (by resourceId) is kept, so the final sort only has to merge in journaled creates
+        Map<String, Server> servers = new LinkedHashMap<>();
+        long sequence = 0;
+        try {
+            Files.createDirectories(directory);
+            if (Files.exists(snapshotFile)) {
+                sequence = readSnapshot(servers);
+            }
+            List<Entry> entries = new ArrayList<>();
+            for (Path journal : journals()) {
+                readJournal(journal, entries);
+            }
+            entries.sort(Comparator.comparingLong(Entry::sequence));
+            Set<String> deleted = new HashSet<>();
+            for (Entry entry : entries) {
+                sequence = Math.max(sequence, entry.sequence());
+                Server server = servers.get(entry.resourceId());
+                if (entry.type() == CREATE) {
+                    if (server == null && !deleted.contains(entry.resourceId())) {
+                        servers.put(entry.resourceId(), entry.server());
+                    }
+                } else if (entry.type() == DELETE) {
+                    servers.remove(entry.resourceId());
+                    deleted.add(entry.resourceId());
+                } else if (server != null && entry.sequence() > server.getSequence()) {
+                    server.changed(entry.status(), entry.sequence());
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot restore simulator state from " + directory.toAbsolutePath()
+                    + " (delete it to start empty)", e);
+        }
+        List<Server> restored = new ArrayList<>(servers.values());
+        restored.sort(Comparator.comparing(Server::getResourceId));
+        return new Restored(restored, sequence);
+    }
+
+    /**
+     * Starts journaling status changes and snapshotting the given (live) servers, beginning with a snapshot
+     * that compacts whatever was restored.
+     */
+    public void start(Collection<Server> servers) {
+        lifecycle.addListener(this::journal);
+        writer = new Thread(() -> write(servers), "vim-persistence");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /** Stops the writer after the queued entries and a final snapshot, so the next start reads no journal. */
+    @Override
+    public void destroy() throws InterruptedException {
+        if (writer != null) {
+            pending.add(STOP);
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    private void journal(Server server, StatusChange change) {
+        byte type = change.previousStatus() == null ? CREATE : STATUS_DELETED.equals(change.status()) ? DELETE : STATUS;
+        pending.add(new Entry(type, change.sequence(), server.getResourceId(), change.status(), server));
+    }
+
+    private void write(Collection<Server> servers) {
+        DataOutputStream journal = null;
+        long generation = 0;
+        long nextSnapshot = 0;
+        List<Entry> batch = new ArrayList<>();
+        boolean stopping = false;
+        while (true) {
+            try {
+                if (journal == null || stopping || System.nanoTime() - nextSnapshot >= 0) {
+                    if (journal != null) {
+                        journal.close();
+                    }
+                    generation = nextGeneration(generation);
+                    journal = openJournal(generation);
+                    snapshot(servers, generation);
+                    nextSnapshot = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getSnapshotIntervalMs());
+                    if (stopping) {
+                        journal.close();
+                        return;
+                    }
+                }
+                Entry first = pending.poll(Math.max(1, nextSnapshot - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    pending.drainTo(batch);
+                    stopping |= batch.remove(STOP);
+                    for (Entry entry : batch) {
+                        writeEntry(journal, entry);
+                    }
+                    batch.clear();
+                    if (pending.isEmpty()) {
+                        journal.flush();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                closeQuietly(journal);
+                return;
+            } catch (IOException e) {
+                closeQuietly(journal);
+                journal = null;
+                batch.clear();
+                if (stopping) {
+                    log.error("Final snapshot to {} failed; the next start replays the journals", directory.toAbsolutePath(), e);
+                    return;
+                }
+                // Entries of the failed batch are lost; the snapshot taken on retry covers them again
+                log.error("Writing simulator state to {} failed, retrying in 1 s", directory.toAbsolutePath(), e);
+                try {
+                    TimeUnit.SECONDS.sleep(1);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Closes a journal whose write failed, so a retry does not leak its file handle. */
+    private static void closeQuietly(DataOutputStream journal) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.debug("Closing the journal failed", e);
+        }
+    }
+
+    /** Writes the snapshot and deletes the journals before the given generation. */
+    private void snapshot(Collection<Server> servers, long generation) throws IOException {
+        long started = System.nanoTime();
+        long sequence = lifecycle.sequence();
+        Path temporary = directory.resolve("servers.snapshot.tmp");
+        int count = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), BUFFER_SIZE))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(sequence);
+            for (Server server : servers) {
+                Server.State state = server.getState();
+                out.writeBoolean(true);
+                writeServer(out, server, state.status(), state.sequence());
+                count++;
+            }
+            out.writeBoolean(false);
+        }
+        Files.move(temporary, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (Path journal : journals()) {
+            if (generation(journal) < generation) {
+                Files.deleteIfExists(journal);
+            }
+        }
+        log.info("Snapshot of {} server(s) up to sequence {} written in {} ms", count, sequence,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private long readSnapshot(Map<String, Server> servers) throws IOException {
+        ByteBuffer in = map(snapshotFile);
+        try {
+            if (in.getInt() != SNAPSHOT_MAGIC || in.getInt() != VERSION) {
+                throw new IOException("Not a simulator snapshot (or another version): " + snapshotFile);
+            }
+            long sequence = in.getLong();
+            while (in.get() != 0) {
+                Server server = readServer(in);
+                servers.put(server.getResourceId(), server);
+            }
+            return sequence;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated snapshot: " + snapshotFile, e);
+        }
+    }
+
+    private DataOutputStream openJournal(long generation) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                directory.resolve("journal-" + generation + ".log"), StandardOpenOption.CREATE_NEW), BUFFER_SIZE));
+        out.writeInt(JOURNAL_MAGIC);
+        out.writeInt(VERSION);
+        out.flush();
+        return out;
+    }
+
+    /** Appends the journal's entries; a torn last entry or header (killed while writing) ends it. */
+    private static void readJournal(Path journal, List<Entry> entries) throws IOException {
+        ByteBuffer in = map(journal);
+        if (in.remaining() < 8) {
+            log.warn("Journal {} ends in a partial header (ignored)", journal);
+            return;
+        }
+        if (in.getInt() != JOURNAL_MAGIC || in.getInt() != VERSION) {
+            throw new IOException("Not a simulator journal (or another version): " + journal);
+        }
+        try {
+            while (in.hasRemaining()) {
+                byte type = in.get();
+                if (type == CREATE) {
+                    Server server = readServer(in);
+                    entries.add(new Entry(CREATE, server.getSequence(), server.getResourceId(), server.getStatus(), server));
+                } else {
+                    long sequence = in.getLong();
+                    String resourceId = readUtf(in);
+                    String status = type == STATUS ? readUtf(in) : STATUS_DELETED;
+                    entries.add(new Entry(type, sequence, resourceId, status, null));
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            log.warn("Journal {} ends in a partial entry (ignored)", journal);
+        }
+    }
+
+    private static void writeEntry(DataOutputStream out, Entry entry) throws IOException {
+        out.writeByte(entry.type());
+        if (entry.type() == CREATE) {
+            writeServer(out, entry.server(), entry.status(), entry.sequence());
+        } else {
+            out.writeLong(entry.sequence());
+            writeUtf(out, entry.resourceId());
+            if (entry.type() == STATUS) {
+                writeUtf(out, entry.status());
+            }
+        }
+    }
+
+    private static void writeServer(DataOutputStream out, Server server, String status, long sequence) throws IOException {
+        out.writeLong(sequence);
+        writeUtf(out, server.getResourceId());
+        writeNullable(out, server.getName());
+        writeUtf(out, server.getIp());
+        out.writeInt(server.getCpu());
+        out.writeInt(server.getMemory());
+        writeUtf(out, status);
+        writeNullable(out, server.getTenant());
+    }
+
+    private static Server readServer(ByteBuffer in) {
+        long sequence = in.getLong();
+        String resourceId = readUtf(in);
+        String name = readNullable(in);
+        String ip = readUtf(in);
+        int cpu = in.getInt();
+        int memory = in.getInt();
+        String status = readUtf(in);
+        Server server = new Server(resourceId, name, ip, cpu, memory, status, readNullable(in));
+        server.changed(status, sequence);
+        return server;
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeUtf(out, value);
+        }
+    }
+
+    private static String readNullable(ByteBuffer in) {
+        return in.get() != 0 ? readUtf(in) : null;
+    }
+
+    /** Unsigned 16-bit length, then UTF-8 (plain, unlike writeUTF, so reading takes the JDK's ASCII fast path). */
+    private static void writeUtf(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xffff) {
+            throw new IOException("String too long to save (" + bytes.length + " bytes): " + value.substring(0, 32) + "...");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readUtf(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort() & 0xffff];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private List<Path> journals() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> JOURNAL_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparingLong(StateStore::generation))
+                    .toList();
+        }
+    }
+
+    private long nextGeneration(long current) throws IOException {
+        long newest = current;
+        for (Path journal : journals()) {
+            newest = Math.max(newest, generation(journal));
+        }
+        return newest + 1;
+    }
+
+    private static long generation(Path journal) {
+        Matcher matcher = JOURNAL_NAME.matcher(journal.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    /** Servers read at startup, ordered by resourceId, and the newest change sequence seen. */
+    public record Restored(List<Server> servers, long sequence) {
+    }
+
+    private record Entry(byte type, long sequence, String resourceId, String status, Server server) {
+    }
+}
@@ -0,0 +1,181 @@
+package com.vnfm.vim.simulator.pool;
+
+import com.vnfm.vim.simulator.exception.VimException;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * IPv4 addresses of one CIDR block, handed out without locks: a bitmap with one bit per address (set = in use),
+ * claimed by compare-and-set on its 64-bit word. Released addresses go to a free list and are reused first;
+ * otherwise a scan continues from the word of the last allocation. Network and broadcast addresses are never
+ * handed out.
+ */
+public class IpAllocator {
+
+    private final String cidr;
+    private final int network;
+    private final int size;
+    private final AtomicLongArray bits;
+    private final Queue<Integer> released = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final AtomicInteger allocated = new AtomicInteger();
+
+    /**
+     * @param cidr e.g. 10.0.0.0/16; prefix length 8 to 30
+     */
+    public IpAllocator(String cidr) {
+        String[] parts = cidr.split("/");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Not a CIDR block: " + cidr);
+        }
+        int prefix = Integer.parseInt(parts[1].trim());
+        if (prefix < 8 || prefix > 30) {
+            throw new IllegalArgumentException("CIDR prefix must be between 8 and 30: " + cidr);
+        }
+        this.cidr = cidr;
+        this.size = 1 << (32 - prefix);
+        this.network = parse(parts[0].trim()) & -size;
+        int words = (size + 63) / 64;
+        this.bits = new AtomicLongArray(words);
+        markUsed(0);
+        markUsed(size - 1);
+        for (int index = size; index < words * 64; index++) {
+            markUsed(index);
+        }
+    }
+
+    public String cidr() {
+        return cidr;
+    }
+
+    /** True if the two blocks share at least one address. */
+    public boolean overlaps(IpAllocator other) {
+        long start = Integer.toUnsignedLong(network);
+        long otherStart = Integer.toUnsignedLong(other.network);
+        return start < otherStart + other.size && otherStart < start + size;
+    }
+
+    /** Addresses that can be handed out (block size minus network and broadcast). */
+    public int capacity() {
+        return size - 2;
+    }
+
+    public int allocated() {
+        return allocated.get();
+    }
+
+    /**
+     * Claims a free address.
+     *
+     * @throws VimException QUOTA if every address of the block is in use
+     */
+    public String allocate() {
+        Integer reuse;
+        while ((reuse = released.poll()) != null) {
+            if (trySet(reuse)) {
+                return claimed(reuse);
+            }
+        }
+        int words = bits.length();
+        int start = cursor.get();
+        for (int n = 0; n < words; n++) {
+            int word = (start + n) % words;
+            long value = bits.get(word);
+            while (value != -1L) {
+                int bit = Long.numberOfTrailingZeros(~value);
+                if (bits.compareAndSet(word, value, value | (1L << bit))) {
+                    cursor.set(word);
+                    return claimed(word * 64 + bit);
+                }
+                value = bits.get(word);
+            }
+        }
+        throw new VimException("QUOTA", "No capacity: no free IP address in " + cidr);
+    }
+
+    /**
+     * Marks a specific address in use (a server restored from disk).
+     *
+     * @return false if it is outside the block or already in use
+     */
+    public boolean claim(String ip) {
+        int index = parse(ip) - network;
+        if (index <= 0 || index >= size - 1 || !trySet(index)) {
+            return false;
+        }
+        allocated.incrementAndGet();
+        return true;
+    }
+
+    /** Returns an address to the block; unknown or already free addresses are ignored. */
+    public void release(String ip) {
+        int index = parse(ip) - network;
+        if (index <= 0 || index >= size - 1) {
+            return;
+        }
+        int word = index / 64;
+        long mask = 1L << (index % 64);
+        long value;
+        do {
+            value = bits.get(word);
+            if ((value & mask) == 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, value, value & ~mask));
+        allocated.decrementAndGet();
+        released.add(index);
+    }
+
+    private String claimed(int index) {
+        allocated.incrementAndGet();
+        int address = network + index;
+        return (address >>> 24) + "." + ((address >>> 16) & 0xff) + "." + ((address >>> 8) & 0xff) + "." + (address & 0xff);
+    }
+
+    private boolean trySet(int index) {
+        int word = index / 64;
+        long mask = 1L << (index % 64);
+        long value;
+        do {
+            value = bits.get(word);
+            if ((value & mask) != 0) {
+                return false;
+            }
+        } while (!bits.compareAndSet(word, value, value | mask));
+        return true;
+    }
+
+    private void markUsed(int index) {
+        bits.set(index / 64, bits.get(index / 64) | (1L << (index % 64)));
+    }
+
+    private static int parse(String ip) {
+        int address = 0;
+        int octets = 0;
+        int value = -1;
+        for (int i = 0; i <= ip.length(); i++) {
+            char c = i < ip.length() ? ip.charAt(i) : '.';
+            if (c == '.') {
+                if (value < 0 || ++octets > 4) {
+                    throw new IllegalArgumentException("Not an IPv4 address: " + ip);
+                }
+                address = (address << 8) | value;
+                value = -1;
+            } else if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+                if (value > 255) {
+                    throw new IllegalArgumentException("Not an IPv4 address: " + ip);
+                }
+            } else {
+                throw new IllegalArgumentException("Not an IPv4 address: " + ip);
+            }
+        }
+        if (octets != 4 || value >= 0) {
+            throw new IllegalArgumentException("Not an IPv4 address: " + ip);
+        }
+        return address;
+    }
+}
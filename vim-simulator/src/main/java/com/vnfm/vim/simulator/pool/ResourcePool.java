@@ -0,0 +1,98 @@
+package com.vnfm.vim.simulator.pool;
+
+import com.vnfm.vim.simulator.exception.VimException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Capacity of the VIM or of one tenant: instances, vCPUs and memory, each an atomic counter checked and
+ * incremented by compare-and-set, so concurrent creates never take a lock and never exceed a limit. A create
+ * that fails a later counter rolls back the earlier ones; a concurrent create close to a limit may therefore be
+ * rejected although the rolled-back capacity would have fitted it.
+ * <p>
+ * A pool with its own CIDR ({@link #ips()}) hands out addresses from it.
+ */
+public class ResourcePool {
+
+    private final String name;
+    private final int maxServers;
+    private final int maxCores;
+    private final int maxRamMb;
+    private final IpAllocator ips;
+    private final AtomicInteger servers = new AtomicInteger();
+    private final AtomicInteger cores = new AtomicInteger();
+    private final AtomicInteger ramMb = new AtomicInteger();
+
+    /** Limits of -1 are unlimited; ips is the pool's own address block, or null. */
+    public ResourcePool(String name, int maxServers, int maxCores, int maxRamMb, IpAllocator ips) {
+        this.name = name;
+        this.maxServers = maxServers;
+        this.maxCores = maxCores;
+        this.maxRamMb = maxRamMb;
+        this.ips = ips;
+    }
+
+    /**
+     * Books one server of the given size.
+     *
+     * @throws VimException QUOTA if a limit would be exceeded (nothing is booked then)
+     */
+    public void reserve(int cpu, int memory) {
+        if (!tryAdd(servers, 1, maxServers)) {
+            throw new VimException("QUOTA", "No capacity: " + name + " pool limit " + maxServers + " reached");
+        }
+        if (!tryAdd(cores, cpu, maxCores)) {
+            servers.decrementAndGet();
+            throw new VimException("QUOTA", "No capacity: " + name + " core limit " + maxCores + " reached");
+        }
+        if (!tryAdd(ramMb, memory, maxRamMb)) {
+            servers.decrementAndGet();
+            cores.addAndGet(-cpu);
+            throw new VimException("QUOTA", "No capacity: " + name + " RAM limit " + maxRamMb + " MB reached");
+        }
+    }
+
+    /** Books a server restored from disk, even beyond the limits (they may have been lowered since). */
+    public void restore(int cpu, int memory) {
+        servers.incrementAndGet();
+        cores.addAndGet(cpu);
+        ramMb.addAndGet(memory);
+    }
+
+    /** Returns a server booked with {@link #reserve}. */
+    public void release(int cpu, int memory) {
+        servers.decrementAndGet();
+        cores.addAndGet(-cpu);
+        ramMb.addAndGet(-memory);
+    }
+
+    /** Address block of this pool; null if it uses the VIM's. */
+    public IpAllocator ips() {
+        return ips;
+    }
+
+    public Limits limits() {
+        return new Limits(maxServers, servers.get(), maxCores, cores.get(), maxRamMb, ramMb.get());
+    }
+
+    private static boolean tryAdd(AtomicInteger counter, int amount, int max) {
+        if (max < 0) {
+            counter.addAndGet(amount);
+            return true;
+        }
+        int current;
+        do {
+            current = counter.get();
+            if (current + amount > max) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current + amount));
+        return true;
+    }
+
+    /** OpenStack-style absolute limits and usage (-1 = unlimited). */
+    public record Limits(int maxTotalInstances, int totalInstancesUsed,
+                         int maxTotalCores, int totalCoresUsed,
+                         int maxTotalRamSizeMb, int totalRamUsedMb) {
+    }
+}
@@ -1,112 +1,452 @@
 package com.vnfm.vim.simulator.service;
 
-import com.vnfm.vim.simulator.config.FailureProperties;
-import com.vnfm.vim.simulator.config.LatencyProperties;
+import com.vnfm.vim.simulator.api.CreateServerRequest;
 import com.vnfm.vim.simulator.config.PoolProperties;
+import com.vnfm.vim.simulator.config.SimulationProperties;
 import com.vnfm.vim.simulator.domain.Server;
 import com.vnfm.vim.simulator.exception.VimException;
+import com.vnfm.vim.simulator.lifecycle.ServerLifecycle;
+import com.vnfm.vim.simulator.model.FaultModel;
+import com.vnfm.vim.simulator.persistence.StateStore;
+import com.vnfm.vim.simulator.pool.IpAllocator;
+import com.vnfm.vim.simulator.pool.ResourcePool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
- * In-memory VIM simulator: pool of VMs, configurable failure rate and latency.
+ * In-memory VIM simulator: pool of VMs, with delay and failure of every call decided by the {@link FaultModel}
+ * (latency distributions, per-operation profiles, brownouts, saturation slowdown, seed).
+ * <p>
+ * Built to be load-tested against without becoming the bottleneck:
+ * <ul>
+ *   <li>Latency is a scheduled delay, not a sleep: every operation returns a future completed by a timer thread
+ *       after the delay, so waiting requests hold no thread (simulation.latency-mode=blocking sleeps on the
+ *       request thread instead, to simulate a VIM with a fixed worker pool).</li>
+ *   <li>Capacity is booked on lock-free counters ({@link ResourcePool}), for the whole VIM and, for tenants under
+ *       pool.tenants, per tenant.</li>
+ *   <li>IPs come from a bitmap over pool.cidr or the tenant's cidr ({@link IpAllocator}), unique while in use
+ *       and reused after delete.</li>
+ * </ul>
+ * With lifecycle.enabled, servers are created in BUILD and deleted via DELETING like on a real VIM; the
+ * {@link ServerLifecycle} timer moves them on after the buildServer / destroyServer delays of the fault model
+ * (a simulated failure ends in ERROR, and the server keeps its capacity until deleted again).
+ * <p>
+ * With persistence.enabled, servers are restored from the {@link StateStore} at startup (servers caught in BUILD
+ * or DELETING finish their transition again) and every change is journaled.
  */
 @Service
-public class VimSimulatorService {
+public class VimSimulatorService implements DisposableBean {
 
     private static final Logger log = LoggerFactory.getLogger(VimSimulatorService.class);
+    private static final String STATUS_BUILD = "BUILD";
     private static final String STATUS_ACTIVE = "ACTIVE";
+    private static final String STATUS_ERROR = "ERROR";
+    private static final String STATUS_DELETING = "DELETING";
     private static final String STATUS_DELETED = "DELETED";
 
-    private final FailureProperties failureProperties;
-    private final LatencyProperties latencyProperties;
-    private final PoolProperties poolProperties;
+    private final FaultModel faultModel;
+    private final ServerLifecycle lifecycle;
+    private final SimulationProperties.LatencyMode latencyMode;
+    private final ScheduledExecutorService scheduler;
 
-    /** resourceId -> Server (allocated VMs). */
-    private final ConcurrentHashMap<String, Server> servers = new ConcurrentHashMap<>();
+    /** resourceId -> Server (allocated VMs), sorted for paged listing. */
+    private final ConcurrentSkipListMap<String, Server> servers = new ConcurrentSkipListMap<>();
 
-    public VimSimulatorService(FailureProperties failureProperties,
-                               LatencyProperties latencyProperties,
-                               PoolProperties poolProperties) {
-        this.failureProperties = failureProperties;
-        this.latencyProperties = latencyProperties;
-        this.poolProperties = poolProperties;
+    private final ResourcePool pool;
+    private final Map<String, ResourcePool> tenantPools = new LinkedHashMap<>();
+
+    public VimSimulatorService(FaultModel faultModel, PoolProperties poolProperties,
+                               SimulationProperties simulationProperties, ServerLifecycle lifecycle, StateStore store) {
+        this.faultModel = faultModel;
+        this.lifecycle = lifecycle;
+        this.latencyMode = simulationProperties.getLatencyMode();
+        this.pool = new ResourcePool("VIM", poolProperties.getMaxServers(), poolProperties.getMaxCores(),
+                poolProperties.getMaxRamMb(), new IpAllocator(poolProperties.getCidr()));
+        poolProperties.getTenants().forEach((tenant, quota) -> tenantPools.put(tenant, new ResourcePool(
+                "tenant " + tenant, quota.getMaxServers(), quota.getMaxCores(), quota.getMaxRamMb(),
+                quota.getCidr() != null && !quota.getCidr().isBlank() ? new IpAllocator(quota.getCidr()) : null)));
+        checkDisjointCidrs();
+        this.scheduler = new ScheduledThreadPoolExecutor(Math.max(1, simulationProperties.getSchedulerThreads()), timerThreads());
+        if (store.isEnabled()) {
+            restore(store);
+            store.start(servers.values());
+        }
     }
 
     /**
-     * Allocate a VM. Applies latency and failure simulation, checks pool capacity.
+     * Each allocator tracks only its own block, so overlapping blocks could hand out one address twice:
+     * tenant cidrs must be disjoint from pool.cidr and from each other.
+     *
+     * @throws IllegalArgumentException naming the first overlapping pair
      */
-    public Server createServer(int cpu, int memory) {
-        applyLatency();
-        maybeFail("createServer");
-
-        synchronized (servers) {
-            if (servers.size() >= poolProperties.getMaxServers()) {
-                throw new VimException("QUOTA", "No capacity: pool limit " + poolProperties.getMaxServers() + " reached");
-            }
-            String resourceId = "vm-" + UUID.randomUUID().toString();
-            String ip = "10.0." + (servers.size() % 254 + 1) + "." + (resourceId.hashCode() % 254 + 1);
-            Server server = new Server(resourceId, ip, cpu, memory, STATUS_ACTIVE);
-            servers.put(resourceId, server);
-            log.info("Allocated server resourceId={} ip={} cpu={} memory={} poolSize={}/{}",
-                    resourceId, ip, cpu, memory, servers.size(), poolProperties.getMaxServers());
-            return server;
+    private void checkDisjointCidrs() {
+        Map<String, IpAllocator> blocks = new LinkedHashMap<>();
+        blocks.put("pool.cidr", pool.ips());
+        tenantPools.forEach((tenant, tenantPool) -> {
+            if (tenantPool.ips() != null) {
+                blocks.put("pool.tenants." + tenant + ".cidr", tenantPool.ips());
+            }
+        });
+        List<Map.Entry<String, IpAllocator>> entries = new ArrayList<>(blocks.entrySet());
+        for (int i = 0; i < entries.size(); i++) {
+            for (int j = i + 1; j < entries.size(); j++) {
+                if (entries.get(i).getValue().overlaps(entries.get(j).getValue())) {
+                    throw new IllegalArgumentException(entries.get(j).getKey() + " " + entries.get(j).getValue().cidr()
+                            + " overlaps " + entries.get(i).getKey() + " " + entries.get(i).getValue().cidr());
+                }
+            }
         }
     }
 
     /**
-     * Release a VM.
+     * Allocate a VM. Applies latency and failure simulation, checks pool capacity (and the tenant's, if it has one).
+     */
+    public CompletableFuture<Server> createServer(String name, int cpu, int memory, String tenant) {
+        return simulate("createServer", () -> allocate(name, cpu, memory, tenant));
+    }
+
+    /**
+     * Allocate several VMs in one call: latency and failure simulation apply once to the whole call (like one
+     * rate-limited VIM API request), capacity is checked per server. Results are in request order; an item
+     * that hits the pool limit carries its VimException instead of a server.
+     */
+    public CompletableFuture<List<BulkItem<Server>>> createServers(List<CreateServerRequest> requests) {
+        return simulate("createServers", () -> {
+            List<BulkItem<Server>> results = new ArrayList<>(requests.size());
+            for (CreateServerRequest request : requests) {
+                try {
+                    results.add(BulkItem.ok(allocate(request.getName(), request.getCpu(), request.getMemory(), request.getTenant())));
+                } catch (VimException e) {
+                    results.add(BulkItem.failed(e));
+                }
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Release all servers carrying each of the given names, in one call. Returns the number released (or, with
+     * the lifecycle, set to DELETING) per name (0 if none matched), in request order.
      */
-    public void deleteServer(String resourceId) {
-        applyLatency();
-        maybeFail("deleteServer");
+    public CompletableFuture<List<Integer>> deleteServersByName(List<String> names) {
+        return simulate("deleteServers", () -> {
+            List<Integer> released = new ArrayList<>(names.size());
+            for (String name : names) {
+                int count = 0;
+                for (Server server : servers.values()) {
+                    if (name.equals(server.getName()) && release(server)) {
+                        count++;
+                    }
+                }
+                released.add(count);
+            }
+            log.info("Bulk deleted {} server(s) for {} name(s) poolSize={}/{}",
+                    released.stream().mapToInt(Integer::intValue).sum(), names.size(), poolSize(), pool.limits().maxTotalInstances());
+            return released;
+        });
+    }
+
+    private Server allocate(String name, int cpu, int memory, String tenant) {
+        ResourcePool tenantPool = tenant != null ? tenantPools.get(tenant) : null;
+        if (tenantPool != null) {
+            tenantPool.reserve(cpu, memory);
+        }
+        String ip;
+        try {
+            pool.reserve(cpu, memory);
+            try {
+                ip = addresses(tenantPool).allocate();
+            } catch (VimException e) {
+                pool.release(cpu, memory);
+                throw e;
+            }
+        } catch (VimException e) {
+            if (tenantPool != null) {
+                tenantPool.release(cpu, memory);
+            }
+            throw e;
+        }
+        String resourceId = "vm-" + UUID.randomUUID();
+        Server server = new Server(resourceId, name, ip, cpu, memory, lifecycle.isEnabled() ? STATUS_BUILD : STATUS_ACTIVE, tenant);
+        servers.put(resourceId, server);
+        lifecycle.created(server);
+        log.info("Allocated server resourceId={} ip={} cpu={} memory={} tenant={} status={} poolSize={}/{}",
+                resourceId, ip, cpu, memory, tenant, server.getStatus(), poolSize(), pool.limits().maxTotalInstances());
+        if (lifecycle.isEnabled()) {
+            build(server);
+        }
+        return server;
+    }
+
+    /** BUILD → ACTIVE (or ERROR) after the buildServer delay. */
+    private void build(Server server) {
+        FaultModel.Outcome build = faultModel.next("buildServer", utilization());
+        lifecycle.after(build.delayMs(), () -> {
+            String status = build.failed() ? STATUS_ERROR : STATUS_ACTIVE;
+            if (lifecycle.transition(server, status, STATUS_BUILD)) {
+                log.info("Server resourceId={} {} after {} ms", server.getResourceId(), status, build.delayMs());
+            }
+        });
+    }
 
-        Server removed = servers.remove(resourceId);
-        if (removed == null) {
-            throw new VimException("INTERNAL", "Server not found: " + resourceId);
+    /**
+     * Deletes the server: right away, or with the lifecycle via DELETING after the destroyServer delay (a
+     * simulated failure ends in ERROR). False if it is already gone or being deleted.
+     */
+    private boolean release(Server server) {
+        if (!lifecycle.isEnabled()) {
+            if (!servers.remove(server.getResourceId(), server)) {
+                return false;
+            }
+            destroyed(server);
+            return true;
+        }
+        if (!lifecycle.transition(server, STATUS_DELETING, STATUS_BUILD, STATUS_ACTIVE, STATUS_ERROR)) {
+            return false;
         }
-        log.info("Released server resourceId={} poolSize={}/{}", resourceId, servers.size(), poolProperties.getMaxServers());
+        destroy(server);
+        return true;
+    }
+
+    /** DELETING → DELETED (or ERROR) after the destroyServer delay. */
+    private void destroy(Server server) {
+        FaultModel.Outcome destroy = faultModel.next("destroyServer", utilization());
+        lifecycle.after(destroy.delayMs(), () -> {
+            if (destroy.failed()) {
+                lifecycle.transition(server, STATUS_ERROR, STATUS_DELETING);
+                log.info("Server resourceId={} ERROR while deleting after {} ms", server.getResourceId(), destroy.delayMs());
+            } else if (servers.remove(server.getResourceId(), server)) {
+                destroyed(server);
+            }
+        });
+    }
+
+    private void destroyed(Server server) {
+        free(server);
+        lifecycle.transition(server, STATUS_DELETED);
+        lifecycle.retire(server);
+        log.info("Released server resourceId={} poolSize={}/{}", server.getResourceId(), poolSize(), pool.limits().maxTotalInstances());
+    }
+
+    /**
+     * Loads the saved servers and books them on the pools, the server map and the lifecycle's indexes
+     * without change notifications, and resumes servers that were in BUILD or DELETING.
+     */
+    private void restore(StateStore store) {
+        long started = System.nanoTime();
+        StateStore.Restored restored = store.load();
+        for (Server server : restored.servers()) {
+            ResourcePool tenantPool = server.getTenant() != null ? tenantPools.get(server.getTenant()) : null;
+            if (tenantPool != null) {
+                tenantPool.restore(server.getCpu(), server.getMemory());
+            }
+            pool.restore(server.getCpu(), server.getMemory());
+            if (!addresses(tenantPool).claim(server.getIp())) {
+                log.warn("Restored server resourceId={} keeps ip={}, outside the address block or already in use",
+                        server.getResourceId(), server.getIp());
+            }
+            servers.put(server.getResourceId(), server);
+        }
+        lifecycle.restored(restored.servers(), restored.sequence());
+        for (Server server : restored.servers()) {
+            if (STATUS_BUILD.equals(server.getStatus())) {
+                build(server);
+            } else if (STATUS_DELETING.equals(server.getStatus())) {
+                destroy(server);
+            }
+        }
+        log.info("Restored {} server(s) up to sequence {} in {} ms", restored.servers().size(), restored.sequence(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    /** Returns a removed server's capacity and address. */
+    private void free(Server server) {
+        ResourcePool tenantPool = server.getTenant() != null ? tenantPools.get(server.getTenant()) : null;
+        addresses(tenantPool).release(server.getIp());
+        pool.release(server.getCpu(), server.getMemory());
+        if (tenantPool != null) {
+            tenantPool.release(server.getCpu(), server.getMemory());
+        }
+    }
+
+    private IpAllocator addresses(ResourcePool tenantPool) {
+        return tenantPool != null && tenantPool.ips() != null ? tenantPool.ips() : pool.ips();
+    }
+
+    private int poolSize() {
+        return pool.limits().totalInstancesUsed();
+    }
+
+    /**
+     * Release a VM (with the lifecycle: start deleting it; deleting a server already in DELETING succeeds).
+     * An unknown id fails with NOT_FOUND, like in {@link #deleteServers}.
+     */
+    public CompletableFuture<Void> deleteServer(String resourceId) {
+        return simulate("deleteServer", () -> {
+            Server server = servers.get(resourceId);
+            if (server == null || !release(server) && !lifecycle.isEnabled()) {
+                throw new VimException("NOT_FOUND", "Server not found: " + resourceId);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Release several VMs by resourceId in one call. Results are in request order; an unknown id carries a
+     * not-found VimException (with the lifecycle, a server already in DELETING counts as released).
+     */
+    public CompletableFuture<List<BulkItem<String>>> deleteServers(List<String> resourceIds) {
+        return simulate("deleteServers", () -> {
+            List<BulkItem<String>> results = new ArrayList<>(resourceIds.size());
+            for (String resourceId : resourceIds) {
+                Server server = servers.get(resourceId);
+                if (server == null || !release(server) && !lifecycle.isEnabled()) {
+                    results.add(BulkItem.failed(new VimException("NOT_FOUND", "Server not found: " + resourceId)));
+                } else {
+                    results.add(BulkItem.ok(resourceId));
+                }
+            }
+            return results;
+        });
     }
 
     /**
      * Get server status by resourceId.
      */
-    public Optional<Server> getServer(String resourceId) {
-        applyLatency();
-        maybeFail("getServer");
+    public CompletableFuture<Optional<Server>> getServer(String resourceId) {
+        return simulate("getServer", () -> Optional.ofNullable(servers.get(resourceId)));
+    }
+
+    /**
+     * Servers with the given name (OpenStack-style lookup; names are not unique).
+     */
+    public CompletableFuture<List<Server>> findServersByName(String name) {
+        return simulate("listServers", () -> servers.values().stream()
+                .filter(s -> name.equals(s.getName()))
+                .toList());
+    }
+
+    /**
+     * One page of servers ordered by resourceId, after the marker (null = first page): all live servers, or
+     * those in the given status from its index (DELETED lists recently deleted ones).
+     */
+    public CompletableFuture<List<Server>> listServers(String status, String marker, int limit) {
+        return simulate("listServers", () -> status != null
+                ? lifecycle.list(status, marker, limit)
+                : (marker == null ? servers : servers.tailMap(marker, false)).values().stream().limit(limit).toList());
+    }
 
-        return Optional.ofNullable(servers.get(resourceId));
+    /**
+     * Servers whose status changed after the given change sequence, including deleted ones (as DELETED) for
+     * lifecycle.retain-deleted-ms.
+     */
+    public CompletableFuture<ServerLifecycle.Changes> changesSince(long since) {
+        return simulate("listServers", () -> lifecycle.changesSince(since));
     }
 
-    private void applyLatency() {
-        int min = latencyProperties.getMinMs();
-        int max = latencyProperties.getMaxMs();
-        if (max <= 0) return;
-        int delay = min >= max ? min : min + (int) (Math.random() * (max - min + 1));
-        if (delay > 0) {
+    /**
+     * Pool limits and current usage (OpenStack-style absolute limits; -1 = unlimited): of the whole VIM, or of a
+     * tenant configured under pool.tenants (empty for other tenants).
+     */
+    public CompletableFuture<Optional<ResourcePool.Limits>> limits(String tenant) {
+        return simulate("limits", () -> tenant == null
+                ? Optional.of(pool.limits())
+                : Optional.ofNullable(tenantPools.get(tenant)).map(ResourcePool::limits));
+    }
+
+    /**
+     * One result of a bulk call: either a value or the VIM error for that item.
+     */
+    public record BulkItem<T>(T value, VimException error) {
+
+        static <T> BulkItem<T> ok(T value) {
+            return new BulkItem<>(value, null);
+        }
+
+        static <T> BulkItem<T> failed(VimException error) {
+            return new BulkItem<>(null, error);
+        }
+    }
+
+    /**
+     * Runs the operation after the simulated delay: on a timer thread (operations are short and lock-free), or
+     * after sleeping on the calling thread in BLOCKING mode, or right away without delay. A simulated failure or
+     * VimException fails the future.
+     */
+    private <T> CompletableFuture<T> simulate(String operation, Supplier<T> action) {
+        FaultModel.Outcome outcome = faultModel.next(operation, utilization());
+        Supplier<T> call = () -> {
+            if (outcome.failed()) {
+                String message = outcome.errorType() + " simulated for " + operation;
+                log.warn("Simulated failure: {} after {} ms", message, outcome.delayMs());
+                throw new VimException(outcome.errorType(), message);
+            }
+            return action.get();
+        };
+        if (outcome.delayMs() > 0 && latencyMode == SimulationProperties.LatencyMode.BLOCKING) {
             try {
-                Thread.sleep(delay);
+                Thread.sleep(outcome.delayMs());
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
-                throw new VimException("TIMEOUT", "Interrupted during latency simulation");
+                return CompletableFuture.failedFuture(new VimException("INTERNAL", "Interrupted: " + operation));
             }
+        } else if (outcome.delayMs() > 0) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            scheduler.schedule(() -> complete(result, call), outcome.delayMs(), TimeUnit.MILLISECONDS);
+            return result;
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        complete(result, call);
+        return result;
+    }
+
+    private static <T> void complete(CompletableFuture<T> result, Supplier<T> call) {
+        try {
+            result.complete(call.get());
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
         }
     }
 
-    private void maybeFail(String operation) {
-        if (failureProperties.getRate() <= 0.0) return;
-        if (Math.random() >= failureProperties.getRate()) return;
+    /** Fill level of the pool's tightest limit (0 if unlimited). */
+    private double utilization() {
+        ResourcePool.Limits limits = pool.limits();
+        return Math.max(fill(limits.totalInstancesUsed(), limits.maxTotalInstances()),
+                Math.max(fill(limits.totalCoresUsed(), limits.maxTotalCores()), fill(limits.totalRamUsedMb(), limits.maxTotalRamSizeMb())));
+    }
+
+    private static double fill(int used, int max) {
+        return max > 0 ? (double) used / max : 0.0;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
 
-        List<String> types = failureProperties.getErrorTypes();
-        String errorType = types.isEmpty() ? "INTERNAL" : types.get((int) (Math.random() * types.size()));
-        String message = errorType + " simulated for " + operation;
-        log.warn("Simulated failure: {}", message);
-        throw new VimException(errorType, message);
+    private static ThreadFactory timerThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "vim-latency-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
     }
 }
@@ -0,0 +1,254 @@
+package com.vnfm.vim.simulator.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.vnfm.vim.simulator.config.FailureProperties;
+import com.vnfm.vim.simulator.config.LatencyProperties;
+import com.vnfm.vim.simulator.config.LifecycleProperties;
+import com.vnfm.vim.simulator.config.PersistenceProperties;
+import com.vnfm.vim.simulator.config.PoolProperties;
+import com.vnfm.vim.simulator.config.SimulationProperties;
+import com.vnfm.vim.simulator.lifecycle.ServerLifecycle;
+import com.vnfm.vim.simulator.model.FaultModel;
+import com.vnfm.vim.simulator.persistence.StateStore;
+import com.vnfm.vim.simulator.service.VimSimulatorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bulk create, bulk delete by id and by name, and paged listing through the controller and a real
+ * {@link VimSimulatorService} without latency.
+ */
+class ServerControllerBulkTest {
+
+    private VimSimulatorService service;
+    private ServerLifecycle lifecycle;
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+        lifecycle.destroy();
+    }
+
+    @Test
+    void bulkCreate_returnsOneCreatedResultPerItemInRequestOrder() throws Exception {
+        MockMvc mvc = mvc(pool(10), new FailureProperties());
+
+        perform(mvc, post("/servers/bulk").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"servers\":[{\"name\":\"a\",\"cpu\":2,\"memory\":512},{\"name\":\"b\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].server.name").value("a"))
+                .andExpect(jsonPath("$[0].server.cpu").value(2))
+                .andExpect(jsonPath("$[0].server.ip").isNotEmpty())
+                .andExpect(jsonPath("$[1].status").value(201))
+                .andExpect(jsonPath("$[1].server.name").value("b"));
+    }
+
+    @Test
+    void bulkCreate_overQuota_failsOnlyTheItemsThatDoNotFit() throws Exception {
+        PoolProperties pool = pool(10);
+        PoolProperties.Tenant acme = new PoolProperties.Tenant();
+        acme.setMaxServers(1);
+        pool.getTenants().put("acme", acme);
+        MockMvc mvc = mvc(pool, new FailureProperties());
+
+        perform(mvc, post("/servers/bulk").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"servers\":[{\"name\":\"a\",\"tenant\":\"acme\"},{\"name\":\"b\",\"tenant\":\"acme\"},"
+                        + "{\"name\":\"c\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[1].status").value(403))
+                .andExpect(jsonPath("$[1].errorType").value("QUOTA"))
+                .andExpect(jsonPath("$[1].server").doesNotExist())
+                .andExpect(jsonPath("$[2].status").value(201));
+
+        // The rejected item booked nothing: the VIM holds exactly the two created servers.
+        perform(mvc, get("/servers"))
+                .andExpect(jsonPath("$.servers.length()").value(2));
+    }
+
+    @Test
+    void bulkCreate_poolExhaustedMidBatch_laterItemsFailWithQuota() throws Exception {
+        MockMvc mvc = mvc(pool(2), new FailureProperties());
+
+        perform(mvc, post("/servers/bulk").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"servers\":[{\"name\":\"a\"},{\"name\":\"b\"},{\"name\":\"c\"},{\"name\":\"d\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[1].status").value(201))
+                .andExpect(jsonPath("$[2].status").value(403))
+                .andExpect(jsonPath("$[3].status").value(403));
+    }
+
+    @Test
+    void bulkCreate_simulatedFailureOfTheCall_failsTheWholeRequest() throws Exception {
+        FailureProperties failure = new FailureProperties();
+        FailureProperties.Operation createServers = new FailureProperties.Operation();
+        createServers.setRate(1.0);
+        createServers.setErrorTypes(List.of("TIMEOUT"));
+        failure.getOperations().put("createServers", createServers);
+        MockMvc mvc = mvc(pool(10), failure);
+
+        perform(mvc, post("/servers/bulk").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"servers\":[{\"name\":\"a\"},{\"name\":\"b\"}]}"))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.errorType").value("TIMEOUT"));
+
+        perform(mvc, get("/servers"))
+                .andExpect(jsonPath("$.servers.length()").value(0));
+    }
+
+    @Test
+    void bulkCreate_emptyList_isRejected() throws Exception {
+        MockMvc mvc = mvc(pool(10), new FailureProperties());
+
+        mvc.perform(post("/servers/bulk").contentType(MediaType.APPLICATION_JSON).content("{\"servers\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bulkDeleteByName_reportsReleasedCountPerName() throws Exception {
+        MockMvc mvc = mvc(pool(10), new FailureProperties());
+        perform(mvc, post("/servers/bulk").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"servers\":[{\"name\":\"a\"},{\"name\":\"a\"},{\"name\":\"b\"}]}"));
+
+        perform(mvc, post("/servers/bulk-delete").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"names\":[\"a\",\"missing\",\"b\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("a"))
+                .andExpect(jsonPath("$[0].released").value(2))
+                .andExpect(jsonPath("$[1].released").value(0))
+                .andExpect(jsonPath("$[2].released").value(1));
+
+        perform(mvc, get("/servers"))
+                .andExpect(jsonPath("$.servers.length()").value(0));
+    }
+
+    @Test
+    void bulkDeleteById_reports204PerDeletedIdAnd404PerUnknownOne() throws Exception {
+        MockMvc mvc = mvc(pool(10), new FailureProperties());
+        List<String> ids = create(mvc, "a", "b");
+
+        perform(mvc, post("/servers/bulk-delete").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[\"" + ids.get(0) + "\",\"vm-missing\",\"" + ids.get(1) + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].status").value(204))
+                .andExpect(jsonPath("$[0].resourceId").value(ids.get(0)))
+                .andExpect(jsonPath("$[1].status").value(404))
+                .andExpect(jsonPath("$[1].resourceId").value("vm-missing"))
+                .andExpect(jsonPath("$[1].errorType").value("NOT_FOUND"))
+                .andExpect(jsonPath("$[2].status").value(204));
+
+        perform(mvc, get("/servers"))
+                .andExpect(jsonPath("$.servers.length()").value(0));
+    }
+
+    @Test
+    void bulkDelete_needsExactlyOneOfNamesOrIds() throws Exception {
+        MockMvc mvc = mvc(pool(10), new FailureProperties());
+
+        mvc.perform(post("/servers/bulk-delete").contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/servers/bulk-delete").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"names\":[\"a\"],\"ids\":[\"vm-1\"]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deleteById_unknownId_is404NotFound() throws Exception {
+        MockMvc mvc = mvc(pool(10), new FailureProperties());
+        String id = create(mvc, "a").get(0);
+
+        perform(mvc, delete("/servers/" + id)).andExpect(status().isNoContent());
+        perform(mvc, delete("/servers/" + id))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorType").value("NOT_FOUND"));
+    }
+
+    @Test
+    void listServers_pagesByMarkerAndOmitsNextOnAFullLastPage() throws Exception {
+        MockMvc mvc = mvc(pool(10), new FailureProperties());
+        List<String> ids = create(mvc, "a", "b", "c", "d").stream().sorted().toList();
+
+        perform(mvc, get("/servers").param("limit", "2"))
+                .andExpect(jsonPath("$.servers[*].resourceId").value(contains(ids.get(0), ids.get(1))))
+                .andExpect(jsonPath("$.next").value(ids.get(1)));
+        perform(mvc, get("/servers").param("limit", "2").param("marker", ids.get(1)))
+                .andExpect(jsonPath("$.servers[*].resourceId").value(contains(ids.get(2), ids.get(3))))
+                .andExpect(jsonPath("$.next").doesNotExist());
+        perform(mvc, get("/servers").param("limit", "3").param("marker", ids.get(1)))
+                .andExpect(jsonPath("$.servers.length()").value(2))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void listServers_byStatus_pagesTheStatusIndex() throws Exception {
+        MockMvc mvc = mvc(pool(10), new FailureProperties());
+        List<String> ids = create(mvc, "a", "b", "c").stream().sorted().toList();
+
+        perform(mvc, get("/servers").param("status", "active").param("limit", "2"))
+                .andExpect(jsonPath("$.servers[*].resourceId").value(contains(ids.get(0), ids.get(1))))
+                .andExpect(jsonPath("$.servers[0].status").value("ACTIVE"))
+                .andExpect(jsonPath("$.next").value(ids.get(1)));
+        perform(mvc, get("/servers").param("status", "ACTIVE").param("limit", "2").param("marker", ids.get(1)))
+                .andExpect(jsonPath("$.servers[*].resourceId").value(contains(ids.get(2))))
+                .andExpect(jsonPath("$.next").doesNotExist());
+        perform(mvc, get("/servers").param("status", "BUILD"))
+                .andExpect(jsonPath("$.servers.length()").value(0))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    /** Creates servers with the given names; returns their resourceIds in request order. */
+    private static List<String> create(MockMvc mvc, String... names) throws Exception {
+        String body = Arrays.stream(names).map(name -> "{\"name\":\"" + name + "\"}").collect(Collectors.joining(","));
+        String response = perform(mvc, post("/servers/bulk").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"servers\":[" + body + "]}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(response, "$[*].server.resourceId");
+    }
+
+    private MockMvc mvc(PoolProperties pool, FailureProperties failure) {
+        LatencyProperties latency = new LatencyProperties();
+        latency.setMaxMs(0);
+        SimulationProperties simulation = new SimulationProperties();
+        lifecycle = new ServerLifecycle(new LifecycleProperties());
+        service = new VimSimulatorService(new FaultModel(latency, failure, simulation), pool, simulation, lifecycle,
+                new StateStore(new PersistenceProperties(), lifecycle));
+        return MockMvcBuilders.standaloneSetup(new ServerController(service)).build();
+    }
+
+    private static PoolProperties pool(int maxServers) {
+        PoolProperties pool = new PoolProperties();
+        pool.setMaxServers(maxServers);
+        pool.setCidr("10.0.0.0/24");
+        return pool;
+    }
+
+    /** The handlers return futures: perform, then dispatch the completed async result. */
+    private static ResultActions perform(MockMvc mvc, MockHttpServletRequestBuilder call) throws Exception {
+        MvcResult started = mvc.perform(call).andExpect(request().asyncStarted()).andReturn();
+        return mvc.perform(asyncDispatch(started));
+    }
+}
@@ -0,0 +1,100 @@
+package com.vnfm.vim.simulator.lifecycle;
+
+import com.vnfm.vim.simulator.config.LifecycleProperties;
+import com.vnfm.vim.simulator.domain.Server;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServerLifecycleTest {
+
+    private ServerLifecycle lifecycle;
+
+    @AfterEach
+    void tearDown() {
+        lifecycle.destroy();
+    }
+
+    @Test
+    void changesSince_returnsServersChangedAfterTheSequenceInChangeOrder() {
+        lifecycle = lifecycle(300_000);
+        Server a = server("a");
+        Server b = server("b");
+        Server c = server("c");
+        lifecycle.created(a);
+        lifecycle.created(b);
+        lifecycle.created(c);
+        lifecycle.transition(a, "ACTIVE", "BUILD");
+
+        ServerLifecycle.Changes all = lifecycle.changesSince(0);
+        assertThat(all.sequence()).isEqualTo(4);
+        assertThat(all.truncated()).isFalse();
+        assertThat(all.servers()).containsExactly(b, c, a);
+
+        assertThat(lifecycle.changesSince(2).servers()).containsExactly(c, a);
+        assertThat(lifecycle.changesSince(4).servers()).isEmpty();
+    }
+
+    @Test
+    void transition_fromAnotherStatus_changesNothing() {
+        lifecycle = lifecycle(300_000);
+        Server a = server("a");
+        lifecycle.created(a);
+
+        assertThat(lifecycle.transition(a, "BUILD", "ACTIVE")).isFalse();
+        assertThat(lifecycle.sequence()).isEqualTo(1);
+        assertThat(a.getStatus()).isEqualTo("BUILD");
+    }
+
+    @Test
+    void retiredServer_staysListedUntilRetainDeletedMsThenTruncatesOlderDeltas() throws Exception {
+        lifecycle = lifecycle(50);
+        Server a = server("a");
+        Server b = server("b");
+        lifecycle.created(a);
+        lifecycle.created(b);
+        lifecycle.transition(a, "DELETED");
+        lifecycle.retire(a);
+
+        assertThat(lifecycle.list("DELETED", null, 10)).containsExactly(a);
+        assertThat(lifecycle.changesSince(1).truncated()).isFalse();
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!lifecycle.list("DELETED", null, 10).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(lifecycle.list("DELETED", null, 10)).isEmpty();
+        ServerLifecycle.Changes stale = lifecycle.changesSince(1);
+        assertThat(stale.truncated()).isTrue();
+        assertThat(stale.servers()).containsExactly(b);
+        // a full query and a query from after the purged deletion are complete
+        assertThat(lifecycle.changesSince(0).truncated()).isFalse();
+        assertThat(lifecycle.changesSince(3).truncated()).isFalse();
+    }
+
+    @Test
+    void list_pagesByResourceIdWithinTheStatus() {
+        lifecycle = lifecycle(300_000);
+        for (String id : List.of("d", "b", "a", "c")) {
+            lifecycle.created(server(id));
+        }
+
+        assertThat(lifecycle.list("BUILD", null, 2)).extracting(Server::getResourceId).containsExactly("a", "b");
+        assertThat(lifecycle.list("BUILD", "b", 2)).extracting(Server::getResourceId).containsExactly("c", "d");
+        assertThat(lifecycle.list("ACTIVE", null, 2)).isEmpty();
+    }
+
+    private static ServerLifecycle lifecycle(long retainDeletedMs) {
+        LifecycleProperties properties = new LifecycleProperties();
+        properties.setRetainDeletedMs(retainDeletedMs);
+        return new ServerLifecycle(properties);
+    }
+
+    private static Server server(String id) {
+        return new Server(id, "vm-" + id, "10.0.0.1", 1, 512, "BUILD", null);
+    }
+}
@@ -0,0 +1,74 @@
+package com.vnfm.vim.simulator.lifecycle;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimerWheelTest {
+
+    // 4 slots of 10 ms: the 90 ms task wraps around the wheel twice
+    private final TimerWheel wheel = new TimerWheel("test-wheel", 10, 4);
+
+    @AfterEach
+    void tearDown() {
+        wheel.close();
+    }
+
+    @Test
+    void tasks_fireInDueOrderNotScheduleOrder() throws Exception {
+        List<Integer> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(4);
+        for (int delayMs : new int[]{90, 30, 0, 60}) {
+            wheel.schedule(delayMs, () -> {
+                fired.add(delayMs);
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(fired).containsExactly(0, 30, 60, 90);
+    }
+
+    @Test
+    void cancelledTask_isSkipped() throws Exception {
+        List<String> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch later = new CountDownLatch(1);
+        TimerWheel.Timeout cancelled = wheel.schedule(30, () -> fired.add("cancelled"));
+        wheel.schedule(60, () -> {
+            fired.add("later");
+            later.countDown();
+        });
+
+        assertThat(cancelled.cancel()).isTrue();
+        assertThat(later.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(fired).containsExactly("later");
+        assertThat(cancelled.isCancelled()).isTrue();
+    }
+
+    @Test
+    void cancelAfterFiring_fails() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        TimerWheel.Timeout timeout = wheel.schedule(0, done::countDown);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+        assertThat(timeout.isCancelled()).isFalse();
+    }
+
+    @Test
+    void failingTask_doesNotStopTheWheel() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        wheel.schedule(0, () -> {
+            throw new IllegalStateException("boom");
+        });
+        wheel.schedule(20, done::countDown);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,105 @@
+package com.vnfm.vim.simulator.lifecycle;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpServer;
+import com.vnfm.vim.simulator.config.LifecycleProperties;
+import com.vnfm.vim.simulator.domain.Server;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebhookRegistryTest {
+
+    private final CountDownLatch receiverGate = new CountDownLatch(1);
+    private final AtomicInteger received = new AtomicInteger();
+    private final ExecutorService receiverThreads = Executors.newCachedThreadPool();
+    private HttpServer receiver;
+    private ServerLifecycle lifecycle;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        receiver = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        receiver.createContext("/hook", exchange -> {
+            try {
+                receiverGate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getRequestBody().readAllBytes();
+            received.incrementAndGet();
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        receiver.setExecutor(receiverThreads);
+        receiver.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        receiverGate.countDown();
+        receiver.stop(0);
+        receiverThreads.shutdownNow();
+        lifecycle.destroy();
+    }
+
+    @Test
+    void slowReceiver_fillsInFlightThenBacklogThenDrops() throws Exception {
+        LifecycleProperties properties = new LifecycleProperties();
+        properties.setWebhookMaxInFlight(1);
+        properties.setWebhookBacklog(2);
+        lifecycle = new ServerLifecycle(properties);
+        WebhookRegistry registry = new WebhookRegistry(properties, lifecycle,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+        WebhookRegistry.Webhook webhook = registry.register(url(), Set.of());
+
+        // one request in flight (held by the receiver), two backlogged, two dropped
+        for (int i = 0; i < 5; i++) {
+            lifecycle.created(new Server("s" + i, "vm-" + i, "10.0.0." + (i + 1), 1, 512, "BUILD", null));
+        }
+
+        assertThat(webhook.dropped()).hasValue(2);
+        assertThat(webhook.queued()).hasValue(2);
+        assertThat(webhook.inFlight().availablePermits()).isZero();
+
+        receiverGate.countDown();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (webhook.delivered().get() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(webhook.delivered()).hasValue(3);
+        assertThat(webhook.failed()).hasValue(0);
+        assertThat(webhook.queued()).hasValue(0);
+        assertThat(received).hasValue(3);
+    }
+
+    @Test
+    void statusFilter_skipsOtherStatusesWithoutCountingThem() {
+        LifecycleProperties properties = new LifecycleProperties();
+        lifecycle = new ServerLifecycle(properties);
+        WebhookRegistry registry = new WebhookRegistry(properties, lifecycle,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+        WebhookRegistry.Webhook webhook = registry.register(url(), Set.of("ACTIVE"));
+
+        lifecycle.created(new Server("s1", "vm-1", "10.0.0.1", 1, 512, "BUILD", null));
+
+        assertThat(webhook.queued()).hasValue(0);
+        assertThat(webhook.dropped()).hasValue(0);
+        assertThat(webhook.inFlight().availablePermits()).isEqualTo(properties.getWebhookMaxInFlight());
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + receiver.getAddress().getPort() + "/hook";
+    }
+}
@@ -0,0 +1,156 @@
+package com.vnfm.vim.simulator.model;
+
+import com.vnfm.vim.simulator.config.FailureProperties;
+import com.vnfm.vim.simulator.config.LatencyProfile;
+import com.vnfm.vim.simulator.config.LatencyProperties;
+import com.vnfm.vim.simulator.config.SimulationProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FaultModelTest {
+
+    @Test
+    void sameSeed_repeatsTheSequencePerOperationHoweverCallsInterleave() {
+        LatencyProperties latency = latency(LatencyProfile.Distribution.PARETO);
+        FailureProperties failure = new FailureProperties();
+        failure.setRate(0.3);
+        failure.setErrorTypes(List.of("TIMEOUT", "INTERNAL"));
+
+        FaultModel first = new FaultModel(latency, failure, seeded(42L));
+        FaultModel second = new FaultModel(latency, failure, seeded(42L));
+        List<FaultModel.Outcome> a = new ArrayList<>();
+        List<FaultModel.Outcome> b = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            a.add(first.next("createServer", 0));
+            // the second model sees other operations in between
+            second.next("getServer", 0);
+            b.add(second.next("createServer", 0));
+        }
+
+        assertThat(b).isEqualTo(a);
+        assertThat(a).extracting(FaultModel.Outcome::errorType).contains("TIMEOUT", "INTERNAL", null);
+
+        FaultModel other = new FaultModel(latency, failure, seeded(43L));
+        List<FaultModel.Outcome> c = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            c.add(other.next("createServer", 0));
+        }
+        assertThat(c).isNotEqualTo(a);
+    }
+
+    @Test
+    void brownoutWindow_isOpenFromStartForDurationAndRepeatsEveryPeriod() {
+        SimulationProperties.Brownout once = brownout(1000, 500, 0);
+        assertThat(once.isActive(999)).isFalse();
+        assertThat(once.isActive(1000)).isTrue();
+        assertThat(once.isActive(1499)).isTrue();
+        assertThat(once.isActive(1500)).isFalse();
+        assertThat(once.isActive(11_000)).isFalse();
+
+        SimulationProperties.Brownout periodic = brownout(1000, 500, 2000);
+        assertThat(periodic.isActive(2999)).isFalse();
+        assertThat(periodic.isActive(3000)).isTrue();
+        assertThat(periodic.isActive(3499)).isTrue();
+        assertThat(periodic.isActive(3500)).isFalse();
+
+        assertThat(brownout(0, 0, 1000).isActive(0)).isFalse();
+    }
+
+    @Test
+    void openBrownout_multipliesDelayOfAffectedOperationsOnly() {
+        LatencyProperties latency = fixed(100);
+        SimulationProperties simulation = new SimulationProperties();
+        SimulationProperties.Brownout brownout = brownout(0, 60_000, 0);
+        brownout.setLatencyFactor(5);
+        brownout.setOperations(List.of("createServer"));
+        simulation.getBrownouts().add(brownout);
+        FaultModel model = new FaultModel(latency, new FailureProperties(), simulation);
+
+        assertThat(model.next("createServer", 0).delayMs()).isEqualTo(500);
+        assertThat(model.next("getServer", 0).delayMs()).isEqualTo(100);
+    }
+
+    @Test
+    void saturation_scalesDelayByQueueingFactorCappedAt99Percent() {
+        SimulationProperties simulation = new SimulationProperties();
+        simulation.setSaturationFactor(1.0);
+        FaultModel model = new FaultModel(fixed(100), new FailureProperties(), simulation);
+
+        assertThat(model.next("createServer", 0).delayMs()).isEqualTo(100);
+        assertThat(model.next("createServer", 0.5).delayMs()).isEqualTo(200);
+        assertThat(model.next("createServer", 0.9).delayMs()).isEqualTo(1000);
+        assertThat(model.next("createServer", 1.0).delayMs()).isEqualTo(10_000);
+    }
+
+    @Test
+    void delay_isCappedAfterSlowdowns() {
+        LatencyProperties latency = latency(LatencyProfile.Distribution.PARETO);
+        latency.setScaleMs(100.0);
+        latency.setShape(0.5);
+        latency.setCapMs(300);
+        SimulationProperties simulation = seeded(7L);
+        simulation.setSaturationFactor(1.0);
+        FaultModel model = new FaultModel(latency, new FailureProperties(), simulation);
+
+        for (int i = 0; i < 500; i++) {
+            assertThat(model.next("createServer", 0.9).delayMs()).isBetween(0L, 300L);
+        }
+        assertThat(new FaultModel(fixed(1000), new FailureProperties(), simulation).next("x", 0).delayMs())
+                .isEqualTo(1000);
+        LatencyProperties capped = fixed(1000);
+        capped.setCapMs(300);
+        assertThat(new FaultModel(capped, new FailureProperties(), simulation).next("x", 0).delayMs()).isEqualTo(300);
+    }
+
+    @Test
+    void operationProfile_inheritsFieldsItDoesNotSet() {
+        LatencyProperties latency = latency(LatencyProfile.Distribution.PARETO);
+        latency.setScaleMs(200.0);
+        LatencyProfile create = new LatencyProfile();
+        create.setShape(3.0);
+        latency.getOperations().put("createServer", create);
+        LatencyProfile get = new LatencyProfile();
+        get.setDistribution(LatencyProfile.Distribution.UNIFORM);
+        get.setMinMs(5);
+        get.setMaxMs(5);
+        latency.getOperations().put("getServer", get);
+        FaultModel model = new FaultModel(latency, new FailureProperties(), seeded(1L));
+
+        for (int i = 0; i < 100; i++) {
+            // pareto with the default scale-ms: never below 200
+            assertThat(model.next("createServer", 0).delayMs()).isGreaterThanOrEqualTo(200);
+            assertThat(model.next("getServer", 0).delayMs()).isEqualTo(5);
+        }
+    }
+
+    private static LatencyProperties latency(LatencyProfile.Distribution distribution) {
+        LatencyProperties latency = new LatencyProperties();
+        latency.setDistribution(distribution);
+        return latency;
+    }
+
+    private static LatencyProperties fixed(int delayMs) {
+        LatencyProperties latency = new LatencyProperties();
+        latency.setMinMs(delayMs);
+        latency.setMaxMs(delayMs);
+        return latency;
+    }
+
+    private static SimulationProperties seeded(long seed) {
+        SimulationProperties simulation = new SimulationProperties();
+        simulation.setSeed(seed);
+        return simulation;
+    }
+
+    private static SimulationProperties.Brownout brownout(long startMs, long durationMs, long periodMs) {
+        SimulationProperties.Brownout brownout = new SimulationProperties.Brownout();
+        brownout.setStartMs(startMs);
+        brownout.setDurationMs(durationMs);
+        brownout.setPeriodMs(periodMs);
+        return brownout;
+    }
+}
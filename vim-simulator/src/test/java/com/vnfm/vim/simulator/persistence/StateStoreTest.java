@@ -0,0 +1,235 @@
+package com.vnfm.vim.simulator.persistence;
+
+import com.vnfm.vim.simulator.config.LifecycleProperties;
+import com.vnfm.vim.simulator.config.PersistenceProperties;
+import com.vnfm.vim.simulator.domain.Server;
+import com.vnfm.vim.simulator.lifecycle.ServerLifecycle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StateStoreTest {
+
+    @TempDir
+    Path directory;
+    @TempDir
+    Path crashed;
+
+    private final ServerLifecycle lifecycle = new ServerLifecycle(new LifecycleProperties());
+    private final ConcurrentSkipListMap<String, Server> servers = new ConcurrentSkipListMap<>();
+    private StateStore store;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (store != null) {
+            store.destroy();
+        }
+        lifecycle.destroy();
+    }
+
+    @Test
+    void shutdown_writesAFinalSnapshotThatRestoresEveryServerWithoutAJournal() throws Exception {
+        store = store(directory);
+        store.start(servers.values());
+        Server a = create("a", "tenant-1");
+        Server b = create("b", null);
+        lifecycle.transition(a, "ACTIVE");
+        delete(b);
+
+        store.destroy();
+        store = null;
+
+        assertThat(journalEntries(directory)).isZero();
+        StateStore.Restored restored = store(directory).load();
+        assertThat(restored.sequence()).isEqualTo(4);
+        assertThat(restored.servers()).hasSize(1);
+        Server restoredA = restored.servers().get(0);
+        assertThat(restoredA.getResourceId()).isEqualTo("a");
+        assertThat(restoredA.getName()).isEqualTo("vm-a");
+        assertThat(restoredA.getIp()).isEqualTo("10.0.0.1");
+        assertThat(restoredA.getCpu()).isEqualTo(2);
+        assertThat(restoredA.getMemory()).isEqualTo(1024);
+        assertThat(restoredA.getTenant()).isEqualTo("tenant-1");
+        assertThat(restoredA.getState()).isEqualTo(new Server.State("ACTIVE", 3));
+    }
+
+    @Test
+    void killedProcess_isRestoredFromTheStartupSnapshotAndTheJournal() throws Exception {
+        create("a", null);
+        store = store(directory);
+        store.start(servers.values());
+        Server b = create("b", null);
+        lifecycle.transition(servers.get("a"), "ACTIVE");
+        lifecycle.transition(b, "ERROR");
+
+        // a copy of the files while running is what a killed process leaves behind
+        StateStore.Restored restored = restoreCopy(r -> r.sequence() == 4);
+
+        assertThat(restored.servers()).extracting(Server::getResourceId).containsExactly("a", "b");
+        assertThat(restored.servers()).extracting(Server::getState)
+                .containsExactly(new Server.State("ACTIVE", 3), new Server.State("ERROR", 4));
+    }
+
+    @Test
+    void tornLastEntry_isDroppedAndTheEntriesBeforeItAreKept() throws Exception {
+        store = store(directory);
+        store.start(servers.values());
+        awaitStartupSnapshot();
+        Server a = create("a", null);
+        lifecycle.transition(a, "ACTIVE");
+        restoreCopy(r -> r.sequence() == 2);
+
+        Path journal = journal(crashed);
+        byte[] bytes = Files.readAllBytes(journal);
+        Files.write(journal, Arrays.copyOf(bytes, bytes.length - 3));
+
+        StateStore.Restored restored = store(crashed).load();
+        assertThat(restored.sequence()).isEqualTo(1);
+        assertThat(restored.servers()).extracting(Server::getState).containsExactly(new Server.State("BUILD", 1));
+    }
+
+    @Test
+    void journalEntries_areReplayedInSequenceOrderAcrossFiles() throws Exception {
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        DataOutputStream out = journal(first);
+        status(out, 3, "a", "ACTIVE");
+        create(out, 1, "a");
+        delete(out, 5, "b");
+        create(out, 2, "b");
+        create(out, 4, "c");
+        Files.write(directory.resolve("journal-1.log"), first.toByteArray());
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        out = journal(second);
+        status(out, 6, "c", "ERROR");
+        // older than c's create: replayed before it, where c does not exist yet
+        status(out, 2, "c", "DELETING");
+        Files.write(directory.resolve("journal-2.log"), second.toByteArray());
+
+        StateStore.Restored restored = store(directory).load();
+
+        assertThat(restored.sequence()).isEqualTo(6);
+        assertThat(restored.servers()).extracting(Server::getResourceId).containsExactly("a", "c");
+        assertThat(restored.servers()).extracting(Server::getState)
+                .containsExactly(new Server.State("ACTIVE", 3), new Server.State("ERROR", 6));
+    }
+
+    private StateStore store(Path dir) {
+        PersistenceProperties properties = new PersistenceProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(dir.toString());
+        return new StateStore(properties, lifecycle);
+    }
+
+    private Server create(String id, String tenant) {
+        Server server = new Server(id, "vm-" + id, "10.0.0." + (servers.size() + 1), 2, 1024, "BUILD", tenant);
+        servers.put(id, server);
+        lifecycle.created(server);
+        return server;
+    }
+
+    private void delete(Server server) {
+        servers.remove(server.getResourceId());
+        lifecycle.transition(server, "DELETED");
+    }
+
+    @Test
+    void journalCutInItsHeader_isEmpty() throws Exception {
+        Files.write(directory.resolve("journal-1.log"), new byte[]{0x56, 0x49});
+
+        assertThat(store(directory).load().servers()).isEmpty();
+    }
+
+    /** Waits until the writer has compacted what was there at start, so later changes go to the journal only. */
+    private void awaitStartupSnapshot() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!Files.exists(directory.resolve("servers.snapshot")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    /** Copies the running store's files until what they restore passes the check. */
+    private StateStore.Restored restoreCopy(Predicate<StateStore.Restored> complete) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (true) {
+            try (Stream<Path> files = Files.list(crashed)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Files.copy(file, crashed.resolve(file.getFileName()));
+                }
+            }
+            StateStore.Restored restored = store(crashed).load();
+            if (complete.test(restored) || System.currentTimeMillis() > deadline) {
+                return restored;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static Path journal(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("journal-")).findFirst().orElseThrow();
+        }
+    }
+
+    /** Bytes after the journal header: 0 = no entries. */
+    private static long journalEntries(Path dir) throws IOException {
+        return Files.size(journal(dir)) - 8;
+    }
+
+    // Journal format: magic and version, then entries of a type byte and big-endian fields
+
+    private static DataOutputStream journal(ByteArrayOutputStream bytes) throws IOException {
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x56494d4a);
+        out.writeInt(1);
+        return out;
+    }
+
+    private static void create(DataOutputStream out, long sequence, String id) throws IOException {
+        out.writeByte('C');
+        out.writeLong(sequence);
+        utf(out, id);
+        out.writeBoolean(false);
+        utf(out, "10.0.0.1");
+        out.writeInt(1);
+        out.writeInt(512);
+        utf(out, "BUILD");
+        out.writeBoolean(false);
+    }
+
+    private static void status(DataOutputStream out, long sequence, String id, String status) throws IOException {
+        out.writeByte('S');
+        out.writeLong(sequence);
+        utf(out, id);
+        utf(out, status);
+    }
+
+    private static void delete(DataOutputStream out, long sequence, String id) throws IOException {
+        out.writeByte('D');
+        out.writeLong(sequence);
+        utf(out, id);
+    }
+
+    private static void utf(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -0,0 +1,130 @@
+package com.vnfm.vim.simulator.pool;
+
+import com.vnfm.vim.simulator.exception.VimException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IpAllocatorTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void concurrentAllocation_handsOutEveryAddressExactlyOnce() throws Exception {
+        IpAllocator ips = new IpAllocator("10.0.0.0/22");
+        Set<String> handedOut = ConcurrentHashMap.newKeySet();
+        List<Integer> perThread = run(() -> {
+            int count = 0;
+            while (true) {
+                String ip;
+                try {
+                    ip = ips.allocate();
+                } catch (VimException full) {
+                    assertThat(full.getErrorType()).isEqualTo("QUOTA");
+                    return count;
+                }
+                assertThat(handedOut.add(ip)).as("duplicate %s", ip).isTrue();
+                count++;
+            }
+        });
+
+        assertThat(perThread.stream().mapToInt(Integer::intValue).sum()).isEqualTo(ips.capacity()).isEqualTo(1022);
+        assertThat(handedOut).hasSize(1022).doesNotContain("10.0.0.0", "10.0.3.255");
+        assertThat(ips.allocated()).isEqualTo(1022);
+    }
+
+    @Test
+    void concurrentAllocateAndRelease_neverHandsOutAnAddressInUse() throws Exception {
+        IpAllocator ips = new IpAllocator("10.0.0.0/26");
+        Set<String> inUse = ConcurrentHashMap.newKeySet();
+        run(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                String ip = ips.allocate();
+                assertThat(inUse.add(ip)).as("%s handed out while in use", ip).isTrue();
+                inUse.remove(ip);
+                ips.release(ip);
+            }
+            return 0;
+        });
+
+        assertThat(ips.allocated()).isZero();
+    }
+
+    @Test
+    void releasedAddress_isReusedBeforeUntouchedOnes() {
+        IpAllocator ips = new IpAllocator("10.0.0.0/29");
+        assertThat(ips.allocate()).isEqualTo("10.0.0.1");
+        assertThat(ips.allocate()).isEqualTo("10.0.0.2");
+        assertThat(ips.allocate()).isEqualTo("10.0.0.3");
+
+        ips.release("10.0.0.2");
+        ips.release("10.0.0.2");
+
+        assertThat(ips.allocate()).isEqualTo("10.0.0.2");
+        assertThat(ips.allocate()).isEqualTo("10.0.0.4");
+        assertThat(ips.allocated()).isEqualTo(4);
+    }
+
+    @Test
+    void claim_restoresAnAddressOnceAndOnlyInsideTheBlock() {
+        IpAllocator ips = new IpAllocator("10.0.0.0/29");
+
+        assertThat(ips.claim("10.0.0.5")).isTrue();
+        assertThat(ips.claim("10.0.0.5")).isFalse();
+        assertThat(ips.claim("10.0.0.7")).isFalse();
+        assertThat(ips.claim("10.0.1.1")).isFalse();
+        assertThat(ips.allocated()).isEqualTo(1);
+    }
+
+    @Test
+    void overlaps_comparesBlockRanges() {
+        IpAllocator pool = new IpAllocator("10.0.0.0/16");
+
+        assertThat(pool.overlaps(new IpAllocator("10.0.5.0/24"))).isTrue();
+        assertThat(new IpAllocator("10.0.5.0/24").overlaps(pool)).isTrue();
+        assertThat(pool.overlaps(new IpAllocator("10.1.0.0/24"))).isFalse();
+        assertThat(new IpAllocator("10.1.0.0/25").overlaps(new IpAllocator("10.1.0.128/25"))).isFalse();
+        assertThat(new IpAllocator("192.168.0.0/16").overlaps(new IpAllocator("192.168.255.0/24"))).isTrue();
+    }
+
+    @Test
+    void invalidBlock_isRejected() {
+        assertThatThrownBy(() -> new IpAllocator("10.0.0.0")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new IpAllocator("10.0.0.0/31")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new IpAllocator("10.0.256.0/24")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /** Runs the task on THREADS threads released together; returns each thread's result. */
+    static <T> List<T> run(java.util.concurrent.Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
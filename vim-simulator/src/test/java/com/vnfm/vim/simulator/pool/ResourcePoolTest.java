@@ -0,0 +1,62 @@
+package com.vnfm.vim.simulator.pool;
+
+import com.vnfm.vim.simulator.exception.VimException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResourcePoolTest {
+
+    @Test
+    void reserve_failingOnALaterCounter_rollsBackTheEarlierOnes() {
+        ResourcePool pool = new ResourcePool("VIM", 10, 4, 2048, null);
+        pool.reserve(2, 512);
+        pool.reserve(2, 512);
+
+        assertThatThrownBy(() -> pool.reserve(1, 512))
+                .isInstanceOfSatisfying(VimException.class, e -> assertThat(e.getErrorType()).isEqualTo("QUOTA"))
+                .hasMessageContaining("core limit 4");
+        assertThatThrownBy(() -> pool.reserve(0, 2048)).hasMessageContaining("RAM limit 2048");
+
+        assertThat(pool.limits()).isEqualTo(new ResourcePool.Limits(10, 2, 4, 4, 2048, 1024));
+    }
+
+    @Test
+    void concurrentReserves_stopExactlyAtTheTightestLimitAndRollBackTheRest() throws Exception {
+        // RAM is the binding limit (50 servers); servers and cores would allow more, so every rejected create
+        // had already booked a server and a core that must be rolled back.
+        ResourcePool pool = new ResourcePool("VIM", 1000, 1000, 50 * 512, null);
+
+        List<Integer> perThread = IpAllocatorTest.run(() -> {
+            int reserved = 0;
+            for (int i = 0; i < 100; i++) {
+                try {
+                    pool.reserve(1, 512);
+                    reserved++;
+                } catch (VimException e) {
+                    assertThat(e.getErrorType()).isEqualTo("QUOTA");
+                }
+            }
+            return reserved;
+        });
+
+        assertThat(perThread.stream().mapToInt(Integer::intValue).sum()).isEqualTo(50);
+        assertThat(pool.limits()).isEqualTo(new ResourcePool.Limits(1000, 50, 1000, 50, 50 * 512, 50 * 512));
+    }
+
+    @Test
+    void release_freesCapacityAndRestoreMayExceedLoweredLimits() {
+        ResourcePool pool = new ResourcePool("tenant acme", 1, -1, -1, null);
+        pool.reserve(4, 1024);
+        assertThatThrownBy(() -> pool.reserve(1, 1)).hasMessageContaining("tenant acme pool limit 1");
+
+        pool.release(4, 1024);
+        pool.reserve(1, 1);
+        pool.restore(2, 2);
+
+        assertThat(pool.limits()).isEqualTo(new ResourcePool.Limits(1, 2, -1, 3, -1, 3));
+    }
+}
@@ -0,0 +1,81 @@
+package com.vnfm.vim.simulator.service;
+
+import com.vnfm.vim.simulator.config.FailureProperties;
+import com.vnfm.vim.simulator.config.LatencyProperties;
+import com.vnfm.vim.simulator.config.LifecycleProperties;
+import com.vnfm.vim.simulator.config.PersistenceProperties;
+import com.vnfm.vim.simulator.config.PoolProperties;
+import com.vnfm.vim.simulator.config.SimulationProperties;
+import com.vnfm.vim.simulator.lifecycle.ServerLifecycle;
+import com.vnfm.vim.simulator.model.FaultModel;
+import com.vnfm.vim.simulator.persistence.StateStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VimSimulatorServiceTest {
+
+    private final ServerLifecycle lifecycle = new ServerLifecycle(new LifecycleProperties());
+    private VimSimulatorService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.destroy();
+        }
+        lifecycle.destroy();
+    }
+
+    @Test
+    void tenantCidrOverlappingThePoolCidr_failsStartup() {
+        PoolProperties pool = pool("10.0.0.0/16");
+        pool.getTenants().put("acme", tenant("10.0.8.0/24"));
+
+        assertThatThrownBy(() -> service(pool))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("pool.tenants.acme.cidr 10.0.8.0/24 overlaps pool.cidr 10.0.0.0/16");
+    }
+
+    @Test
+    void overlappingTenantCidrs_failStartup() {
+        PoolProperties pool = pool("10.0.0.0/16");
+        pool.getTenants().put("acme", tenant("10.1.0.0/16"));
+        pool.getTenants().put("globex", tenant("10.1.4.0/24"));
+
+        assertThatThrownBy(() -> service(pool))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("pool.tenants.globex.cidr 10.1.4.0/24 overlaps pool.tenants.acme.cidr 10.1.0.0/16");
+    }
+
+    @Test
+    void disjointCidrs_andTenantsWithoutCidr_start() {
+        PoolProperties pool = pool("10.0.0.0/16");
+        pool.getTenants().put("acme", tenant("10.1.0.0/24"));
+        pool.getTenants().put("globex", tenant("10.1.1.0/24"));
+        pool.getTenants().put("initech", new PoolProperties.Tenant());
+
+        assertThatCode(() -> service = service(pool)).doesNotThrowAnyException();
+    }
+
+    private VimSimulatorService service(PoolProperties pool) {
+        LatencyProperties latency = new LatencyProperties();
+        latency.setMaxMs(0);
+        SimulationProperties simulation = new SimulationProperties();
+        return new VimSimulatorService(new FaultModel(latency, new FailureProperties(), simulation), pool, simulation,
+                lifecycle, new StateStore(new PersistenceProperties(), lifecycle));
+    }
+
+    private static PoolProperties pool(String cidr) {
+        PoolProperties pool = new PoolProperties();
+        pool.setCidr(cidr);
+        return pool;
+    }
+
+    private static PoolProperties.Tenant tenant(String cidr) {
+        PoolProperties.Tenant tenant = new PoolProperties.Tenant();
+        tenant.setCidr(cidr);
+        return tenant;
+    }
+}